@@ -0,0 +1,73 @@
+package com.fiap.stock.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.usecase.FindAllStocksUseCase;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing the GET /stocks and GET /stocks/{sku} bodies in each negotiable format, with the mapper
+ * configured the way Spring Boot configures it. Body sizes are logged once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FindAllStocksSerializationBenchmark {
+
+    // kept at INFO in logback-benchmark.xml, the rest of the benchmarks only print warnings
+    private static final Logger report = LoggerFactory.getLogger("com.fiap.stock.benchmark.report");
+
+    @Param({"10", "1000"})
+    private int stocks;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private Set<ProductStock> allStocks;
+    private ProductStock oneStock;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        var gateway = new InMemoryStockGateway();
+        for (int i = 0; i < stocks; i++)
+            gateway.insert(new ProductStock("id-" + i, String.format("SKU-%06d", i), "Benchmark Product " + i, 100));
+        allStocks = new FindAllStocksUseCase(gateway).execute();
+        oneStock = allStocks.iterator().next();
+        objectMapper = Jackson2ObjectMapperBuilder.json().factory(factory()).build();
+
+        report.info("{} body: {} bytes for {} stocks, {} bytes for one", format,
+                writeAllStocks().length, stocks, writeOneStock().length);
+    }
+
+    private JsonFactory factory() {
+        return switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+    }
+
+    @Benchmark
+    public byte[] writeAllStocks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(allStocks);
+    }
+
+    @Benchmark
+    public byte[] writeOneStock() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(oneStock);
+    }
+}
@@ -0,0 +1,176 @@
+package com.fiap.stock.benchmark;
+
+import com.fiap.stock.core.dto.StockAdjustmentDTO;
+import com.fiap.stock.core.dto.StockAvailabilityDTO;
+import com.fiap.stock.core.entity.AdjustmentStatus;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.gateway.StockGateway;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps the use cases' own cost in the numbers by taking Mongo out of the picture.
+ */
+public class InMemoryStockGateway implements StockGateway {
+
+    private final ConcurrentNavigableMap<String, ProductStock> stocks = new ConcurrentSkipListMap<>();
+    private final Map<String, String> skusById = new ConcurrentHashMap<>();
+
+    @Override
+    public String newId(String sku) {
+        return UUID.randomUUID().toString();
+    }
+
+    @Override
+    public Optional<ProductStock> findBySku(String sku) {
+        return Optional.ofNullable(stocks.get(sku));
+    }
+
+    @Override
+    public boolean isPostImageExact(String sku) {
+        return true;
+    }
+
+    @Override
+    public Optional<ProductStock> findCurrent(String sku) {
+        return findBySku(sku);
+    }
+
+    @Override
+    public Optional<ProductStock> findById(String id) {
+        var sku = skusById.get(id);
+        return sku == null ? Optional.empty() : findBySku(sku);
+    }
+
+    @Override
+    public Optional<StockAvailabilityDTO> findAvailability(String sku) {
+        return findBySku(sku).map(StockAvailabilityDTO::new);
+    }
+
+    @Override
+    public Set<ProductStock> findAll() {
+        return new HashSet<>(stocks.values());
+    }
+
+    @Override
+    public List<ProductStock> findAllBySku(Collection<String> skus) {
+        return skus.stream()
+                .map(stocks::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public List<ProductStock> findPage(String afterSku, int limit) {
+        var tail = afterSku == null ? stocks : stocks.tailMap(afterSku, false);
+        return tail.values().stream()
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<ProductStock> findLowStock(int limit) {
+        return stocks.values().stream()
+                .filter(ProductStock::isLow)
+                .sorted(Comparator.comparingInt((ProductStock stock) -> stock.getAvailable() - stock.getReorderThreshold())
+                        .thenComparing(ProductStock::getSku))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public boolean insert(ProductStock client) {
+        if (stocks.putIfAbsent(client.getSku(), client) != null)
+            return false;
+        skusById.put(client.getId(), client.getSku());
+        return true;
+    }
+
+    @Override
+    public Optional<ProductStock> adjustQuantity(String sku, int delta) {
+        return update(sku, stock -> delta >= 0 || stock.getAvailable() >= -delta,
+                stock -> copy(stock, stock.getQuantity() + delta, stock.getReserved()));
+    }
+
+    @Override
+    public Optional<ProductStock> reserve(String sku, int quantity) {
+        return update(sku, stock -> stock.getAvailable() >= quantity,
+                stock -> copy(stock, stock.getQuantity(), stock.getReserved() + quantity));
+    }
+
+    @Override
+    public Optional<ProductStock> releaseReserved(String sku, int quantity) {
+        return update(sku, stock -> stock.getReserved() >= quantity,
+                stock -> copy(stock, stock.getQuantity(), stock.getReserved() - quantity));
+    }
+
+    @Override
+    public Optional<ProductStock> commitReserved(String sku, int quantity) {
+        return update(sku, stock -> stock.getReserved() >= quantity,
+                stock -> copy(stock, stock.getQuantity() - quantity, stock.getReserved() - quantity));
+    }
+
+    @Override
+    public List<ProductStock> findReservedPage(String afterSku, int limit) {
+        var tail = afterSku == null ? stocks : stocks.tailMap(afterSku, false);
+        return tail.values().stream()
+                .filter(stock -> stock.getReserved() > 0)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public Optional<ProductStock> resetReserved(String sku, int expected, int reserved) {
+        return update(sku, stock -> stock.getReserved() == expected,
+                stock -> copy(stock, stock.getQuantity(), reserved));
+    }
+
+    @Override
+    public List<AdjustmentStatus> adjustQuantities(List<StockAdjustmentDTO> adjustments) {
+        return adjustments.stream()
+                .map(adjustment -> {
+                    if (!stocks.containsKey(adjustment.sku()))
+                        return AdjustmentStatus.UNKNOWN_SKU;
+                    return adjustQuantity(adjustment.sku(), adjustment.toUpdate().delta()).isPresent()
+                            ? AdjustmentStatus.APPLIED
+                            : AdjustmentStatus.INSUFFICIENT_STOCK;
+                })
+                .toList();
+    }
+
+    @Override
+    public Optional<ProductStock> deleteById(String id) {
+        var sku = skusById.remove(id);
+        return sku == null ? Optional.empty() : Optional.ofNullable(stocks.remove(sku));
+    }
+
+    private Optional<ProductStock> update(String sku, Predicate<ProductStock> guard,
+                                          UnaryOperator<ProductStock> change) {
+        var updated = new ProductStock[1];
+        stocks.computeIfPresent(sku, (key, stock) -> {
+            if (!guard.test(stock))
+                return stock;
+            updated[0] = change.apply(stock);
+            return updated[0];
+        });
+        return Optional.ofNullable(updated[0]);
+    }
+
+    private static ProductStock copy(ProductStock stock, int quantity, int reserved) {
+        return new ProductStock(stock.getId(), stock.getSku(), stock.getName(), quantity, reserved, stock.getVersion(),
+                stock.getReorderThreshold());
+    }
+}
@@ -0,0 +1,60 @@
+package com.fiap.stock.benchmark;
+
+import com.fiap.stock.core.entity.StockMovement;
+import com.fiap.stock.core.gateway.StockMovementGateway;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a running ledger quantity and only the latest movements of the first skus it sees, so long benchmark runs
+ * that keep creating skus still have a flat heap.
+ */
+public class InMemoryStockMovementGateway implements StockMovementGateway {
+
+    private static final int RETAINED = 100;
+    private static final int TRACKED_SKUS = 10_000;
+
+    private final Map<String, Deque<StockMovement>> movements = new ConcurrentHashMap<>();
+    private final Map<String, Integer> quantities = new ConcurrentHashMap<>();
+
+    @Override
+    public void record(List<StockMovement> recorded) {
+        for (var movement : recorded) {
+            if (movements.size() >= TRACKED_SKUS && !movements.containsKey(movement.getSku()))
+                continue;
+            var recent = movements.computeIfAbsent(movement.getSku(), sku -> new ArrayDeque<>());
+            synchronized (recent) {
+                recent.addFirst(movement);
+                if (recent.size() > RETAINED)
+                    recent.removeLast();
+            }
+            quantities.merge(movement.getSku(), movement.getDelta(), Integer::sum);
+        }
+    }
+
+    @Override
+    public List<StockMovement> findRecent(String sku, int limit) {
+        var recent = movements.get(sku);
+        if (recent == null)
+            return List.of();
+        synchronized (recent) {
+            return new ArrayList<>(recent).subList(0, Math.min(limit, recent.size()));
+        }
+    }
+
+    @Override
+    public int ledgerQuantity(String sku) {
+        return quantities.getOrDefault(sku, 0);
+    }
+
+    @Override
+    public int snapshot(Duration settle) {
+        return 0;
+    }
+}
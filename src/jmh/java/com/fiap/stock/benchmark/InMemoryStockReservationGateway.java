@@ -0,0 +1,68 @@
+package com.fiap.stock.benchmark;
+
+import com.fiap.stock.core.entity.ReservationStatus;
+import com.fiap.stock.core.entity.StockReservation;
+import com.fiap.stock.core.gateway.StockReservationGateway;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Only active holds are kept, closed ones are dropped so long benchmark runs keep a flat heap.
+ */
+public class InMemoryStockReservationGateway implements StockReservationGateway {
+
+    private final Map<String, StockReservation> reservations = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(StockReservation reservation) {
+        reservations.put(reservation.getId(), reservation);
+    }
+
+    @Override
+    public Optional<StockReservation> findById(String id) {
+        return Optional.ofNullable(reservations.get(id));
+    }
+
+    @Override
+    public Optional<StockReservation> close(String id, ReservationStatus status, Instant now) {
+        var closed = new StockReservation[1];
+        reservations.computeIfPresent(id, (key, reservation) -> {
+            if (!reservation.getExpiresAt().isAfter(now))
+                return reservation;
+            closed[0] = withStatus(reservation, status);
+            return null;
+        });
+        return Optional.ofNullable(closed[0]);
+    }
+
+    @Override
+    public List<StockReservation> expire(Instant now, int limit) {
+        var expired = new ArrayList<StockReservation>();
+        for (var reservation : reservations.values()) {
+            if (expired.size() == limit)
+                break;
+            if (!reservation.getExpiresAt().isAfter(now) && reservations.remove(reservation.getId(), reservation))
+                expired.add(withStatus(reservation, ReservationStatus.EXPIRED));
+        }
+        return expired;
+    }
+
+    @Override
+    public Map<String, Integer> activeQuantities(Collection<String> skus) {
+        return reservations.values().stream()
+                .filter(reservation -> skus.contains(reservation.getSku()))
+                .collect(Collectors.groupingBy(StockReservation::getSku, Collectors.summingInt(StockReservation::getQuantity)));
+    }
+
+    private static StockReservation withStatus(StockReservation reservation, ReservationStatus status) {
+        return new StockReservation(reservation.getId(), reservation.getSku(), reservation.getQuantity(), status,
+                reservation.getExpiresAt());
+    }
+}
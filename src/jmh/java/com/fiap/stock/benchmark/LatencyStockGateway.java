@@ -0,0 +1,39 @@
+package com.fiap.stock.benchmark;
+
+import com.fiap.stock.core.entity.ProductStock;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Stands in for Mongo round trips: every read and write blocks its thread for a fixed latency.
+ */
+public class LatencyStockGateway extends InMemoryStockGateway {
+
+    private final Duration latency;
+
+    public LatencyStockGateway(Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public Optional<ProductStock> findBySku(String sku) {
+        block();
+        return super.findBySku(sku);
+    }
+
+    @Override
+    public Optional<ProductStock> adjustQuantity(String sku, int delta) {
+        block();
+        return super.adjustQuantity(sku, delta);
+    }
+
+    private void block() {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.fiap.stock.benchmark;
+
+import com.fiap.stock.infrastructure.config.StockMongoProperties;
+import com.fiap.stock.infrastructure.config.StockMongoProperties.KeyLayout;
+import com.fiap.stock.infrastructure.repository.StockRepositoryCustomImpl;
+import com.fiap.stock.infrastructure.repository.model.ProductStockModel;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+import java.util.ArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Inserts and point reads by sku against a real Mongo, once per key layout, with the indexes each layout's change
+ * sets leave behind. Needs a server: -Dstock.benchmark.mongo-uri, mongodb://localhost:27017 by default; it owns the
+ * ms-stock-benchmark database and drops it on every trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class MongoKeyLayoutBenchmark {
+
+    private static final int PRELOADED = 100_000;
+
+    @Param({"UUID", "SKU"})
+    public KeyLayout layout;
+
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private StockRepositoryCustomImpl stockRepository;
+    private final AtomicLong nextSku = new AtomicLong(PRELOADED);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongoClient = MongoClients.create(System.getProperty("stock.benchmark.mongo-uri", "mongodb://localhost:27017"));
+        mongoTemplate = new MongoTemplate(mongoClient, "ms-stock-benchmark");
+        mongoTemplate.getDb().drop();
+        stockRepository = new StockRepositoryCustomImpl(mongoTemplate, new StockMongoProperties(null, null, null, null,
+                new StockMongoProperties.CatalogReads("primary", null),
+                new StockMongoProperties.WriteConcerns("acknowledged", "acknowledged"),
+                layout));
+
+        var indexes = mongoTemplate.indexOps(ProductStockModel.class);
+        if (layout == KeyLayout.UUID)
+            indexes.ensureIndex(new Index("sku", Sort.Direction.ASC).unique().named("stocks_sku_unique"));
+        indexes.ensureIndex(new Index("sku", Sort.Direction.ASC).on("quantity", Sort.Direction.ASC)
+                .on("reserved", Sort.Direction.ASC).named("stocks_sku_quantity_reserved"));
+
+        var batch = new ArrayList<ProductStockModel>();
+        for (int i = 0; i < PRELOADED; i++) {
+            batch.add(stock(sku(i)));
+            if (batch.size() == 1_000) {
+                mongoTemplate.insertAll(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongoTemplate.getDb().drop();
+        mongoClient.close();
+    }
+
+    private static String sku(long n) {
+        return "SKU-%08d".formatted(n);
+    }
+
+    private ProductStockModel stock(String sku) {
+        return ProductStockModel.builder()
+                .id(stockRepository.newStockId(sku))
+                .sku(sku)
+                .name("Benchmark Product")
+                .quantity(100)
+                .version(0L)
+                .build();
+    }
+
+    @Benchmark
+    public ProductStockModel insert() {
+        return mongoTemplate.insert(stock(sku(nextSku.getAndIncrement())));
+    }
+
+    @Benchmark
+    public ProductStockModel findBySku() {
+        return stockRepository.findBySku(sku(ThreadLocalRandom.current().nextInt(PRELOADED))).orElseThrow();
+    }
+}
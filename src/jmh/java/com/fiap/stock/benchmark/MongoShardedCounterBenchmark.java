@@ -0,0 +1,91 @@
+package com.fiap.stock.benchmark;
+
+import com.fiap.stock.infrastructure.config.HotSkuProperties;
+import com.fiap.stock.infrastructure.config.ShardedSkuProperties;
+import com.fiap.stock.infrastructure.config.StockMongoProperties;
+import com.fiap.stock.infrastructure.repository.StockRepository;
+import com.fiap.stock.infrastructure.repository.StockRepositoryCustomImpl;
+import com.fiap.stock.infrastructure.repository.StockShardRepository;
+import com.fiap.stock.infrastructure.repository.StockShardRepositoryCustomImpl;
+import com.fiap.stock.infrastructure.repository.model.ProductStockModel;
+import com.fiap.stock.infrastructure.shardedsku.ShardedStockCounters;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decrements of a single contended sku against a real Mongo, on the stock document alone and spread over sub-counter
+ * documents, topped up so neither side runs dry. Needs a server: -Dstock.benchmark.mongo-uri,
+ * mongodb://localhost:27017 by default; it owns the ms-stock-benchmark database and drops it on every trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class MongoShardedCounterBenchmark {
+
+    private static final String SKU = "CONTENDED";
+    private static final int STOCK = 1_000_000_000;
+
+    @Param({"1", "8", "32"})
+    public int shards;
+
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private StockRepository stockRepository;
+    private ShardedStockCounters counters;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongoClient = MongoClients.create(System.getProperty("stock.benchmark.mongo-uri", "mongodb://localhost:27017"));
+        mongoTemplate = new MongoTemplate(mongoClient, "ms-stock-benchmark");
+        mongoTemplate.getDb().drop();
+
+        var factory = new MongoRepositoryFactory(mongoTemplate);
+        stockRepository = factory.getRepository(StockRepository.class, new StockRepositoryCustomImpl(mongoTemplate,
+                new StockMongoProperties(null, null, null, null,
+                        new StockMongoProperties.CatalogReads("primary", null),
+                        new StockMongoProperties.WriteConcerns("acknowledged", "acknowledged"),
+                        null)));
+        var shardRepository = factory.getRepository(StockShardRepository.class,
+                new StockShardRepositoryCustomImpl(mongoTemplate));
+        // a single shard stands for the stock document alone: nothing is ever configured as sharded
+        counters = new ShardedStockCounters(stockRepository, shardRepository,
+                new ShardedSkuProperties(shards == 1 ? Set.of() : Set.of(SKU), shards, Duration.ofMillis(100),
+                        Duration.ofSeconds(1), 0.25),
+                new HotSkuProperties(Set.of(), null, null, null, null, null), new SimpleMeterRegistry());
+
+        mongoTemplate.insert(ProductStockModel.builder()
+                .id(UUID.randomUUID().toString())
+                .sku(SKU)
+                .name("Benchmark Product")
+                .quantity(STOCK)
+                .version(0L)
+                .build());
+        counters.rebalance();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongoTemplate.getDb().drop();
+        mongoClient.close();
+    }
+
+    @Benchmark
+    public Object decrement() {
+        return shards == 1
+                ? stockRepository.adjustQuantity(SKU, -1).orElseThrow()
+                : counters.adjust(SKU, -1).orElseThrow();
+    }
+}
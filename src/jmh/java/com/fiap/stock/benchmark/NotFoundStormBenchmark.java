@@ -0,0 +1,90 @@
+package com.fiap.stock.benchmark;
+
+import com.fiap.stock.core.dto.UpdateProductStockDTO;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.entity.StockOperation;
+import com.fiap.stock.core.usecase.AlterProductStockUseCase;
+import com.fiap.stock.core.usecase.FindStockUseCase;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups of unknown skus and rejected decrements, hammered from several threads the way bot traffic does.
+ * The baseline benchmarks replay what each miss used to cost: a stack-traced exception and an error line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class NotFoundStormBenchmark {
+
+    // logs at INFO into a no-op appender in logback-benchmark.xml, like the use cases: events are built, the console
+    // is not flooded
+    private static final Logger baselineLog = LoggerFactory.getLogger("com.fiap.stock.benchmark.baseline");
+    private static final String MISSING_SKU = "NO-SUCH-SKU";
+    private static final String SKU = "SKU-000001";
+
+    private InMemoryStockGateway stockGateway;
+    private FindStockUseCase findStock;
+    private AlterProductStockUseCase alterStock;
+    private final UpdateProductStockDTO overdraw = new UpdateProductStockDTO(StockOperation.DECREASE, 1_000);
+
+    @Setup
+    public void setUp() {
+        stockGateway = new InMemoryStockGateway();
+        stockGateway.insert(new ProductStock("id-1", SKU, "Benchmark Product", 10));
+        findStock = new FindStockUseCase(stockGateway);
+        alterStock = new AlterProductStockUseCase(stockGateway, new InMemoryStockMovementGateway(), event -> {});
+    }
+
+    @Benchmark
+    public Object findUnknownSku() {
+        try {
+            return findStock.execute(MISSING_SKU);
+        } catch (IllegalStateException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object findUnknownSkuBaseline() {
+        try {
+            baselineLog.info("Finding stock for sku: {}", MISSING_SKU);
+            return stockGateway.findBySku(MISSING_SKU).orElseThrow(() -> {
+                baselineLog.error("Stock not for sku sku: {}", MISSING_SKU);
+                return new IllegalStateException("Stock not found with sku: " + MISSING_SKU);
+            });
+        } catch (IllegalStateException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object rejectDecrement() {
+        try {
+            return alterStock.execute(SKU, overdraw);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object rejectDecrementBaseline() {
+        try {
+            baselineLog.info("Altering stock for sku: {}", SKU);
+            var stock = stockGateway.adjustQuantity(SKU, overdraw.delta());
+            if (stock.isPresent())
+                return stock.get();
+            stockGateway.findBySku(SKU).orElseThrow();
+            throw new IllegalArgumentException("Stock for sku:" + SKU + " is less than required: " + overdraw.quantity());
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.fiap.stock.benchmark;
+
+import com.fiap.stock.core.entity.ProductStock;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductStockBenchmark {
+
+    private String id = "6c1b8f0e-2f7a-4a59-9a57-0b5b4c1f7e11";
+    private String sku = "SKU-000001";
+    private String name = "Benchmark Product";
+    private ProductStock stock;
+    private ProductStock sameSku;
+
+    @Setup
+    public void setUp() {
+        stock = new ProductStock(id, sku, name, 100, 5);
+        sameSku = new ProductStock("other-id", new String(sku.toCharArray()), name, 1);
+    }
+
+    @Benchmark
+    public ProductStock construct() {
+        return new ProductStock(id, sku, name, 100, 5);
+    }
+
+    @Benchmark
+    public boolean equalsSameSku() {
+        return stock.equals(sameSku);
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return stock.hashCode();
+    }
+}
@@ -0,0 +1,42 @@
+package com.fiap.stock.benchmark;
+
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.infrastructure.mapper.ProductStockMapper;
+import com.fiap.stock.infrastructure.repository.model.ProductStockModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductStockMapperBenchmark {
+
+    private ProductStockModel model;
+    private ProductStock entity;
+
+    @Setup
+    public void setUp() {
+        model = ProductStockModel.builder()
+                .id("6c1b8f0e-2f7a-4a59-9a57-0b5b4c1f7e11")
+                .sku("SKU-000001")
+                .name("Benchmark Product")
+                .quantity(100)
+                .reserved(5)
+                .build();
+        entity = ProductStockMapper.toEntity(model);
+    }
+
+    @Benchmark
+    public ProductStock toEntity() {
+        return ProductStockMapper.toEntity(model);
+    }
+
+    @Benchmark
+    public ProductStockModel toModel() {
+        return ProductStockMapper.toModel(entity);
+    }
+}
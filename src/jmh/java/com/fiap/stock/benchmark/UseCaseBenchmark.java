@@ -0,0 +1,133 @@
+package com.fiap.stock.benchmark;
+
+import com.fiap.stock.core.dto.CreateProductStockDTO;
+import com.fiap.stock.core.dto.ReserveStockDTO;
+import com.fiap.stock.core.dto.StockAdjustmentDTO;
+import com.fiap.stock.core.dto.UpdateProductStockDTO;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.entity.ReservationStatus;
+import com.fiap.stock.core.entity.StockOperation;
+import com.fiap.stock.core.entity.StockReservation;
+import com.fiap.stock.core.usecase.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every use case against in-memory gateways. Write benchmarks undo their own change so the state stays the same
+ * across iterations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UseCaseBenchmark {
+
+    private static final int STOCKS = 1000;
+    private static final String SKU = "SKU-000500";
+
+    private InMemoryStockGateway stockGateway;
+    private InMemoryStockReservationGateway reservationGateway;
+    private InMemoryStockMovementGateway movementGateway;
+    private FindStockUseCase findStock;
+    private FindAllStocksUseCase findAllStocks;
+    private FindStocksPageUseCase findStocksPage;
+    private CreateProductStockUseCase createStock;
+    private DeleteProductStockUseCase deleteStock;
+    private AlterProductStockUseCase alterStock;
+    private BulkAlterProductStockUseCase bulkAlterStock;
+    private ReserveStockUseCase reserveStock;
+    private ConfirmReservationUseCase confirmReservation;
+    private ReleaseReservationUseCase releaseReservation;
+    private ExpireReservationsUseCase expireReservations;
+
+    private final UpdateProductStockDTO increase = new UpdateProductStockDTO(StockOperation.INCREASE, 1);
+    private final UpdateProductStockDTO decrease = new UpdateProductStockDTO(StockOperation.DECREASE, 1);
+    private final ReserveStockDTO reserveOne = new ReserveStockDTO(1, null);
+    private List<StockAdjustmentDTO> bulkAdjustments;
+    private long created;
+
+    @Setup
+    public void setUp() {
+        stockGateway = new InMemoryStockGateway();
+        reservationGateway = new InMemoryStockReservationGateway();
+        movementGateway = new InMemoryStockMovementGateway();
+        for (int i = 0; i < STOCKS; i++)
+            stockGateway.insert(new ProductStock("id-" + i, String.format("SKU-%06d", i), "Benchmark Product " + i, 1_000_000));
+
+        findStock = new FindStockUseCase(stockGateway);
+        findAllStocks = new FindAllStocksUseCase(stockGateway);
+        findStocksPage = new FindStocksPageUseCase(stockGateway);
+        createStock = new CreateProductStockUseCase(stockGateway, movementGateway, event -> {});
+        deleteStock = new DeleteProductStockUseCase(stockGateway, movementGateway, event -> {});
+        alterStock = new AlterProductStockUseCase(stockGateway, movementGateway, event -> {});
+        bulkAlterStock = new BulkAlterProductStockUseCase(stockGateway, movementGateway, event -> {});
+        reserveStock = new ReserveStockUseCase(stockGateway, reservationGateway, event -> {});
+        confirmReservation = new ConfirmReservationUseCase(stockGateway, reservationGateway, movementGateway, event -> {});
+        releaseReservation = new ReleaseReservationUseCase(stockGateway, reservationGateway, event -> {});
+        expireReservations = new ExpireReservationsUseCase(stockGateway, reservationGateway, event -> {});
+
+        bulkAdjustments = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            var sku = String.format("SKU-%06d", i);
+            bulkAdjustments.add(new StockAdjustmentDTO(sku, StockOperation.DECREASE, 1));
+            bulkAdjustments.add(new StockAdjustmentDTO(sku, StockOperation.INCREASE, 1));
+        }
+    }
+
+    @Benchmark
+    public ProductStock findStock() {
+        return findStock.execute(SKU);
+    }
+
+    @Benchmark
+    public Object findAllStocks() {
+        return findAllStocks.execute();
+    }
+
+    @Benchmark
+    public Object findStocksPage() {
+        return findStocksPage.execute(SKU, 50);
+    }
+
+    @Benchmark
+    public void createAndDeleteStock() {
+        var stock = createStock.execute(new CreateProductStockDTO("NEW-" + created++, "Benchmark Product", 10));
+        deleteStock.execute(stock.getId());
+    }
+
+    @Benchmark
+    public void alterStock(Blackhole blackhole) {
+        blackhole.consume(alterStock.execute(SKU, decrease));
+        blackhole.consume(alterStock.execute(SKU, increase));
+    }
+
+    @Benchmark
+    public Object bulkAlterStock() {
+        return bulkAlterStock.execute(bulkAdjustments);
+    }
+
+    @Benchmark
+    public StockReservation reserveAndRelease() {
+        return releaseReservation.execute(reserveStock.execute(SKU, reserveOne).getId());
+    }
+
+    @Benchmark
+    public void reserveAndConfirm(Blackhole blackhole) {
+        blackhole.consume(confirmReservation.execute(reserveStock.execute(SKU, reserveOne).getId()));
+        blackhole.consume(alterStock.execute(SKU, increase));
+    }
+
+    @Benchmark
+    public int expireReservations() {
+        stockGateway.reserve(SKU, 1);
+        reservationGateway.save(new StockReservation("expired-" + created++, SKU, 1, ReservationStatus.ACTIVE, Instant.EPOCH));
+        return expireReservations.execute(1);
+    }
+}
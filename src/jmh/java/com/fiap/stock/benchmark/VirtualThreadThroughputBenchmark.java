@@ -0,0 +1,77 @@
+package com.fiap.stock.benchmark;
+
+import com.fiap.stock.core.dto.UpdateProductStockDTO;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.entity.StockOperation;
+import com.fiap.stock.core.usecase.AlterProductStockUseCase;
+import com.fiap.stock.core.usecase.FindStockUseCase;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests per second when every gateway call blocks for a Mongo-like latency, with Tomcat's default pool of
+ * 200 platform threads against one virtual thread per request (spring.threads.virtual.enabled).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadThroughputBenchmark {
+
+    private static final int REQUESTS = 2000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final String SKU = "SKU-000001";
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"5"})
+    private long latencyMillis;
+
+    private ExecutorService executor;
+    private FindStockUseCase findStock;
+    private AlterProductStockUseCase alterStock;
+
+    private final UpdateProductStockDTO increase = new UpdateProductStockDTO(StockOperation.INCREASE, 1);
+    private final UpdateProductStockDTO decrease = new UpdateProductStockDTO(StockOperation.DECREASE, 1);
+
+    @Setup
+    public void setUp() {
+        var gateway = new LatencyStockGateway(Duration.ofMillis(latencyMillis));
+        gateway.insert(new ProductStock("id-1", SKU, "Benchmark Product", 1_000_000));
+        findStock = new FindStockUseCase(gateway);
+        alterStock = new AlterProductStockUseCase(gateway, new InMemoryStockMovementGateway(), event -> {});
+        executor = threads.equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void mixedRequests() throws Exception {
+        var responses = new ArrayList<Future<?>>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            var request = i;
+            responses.add(executor.submit(() -> switch (request % 4) {
+                case 0 -> alterStock.execute(SKU, decrease);
+                case 1 -> alterStock.execute(SKU, increase);
+                default -> findStock.execute(SKU);
+            }));
+        }
+        for (var response : responses)
+            response.get();
+    }
+}
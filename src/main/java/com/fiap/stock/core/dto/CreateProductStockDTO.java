@@ -1,8 +1,16 @@
 package com.fiap.stock.core.dto;
 
+/**
+ * @param reorderThreshold available units at or below which the sku needs restocking, 0 when left out
+ */
 public record CreateProductStockDTO(
         String sku,
         String name,
-        int quantity
+        int quantity,
+        int reorderThreshold
 ) {
+
+    public CreateProductStockDTO(String sku, String name, int quantity) {
+        this(sku, name, quantity, 0);
+    }
 }
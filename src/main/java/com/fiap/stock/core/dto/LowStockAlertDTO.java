@@ -0,0 +1,8 @@
+package com.fiap.stock.core.dto;
+
+/**
+ * Published when a write moves the available units of a stock across its reorder threshold: {@code low} when they
+ * fall to it or below, not low when a restock lifts them back above it.
+ */
+public record LowStockAlertDTO(String sku, int available, int reorderThreshold, boolean low) {
+}
@@ -0,0 +1,7 @@
+package com.fiap.stock.core.dto;
+
+public record ReserveStockDTO(
+        int quantity,
+        Long ttlSeconds
+) {
+}
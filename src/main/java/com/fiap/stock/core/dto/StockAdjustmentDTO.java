@@ -0,0 +1,14 @@
+package com.fiap.stock.core.dto;
+
+import com.fiap.stock.core.entity.StockOperation;
+
+public record StockAdjustmentDTO(
+        String sku,
+        StockOperation stockOperation,
+        int quantity
+) {
+
+    public UpdateProductStockDTO toUpdate() {
+        return new UpdateProductStockDTO(stockOperation, quantity);
+    }
+}
@@ -0,0 +1,16 @@
+package com.fiap.stock.core.dto;
+
+import com.fiap.stock.core.entity.AdjustmentStatus;
+import com.fiap.stock.core.entity.StockOperation;
+
+public record StockAdjustmentResultDTO(
+        String sku,
+        StockOperation stockOperation,
+        int quantity,
+        AdjustmentStatus status
+) {
+
+    public StockAdjustmentResultDTO(StockAdjustmentDTO adjustment, AdjustmentStatus status) {
+        this(adjustment.sku(), adjustment.stockOperation(), adjustment.quantity(), status);
+    }
+}
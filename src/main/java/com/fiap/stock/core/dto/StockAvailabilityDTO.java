@@ -0,0 +1,14 @@
+package com.fiap.stock.core.dto;
+
+import com.fiap.stock.core.entity.ProductStock;
+
+public record StockAvailabilityDTO(
+        String sku,
+        int quantity,
+        int available
+) {
+
+    public StockAvailabilityDTO(ProductStock stock) {
+        this(stock.getSku(), stock.getQuantity(), stock.getAvailable());
+    }
+}
@@ -0,0 +1,16 @@
+package com.fiap.stock.core.dto;
+
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.entity.StockChangeType;
+
+/**
+ * Published after a write on a stock commits. {@code stock} is its state after the write, or the removed stock for
+ * a deletion; it is null when the write does not read it back (bulk adjustments), so consumers fetch it if they need it.
+ * Changes picked up from the database without a document to read carry neither stock nor sku.
+ */
+public record StockChangeDTO(StockChangeType type, String sku, ProductStock stock) {
+
+    public StockChangeDTO(StockChangeType type, ProductStock stock) {
+        this(type, stock.getSku(), stock);
+    }
+}
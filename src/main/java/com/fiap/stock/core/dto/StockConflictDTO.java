@@ -0,0 +1,7 @@
+package com.fiap.stock.core.dto;
+
+/**
+ * Published when a guarded update lost its race against a concurrent writer on the same sku.
+ */
+public record StockConflictDTO(String sku, int attempt, boolean retrying) {
+}
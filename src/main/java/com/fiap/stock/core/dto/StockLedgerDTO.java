@@ -0,0 +1,11 @@
+package com.fiap.stock.core.dto;
+
+import com.fiap.stock.core.entity.StockMovement;
+
+import java.util.List;
+
+/**
+ * A sku's most recent movements, newest first, with the quantity its ledger adds up to.
+ */
+public record StockLedgerDTO(String sku, int quantity, List<StockMovement> movements) {
+}
@@ -0,0 +1,11 @@
+package com.fiap.stock.core.dto;
+
+import com.fiap.stock.core.entity.ProductStock;
+
+import java.util.List;
+
+public record StockPageDTO(
+        List<ProductStock> items,
+        String nextCursor
+) {
+}
@@ -2,8 +2,26 @@ package com.fiap.stock.core.dto;
 
 import com.fiap.stock.core.entity.StockOperation;
 
+import java.util.Objects;
+
+import static com.fiap.stock.core.entity.StockOperation.INCREASE;
+
 public record UpdateProductStockDTO(
         StockOperation stockOperation,
         int quantity
 ) {
+
+    public void validate() {
+        if (Objects.isNull(stockOperation))
+            throw new IllegalArgumentException("No operation informed");
+
+        if (quantity <= 0)
+            throw new IllegalArgumentException(INCREASE.equals(stockOperation)
+                    ? "Amount to increase stock must be positive."
+                    : "Amount to decrease stock must be positive.");
+    }
+
+    public int delta() {
+        return INCREASE.equals(stockOperation) ? quantity : -quantity;
+    }
 }
@@ -0,0 +1,8 @@
+package com.fiap.stock.core.entity;
+
+public enum AdjustmentStatus {
+    APPLIED,
+    INSUFFICIENT_STOCK,
+    UNKNOWN_SKU,
+    INVALID
+}
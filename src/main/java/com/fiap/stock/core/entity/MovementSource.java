@@ -0,0 +1,10 @@
+package com.fiap.stock.core.entity;
+
+public enum MovementSource {
+    CREATE,
+    ADJUSTMENT,
+    BULK_ADJUSTMENT,
+    RESERVATION,
+    DELETE,
+    OPENING
+}
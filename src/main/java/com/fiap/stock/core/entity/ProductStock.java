@@ -7,25 +7,74 @@ public class ProductStock {
     private final String sku;
     private final String name;
     private int quantity;
+    private final int reserved;
+    private final long version;
+    private final int reorderThreshold;
+    private final boolean readOnly;
 
     public ProductStock(String id, String sku, String name, int initialQuantity) {
+        this(id, sku, name, initialQuantity, 0);
+    }
 
-        if (id == null || id.trim().isEmpty()) {
-            throw new IllegalArgumentException("id cannot be null or empty.");
-        }
+    public ProductStock(String id, String sku, String name, int initialQuantity, int reserved) {
+        this(id, sku, name, initialQuantity, reserved, 0);
+    }
+
+    public ProductStock(String id, String sku, String name, int initialQuantity, int reserved, long version) {
+        this(id, sku, name, initialQuantity, reserved, version, 0);
+    }
+
+    public ProductStock(String id, String sku, String name, int initialQuantity, int reserved, long version,
+                        int reorderThreshold) {
+
+        // the sku first: the id may be the sku itself
         if (sku == null || sku.trim().isEmpty()) {
             throw new IllegalArgumentException("SKU cannot be null or empty.");
         }
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("id cannot be null or empty.");
+        }
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Name cannot be null or empty.");
         }
         if (initialQuantity < 0) {
             throw new IllegalArgumentException("Initial quantity cannot be negative.");
         }
+        if (reserved < 0) {
+            throw new IllegalArgumentException("Reserved quantity cannot be negative.");
+        }
+        if (version < 0) {
+            throw new IllegalArgumentException("Version cannot be negative.");
+        }
+        if (reorderThreshold < 0) {
+            throw new IllegalArgumentException("Reorder threshold cannot be negative.");
+        }
         this.id = id;
         this.sku = sku;
         this.name = name;
         this.quantity = initialQuantity;
+        this.reserved = reserved;
+        this.version = version;
+        this.reorderThreshold = reorderThreshold;
+        this.readOnly = false;
+    }
+
+    private ProductStock(ProductStock source) {
+        this.id = source.id;
+        this.sku = source.sku;
+        this.name = source.name;
+        this.quantity = source.quantity;
+        this.reserved = source.reserved;
+        this.version = source.version;
+        this.reorderThreshold = source.reorderThreshold;
+        this.readOnly = true;
+    }
+
+    /**
+     * A copy whose quantity cannot be changed, safe to hand to every caller of a cache.
+     */
+    public ProductStock readOnlyCopy() {
+        return readOnly ? this : new ProductStock(this);
     }
 
     public String getId() {
@@ -44,7 +93,31 @@ public class ProductStock {
         return quantity;
     }
 
+    public int getReserved() {
+        return reserved;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getReorderThreshold() {
+        return reorderThreshold;
+    }
+
+    public int getAvailable() {
+        return quantity - reserved;
+    }
+
+    /**
+     * Whether the available units are down to the reorder threshold, the point where the sku needs restocking.
+     */
+    public boolean isLow() {
+        return getAvailable() <= reorderThreshold;
+    }
+
     public void increaseStock(int amount) {
+        checkWritable();
         if (amount <= 0) {
             throw new IllegalArgumentException("Amount to increase stock must be positive.");
         }
@@ -52,15 +125,25 @@ public class ProductStock {
     }
 
     public void decreaseStock(int amount) {
+        checkWritable();
         if (amount <= 0) {
             throw new IllegalArgumentException("Amount to decrease stock must be positive.");
         }
         if (this.quantity < amount) {
             throw new IllegalStateException("Cannot decrease stock below zero. Current quantity: " + this.quantity);
         }
+        if (getAvailable() < amount) {
+            throw new IllegalStateException("Cannot decrease reserved stock. Available quantity: " + getAvailable());
+        }
         this.quantity -= amount;
     }
 
+    private void checkWritable() {
+        if (readOnly) {
+            throw new IllegalStateException("Stock " + sku + " is a read-only copy.");
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,8 @@
+package com.fiap.stock.core.entity;
+
+public enum ReservationStatus {
+    ACTIVE,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
@@ -0,0 +1,7 @@
+package com.fiap.stock.core.entity;
+
+public enum StockChangeType {
+    CREATED,
+    ALTERED,
+    DELETED
+}
@@ -0,0 +1,98 @@
+package com.fiap.stock.core.entity;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+public class StockMovement {
+    private final String id;
+    private final String sku;
+    private final StockOperation operation;
+    private final int quantity;
+    private final MovementSource source;
+    private final Instant occurredAt;
+
+    public StockMovement(String id, String sku, StockOperation operation, int quantity, MovementSource source, Instant occurredAt) {
+
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("id cannot be null or empty.");
+        }
+        if (sku == null || sku.trim().isEmpty()) {
+            throw new IllegalArgumentException("SKU cannot be null or empty.");
+        }
+        if (operation == null) {
+            throw new IllegalArgumentException("Operation cannot be null.");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Moved quantity must be positive.");
+        }
+        if (source == null) {
+            throw new IllegalArgumentException("Source cannot be null.");
+        }
+        if (occurredAt == null) {
+            throw new IllegalArgumentException("Occurrence time cannot be null.");
+        }
+        this.id = id;
+        this.sku = sku;
+        this.operation = operation;
+        this.quantity = quantity;
+        this.source = source;
+        this.occurredAt = occurredAt;
+    }
+
+    public static StockMovement now(String sku, StockOperation operation, int quantity, MovementSource source) {
+        return new StockMovement(UUID.randomUUID().toString(), sku, operation, quantity, source, Instant.now());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public StockOperation getOperation() {
+        return operation;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public MovementSource getSource() {
+        return source;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public int getDelta() {
+        return StockOperation.DECREASE.equals(operation) ? -quantity : quantity;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StockMovement that = (StockMovement) o;
+        return id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "StockMovement{" +
+                "sku='" + sku + '\'' +
+                ", operation=" + operation +
+                ", quantity=" + quantity +
+                ", source=" + source +
+                ", occurredAt=" + occurredAt +
+                '}';
+    }
+}
@@ -0,0 +1,80 @@
+package com.fiap.stock.core.entity;
+
+import java.time.Instant;
+import java.util.Objects;
+
+public class StockReservation {
+    private final String id;
+    private final String sku;
+    private final int quantity;
+    private final ReservationStatus status;
+    private final Instant expiresAt;
+
+    public StockReservation(String id, String sku, int quantity, ReservationStatus status, Instant expiresAt) {
+
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("id cannot be null or empty.");
+        }
+        if (sku == null || sku.trim().isEmpty()) {
+            throw new IllegalArgumentException("SKU cannot be null or empty.");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Reserved quantity must be positive.");
+        }
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null.");
+        }
+        if (expiresAt == null) {
+            throw new IllegalArgumentException("Expiration cannot be null.");
+        }
+        this.id = id;
+        this.sku = sku;
+        this.quantity = quantity;
+        this.status = status;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public ReservationStatus getStatus() {
+        return status;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StockReservation that = (StockReservation) o;
+        return id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "StockReservation{" +
+                "id='" + id + '\'' +
+                ", sku='" + sku + '\'' +
+                ", quantity=" + quantity +
+                ", status=" + status +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -0,0 +1,15 @@
+package com.fiap.stock.core.exception;
+
+/**
+ * An expected outcome of a decrement or a reservation rather than a fault, so it carries no stack trace.
+ */
+public class InsufficientStockException extends IllegalArgumentException {
+    public InsufficientStockException(String sku, int required) {
+        super("Stock for sku:" + sku + " is less than required: " + required);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
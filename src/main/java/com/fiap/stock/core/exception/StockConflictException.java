@@ -0,0 +1,7 @@
+package com.fiap.stock.core.exception;
+
+public class StockConflictException extends IllegalStateException {
+    public StockConflictException(String sku, int attempts) {
+        super("Stock for sku:" + sku + " kept changing concurrently after " + attempts + " attempts");
+    }
+}
@@ -0,0 +1,16 @@
+package com.fiap.stock.core.exception;
+
+/**
+ * Thrown for every miss, probes for skus that never existed included, so it carries no stack trace: the message
+ * says all there is to know and filling the trace was most of the cost of a 404.
+ */
+public class StockNotFoundException extends IllegalStateException {
+    public StockNotFoundException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,10 @@
+package com.fiap.stock.core.exception;
+
+/**
+ * The write could not be acknowledged right now and was not applied; the request is safe to retry.
+ */
+public class StockUnavailableException extends RuntimeException {
+    public StockUnavailableException(String message) {
+        super(message);
+    }
+}
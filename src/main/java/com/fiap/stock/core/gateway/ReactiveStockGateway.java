@@ -0,0 +1,17 @@
+package com.fiap.stock.core.gateway;
+
+import com.fiap.stock.core.entity.ProductStock;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads of {@link StockGateway} for the reactive profile. Writes go through the blocking gateway, so
+ * they share its ledger, events and caches.
+ */
+public interface ReactiveStockGateway {
+    Mono<ProductStock> findBySku(String sku);
+
+    Mono<ProductStock> findById(String id);
+
+    Flux<ProductStock> findAll();
+}
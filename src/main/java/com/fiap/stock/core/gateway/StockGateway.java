@@ -1,18 +1,111 @@
 package com.fiap.stock.core.gateway;
 
+import com.fiap.stock.core.dto.StockAdjustmentDTO;
+import com.fiap.stock.core.dto.StockAvailabilityDTO;
+import com.fiap.stock.core.entity.AdjustmentStatus;
 import com.fiap.stock.core.entity.ProductStock;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 public interface StockGateway {
+    /**
+     * Id for a stock about to be created; the storage decides whether it is random or the sku itself.
+     */
+    String newId(String sku);
+
     Optional<ProductStock> findBySku(String sku);
 
+    /**
+     * The stock as it stands right now, never from a cache: for decisions taken on the figure itself, such as telling
+     * a short stock from a lost race.
+     */
+    Optional<ProductStock> findCurrent(String sku);
+
     Optional<ProductStock> findById(String id);
 
+    /**
+     * Quantity and available units only, without loading the whole stock.
+     */
+    Optional<StockAvailabilityDTO> findAvailability(String sku);
+
     Set<ProductStock> findAll();
 
-    void save(ProductStock client);
+    /**
+     * One lookup for many skus; skus that do not exist are simply absent from the result.
+     */
+    List<ProductStock> findAllBySku(Collection<String> skus);
+
+    /**
+     * Keyset page over the sku index.
+     *
+     * @param afterSku last sku of the previous page, or null for the first page
+     * @return up to {@code limit} stocks ordered by sku
+     */
+    List<ProductStock> findPage(String afterSku, int limit);
+
+    /**
+     * Stocks whose available units are down to their reorder threshold, the shortest of their threshold first.
+     */
+    List<ProductStock> findLowStock(int limit);
+
+    /**
+     * Inserts a new stock, relying on the unique sku index instead of a prior lookup.
+     *
+     * @return false when a stock with the same sku already exists
+     */
+    boolean insert(ProductStock client);
+
+    /**
+     * Atomically adds {@code delta} to the stock of the given sku, refusing decrements larger than the available quantity.
+     *
+     * @return the stock after the adjustment, or empty when the sku does not exist or the stock is insufficient
+     */
+    Optional<ProductStock> adjustQuantity(String sku, int delta);
+
+    /**
+     * Whether the stock returned by {@link #adjustQuantity} is exactly the one that adjustment produced, so that
+     * taking the delta back off it gives the stock just before it. Views assembled after the write are not.
+     */
+    boolean isPostImageExact(String sku);
+
+    /**
+     * Holds {@code quantity} units for a reservation if that many are available.
+     *
+     * @return the stock after the hold, or empty when the sku does not exist or not enough units are available
+     */
+    Optional<ProductStock> reserve(String sku, int quantity);
+
+    Optional<ProductStock> releaseReserved(String sku, int quantity);
+
+    Optional<ProductStock> commitReserved(String sku, int quantity);
+
+    /**
+     * Keyset page over the stocks holding reserved units, read from the primary.
+     *
+     * @param afterSku last sku of the previous page, or null for the first page
+     */
+    List<ProductStock> findReservedPage(String afterSku, int limit);
+
+    /**
+     * Sets the reserved units of a stock to {@code reserved}, only while they still are {@code expected}.
+     *
+     * @return the stock after the update, or empty when the sku is gone or its reserved units moved meanwhile
+     */
+    Optional<ProductStock> resetReserved(String sku, int expected, int reserved);
+
+    /**
+     * Applies a batch of already validated adjustments with the same guarantees as {@link #adjustQuantity}.
+     * Adjustments on the same sku are applied in list order.
+     *
+     * @return one status per adjustment, in the same order as the input
+     */
+    List<AdjustmentStatus> adjustQuantities(List<StockAdjustmentDTO> adjustments);
 
-    void deleteById(String id);
+    /**
+     * @return the deleted stock, or empty when no stock has the given id
+     */
+    Optional<ProductStock> deleteById(String id);
 }
@@ -0,0 +1,31 @@
+package com.fiap.stock.core.gateway;
+
+import com.fiap.stock.core.entity.StockMovement;
+
+import java.time.Duration;
+import java.util.List;
+
+public interface StockMovementGateway {
+    /**
+     * Appends movements to the ledger; a recorded movement is never updated.
+     */
+    void record(List<StockMovement> movements);
+
+    /**
+     * @return up to {@code limit} movements of the sku, newest first
+     */
+    List<StockMovement> findRecent(String sku, int limit);
+
+    /**
+     * @return the sku's latest snapshot plus every movement recorded after it
+     */
+    int ledgerQuantity(String sku);
+
+    /**
+     * Folds the movements recorded more than {@code settle} ago into the per-sku snapshots, at most once each.
+     * Recording order is the storage's own, whichever instance wrote the movement.
+     *
+     * @return how many skus had movements folded
+     */
+    int snapshot(Duration settle);
+}
@@ -0,0 +1,43 @@
+package com.fiap.stock.core.gateway;
+
+import com.fiap.stock.core.entity.ReservationStatus;
+import com.fiap.stock.core.entity.StockReservation;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Closing a hold and giving its units back to the stock are two writes. A crash between them leaves the units
+ * reserved on the stock with no active hold behind them. Nothing retries that release: a stock's reserved count
+ * should equal the quantity of its ACTIVE holds, and the reservation reconciler sets it back to that sum where it
+ * stays higher. A confirm cut short that way gives its units back to the available ones instead of selling them.
+ */
+public interface StockReservationGateway {
+    void save(StockReservation reservation);
+
+    Optional<StockReservation> findById(String id);
+
+    /**
+     * Atomically moves an active, unexpired hold to {@code status}.
+     *
+     * @return the closed hold, or empty when it does not exist, is no longer active or has expired
+     */
+    Optional<StockReservation> close(String id, ReservationStatus status, Instant now);
+
+    /**
+     * Marks up to {@code limit} active holds that expired before {@code now} as EXPIRED.
+     *
+     * @return the holds this call expired; holds confirmed or released concurrently are left out
+     */
+    List<StockReservation> expire(Instant now, int limit);
+
+    /**
+     * Units held by the ACTIVE holds of each sku, expired ones the expirer has not reached yet included.
+     *
+     * @return one entry per sku with at least one active hold
+     */
+    Map<String, Integer> activeQuantities(Collection<String> skus);
+}
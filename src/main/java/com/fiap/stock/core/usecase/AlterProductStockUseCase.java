@@ -1,51 +1,91 @@
 package com.fiap.stock.core.usecase;
 
+import com.fiap.stock.core.dto.StockChangeDTO;
+import com.fiap.stock.core.dto.StockConflictDTO;
 import com.fiap.stock.core.dto.UpdateProductStockDTO;
+import com.fiap.stock.core.entity.MovementSource;
 import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.entity.StockChangeType;
+import com.fiap.stock.core.entity.StockMovement;
+import com.fiap.stock.core.exception.InsufficientStockException;
+import com.fiap.stock.core.exception.StockConflictException;
+import com.fiap.stock.core.exception.StockNotFoundException;
 import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.core.gateway.StockMovementGateway;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import java.util.Objects;
-
-import static com.fiap.stock.core.entity.StockOperation.DECREASE;
-import static com.fiap.stock.core.entity.StockOperation.INCREASE;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Slf4j
 @Service
 public class AlterProductStockUseCase {
+    static final int MAX_ATTEMPTS = 4;
+    private static final long BASE_BACKOFF_MILLIS = 2;
+    private static final long MAX_BACKOFF_MILLIS = 50;
+    private static final RateLimitedLog rejections = new RateLimitedLog(log, Duration.ofSeconds(1));
+
     private final StockGateway stockGateway;
+    private final StockMovementGateway stockMovementGateway;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockThresholdAlerts thresholdAlerts;
 
-    public AlterProductStockUseCase(StockGateway stockGateway) {
+    public AlterProductStockUseCase(StockGateway stockGateway, StockMovementGateway stockMovementGateway,
+                                    ApplicationEventPublisher eventPublisher) {
         this.stockGateway = stockGateway;
+        this.stockMovementGateway = stockMovementGateway;
+        this.eventPublisher = eventPublisher;
+        this.thresholdAlerts = new StockThresholdAlerts(stockGateway, eventPublisher);
     }
 
 
     public ProductStock execute(String sku, UpdateProductStockDTO input) {
         log.info("Altering stock for sku: {}", sku);
-        var stockDB = stockGateway.findBySku(sku).orElseThrow(() -> {
-            log.error("Stock not found for sku: {}", sku);
-            return new IllegalStateException("Stock not found for sku: " + sku);
-        });
-
-        if (Objects.isNull(input.stockOperation()))
-            throw new IllegalArgumentException("No operation informed");
 
+        input.validate();
 
-        if (INCREASE.equals(input.stockOperation()))
-            stockDB.increaseStock(input.quantity());
+        for (int attempt = 1; ; attempt++) {
+            var stockDB = stockGateway.adjustQuantity(sku, input.delta());
+            if (stockDB.isPresent()) {
+                stockMovementGateway.record(List.of(
+                        StockMovement.now(sku, input.stockOperation(), input.quantity(), MovementSource.ADJUSTMENT)));
+                eventPublisher.publishEvent(new StockChangeDTO(StockChangeType.ALTERED, stockDB.get()));
+                thresholdAlerts.afterWrite(stockDB.get(), input.delta());
+                log.info("Stock altered with sku: {}", sku);
+                return stockDB.get();
+            }
 
-        if (DECREASE.equals(input.stockOperation()))
-            decrease(stockDB, input.quantity());
+            // the conditional update matched nothing: only now pay for a lookup to tell a missing sku from a short stock
+            var current = stockGateway.findCurrent(sku).orElseThrow(() -> {
+                rejections.warn("Stock not found for sku: {}", sku);
+                return new StockNotFoundException("Stock not found for sku: " + sku);
+            });
+            if (current.getAvailable() + input.delta() < 0) {
+                rejections.warn("Insufficient stock for sku: {}", sku);
+                throw new InsufficientStockException(sku, input.quantity());
+            }
 
-        stockGateway.save(stockDB);
-        log.info("Stock altered with sku: {}", sku);
-        return stockDB;
+            // the guard would pass now: a concurrent writer moved the stock between our update and the lookup
+            boolean retrying = attempt < MAX_ATTEMPTS;
+            eventPublisher.publishEvent(new StockConflictDTO(sku, attempt, retrying));
+            if (!retrying)
+                throw new StockConflictException(sku, attempt);
+            log.warn("Concurrent update on sku: {} at version {}, retrying attempt {}", sku, current.getVersion(), attempt);
+            backoff(sku, attempt);
+        }
     }
 
-    private void decrease(ProductStock productStock, int qt) {
-        if (productStock.getQuantity() < qt)
-            throw new IllegalArgumentException("Stock for sku:" + productStock.getSku() + " is less than required: " + qt);
-        productStock.decreaseStock(qt);
+    // full jitter keeps the writers that lost the same race from colliding again on their next attempt
+    private void backoff(String sku, int attempt) {
+        long ceiling = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << attempt);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StockConflictException(sku, attempt);
+        }
     }
 }
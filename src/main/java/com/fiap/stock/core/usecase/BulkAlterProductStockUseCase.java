@@ -0,0 +1,103 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.dto.StockAdjustmentDTO;
+import com.fiap.stock.core.dto.StockAdjustmentResultDTO;
+import com.fiap.stock.core.dto.StockChangeDTO;
+import com.fiap.stock.core.entity.AdjustmentStatus;
+import com.fiap.stock.core.entity.MovementSource;
+import com.fiap.stock.core.entity.StockChangeType;
+import com.fiap.stock.core.entity.StockMovement;
+import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.core.gateway.StockMovementGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class BulkAlterProductStockUseCase {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final StockGateway stockGateway;
+    private final StockMovementGateway stockMovementGateway;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockThresholdAlerts thresholdAlerts;
+
+    public BulkAlterProductStockUseCase(StockGateway stockGateway, StockMovementGateway stockMovementGateway,
+                                        ApplicationEventPublisher eventPublisher) {
+        this.stockGateway = stockGateway;
+        this.stockMovementGateway = stockMovementGateway;
+        this.eventPublisher = eventPublisher;
+        this.thresholdAlerts = new StockThresholdAlerts(stockGateway, eventPublisher);
+    }
+
+    public List<StockAdjustmentResultDTO> execute(List<StockAdjustmentDTO> input) {
+        log.info("Applying {} stock adjustments", input.size());
+
+        var statuses = new AdjustmentStatus[input.size()];
+        var valid = new ArrayList<StockAdjustmentDTO>();
+        var validLines = new ArrayList<Integer>();
+        for (int line = 0; line < input.size(); line++) {
+            var adjustment = input.get(line);
+            if (isValid(adjustment)) {
+                valid.add(adjustment);
+                validLines.add(line);
+            } else {
+                statuses[line] = AdjustmentStatus.INVALID;
+            }
+        }
+
+        for (int from = 0; from < valid.size(); from += CHUNK_SIZE) {
+            var to = Math.min(from + CHUNK_SIZE, valid.size());
+            var chunkStatuses = stockGateway.adjustQuantities(valid.subList(from, to));
+            for (int i = 0; i < chunkStatuses.size(); i++)
+                statuses[validLines.get(from + i)] = chunkStatuses.get(i);
+        }
+
+        var results = new ArrayList<StockAdjustmentResultDTO>(input.size());
+        var movements = new ArrayList<StockMovement>();
+        var appliedDeltas = new HashMap<String, Integer>();
+        for (int line = 0; line < input.size(); line++) {
+            var adjustment = input.get(line);
+            results.add(new StockAdjustmentResultDTO(adjustment, statuses[line]));
+            if (AdjustmentStatus.APPLIED.equals(statuses[line])) {
+                movements.add(StockMovement.now(adjustment.sku(), adjustment.stockOperation(), adjustment.quantity(), MovementSource.BULK_ADJUSTMENT));
+                appliedDeltas.merge(adjustment.sku(), adjustment.toUpdate().delta(), Integer::sum);
+            }
+        }
+        if (!movements.isEmpty())
+            stockMovementGateway.record(movements);
+        movements.forEach(movement -> eventPublisher.publishEvent(new StockChangeDTO(StockChangeType.ALTERED, movement.getSku(), null)));
+        alertOnThreshold(appliedDeltas);
+
+        log.info("Stock adjustments applied: {} of {}", movements.size(), input.size());
+        return results;
+    }
+
+    // the bulk write returns no post-images: the skus it changed are read back in one query and their net change
+    // stands in for the delta; a write landing between the two shifts what is read, so its crossing may be missed
+    // or reported twice
+    private void alertOnThreshold(Map<String, Integer> appliedDeltas) {
+        if (appliedDeltas.isEmpty())
+            return;
+        stockGateway.findAllBySku(appliedDeltas.keySet())
+                .forEach(stock -> thresholdAlerts.afterWrite(stock, appliedDeltas.get(stock.getSku())));
+    }
+
+    private boolean isValid(StockAdjustmentDTO adjustment) {
+        if (adjustment == null || adjustment.sku() == null || adjustment.sku().trim().isEmpty())
+            return false;
+        try {
+            adjustment.toUpdate().validate();
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
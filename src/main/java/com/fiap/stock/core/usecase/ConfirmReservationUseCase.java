@@ -0,0 +1,63 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.dto.StockChangeDTO;
+import com.fiap.stock.core.entity.MovementSource;
+import com.fiap.stock.core.entity.ReservationStatus;
+import com.fiap.stock.core.entity.StockChangeType;
+import com.fiap.stock.core.entity.StockMovement;
+import com.fiap.stock.core.entity.StockOperation;
+import com.fiap.stock.core.entity.StockReservation;
+import com.fiap.stock.core.exception.StockNotFoundException;
+import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.core.gateway.StockMovementGateway;
+import com.fiap.stock.core.gateway.StockReservationGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+@Slf4j
+@Service
+public class ConfirmReservationUseCase {
+
+    private final StockGateway stockGateway;
+    private final StockReservationGateway stockReservationGateway;
+    private final StockMovementGateway stockMovementGateway;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ConfirmReservationUseCase(StockGateway stockGateway, StockReservationGateway stockReservationGateway,
+                                     StockMovementGateway stockMovementGateway, ApplicationEventPublisher eventPublisher) {
+        this.stockGateway = stockGateway;
+        this.stockReservationGateway = stockReservationGateway;
+        this.stockMovementGateway = stockMovementGateway;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public StockReservation execute(String id) {
+        log.info("Confirming reservation: {}", id);
+
+        var reservation = stockReservationGateway.close(id, ReservationStatus.CONFIRMED, Instant.now()).orElseThrow(() -> {
+            log.error("Active reservation not found with id: {}", id);
+            return new IllegalStateException("Active reservation not found with id: " + id);
+        });
+
+        var stock = stockGateway.commitReserved(reservation.getSku(), reservation.getQuantity())
+                .orElseThrow(() -> unmatched(reservation));
+        stockMovementGateway.record(List.of(StockMovement.now(
+                stock.getSku(), StockOperation.DECREASE, reservation.getQuantity(), MovementSource.RESERVATION)));
+        eventPublisher.publishEvent(new StockChangeDTO(StockChangeType.ALTERED, stock));
+        log.info("Reservation {} confirmed for sku: {}", id, stock.getSku());
+        return reservation;
+    }
+
+    // the hold is closed already: nothing was sold, and the request must not report that it was
+    private RuntimeException unmatched(StockReservation reservation) {
+        log.error("Reserved units not found for sku: {} while confirming reservation {}", reservation.getSku(), reservation.getId());
+        if (stockGateway.findBySku(reservation.getSku()).isEmpty())
+            return new StockNotFoundException("Stock not found for sku: " + reservation.getSku());
+        return new IllegalStateException("Reserved units not found for sku: " + reservation.getSku()
+                + " while confirming reservation " + reservation.getId());
+    }
+}
@@ -1,34 +1,54 @@
 package com.fiap.stock.core.usecase;
 
 import com.fiap.stock.core.dto.CreateProductStockDTO;
+import com.fiap.stock.core.dto.StockChangeDTO;
+import com.fiap.stock.core.entity.MovementSource;
 import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.entity.StockChangeType;
+import com.fiap.stock.core.entity.StockMovement;
+import com.fiap.stock.core.entity.StockOperation;
 import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.core.gateway.StockMovementGateway;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID;
+import java.util.List;
 
 @Slf4j
 @Service
 public class CreateProductStockUseCase {
 
     private final StockGateway stockGateway;
+    private final StockMovementGateway stockMovementGateway;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CreateProductStockUseCase(StockGateway stockGateway) {
+    public CreateProductStockUseCase(StockGateway stockGateway, StockMovementGateway stockMovementGateway,
+                                     ApplicationEventPublisher eventPublisher) {
         this.stockGateway = stockGateway;
+        this.stockMovementGateway = stockMovementGateway;
+        this.eventPublisher = eventPublisher;
     }
 
     public ProductStock execute(CreateProductStockDTO input) {
         log.info("Creating Stock with: {}", input);
 
-        var stock = new ProductStock(UUID.randomUUID().toString(), input.sku(), input.name(), input.quantity());
+        var stock = new ProductStock(stockGateway.newId(input.sku()), input.sku(), input.name(), input.quantity(), 0, 0,
+                input.reorderThreshold());
 
-        stockGateway.findBySku(input.sku()).ifPresent(productStock -> {
+        // the unique sku index settles concurrent creates, no lookup first
+        if (!stockGateway.insert(stock)) {
             log.error("Stock for sku {} already exists", input.sku());
             throw new IllegalStateException("Stock for sku already exists");
-        });
+        }
+
+        // the initial quantity opens the ledger so that snapshots add up to the stock
+        if (stock.getQuantity() > 0)
+            stockMovementGateway.record(List.of(
+                    StockMovement.now(stock.getSku(), StockOperation.INCREASE, stock.getQuantity(), MovementSource.CREATE)));
+
+        eventPublisher.publishEvent(new StockChangeDTO(StockChangeType.CREATED, stock));
 
-        stockGateway.save(stock);
         log.info("Stock for sku {} created successfully", input.sku());
         return stock;
     }
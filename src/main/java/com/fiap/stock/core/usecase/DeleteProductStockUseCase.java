@@ -1,29 +1,49 @@
 package com.fiap.stock.core.usecase;
 
+import com.fiap.stock.core.dto.StockChangeDTO;
+import com.fiap.stock.core.entity.MovementSource;
+import com.fiap.stock.core.entity.StockChangeType;
+import com.fiap.stock.core.entity.StockMovement;
+import com.fiap.stock.core.entity.StockOperation;
+import com.fiap.stock.core.exception.StockNotFoundException;
 import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.core.gateway.StockMovementGateway;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.List;
+
 @Slf4j
 @Service
 public class DeleteProductStockUseCase {
+    private static final RateLimitedLog misses = new RateLimitedLog(log, Duration.ofSeconds(1));
 
     private final StockGateway stockGateway;
+    private final StockMovementGateway stockMovementGateway;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public DeleteProductStockUseCase(StockGateway stockGateway) {
+    public DeleteProductStockUseCase(StockGateway stockGateway, StockMovementGateway stockMovementGateway,
+                                     ApplicationEventPublisher eventPublisher) {
         this.stockGateway = stockGateway;
+        this.stockMovementGateway = stockMovementGateway;
+        this.eventPublisher = eventPublisher;
     }
 
     public void execute(String id) {
         log.info("Deleting stock with id: {}", id);
 
-        stockGateway.findById(id).orElseThrow(() -> {
-            log.error("Stock not found with id: {}", id);
-            return new IllegalStateException("Stock not found with id: " + id);
+        var deleted = stockGateway.deleteById(id).orElseThrow(() -> {
+            misses.warn("Stock not found with id: {}", id);
+            return new StockNotFoundException("Stock not found with id: " + id);
         });
+        // the units leave with the stock: the ledger closes at zero like the stock it mirrors
+        if (deleted.getQuantity() > 0)
+            stockMovementGateway.record(List.of(StockMovement.now(
+                    deleted.getSku(), StockOperation.DECREASE, deleted.getQuantity(), MovementSource.DELETE)));
+        eventPublisher.publishEvent(new StockChangeDTO(StockChangeType.DELETED, deleted));
 
-        log.info("Stock found with id: {}", id);
-
-        stockGateway.deleteById(id);
+        log.info("Stock deleted with id: {}", id);
     }
 }
@@ -0,0 +1,62 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.dto.StockChangeDTO;
+import com.fiap.stock.core.entity.StockChangeType;
+import com.fiap.stock.core.entity.StockReservation;
+import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.core.gateway.StockReservationGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ExpireReservationsUseCase {
+
+    private final StockGateway stockGateway;
+    private final StockReservationGateway stockReservationGateway;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockThresholdAlerts thresholdAlerts;
+
+    public ExpireReservationsUseCase(StockGateway stockGateway, StockReservationGateway stockReservationGateway,
+                                     ApplicationEventPublisher eventPublisher) {
+        this.stockGateway = stockGateway;
+        this.stockReservationGateway = stockReservationGateway;
+        this.eventPublisher = eventPublisher;
+        this.thresholdAlerts = new StockThresholdAlerts(stockGateway, eventPublisher);
+    }
+
+    /**
+     * @return how many holds were expired, so callers can keep draining while full batches come back
+     * @throws IllegalStateException once the batch is done, when the reserved units of some skus were not found:
+     *                               their holds are expired all the same and the reconciler settles the stocks
+     */
+    public int execute(int batchSize) {
+        var expired = stockReservationGateway.expire(Instant.now(), batchSize);
+        if (expired.isEmpty())
+            return 0;
+
+        // one release per sku for the whole batch instead of one per abandoned cart
+        var unmatched = new ArrayList<String>();
+        expired.stream()
+                .collect(Collectors.groupingBy(StockReservation::getSku, Collectors.summingInt(StockReservation::getQuantity)))
+                .forEach((sku, quantity) -> stockGateway.releaseReserved(sku, quantity).ifPresentOrElse(
+                        stock -> {
+                            eventPublisher.publishEvent(new StockChangeDTO(StockChangeType.ALTERED, stock));
+                            thresholdAlerts.afterWrite(stock, quantity);
+                        },
+                        () -> {
+                            log.error("Reserved units not found for sku: {} while expiring {} units", sku, quantity);
+                            unmatched.add(sku);
+                        }));
+
+        log.info("Expired {} reservations", expired.size());
+        if (!unmatched.isEmpty())
+            throw new IllegalStateException("Reserved units not found while expiring reservations for skus: " + unmatched);
+        return expired.size();
+    }
+}
@@ -0,0 +1,32 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.gateway.StockGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Slf4j
+@Service
+public class FindLowStockUseCase {
+
+    static final int MAX_LIMIT = 500;
+
+    private final StockGateway stockGateway;
+
+    public FindLowStockUseCase(StockGateway stockGateway) {
+        this.stockGateway = stockGateway;
+    }
+
+    public List<ProductStock> execute(int limit) {
+        log.info("Finding low stocks limit: {}", limit);
+
+        if (limit < 1 || limit > MAX_LIMIT)
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+
+        var stocks = stockGateway.findLowStock(limit);
+        log.info("Found {} low stocks", stocks.size());
+        return stocks;
+    }
+}
@@ -0,0 +1,29 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.dto.StockAvailabilityDTO;
+import com.fiap.stock.core.exception.StockNotFoundException;
+import com.fiap.stock.core.gateway.StockGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+@Slf4j
+@Service
+public class FindStockAvailabilityUseCase {
+    private static final RateLimitedLog misses = new RateLimitedLog(log, Duration.ofSeconds(1));
+    private final StockGateway stockGateway;
+
+    public FindStockAvailabilityUseCase(StockGateway stockGateway) {
+        this.stockGateway = stockGateway;
+    }
+
+    public StockAvailabilityDTO execute(String sku) {
+        log.debug("Finding availability for sku: {}", sku);
+
+        return stockGateway.findAvailability(sku).orElseThrow(() -> {
+            misses.warn("Stock not found for sku: {}", sku);
+            return new StockNotFoundException("Stock not found with sku: " + sku);
+        });
+    }
+}
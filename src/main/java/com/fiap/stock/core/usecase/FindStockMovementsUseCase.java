@@ -0,0 +1,43 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.dto.StockLedgerDTO;
+import com.fiap.stock.core.exception.StockNotFoundException;
+import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.core.gateway.StockMovementGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+@Slf4j
+@Service
+public class FindStockMovementsUseCase {
+    private static final RateLimitedLog misses = new RateLimitedLog(log, Duration.ofSeconds(1));
+
+    static final int MAX_LIMIT = 500;
+
+    private final StockGateway stockGateway;
+    private final StockMovementGateway stockMovementGateway;
+
+    public FindStockMovementsUseCase(StockGateway stockGateway, StockMovementGateway stockMovementGateway) {
+        this.stockGateway = stockGateway;
+        this.stockMovementGateway = stockMovementGateway;
+    }
+
+    public StockLedgerDTO execute(String sku, int limit) {
+        log.info("Finding movements for sku: {} limit: {}", sku, limit);
+
+        if (limit < 1 || limit > MAX_LIMIT)
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+
+        var movements = stockMovementGateway.findRecent(sku, limit);
+        // a deleted stock keeps its history, only a sku that never moved is unknown
+        if (movements.isEmpty() && stockGateway.findBySku(sku).isEmpty()) {
+            misses.warn("Stock not found with sku: {}", sku);
+            throw new StockNotFoundException("Stock not found with sku: " + sku);
+        }
+
+        log.info("Found {} movements for sku: {}", movements.size(), sku);
+        return new StockLedgerDTO(sku, stockMovementGateway.ledgerQuantity(sku), movements);
+    }
+}
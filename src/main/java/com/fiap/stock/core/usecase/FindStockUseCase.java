@@ -1,13 +1,17 @@
 package com.fiap.stock.core.usecase;
 
 import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.exception.StockNotFoundException;
 import com.fiap.stock.core.gateway.StockGateway;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
 @Slf4j
 @Service
 public class FindStockUseCase {
+    private static final RateLimitedLog misses = new RateLimitedLog(log, Duration.ofSeconds(1));
     private final com.fiap.stock.core.gateway.StockGateway stockGateway;
 
     public FindStockUseCase(StockGateway stockGateway) {
@@ -15,14 +19,15 @@ public class FindStockUseCase {
     }
 
     public ProductStock execute(String sku) {
-        log.info("Finding stock for sku: {}", sku);
+        // one line per lookup is what unknown-sku storms are made of; misses still warn, rate limited
+        log.debug("Finding stock for sku: {}", sku);
 
         var productStock = stockGateway.findBySku(sku).orElseThrow(() -> {
-            log.error("Stock not for sku sku: {}", sku);
-            return new IllegalStateException("Stock not found with sku: " + sku);
+            misses.warn("Stock not found for sku: {}", sku);
+            return new StockNotFoundException("Stock not found with sku: " + sku);
         });
 
-        log.info("Stock found with sku: {}", sku);
+        log.debug("Stock found with sku: {}", sku);
         return productStock;
     }
 }
@@ -0,0 +1,49 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.dto.StockLookupDTO;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.gateway.StockGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class FindStocksBySkuUseCase {
+
+    static final int MAX_SKUS = 500;
+
+    private final StockGateway stockGateway;
+
+    public FindStocksBySkuUseCase(StockGateway stockGateway) {
+        this.stockGateway = stockGateway;
+    }
+
+    /**
+     * Resolves every sku with a single lookup. Unknown skus are reported back instead of failing the call.
+     */
+    public StockLookupDTO execute(List<String> skus) {
+        if (skus == null || skus.isEmpty() || skus.size() > MAX_SKUS)
+            throw new IllegalArgumentException("Skus must be between 1 and " + MAX_SKUS);
+
+        var requested = new LinkedHashSet<>(skus);
+        if (requested.stream().anyMatch(sku -> sku == null || sku.trim().isEmpty()))
+            throw new IllegalArgumentException("SKU cannot be null or empty.");
+
+        log.info("Finding stocks for {} skus", requested.size());
+
+        Map<String, ProductStock> stocks = stockGateway.findAllBySku(requested).stream()
+                .collect(Collectors.toMap(ProductStock::getSku, Function.identity()));
+
+        var found = requested.stream().filter(stocks::containsKey).map(stocks::get).toList();
+        var missing = requested.stream().filter(sku -> !stocks.containsKey(sku)).toList();
+        if (!missing.isEmpty())
+            log.info("Stocks not found for skus: {}", missing);
+        return new StockLookupDTO(found, missing);
+    }
+}
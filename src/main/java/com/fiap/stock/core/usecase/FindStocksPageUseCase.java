@@ -0,0 +1,35 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.dto.StockPageDTO;
+import com.fiap.stock.core.gateway.StockGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class FindStocksPageUseCase {
+
+    static final int MAX_LIMIT = 500;
+
+    private final StockGateway stockGateway;
+
+    public FindStocksPageUseCase(StockGateway stockGateway) {
+        this.stockGateway = stockGateway;
+    }
+
+    public StockPageDTO execute(String after, int limit) {
+        log.info("Finding stocks after sku: {} limit: {}", after, limit);
+
+        if (limit < 1 || limit > MAX_LIMIT)
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+
+        // one extra row tells whether there is a next page without a count query
+        var stocks = stockGateway.findPage(after, limit + 1);
+        if (stocks.size() <= limit)
+            return new StockPageDTO(stocks, null);
+
+        var page = stocks.subList(0, limit);
+        log.info("Found {} stocks, more available", page.size());
+        return new StockPageDTO(page, page.get(limit - 1).getSku());
+    }
+}
@@ -0,0 +1,39 @@
+package com.fiap.stock.core.usecase;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * At most one warning per interval for branches that clients can trigger at will, such as lookups of unknown skus.
+ * The next warning let through reports how many were dropped since the previous one.
+ */
+public final class RateLimitedLog {
+
+    private final Logger log;
+    private final long intervalNanos;
+    private final AtomicLong nextAllowed;
+    private final LongAdder suppressed = new LongAdder();
+
+    public RateLimitedLog(Logger log, Duration interval) {
+        this.log = log;
+        this.intervalNanos = interval.toNanos();
+        this.nextAllowed = new AtomicLong(System.nanoTime());
+    }
+
+    public void warn(String format, Object argument) {
+        long now = System.nanoTime();
+        long next = nextAllowed.get();
+        if (now - next < 0 || !nextAllowed.compareAndSet(next, now + intervalNanos)) {
+            suppressed.increment();
+            return;
+        }
+        long dropped = suppressed.sumThenReset();
+        if (dropped == 0)
+            log.warn(format, argument);
+        else
+            log.warn(format + " ({} similar suppressed)", argument, dropped);
+    }
+}
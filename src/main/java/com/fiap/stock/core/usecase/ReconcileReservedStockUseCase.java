@@ -0,0 +1,80 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.dto.StockChangeDTO;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.entity.StockChangeType;
+import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.core.gateway.StockReservationGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Gives back reserved units that no ACTIVE hold accounts for, left behind by a crash between closing a hold and
+ * writing its stock. A reserve takes its units before it stores the hold, so a stock is only repaired once the
+ * same excess was seen on two runs in a row: by then every hold that was in flight on the first run is stored.
+ */
+@Slf4j
+@Service
+public class ReconcileReservedStockUseCase {
+
+    private final StockGateway stockGateway;
+    private final StockReservationGateway stockReservationGateway;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockThresholdAlerts thresholdAlerts;
+    private Map<String, Drift> suspects = new HashMap<>();
+
+    public ReconcileReservedStockUseCase(StockGateway stockGateway, StockReservationGateway stockReservationGateway,
+                                         ApplicationEventPublisher eventPublisher) {
+        this.stockGateway = stockGateway;
+        this.stockReservationGateway = stockReservationGateway;
+        this.eventPublisher = eventPublisher;
+        this.thresholdAlerts = new StockThresholdAlerts(stockGateway, eventPublisher);
+    }
+
+    /**
+     * @return how many stocks had their reserved units set back to their active holds
+     */
+    public synchronized int execute(int pageSize) {
+        var seen = new HashMap<String, Drift>();
+        var repaired = 0;
+        String afterSku = null;
+        while (true) {
+            var page = stockGateway.findReservedPage(afterSku, pageSize);
+            if (page.isEmpty())
+                break;
+            var held = stockReservationGateway.activeQuantities(page.stream().map(ProductStock::getSku).toList());
+            for (var stock : page) {
+                var drift = new Drift(stock.getReserved(), held.getOrDefault(stock.getSku(), 0));
+                if (drift.reserved() <= drift.held())
+                    continue;
+                if (drift.equals(suspects.get(stock.getSku())))
+                    repaired += repair(stock.getSku(), drift);
+                else
+                    seen.put(stock.getSku(), drift);
+            }
+            if (page.size() < pageSize)
+                break;
+            afterSku = page.getLast().getSku();
+        }
+        suspects = seen;
+        return repaired;
+    }
+
+    private int repair(String sku, Drift drift) {
+        var repaired = stockGateway.resetReserved(sku, drift.reserved(), drift.held());
+        repaired.ifPresent(stock -> {
+            log.warn("Reserved units of sku: {} set back from {} to the {} held by active reservations", sku,
+                    drift.reserved(), drift.held());
+            eventPublisher.publishEvent(new StockChangeDTO(StockChangeType.ALTERED, stock));
+            thresholdAlerts.afterWrite(stock, drift.reserved() - drift.held());
+        });
+        return repaired.isPresent() ? 1 : 0;
+    }
+
+    private record Drift(int reserved, int held) {
+    }
+}
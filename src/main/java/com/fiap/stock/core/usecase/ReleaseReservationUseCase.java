@@ -0,0 +1,56 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.dto.StockChangeDTO;
+import com.fiap.stock.core.entity.ReservationStatus;
+import com.fiap.stock.core.entity.StockChangeType;
+import com.fiap.stock.core.entity.StockReservation;
+import com.fiap.stock.core.exception.StockNotFoundException;
+import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.core.gateway.StockReservationGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+@Slf4j
+@Service
+public class ReleaseReservationUseCase {
+
+    private final StockGateway stockGateway;
+    private final StockReservationGateway stockReservationGateway;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockThresholdAlerts thresholdAlerts;
+
+    public ReleaseReservationUseCase(StockGateway stockGateway, StockReservationGateway stockReservationGateway,
+                                     ApplicationEventPublisher eventPublisher) {
+        this.stockGateway = stockGateway;
+        this.stockReservationGateway = stockReservationGateway;
+        this.eventPublisher = eventPublisher;
+        this.thresholdAlerts = new StockThresholdAlerts(stockGateway, eventPublisher);
+    }
+
+    public StockReservation execute(String id) {
+        log.info("Releasing reservation: {}", id);
+
+        var reservation = stockReservationGateway.close(id, ReservationStatus.RELEASED, Instant.now()).orElseThrow(() -> {
+            log.error("Active reservation not found with id: {}", id);
+            return new IllegalStateException("Active reservation not found with id: " + id);
+        });
+
+        var stock = stockGateway.releaseReserved(reservation.getSku(), reservation.getQuantity())
+                .orElseThrow(() -> unmatched(reservation));
+        eventPublisher.publishEvent(new StockChangeDTO(StockChangeType.ALTERED, stock));
+        thresholdAlerts.afterWrite(stock, reservation.getQuantity());
+        log.info("Reservation {} released for sku: {}", id, stock.getSku());
+        return reservation;
+    }
+
+    private RuntimeException unmatched(StockReservation reservation) {
+        log.error("Reserved units not found for sku: {} while releasing reservation {}", reservation.getSku(), reservation.getId());
+        if (stockGateway.findBySku(reservation.getSku()).isEmpty())
+            return new StockNotFoundException("Stock not found for sku: " + reservation.getSku());
+        return new IllegalStateException("Reserved units not found for sku: " + reservation.getSku()
+                + " while releasing reservation " + reservation.getId());
+    }
+}
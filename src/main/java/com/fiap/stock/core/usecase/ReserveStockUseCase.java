@@ -0,0 +1,78 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.dto.ReserveStockDTO;
+import com.fiap.stock.core.dto.StockChangeDTO;
+import com.fiap.stock.core.entity.ReservationStatus;
+import com.fiap.stock.core.entity.StockChangeType;
+import com.fiap.stock.core.entity.StockReservation;
+import com.fiap.stock.core.exception.InsufficientStockException;
+import com.fiap.stock.core.exception.StockNotFoundException;
+import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.core.gateway.StockReservationGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class ReserveStockUseCase {
+    private static final RateLimitedLog rejections = new RateLimitedLog(log, Duration.ofSeconds(1));
+
+    static final long DEFAULT_TTL_SECONDS = 15 * 60;
+    static final long MAX_TTL_SECONDS = 24 * 60 * 60;
+
+    private final StockGateway stockGateway;
+    private final StockReservationGateway stockReservationGateway;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockThresholdAlerts thresholdAlerts;
+
+    public ReserveStockUseCase(StockGateway stockGateway, StockReservationGateway stockReservationGateway,
+                               ApplicationEventPublisher eventPublisher) {
+        this.stockGateway = stockGateway;
+        this.stockReservationGateway = stockReservationGateway;
+        this.eventPublisher = eventPublisher;
+        this.thresholdAlerts = new StockThresholdAlerts(stockGateway, eventPublisher);
+    }
+
+    public StockReservation execute(String sku, ReserveStockDTO input) {
+        log.info("Reserving {} units for sku: {}", input.quantity(), sku);
+
+        if (input.quantity() <= 0)
+            throw new IllegalArgumentException("Amount to reserve must be positive.");
+
+        var ttl = input.ttlSeconds() == null ? DEFAULT_TTL_SECONDS : input.ttlSeconds();
+        if (ttl <= 0 || ttl > MAX_TTL_SECONDS)
+            throw new IllegalArgumentException("Reservation ttl must be between 1 and " + MAX_TTL_SECONDS + " seconds");
+
+        var stock = stockGateway.reserve(sku, input.quantity())
+                .orElseThrow(() -> rejection(sku, input.quantity()));
+
+        var reservation = new StockReservation(UUID.randomUUID().toString(), sku, input.quantity(),
+                ReservationStatus.ACTIVE, Instant.now().plusSeconds(ttl));
+        try {
+            stockReservationGateway.save(reservation);
+        } catch (RuntimeException e) {
+            log.error("Could not store reservation for sku: {}, releasing held units", sku);
+            stockGateway.releaseReserved(sku, input.quantity());
+            throw e;
+        }
+        eventPublisher.publishEvent(new StockChangeDTO(StockChangeType.ALTERED, stock));
+        thresholdAlerts.afterWrite(stock, -input.quantity());
+
+        log.info("Reservation {} created for sku: {}", reservation.getId(), sku);
+        return reservation;
+    }
+
+    private RuntimeException rejection(String sku, int qt) {
+        if (stockGateway.findBySku(sku).isEmpty()) {
+            rejections.warn("Stock not found for sku: {}", sku);
+            return new StockNotFoundException("Stock not found for sku: " + sku);
+        }
+        rejections.warn("Insufficient stock for sku: {}", sku);
+        return new InsufficientStockException(sku, qt);
+    }
+}
@@ -0,0 +1,28 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.gateway.StockMovementGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+@Slf4j
+@Service
+public class SnapshotStockMovementsUseCase {
+
+    private final StockMovementGateway stockMovementGateway;
+
+    public SnapshotStockMovementsUseCase(StockMovementGateway stockMovementGateway) {
+        this.stockMovementGateway = stockMovementGateway;
+    }
+
+    /**
+     * @return how many skus had movements folded into their snapshot
+     */
+    public int execute(Duration settle) {
+        var folded = stockMovementGateway.snapshot(settle);
+        if (folded > 0)
+            log.info("Folded movements of {} skus recorded more than {} ago", folded, settle);
+        return folded;
+    }
+}
@@ -0,0 +1,32 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.dto.LowStockAlertDTO;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.gateway.StockGateway;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Publishes a {@link LowStockAlertDTO} when a write moves the available units of a stock across its reorder
+ * threshold. Every use case that changes the available units goes through here.
+ */
+final class StockThresholdAlerts {
+
+    private final StockGateway stockGateway;
+    private final ApplicationEventPublisher eventPublisher;
+
+    StockThresholdAlerts(StockGateway stockGateway, ApplicationEventPublisher eventPublisher) {
+        this.stockGateway = stockGateway;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // the post-image and the change in available units that produced it tell which side of the threshold the stock
+    // was on before the write, no other read needed; when the post-image is not exact the crossing cannot be told
+    // and no alert goes out, the low-stock query still lists the stock
+    void afterWrite(ProductStock stock, int availableDelta) {
+        boolean wasLow = stock.getAvailable() - availableDelta <= stock.getReorderThreshold();
+        if (wasLow == stock.isLow() || !stockGateway.isPostImageExact(stock.getSku()))
+            return;
+        eventPublisher.publishEvent(
+                new LowStockAlertDTO(stock.getSku(), stock.getAvailable(), stock.getReorderThreshold(), stock.isLow()));
+    }
+}
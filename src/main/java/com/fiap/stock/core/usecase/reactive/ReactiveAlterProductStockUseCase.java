@@ -0,0 +1,28 @@
+package com.fiap.stock.core.usecase.reactive;
+
+import com.fiap.stock.core.dto.UpdateProductStockDTO;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.usecase.AlterProductStockUseCase;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Runs the blocking use case off the event loop: the ledger, change events, threshold alerts, retries and cache
+ * eviction of a write all live there, a reactive copy of them would drift from it.
+ */
+@Profile("reactive")
+@Service
+public class ReactiveAlterProductStockUseCase {
+    private final AlterProductStockUseCase alterProductStockUseCase;
+
+    public ReactiveAlterProductStockUseCase(AlterProductStockUseCase alterProductStockUseCase) {
+        this.alterProductStockUseCase = alterProductStockUseCase;
+    }
+
+    public Mono<ProductStock> execute(String sku, UpdateProductStockDTO input) {
+        return Mono.fromCallable(() -> alterProductStockUseCase.execute(sku, input))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,29 @@
+package com.fiap.stock.core.usecase.reactive;
+
+import com.fiap.stock.core.dto.CreateProductStockDTO;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.usecase.CreateProductStockUseCase;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Same as {@link ReactiveAlterProductStockUseCase}: the opening movement and the change event come from the blocking
+ * use case.
+ */
+@Profile("reactive")
+@Service
+public class ReactiveCreateProductStockUseCase {
+
+    private final CreateProductStockUseCase createProductStockUseCase;
+
+    public ReactiveCreateProductStockUseCase(CreateProductStockUseCase createProductStockUseCase) {
+        this.createProductStockUseCase = createProductStockUseCase;
+    }
+
+    public Mono<ProductStock> execute(CreateProductStockDTO input) {
+        return Mono.fromCallable(() -> createProductStockUseCase.execute(input))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,28 @@
+package com.fiap.stock.core.usecase.reactive;
+
+import com.fiap.stock.core.usecase.DeleteProductStockUseCase;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Same as {@link ReactiveAlterProductStockUseCase}: the blocking delete also drops the coalescer and sub-counter
+ * state of the sku.
+ */
+@Profile("reactive")
+@Service
+public class ReactiveDeleteProductStockUseCase {
+
+    private final DeleteProductStockUseCase deleteProductStockUseCase;
+
+    public ReactiveDeleteProductStockUseCase(DeleteProductStockUseCase deleteProductStockUseCase) {
+        this.deleteProductStockUseCase = deleteProductStockUseCase;
+    }
+
+    public Mono<Void> execute(String id) {
+        return Mono.fromRunnable(() -> deleteProductStockUseCase.execute(id))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+}
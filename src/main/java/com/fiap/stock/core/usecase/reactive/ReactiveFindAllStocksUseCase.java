@@ -0,0 +1,28 @@
+package com.fiap.stock.core.usecase.reactive;
+
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.gateway.ReactiveStockGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+@Slf4j
+@Profile("reactive")
+@Service
+public class ReactiveFindAllStocksUseCase {
+
+    private final ReactiveStockGateway stockGateway;
+
+    public ReactiveFindAllStocksUseCase(ReactiveStockGateway stockGateway) {
+        this.stockGateway = stockGateway;
+    }
+
+    /**
+     * Streams stocks as Mongo returns them instead of collecting the whole collection first.
+     */
+    public Flux<ProductStock> execute() {
+        log.info("Finding all stocks");
+        return stockGateway.findAll();
+    }
+}
@@ -0,0 +1,36 @@
+package com.fiap.stock.core.usecase.reactive;
+
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.exception.StockNotFoundException;
+import com.fiap.stock.core.gateway.ReactiveStockGateway;
+import com.fiap.stock.core.usecase.RateLimitedLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Slf4j
+@Profile("reactive")
+@Service
+public class ReactiveFindStockUseCase {
+    private static final RateLimitedLog misses = new RateLimitedLog(log, Duration.ofSeconds(1));
+    private final ReactiveStockGateway stockGateway;
+
+    public ReactiveFindStockUseCase(ReactiveStockGateway stockGateway) {
+        this.stockGateway = stockGateway;
+    }
+
+    public Mono<ProductStock> execute(String sku) {
+        // same as the blocking lookup: debug per lookup, misses warn rate limited
+        log.debug("Finding stock for sku: {}", sku);
+
+        return stockGateway.findBySku(sku)
+                .switchIfEmpty(Mono.defer(() -> {
+                    misses.warn("Stock not found for sku: {}", sku);
+                    return Mono.error(new StockNotFoundException("Stock not found with sku: " + sku));
+                }))
+                .doOnNext(stock -> log.debug("Stock found with sku: {}", sku));
+    }
+}
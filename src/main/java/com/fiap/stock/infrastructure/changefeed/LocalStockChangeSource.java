@@ -0,0 +1,30 @@
+package com.fiap.stock.infrastructure.changefeed;
+
+import com.fiap.stock.core.dto.StockChangeDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Feeds the changes published by this instance's write use cases. Sequences start from the wall clock in
+ * microseconds, so they keep growing across restarts and a client resuming from a previous run gets a reset.
+ * Every run is an origin of its own: its sequences say nothing about another instance's writes.
+ */
+@Component
+@ConditionalOnProperty(name = "stock.changes.source", havingValue = "local", matchIfMissing = true)
+public class LocalStockChangeSource {
+
+    private final StockChangeFeed feed;
+
+    public LocalStockChangeSource(StockChangeFeed feed) {
+        this.feed = feed;
+        feed.open(System.currentTimeMillis() * 1000, Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36));
+    }
+
+    @EventListener
+    public void onChange(StockChangeDTO change) {
+        feed.append(change);
+    }
+}
@@ -0,0 +1,183 @@
+package com.fiap.stock.infrastructure.changefeed;
+
+import com.fiap.stock.core.dto.StockChangeDTO;
+import com.fiap.stock.core.entity.StockChangeType;
+import com.fiap.stock.infrastructure.config.LiquibaseMigration;
+import com.fiap.stock.infrastructure.mapper.ProductStockMapper;
+import com.fiap.stock.infrastructure.repository.model.ProductStockModel;
+import com.fiap.stock.infrastructure.repository.model.StockShardModel;
+import com.fiap.stock.infrastructure.shardedsku.ShardedStockCounters;
+import com.mongodb.MongoException;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Feeds every write on stocks, whichever instance made it, from a change stream. Sequences are the cluster time
+ * of each change, so all instances hand out the same ids and a client can resume on any of them.
+ * Deletions carry the removed stock only when pre-images are enabled on the collection.
+ * Sharded skus are watched on their sub-counters too and always carry the stock with its sub-counters; moving units
+ * between the stock and its sub-counters changes nothing readers see and is left out.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "stock.changes.source", havingValue = "mongo")
+public class MongoStockChangeSource {
+
+    private static final long RETRY_DELAY_MILLIS = 1000;
+    private static final String CLUSTER_ORIGIN = "cluster";
+
+    private static final Set<String> STOCK_MOVE_FIELDS = Set.of("shardMoves", "shardOutbox");
+    private static final Set<String> SHARD_MOVE_FIELDS = Set.of("pendingMove", "applied");
+
+    private final MongoTemplate mongoTemplate;
+    private final StockChangeFeed feed;
+    private final ShardedStockCounters shardedStockCounters;
+    private final LiquibaseMigration migration;
+    private final String stocks;
+    private final String shards;
+
+    private volatile boolean running;
+    private volatile Thread watcher;
+
+    public MongoStockChangeSource(MongoTemplate mongoTemplate, StockChangeFeed feed,
+                                  ShardedStockCounters shardedStockCounters, LiquibaseMigration migration) {
+        this.mongoTemplate = mongoTemplate;
+        this.feed = feed;
+        this.shardedStockCounters = shardedStockCounters;
+        this.migration = migration;
+        this.stocks = mongoTemplate.getCollectionName(ProductStockModel.class);
+        this.shards = mongoTemplate.getCollectionName(StockShardModel.class);
+    }
+
+    // a rewrite of stocks by the migration would reach the stream as a storm of changes, or invalidate it
+    @PostConstruct
+    public void start() {
+        migration.whenComplete(this::open);
+    }
+
+    private void open() {
+        var startAt = operationTime();
+        // the change at startAt itself is replayed by the stream, the floor sits just below it
+        // cluster times order the writes of every instance alike, so all of them share the origin
+        feed.open(startAt.getValue() - 1, CLUSTER_ORIGIN);
+        running = true;
+        watcher = Thread.ofVirtual().name("stock-change-stream").start(() -> watch(startAt));
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (watcher == null)
+            return;
+        watcher.interrupt();
+        watcher.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void watch(BsonTimestamp startAt) {
+        var resumeAt = startAt;
+        // one stream over both collections keeps their changes in cluster time order
+        var pipeline = List.of(Aggregates.match(Filters.and(
+                Filters.in("ns.coll", stocks, shards),
+                Filters.in("operationType", "insert", "update", "replace", "delete"))));
+        while (running) {
+            try (var cursor = mongoTemplate.getDb().watch(pipeline)
+                    .fullDocument(FullDocument.UPDATE_LOOKUP)
+                    .fullDocumentBeforeChange(FullDocumentBeforeChange.WHEN_AVAILABLE)
+                    .startAtOperationTime(resumeAt)
+                    .maxAwaitTime(1, TimeUnit.SECONDS)
+                    .cursor()) {
+                while (running) {
+                    var event = cursor.tryNext();
+                    if (event == null)
+                        continue;
+                    resumeAt = event.getClusterTime();
+                    var change = toChange(event);
+                    if (change != null)
+                        feed.append(resumeAt.getValue(), change);
+                }
+            } catch (MongoException e) {
+                if (!running)
+                    return;
+                // resuming from the last cluster time seen replays it, the feed drops what it already holds
+                log.warn("Stock change stream interrupted, resuming from {}", resumeAt, e);
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // null for the changes readers never see: unit moves and the sub-counters' own lifecycle
+    private StockChangeDTO toChange(ChangeStreamDocument<Document> event) {
+        boolean update = event.getOperationType() == OperationType.UPDATE;
+        if (event.getNamespace().getCollectionName().equals(shards)) {
+            var shard = event.getFullDocument();
+            if (!update || shard == null || isMove(event.getUpdateDescription(), SHARD_MOVE_FIELDS))
+                return null;
+            return shardedStockCounters.reload(shard.getString("sku"))
+                    .map(stock -> new StockChangeDTO(StockChangeType.ALTERED, stock))
+                    .orElse(null);
+        }
+        if (update && isMove(event.getUpdateDescription(), STOCK_MOVE_FIELDS))
+            return null;
+        return switch (event.getOperationType()) {
+            case INSERT -> change(StockChangeType.CREATED, event.getFullDocument());
+            case DELETE -> change(StockChangeType.DELETED, event.getFullDocumentBeforeChange());
+            default -> change(StockChangeType.ALTERED, event.getFullDocument());
+        };
+    }
+
+    private StockChangeDTO change(StockChangeType type, Document document) {
+        // an update whose document was gone by the time it was looked up, or a delete without pre-image
+        if (document == null)
+            return new StockChangeDTO(type, null, null);
+        var model = mongoTemplate.getConverter().read(ProductStockModel.class, document);
+        if (type == StockChangeType.ALTERED && shardedStockCounters.handles(model.getSku()))
+            return shardedStockCounters.reload(model.getSku())
+                    .map(stock -> new StockChangeDTO(type, stock))
+                    .orElse(null);
+        return new StockChangeDTO(type, ProductStockMapper.toEntity(model));
+    }
+
+    /**
+     * Whether an update records a step of moving units between a stock and its sub-counters.
+     */
+    static boolean isMove(UpdateDescription update, Set<String> moveFields) {
+        if (update == null)
+            return false;
+        var updated = update.getUpdatedFields() == null ? Set.<String>of() : update.getUpdatedFields().keySet();
+        var removed = update.getRemovedFields() == null ? List.<String>of() : update.getRemovedFields();
+        return Stream.concat(updated.stream(), removed.stream())
+                .map(field -> field.split("\\.", 2)[0])
+                .anyMatch(moveFields::contains);
+    }
+
+    private BsonTimestamp operationTime() {
+        var reply = mongoTemplate.executeCommand(new Document("ping", 1));
+        var operationTime = reply.get("operationTime");
+        if (operationTime instanceof BsonTimestamp timestamp)
+            return timestamp;
+        return new BsonTimestamp((int) Instant.now().getEpochSecond(), 0);
+    }
+}
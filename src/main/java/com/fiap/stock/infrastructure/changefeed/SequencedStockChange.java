@@ -0,0 +1,6 @@
+package com.fiap.stock.infrastructure.changefeed;
+
+import com.fiap.stock.core.dto.StockChangeDTO;
+
+public record SequencedStockChange(long sequence, StockChangeDTO change) {
+}
@@ -0,0 +1,168 @@
+package com.fiap.stock.infrastructure.changefeed;
+
+import com.fiap.stock.core.dto.StockChangeDTO;
+import com.fiap.stock.infrastructure.config.StockChangeProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, sequenced buffer of the latest stock changes that SSE streams read from and resume into.
+ * Sequences only grow, across restarts too, so a Last-Event-ID this buffer cannot serve is always detected and
+ * answered with a reset instead of a silent gap.
+ */
+@Component
+public class StockChangeFeed {
+
+    private final SequencedStockChange[] ring;
+    // a lock rather than a monitor: streams park here on virtual threads
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+
+    private int start;
+    private int size;
+    // sequences up to the floor are not held: evicted, or from before the source opened the feed
+    private long floor;
+    private long last;
+    // sequences from two origins cannot be compared; null until a source opens the feed
+    private String origin;
+
+    public StockChangeFeed(StockChangeProperties properties) {
+        this.ring = new SequencedStockChange[properties.bufferSize()];
+    }
+
+    /**
+     * Starts an empty feed whose next change is sequenced after {@code floor}.
+     *
+     * @param origin who numbers the sequences: the same for every instance only when they all number them alike
+     */
+    public void open(long floor, String origin) {
+        lock.lock();
+        try {
+            this.start = 0;
+            this.size = 0;
+            this.floor = floor;
+            this.last = floor;
+            this.origin = origin;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long append(StockChangeDTO change) {
+        lock.lock();
+        try {
+            add(new SequencedStockChange(last + 1, change));
+            return last;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends a change sequenced by its source; sequences already held are ignored, so a source may replay.
+     */
+    public void append(long sequence, StockChangeDTO change) {
+        lock.lock();
+        try {
+            if (sequence > last)
+                add(new SequencedStockChange(sequence, change));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return origin and last sequence, which move on with every change the feed sees; null before it is opened,
+     * when changes go by unseen
+     */
+    public String version() {
+        lock.lock();
+        try {
+            return origin == null ? null : origin + "-" + last;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long last() {
+        lock.lock();
+        try {
+            return last;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits up to {@code timeout} for changes after {@code after}.
+     *
+     * @return at most {@code max} changes, none when the wait timed out, or a reset when {@code after} is not
+     * served by this buffer and the client has to reload before following from {@link Batch#cursor()}
+     */
+    public Batch read(long after, int max, Duration timeout) throws InterruptedException {
+        long remaining = timeout.toNanos();
+        lock.lock();
+        try {
+            while (true) {
+                if (after < floor || after > last)
+                    return new Batch(List.of(), true, last);
+                if (after < last) {
+                    var changes = collect(after, max);
+                    return new Batch(changes, false, changes.get(changes.size() - 1).sequence());
+                }
+                if (remaining <= 0)
+                    return new Batch(List.of(), false, after);
+                remaining = appended.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(SequencedStockChange change) {
+        if (size == ring.length) {
+            floor = ring[start].sequence();
+            start = (start + 1) % ring.length;
+            size--;
+        }
+        ring[(start + size) % ring.length] = change;
+        size++;
+        last = change.sequence();
+        appended.signalAll();
+    }
+
+    private List<SequencedStockChange> collect(long after, int max) {
+        var changes = new ArrayList<SequencedStockChange>(Math.min(max, size));
+        for (int i = firstAfter(after); i < size && changes.size() < max; i++)
+            changes.add(at(i));
+        return changes;
+    }
+
+    private int firstAfter(long after) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (at(mid).sequence() <= after)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    private SequencedStockChange at(int index) {
+        return ring[(start + index) % ring.length];
+    }
+
+    /**
+     * @param cursor the sequence to read after next time
+     */
+    public record Batch(List<SequencedStockChange> changes, boolean reset, long cursor) {
+    }
+}
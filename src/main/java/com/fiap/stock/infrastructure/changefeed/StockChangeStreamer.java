@@ -0,0 +1,80 @@
+package com.fiap.stock.infrastructure.changefeed;
+
+import com.fiap.stock.infrastructure.config.StockChangeProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pumps the change feed into SSE streams, one virtual thread per open stream parked on the feed between changes.
+ */
+@Slf4j
+@Component
+public class StockChangeStreamer {
+
+    static final int MAX_BATCH = 256;
+
+    private final StockChangeFeed feed;
+    private final StockChangeProperties properties;
+    private final ExecutorService pumps = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("stock-change-sse-", 0).factory());
+
+    public StockChangeStreamer(StockChangeFeed feed, StockChangeProperties properties) {
+        this.feed = feed;
+        this.properties = properties;
+    }
+
+    /**
+     * @param lastEventId the last sequence the client received, or null to follow from now
+     */
+    public SseEmitter stream(Long lastEventId) {
+        var emitter = new SseEmitter(properties.streamTimeout().toMillis());
+        var open = new AtomicBoolean(true);
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onTimeout(() -> open.set(false));
+        emitter.onError(e -> open.set(false));
+
+        long after = lastEventId == null ? feed.last() : lastEventId;
+        pumps.execute(() -> pump(emitter, after, open));
+        return emitter;
+    }
+
+    @PreDestroy
+    public void stop() {
+        pumps.shutdownNow();
+    }
+
+    private void pump(SseEmitter emitter, long after, AtomicBoolean open) {
+        long cursor = after;
+        try {
+            while (open.get()) {
+                var batch = feed.read(cursor, MAX_BATCH, properties.heartbeat());
+                if (batch.reset()) {
+                    // the client missed changes this feed no longer holds: reload, then follow from the given id
+                    emitter.send(SseEmitter.event().id(Long.toString(batch.cursor())).name("reset").data("reload"));
+                } else if (batch.changes().isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    for (var change : batch.changes())
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(change.sequence()))
+                                .name(change.change().type().name())
+                                .data(change.change(), MediaType.APPLICATION_JSON));
+                }
+                cursor = batch.cursor();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // the client went away or the stream timed out while sending
+            log.debug("Stock change stream closed after {}", cursor);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.fiap.stock.infrastructure.config;
+
+import com.fiap.stock.infrastructure.changefeed.MongoStockChangeSource;
+import com.fiap.stock.infrastructure.controller.ReactiveProductStockController;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An AOT-processed jar keeps the beans chosen by {@code @Profile} and the {@code @ConditionalOn...} annotations when
+ * it was built, whatever the environment says at runtime. Every toggle frozen that way is compared here with its
+ * runtime value and startup fails on a mismatch instead of silently running the build-time choice:
+ * <ul>
+ *     <li>the {@code reactive} profile</li>
+ *     <li>{@code stock.changes.source} ({@code STOCK_CHANGES_SOURCE})</li>
+ *     <li>{@code spring.cache.type} ({@code STOCK_CACHE_TYPE})</li>
+ *     <li>{@code spring.threads.virtual.enabled} ({@code STOCK_VIRTUAL_THREADS})</li>
+ * </ul>
+ * Run with {@code STOCK_AOT=false} to change any of them without rebuilding the jar.
+ */
+@Component
+public class AotBuildConditions implements SmartInitializingSingleton {
+
+    static final String TASK_EXECUTOR = "applicationTaskExecutor";
+
+    private final Environment environment;
+    private final ListableBeanFactory beanFactory;
+
+    public AotBuildConditions(Environment environment, ListableBeanFactory beanFactory) {
+        this.environment = environment;
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (AotDetector.useGeneratedArtifacts())
+            check();
+    }
+
+    void check() {
+        var mismatches = new ArrayList<String>();
+        compare(mismatches, "profile reactive", environment.acceptsProfiles(Profiles.of("reactive")),
+                has(ReactiveProductStockController.class));
+        compare(mismatches, "stock.changes.source=mongo",
+                "mongo".equals(environment.getProperty("stock.changes.source")), has(MongoStockChangeSource.class));
+        compare(mismatches, "spring.cache.type=caffeine",
+                "caffeine".equalsIgnoreCase(environment.getProperty("spring.cache.type")), has(CaffeineCacheManager.class));
+        // boot picks a virtual thread executor or a thread pool with @ConditionalOnThreading
+        var executorType = beanFactory.containsBean(TASK_EXECUTOR) ? beanFactory.getType(TASK_EXECUTOR) : null;
+        if (executorType != null)
+            compare(mismatches, "spring.threads.virtual.enabled",
+                    environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false),
+                    SimpleAsyncTaskExecutor.class.isAssignableFrom(executorType));
+        if (!mismatches.isEmpty())
+            throw new IllegalStateException("The AOT-processed context was built with other settings than the runtime ones ("
+                    + String.join(", ", mismatches) + "); rebuild the jar or run with STOCK_AOT=false");
+    }
+
+    private boolean has(Class<?> type) {
+        return beanFactory.getBeanNamesForType(type, true, false).length > 0;
+    }
+
+    private static void compare(List<String> mismatches, String toggle, boolean runtime, boolean built) {
+        if (runtime != built)
+            mismatches.add(toggle + " is " + (runtime ? "on" : "off") + " at runtime but " + (built ? "on" : "off") + " in the build");
+    }
+}
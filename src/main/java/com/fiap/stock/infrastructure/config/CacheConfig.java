@@ -0,0 +1,10 @@
+package com.fiap.stock.infrastructure.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String STOCKS_CACHE = "stocks";
+}
@@ -0,0 +1,34 @@
+package com.fiap.stock.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Skus listed here are written through the in-process coalescer instead of one findAndModify per request.
+ * The coalescer is the floor authority for those skus, so a lease lets a single instance hold them and any other
+ * instance fails to start with the mode on: route their writes to the holder.
+ *
+ * @param skus               hot skus; empty disables the mode
+ * @param flushInterval      how often the net delta of each sku is journaled, acknowledged and sent to Mongo
+ * @param journalDirectory   where acknowledged adjustments are made durable before they reach Mongo
+ * @param segmentSize        journal segment size that triggers a roll
+ * @param durabilityTimeout  how long a request waits for its adjustment to be journaled before failing
+ * @param leaseTtl           how long the holder keeps the hot skus without renewing; it renews every third of it
+ */
+@ConfigurationProperties("stock.hot-skus")
+public record HotSkuProperties(
+        Set<String> skus,
+        Duration flushInterval,
+        Path journalDirectory,
+        DataSize segmentSize,
+        Duration durabilityTimeout,
+        Duration leaseTtl
+) {
+    public boolean enabled() {
+        return skus != null && !skus.isEmpty();
+    }
+}
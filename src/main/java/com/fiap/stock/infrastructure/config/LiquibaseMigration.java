@@ -0,0 +1,169 @@
+package com.fiap.stock.infrastructure.config;
+
+import com.fiap.stock.infrastructure.config.LiquibaseMigrationProperties.Mode;
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.RanChangeSet;
+import liquibase.command.CommandScope;
+import liquibase.command.core.UpdateCommandStep;
+import liquibase.command.core.helpers.DbUrlConnectionCommandStep;
+import liquibase.database.DatabaseFactory;
+import liquibase.exception.LiquibaseException;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the changelog in the configured mode and reports how it went as a health indicator, which the readiness
+ * group includes so that a pod migrating in the background does not get traffic yet. Background work that reads or
+ * writes the migrated collections waits for it through {@link #whenComplete}.
+ */
+@Slf4j
+public class LiquibaseMigration implements HealthIndicator {
+
+    private final String connectionUrl;
+    private final String changeLogFile;
+    private final String contexts;
+
+    private final List<Runnable> waiting = new ArrayList<>();
+
+    private volatile Health health = Health.unknown().build();
+    private volatile boolean complete;
+
+    /**
+     * @param contexts change sets with a context only run when it is listed here; without any, every one would run
+     */
+    public LiquibaseMigration(String connectionUrl, String changeLogFile, String contexts) {
+        this.connectionUrl = connectionUrl;
+        this.changeLogFile = changeLogFile;
+        this.contexts = contexts;
+    }
+
+    @Override
+    public Health health() {
+        return health;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Runs the task at once when the schema is already migrated, which keeps a failure failing startup; otherwise
+     * right after a background migration succeeds, and a failure then takes the pod out of rotation.
+     */
+    public void whenComplete(Runnable task) {
+        synchronized (waiting) {
+            if (!complete) {
+                waiting.add(task);
+                return;
+            }
+        }
+        task.run();
+    }
+
+    void run(Mode mode) {
+        switch (mode) {
+            case UPDATE -> timed(mode, this::update);
+            case VALIDATE_ONLY -> timed(mode, this::validate);
+            case SKIP -> {
+                log.info("Liquibase migration skipped");
+                health = Health.up().withDetail("mode", mode).build();
+                completed(mode);
+            }
+            case ASYNC -> {
+                health = Health.outOfService().withDetail("mode", mode).build();
+                Thread.ofVirtual().name("liquibase-migration").start(() -> {
+                    try {
+                        timed(mode, this::update);
+                    } catch (IllegalStateException e) {
+                        // already logged and reported, the pod stays out of rotation
+                    }
+                });
+            }
+        }
+    }
+
+    private void timed(Mode mode, Step step) {
+        long start = System.nanoTime();
+        try {
+            step.run();
+        } catch (LiquibaseException | RuntimeException e) {
+            log.error("error running liquibase {} {}", mode, e.getMessage());
+            health = Health.down(e).withDetail("mode", mode).build();
+            throw e instanceof IllegalStateException illegalState ? illegalState : new IllegalStateException(e);
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Liquibase {} finished in {} ms", mode, millis);
+        health = Health.up().withDetail("mode", mode).withDetail("durationMs", millis).build();
+        completed(mode);
+    }
+
+    private void completed(Mode mode) {
+        List<Runnable> tasks;
+        synchronized (waiting) {
+            complete = true;
+            tasks = List.copyOf(waiting);
+            waiting.clear();
+        }
+        for (var task : tasks) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("Work waiting for the migration failed to start: {}", e.getMessage(), e);
+                health = Health.down(e).withDetail("mode", mode).build();
+            }
+        }
+    }
+
+    void update() throws LiquibaseException {
+        new CommandScope("update")
+                .addArgumentValue(UpdateCommandStep.CHANGELOG_FILE_ARG, changeLogFile)
+                .addArgumentValue(DbUrlConnectionCommandStep.URL_ARG, connectionUrl)
+                .addArgumentValue(UpdateCommandStep.CONTEXTS_ARG, contexts)
+                .execute();
+    }
+
+    private void validate() throws LiquibaseException {
+        var pending = pending(changeLogState());
+        if (!pending.isEmpty())
+            throw new IllegalStateException("Liquibase change sets pending: " + pending.stream()
+                    .map(ChangeSet::getId)
+                    .collect(Collectors.joining(", ")));
+    }
+
+    // no lock is taken: checksums of the applied change sets are compared and the unrun ones only listed
+    ChangeLogState changeLogState() throws LiquibaseException {
+        var resourceAccessor = new ClassLoaderResourceAccessor();
+        var database = DatabaseFactory.getInstance().openDatabase(connectionUrl, null, null, null, resourceAccessor);
+        try (var liquibase = new Liquibase(changeLogFile, resourceAccessor, database)) {
+            liquibase.validate();
+            return new ChangeLogState(liquibase.listUnrunChangeSets(new Contexts(contexts), new LabelExpression()),
+                    database.getRanChangeSetList());
+        }
+    }
+
+    // liquibase lists a runAlways change set as unrun even right after it ran: one with a row in the changelog is done
+    static List<ChangeSet> pending(ChangeLogState state) {
+        return state.unrun().stream()
+                .filter(changeSet -> !changeSet.isAlwaysRun()
+                        || state.ran().stream().noneMatch(ran -> ran.isSameAs(changeSet)))
+                .toList();
+    }
+
+    record ChangeLogState(List<ChangeSet> unrun, List<RanChangeSet> ran) {
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run() throws LiquibaseException;
+    }
+}
@@ -0,0 +1,30 @@
+package com.fiap.stock.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * How the changelog is applied at startup.
+ *
+ * @param mode UPDATE applies pending change sets before the context starts; VALIDATE_ONLY checks checksums and
+ *             fails startup when change sets are pending, for replicas rolled out after a dedicated migration;
+ *             SKIP does nothing; ASYNC updates in the background and keeps the readiness probe down until done
+ * @param contexts extra changelog contexts, for change sets an operator runs on purpose, such as headroom-recompute
+ */
+@ConfigurationProperties("stock.migration")
+public record LiquibaseMigrationProperties(Mode mode, List<String> contexts) {
+
+    public LiquibaseMigrationProperties {
+        if (mode == null)
+            mode = Mode.UPDATE;
+        contexts = contexts == null ? List.of() : List.copyOf(contexts);
+    }
+
+    public enum Mode {
+        UPDATE,
+        VALIDATE_ONLY,
+        SKIP,
+        ASYNC
+    }
+}
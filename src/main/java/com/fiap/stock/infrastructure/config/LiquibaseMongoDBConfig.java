@@ -1,17 +1,13 @@
 package com.fiap.stock.infrastructure.config;
 
-import liquibase.command.CommandResults;
-import liquibase.command.CommandScope;
-import liquibase.command.core.UpdateCommandStep;
-import liquibase.command.core.helpers.DbUrlConnectionCommandStep;
-import liquibase.exception.LiquibaseException;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 @Configuration
-@Slf4j
 public class LiquibaseMongoDBConfig {
     @Value("${spring.data.mongodb.uri}")
     private String connectionUrl;
@@ -20,15 +16,12 @@ public class LiquibaseMongoDBConfig {
     private String changeLogFile;
 
     @Bean
-    public CommandResults liquibaseUpdate() {
-        try {
-            return new CommandScope("update")
-                    .addArgumentValue(UpdateCommandStep.CHANGELOG_FILE_ARG, changeLogFile)
-                    .addArgumentValue(DbUrlConnectionCommandStep.URL_ARG, connectionUrl)
-                    .execute();
-        } catch (LiquibaseException e) {
-            log.error("error running liquibase {}", e.getMessage());
-            throw new IllegalStateException(e);
-        }
+    public LiquibaseMigration liquibaseMigration(LiquibaseMigrationProperties properties,
+                                                 StockMongoProperties mongoProperties) {
+        var contexts = Stream.concat(Stream.of(mongoProperties.keyLayout().changeLogContext()), properties.contexts().stream())
+                .collect(Collectors.joining(","));
+        var migration = new LiquibaseMigration(connectionUrl, changeLogFile, contexts);
+        migration.run(properties.mode());
+        return migration;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,33 @@
+package com.fiap.stock.infrastructure.config;
+
+import com.fiap.stock.infrastructure.metrics.MongoPoolWaitMetrics;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MongoClientConfig {
+
+    // runs after the customizer that applies spring.data.mongodb.uri, so these win over options in the uri;
+    // both the blocking and the reactive client are built with it
+    @Bean
+    public MongoClientSettingsBuilderCustomizer stockMongoClientSettings(StockMongoProperties properties,
+                                                                        MongoPoolWaitMetrics poolWaitMetrics) {
+        var pool = properties.pool();
+        return settings -> settings
+                .applyToConnectionPoolSettings(builder -> builder
+                        .minSize(pool.minSize())
+                        .maxSize(pool.maxSize())
+                        .maxWaitTime(pool.maxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(pool.maxIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnecting(pool.maxConnecting())
+                        .addConnectionPoolListener(poolWaitMetrics))
+                .applyToSocketSettings(builder -> builder
+                        .connectTimeout(Math.toIntExact(properties.connectTimeout().toMillis()), TimeUnit.MILLISECONDS)
+                        .readTimeout(Math.toIntExact(properties.readTimeout().toMillis()), TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(builder -> builder
+                        .serverSelectionTimeout(properties.serverSelectionTimeout().toMillis(), TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,30 @@
+package com.fiap.stock.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Skus listed here keep their free units in sub-counter documents, so concurrent decrements spread over several
+ * documents instead of queueing on one. Unlike hot skus, any number of instances may write them.
+ *
+ * @param skus              sharded skus; empty disables the mode, and a sku taken off the list is folded back
+ * @param shards            sub-counters per sku
+ * @param totalTtl          how long a read may answer from the cached sum of the sub-counters
+ * @param rebalanceInterval how often the free units are evened out across the sub-counters
+ * @param stockShare        share of the free units a rebalance leaves on the stocks document, for the writes that
+ *                          only look at it, such as reservations
+ */
+@ConfigurationProperties("stock.sharded-skus")
+public record ShardedSkuProperties(
+        Set<String> skus,
+        int shards,
+        Duration totalTtl,
+        Duration rebalanceInterval,
+        double stockShare
+) {
+    public boolean enabled() {
+        return skus != null && !skus.isEmpty();
+    }
+}
@@ -0,0 +1,27 @@
+package com.fiap.stock.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Feed behind {@code GET api/v1/stocks/changes}.
+ *
+ * @param source        LOCAL publishes this instance's own writes; MONGO tails a change stream on stocks so that
+ *                      every instance serves every write (needs a replica set)
+ * @param bufferSize    changes kept for clients resuming with Last-Event-ID; older ones make them reload
+ * @param heartbeat     idle time after which a comment is sent, so dead connections are noticed
+ * @param streamTimeout how long a stream stays open before the client has to reconnect
+ */
+@ConfigurationProperties("stock.changes")
+public record StockChangeProperties(
+        Source source,
+        int bufferSize,
+        Duration heartbeat,
+        Duration streamTimeout
+) {
+    public enum Source {
+        LOCAL,
+        MONGO
+    }
+}
@@ -0,0 +1,112 @@
+package com.fiap.stock.infrastructure.config;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mongo client settings layered over spring.data.mongodb.uri, and how stock operations use them.
+ *
+ * @param pool                   connection pool bounds; a request waits at most {@code maxWaitTime} for a connection
+ * @param connectTimeout         time to open a socket
+ * @param readTimeout            time to wait for a reply on an open socket, zero for none
+ * @param serverSelectionTimeout time to find a server matching the read preference or the primary
+ * @param catalogReads           where full catalog reads and catalog pages go
+ * @param writeConcerns          acknowledgement asked of stock writes, by whether they give units back or take them
+ * @param keyLayout              what the stocks _id holds; switching to SKU migrates the collection and cannot be undone
+ */
+@ConfigurationProperties("stock.mongo")
+public record StockMongoProperties(
+        Pool pool,
+        Duration connectTimeout,
+        Duration readTimeout,
+        Duration serverSelectionTimeout,
+        CatalogReads catalogReads,
+        WriteConcerns writeConcerns,
+        KeyLayout keyLayout
+) {
+
+    public StockMongoProperties {
+        if (keyLayout == null)
+            keyLayout = KeyLayout.UUID;
+    }
+
+    public record Pool(int minSize, int maxSize, Duration maxWaitTime, Duration maxIdleTime, int maxConnecting) {
+    }
+
+    /**
+     * @param readPreference primary, primaryPreferred, secondary, secondaryPreferred or nearest
+     * @param maxStaleness   how far behind the primary a secondary may be to serve them, at least 90s; unset for no bound
+     */
+    public record CatalogReads(String readPreference, Duration maxStaleness) {
+
+        public ReadPreference toReadPreference() {
+            // the primary is never stale, the driver refuses a bound on it
+            if (maxStaleness == null || maxStaleness.isZero() || "primary".equalsIgnoreCase(readPreference))
+                return ReadPreference.valueOf(readPreference);
+            return ReadPreference.valueOf(readPreference, List.of(), maxStaleness.toSeconds(), TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Names as in {@link WriteConcern#valueOf(String)}: w1, w2, w3, majority, journaled, acknowledged.
+     *
+     * @param restock  increments and releases of reserved units: losing one on a failover only under-reports stock
+     * @param drawdown decrements, reservations and sales: losing one on a failover could sell the same units twice
+     */
+    public record WriteConcerns(String restock, String drawdown) {
+
+        public WriteConcern restockConcern() {
+            return writeConcern(restock);
+        }
+
+        public WriteConcern drawdownConcern() {
+            return writeConcern(drawdown);
+        }
+
+        private static WriteConcern writeConcern(String name) {
+            var writeConcern = WriteConcern.valueOf(name);
+            if (writeConcern == null)
+                throw new IllegalArgumentException("Unknown write concern: " + name);
+            return writeConcern;
+        }
+    }
+
+    public enum KeyLayout {
+        /**
+         * A random uuid, the sku under its own unique index.
+         */
+        UUID("sku", "uuid-key"),
+        /**
+         * The sku itself: point reads and writes by sku hit the _id index, and {_id: "hashed"} is a ready shard key.
+         * Ids handed out before the migration stay in legacyId.
+         */
+        SKU("_id", "sku-key");
+
+        private final String skuKey;
+        private final String changeLogContext;
+
+        KeyLayout(String skuKey, String changeLogContext) {
+            this.skuKey = skuKey;
+            this.changeLogContext = changeLogContext;
+        }
+
+        /**
+         * Field that point queries by sku match on.
+         */
+        public String skuKey() {
+            return skuKey;
+        }
+
+        /**
+         * Liquibase context that selects the change sets of this layout.
+         */
+        public String changeLogContext() {
+            return changeLogContext;
+        }
+    }
+}
@@ -1,15 +1,28 @@
 package com.fiap.stock.infrastructure.controller;
 
 import com.fiap.stock.core.dto.CreateProductStockDTO;
+import com.fiap.stock.core.dto.StockAdjustmentDTO;
+import com.fiap.stock.core.dto.StockAdjustmentResultDTO;
+import com.fiap.stock.core.dto.StockAvailabilityDTO;
+import com.fiap.stock.core.dto.StockLedgerDTO;
+import com.fiap.stock.core.dto.StockLookupDTO;
+import com.fiap.stock.core.dto.StockPageDTO;
 import com.fiap.stock.core.dto.UpdateProductStockDTO;
 import com.fiap.stock.core.entity.ProductStock;
 import com.fiap.stock.core.usecase.*;
+import com.fiap.stock.infrastructure.changefeed.StockChangeFeed;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.List;
 import java.util.Set;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("api/v1/stocks")
 public class ProductStockController {
     private final CreateProductStockUseCase createProductStockUseCase;
@@ -17,25 +30,81 @@ public class ProductStockController {
     private final FindStockUseCase findStockUseCase;
     private final DeleteProductStockUseCase deleteProductStockUseCase;
     private final AlterProductStockUseCase alterProductStockUseCase;
+    private final BulkAlterProductStockUseCase bulkAlterProductStockUseCase;
+    private final FindStocksPageUseCase findStocksPageUseCase;
+    private final FindStockAvailabilityUseCase findStockAvailabilityUseCase;
+    private final FindStocksBySkuUseCase findStocksBySkuUseCase;
+    private final FindStockMovementsUseCase findStockMovementsUseCase;
+    private final FindLowStockUseCase findLowStockUseCase;
+    private final StockChangeFeed stockChangeFeed;
 
 
-    public ProductStockController(CreateProductStockUseCase createProductStockUseCase, FindAllStocksUseCase findAllStocksUseCase, FindStockUseCase findStockUseCase, DeleteProductStockUseCase deleteProductStockUseCase, AlterProductStockUseCase alterProductStockUseCase) {
+    public ProductStockController(CreateProductStockUseCase createProductStockUseCase, FindAllStocksUseCase findAllStocksUseCase, FindStockUseCase findStockUseCase, DeleteProductStockUseCase deleteProductStockUseCase, AlterProductStockUseCase alterProductStockUseCase, BulkAlterProductStockUseCase bulkAlterProductStockUseCase, FindStocksPageUseCase findStocksPageUseCase, FindStockAvailabilityUseCase findStockAvailabilityUseCase, FindStocksBySkuUseCase findStocksBySkuUseCase, FindStockMovementsUseCase findStockMovementsUseCase, FindLowStockUseCase findLowStockUseCase, StockChangeFeed stockChangeFeed) {
         this.createProductStockUseCase = createProductStockUseCase;
         this.findAllStocksUseCase = findAllStocksUseCase;
         this.findStockUseCase = findStockUseCase;
         this.deleteProductStockUseCase = deleteProductStockUseCase;
         this.alterProductStockUseCase = alterProductStockUseCase;
+        this.bulkAlterProductStockUseCase = bulkAlterProductStockUseCase;
+        this.findStocksPageUseCase = findStocksPageUseCase;
+        this.findStockAvailabilityUseCase = findStockAvailabilityUseCase;
+        this.findStocksBySkuUseCase = findStocksBySkuUseCase;
+        this.findStockMovementsUseCase = findStockMovementsUseCase;
+        this.findLowStockUseCase = findLowStockUseCase;
+        this.stockChangeFeed = stockChangeFeed;
     }
 
 
     @GetMapping("{sku}")
-    public ResponseEntity<ProductStock> findStock(@PathVariable String sku) {
-        return ResponseEntity.ok(findStockUseCase.execute(sku));
+    public ResponseEntity<ProductStock> findStock(@PathVariable String sku, WebRequest request) {
+        var stock = findStockUseCase.execute(sku);
+        var eTag = StockETags.of(stock, request.getHeader(HttpHeaders.ACCEPT));
+        if (request.checkNotModified(eTag))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(stock);
+    }
+
+    // a literal segment outranks {sku}, the shadowed sku stays reachable through ?skus=
+    @GetMapping("low")
+    public ResponseEntity<List<ProductStock>> findLowStock(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(findLowStockUseCase.execute(limit));
+    }
+
+    @GetMapping("{sku}/availability")
+    public ResponseEntity<StockAvailabilityDTO> findStockAvailability(@PathVariable String sku) {
+        return ResponseEntity.ok(findStockAvailabilityUseCase.execute(sku));
+    }
+
+    @GetMapping("{sku}/movements")
+    public ResponseEntity<StockLedgerDTO> findStockMovements(@PathVariable String sku, @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(findStockMovementsUseCase.execute(sku, limit));
     }
 
     @GetMapping
-    public ResponseEntity<Set<ProductStock>> findAllStocks() {
-        return ResponseEntity.ok(findAllStocksUseCase.execute());
+    public ResponseEntity<Set<ProductStock>> findAllStocks(WebRequest request) {
+        // taken before the read, so a write racing it leaves an older tag on a newer body, never the other way round
+        var feedVersion = stockChangeFeed.version();
+        if (feedVersion == null)
+            return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(findAllStocksUseCase.execute());
+        var eTag = StockETags.ofCollection(feedVersion, request.getHeader(HttpHeaders.ACCEPT));
+        if (request.checkNotModified(eTag))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(findAllStocksUseCase.execute());
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<StockPageDTO> findStocksPage(@RequestParam(required = false) String after, @RequestParam int limit) {
+        return ResponseEntity.ok(findStocksPageUseCase.execute(after, limit));
+    }
+
+    @GetMapping(params = "skus")
+    public ResponseEntity<StockLookupDTO> findStocksBySku(@RequestParam List<String> skus) {
+        return ResponseEntity.ok(findStocksBySkuUseCase.execute(skus));
+    }
+
+    @PostMapping("lookup")
+    public ResponseEntity<StockLookupDTO> lookupStocks(@RequestBody List<String> skus) {
+        return ResponseEntity.ok(findStocksBySkuUseCase.execute(skus));
     }
 
     @PostMapping
@@ -48,6 +117,11 @@ public class ProductStockController {
         return ResponseEntity.ok(alterProductStockUseCase.execute(sku, updateProductStockDTO));
     }
 
+    @PostMapping("adjustments")
+    public ResponseEntity<List<StockAdjustmentResultDTO>> adjustStocks(@RequestBody List<StockAdjustmentDTO> adjustments) {
+        return ResponseEntity.ok(bulkAlterProductStockUseCase.execute(adjustments));
+    }
+
     @DeleteMapping("{id}")
     public ResponseEntity<Void> deleteProductStock(@PathVariable String id) {
         deleteProductStockUseCase.execute(id);
@@ -0,0 +1,59 @@
+package com.fiap.stock.infrastructure.controller;
+
+import com.fiap.stock.core.dto.CreateProductStockDTO;
+import com.fiap.stock.core.dto.UpdateProductStockDTO;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.usecase.reactive.*;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("api/v1/stocks")
+public class ReactiveProductStockController {
+    private final ReactiveCreateProductStockUseCase createProductStockUseCase;
+    private final ReactiveFindAllStocksUseCase findAllStocksUseCase;
+    private final ReactiveFindStockUseCase findStockUseCase;
+    private final ReactiveDeleteProductStockUseCase deleteProductStockUseCase;
+    private final ReactiveAlterProductStockUseCase alterProductStockUseCase;
+
+    public ReactiveProductStockController(ReactiveCreateProductStockUseCase createProductStockUseCase, ReactiveFindAllStocksUseCase findAllStocksUseCase, ReactiveFindStockUseCase findStockUseCase, ReactiveDeleteProductStockUseCase deleteProductStockUseCase, ReactiveAlterProductStockUseCase alterProductStockUseCase) {
+        this.createProductStockUseCase = createProductStockUseCase;
+        this.findAllStocksUseCase = findAllStocksUseCase;
+        this.findStockUseCase = findStockUseCase;
+        this.deleteProductStockUseCase = deleteProductStockUseCase;
+        this.alterProductStockUseCase = alterProductStockUseCase;
+    }
+
+    @GetMapping("{sku}")
+    public Mono<ResponseEntity<ProductStock>> findStock(@PathVariable String sku) {
+        return findStockUseCase.execute(sku)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping
+    public Flux<ProductStock> findAllStocks() {
+        return findAllStocksUseCase.execute();
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<ProductStock>> createProductStock(@RequestBody CreateProductStockDTO createProductStockDTO) {
+        return createProductStockUseCase.execute(createProductStockDTO)
+                .map(ResponseEntity::ok);
+    }
+
+    @PutMapping("{sku}")
+    public Mono<ResponseEntity<ProductStock>> updateStock(@PathVariable String sku, @RequestBody UpdateProductStockDTO updateProductStockDTO) {
+        return alterProductStockUseCase.execute(sku, updateProductStockDTO)
+                .map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("{id}")
+    public Mono<ResponseEntity<Void>> deleteProductStock(@PathVariable String id) {
+        return deleteProductStockUseCase.execute(id)
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok().build()));
+    }
+}
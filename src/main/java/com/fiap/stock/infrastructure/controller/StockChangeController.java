@@ -0,0 +1,26 @@
+package com.fiap.stock.infrastructure.controller;
+
+import com.fiap.stock.infrastructure.changefeed.StockChangeStreamer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("api/v1/stocks")
+public class StockChangeController {
+    private final StockChangeStreamer stockChangeStreamer;
+
+    public StockChangeController(StockChangeStreamer stockChangeStreamer) {
+        this.stockChangeStreamer = stockChangeStreamer;
+    }
+
+    @GetMapping(path = "changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return stockChangeStreamer.stream(lastEventId);
+    }
+}
@@ -0,0 +1,29 @@
+package com.fiap.stock.infrastructure.controller;
+
+import com.fiap.stock.core.entity.ProductStock;
+
+/**
+ * Strong validators computed from what a response is made of, never from its serialized body.
+ */
+abstract class StockETags {
+
+    // hot sku post-images are served between flushes with an unchanged version, so the counters are part of the
+    // tag; the id tells a stock apart from one deleted and created again under the same sku. The body is negotiated
+    // from Accept, which goes in too: a JSON tag must not validate a cached CBOR body
+    static String of(ProductStock stock, String accept) {
+        return "\"" + stock.getId() + "-" + stock.getVersion() + "-" + stock.getQuantity() + "-" + stock.getReserved()
+                + "-" + representation(accept) + "\"";
+    }
+
+    // any write the change feed sees moves its version forward, so it versions the whole collection.
+    // With the local source the feed only sees this instance's writes, which versions the collection for a single
+    // instance only; with the mongo source a write reaches the tag once the change stream delivers it, so a
+    // revalidation may still be answered 304 for that long
+    static String ofCollection(String feedVersion, String accept) {
+        return "\"c" + feedVersion + "-" + representation(accept) + "\"";
+    }
+
+    private static String representation(String accept) {
+        return Integer.toHexString(accept == null ? 0 : accept.hashCode());
+    }
+}
@@ -0,0 +1,40 @@
+package com.fiap.stock.infrastructure.controller;
+
+import com.fiap.stock.core.dto.ReserveStockDTO;
+import com.fiap.stock.core.entity.StockReservation;
+import com.fiap.stock.core.usecase.ConfirmReservationUseCase;
+import com.fiap.stock.core.usecase.ReleaseReservationUseCase;
+import com.fiap.stock.core.usecase.ReserveStockUseCase;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("api/v1/stocks")
+public class StockReservationController {
+    private final ReserveStockUseCase reserveStockUseCase;
+    private final ConfirmReservationUseCase confirmReservationUseCase;
+    private final ReleaseReservationUseCase releaseReservationUseCase;
+
+    public StockReservationController(ReserveStockUseCase reserveStockUseCase, ConfirmReservationUseCase confirmReservationUseCase, ReleaseReservationUseCase releaseReservationUseCase) {
+        this.reserveStockUseCase = reserveStockUseCase;
+        this.confirmReservationUseCase = confirmReservationUseCase;
+        this.releaseReservationUseCase = releaseReservationUseCase;
+    }
+
+    @PostMapping("{sku}/reservations")
+    public ResponseEntity<StockReservation> reserve(@PathVariable String sku, @RequestBody ReserveStockDTO reserveStockDTO) {
+        return ResponseEntity.ok(reserveStockUseCase.execute(sku, reserveStockDTO));
+    }
+
+    @PostMapping("reservations/{id}/confirm")
+    public ResponseEntity<StockReservation> confirm(@PathVariable String id) {
+        return ResponseEntity.ok(confirmReservationUseCase.execute(id));
+    }
+
+    @DeleteMapping("reservations/{id}")
+    public ResponseEntity<StockReservation> release(@PathVariable String id) {
+        return ResponseEntity.ok(releaseReservationUseCase.execute(id));
+    }
+}
@@ -1,5 +1,11 @@
 package com.fiap.stock.infrastructure.controller.handler;
 
+import com.fiap.stock.core.exception.InsufficientStockException;
+import com.fiap.stock.core.exception.StockConflictException;
+import com.fiap.stock.core.exception.StockNotFoundException;
+import com.fiap.stock.core.exception.StockUnavailableException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -18,4 +24,29 @@ public class ControllerErrorHandler {
         return ResponseEntity.unprocessableEntity()
                 .body(new ErrorResponse(exception.getMessage(), -2));
     }
+
+    @ExceptionHandler(StockConflictException.class)
+    public ResponseEntity<ErrorResponse> handleStockConflictException(StockConflictException exception) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(exception.getMessage(), -3));
+    }
+
+    @ExceptionHandler(StockNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleStockNotFoundException(StockNotFoundException exception) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(exception.getMessage(), -4));
+    }
+
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ErrorResponse> handleInsufficientStockException(InsufficientStockException exception) {
+        return ResponseEntity.badRequest()
+                .body(new ErrorResponse(exception.getMessage(), -1));
+    }
+
+    @ExceptionHandler(StockUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleStockUnavailableException(StockUnavailableException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(exception.getMessage(), -5));
+    }
 }
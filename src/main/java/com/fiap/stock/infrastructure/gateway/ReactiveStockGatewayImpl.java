@@ -0,0 +1,58 @@
+package com.fiap.stock.infrastructure.gateway;
+
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.gateway.ReactiveStockGateway;
+import com.fiap.stock.infrastructure.hotsku.HotSkuCoalescer;
+import com.fiap.stock.infrastructure.mapper.ProductStockMapper;
+import com.fiap.stock.infrastructure.repository.ReactiveStockRepository;
+import com.fiap.stock.infrastructure.shardedsku.ShardedStockCounters;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Profile("reactive")
+@Component
+public class ReactiveStockGatewayImpl implements ReactiveStockGateway {
+
+    private final ReactiveStockRepository stockRepository;
+    private final HotSkuCoalescer hotSkuCoalescer;
+    private final ShardedStockCounters shardedStockCounters;
+
+    public ReactiveStockGatewayImpl(ReactiveStockRepository stockRepository, HotSkuCoalescer hotSkuCoalescer,
+                                    ShardedStockCounters shardedStockCounters) {
+        this.stockRepository = stockRepository;
+        this.hotSkuCoalescer = hotSkuCoalescer;
+        this.shardedStockCounters = shardedStockCounters;
+    }
+
+    @Override
+    public Mono<ProductStock> findBySku(String sku) {
+        // the coalescer view is in memory and ahead of Mongo by up to one flush
+        if (hotSkuCoalescer.handles(sku))
+            return Mono.justOrEmpty(hotSkuCoalescer.current(sku));
+        // the sub-counters are read through the blocking repositories, keep them off the event loop
+        if (shardedStockCounters.handles(sku))
+            return Mono.fromCallable(() -> shardedStockCounters.current(sku))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMap(Mono::justOrEmpty);
+        return stockRepository.findBySku(sku)
+                .map(ProductStockMapper::toEntity);
+    }
+
+    @Override
+    public Mono<ProductStock> findById(String id) {
+        return stockRepository.findById(id)
+                .map(ProductStockMapper::toEntity);
+    }
+
+    @Override
+    public Flux<ProductStock> findAll() {
+        return stockRepository.findAll()
+                .map(ProductStockMapper::toEntity)
+                .concatMap(stock -> shardedStockCounters.handles(stock.getSku())
+                        ? Mono.fromCallable(() -> shardedStockCounters.withShards(stock)).subscribeOn(Schedulers.boundedElastic())
+                        : Mono.just(stock));
+    }
+}
@@ -1,26 +1,72 @@
 package com.fiap.stock.infrastructure.gateway;
 
+import com.fiap.stock.core.dto.StockAdjustmentDTO;
+import com.fiap.stock.core.dto.StockAvailabilityDTO;
+import com.fiap.stock.core.entity.AdjustmentStatus;
 import com.fiap.stock.core.entity.ProductStock;
 import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.infrastructure.hotsku.HotSkuCoalescer;
 import com.fiap.stock.infrastructure.mapper.ProductStockMapper;
 import com.fiap.stock.infrastructure.repository.StockRepository;
+import com.fiap.stock.infrastructure.shardedsku.ShardedStockCounters;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static com.fiap.stock.infrastructure.config.CacheConfig.STOCKS_CACHE;
+
 @Component
 public class StockGatewayImpl implements StockGateway {
 
     private final StockRepository stockRepository;
+    private final HotSkuCoalescer hotSkuCoalescer;
+    private final ShardedStockCounters shardedStockCounters;
 
-    public StockGatewayImpl(StockRepository stockRepository) {
+    public StockGatewayImpl(StockRepository stockRepository, HotSkuCoalescer hotSkuCoalescer,
+                            ShardedStockCounters shardedStockCounters) {
         this.stockRepository = stockRepository;
+        this.hotSkuCoalescer = hotSkuCoalescer;
+        this.shardedStockCounters = shardedStockCounters;
+    }
+
+    @Override
+    public String newId(String sku) {
+        return stockRepository.newStockId(sku);
     }
 
+    // #result is what the Optional holds: misses are not cached, an insert from another instance is seen at once
     @Override
+    @Cacheable(cacheNames = STOCKS_CACHE, key = "#sku", unless = "#result == null")
     public Optional<ProductStock> findBySku(String sku) {
+        if (shardedStockCounters.handles(sku))
+            return readOnly(shardedStockCounters.current(sku));
+        return readOnly(stockRepository.findBySku(sku)
+                .map(ProductStockMapper::toEntity));
+    }
+
+    // the coalescer counter is read after other threads took from it, the sub-counters' sum comes from a cache
+    @Override
+    public boolean isPostImageExact(String sku) {
+        return !hotSkuCoalescer.handles(sku) && !shardedStockCounters.handles(sku);
+    }
+
+    // hot and sharded skus are not whole in their stocks document: the coalescer and the sub-counters have the figure
+    @Override
+    public Optional<ProductStock> findCurrent(String sku) {
+        if (hotSkuCoalescer.handles(sku))
+            return hotSkuCoalescer.current(sku);
+        if (shardedStockCounters.handles(sku))
+            return shardedStockCounters.reload(sku);
         return stockRepository.findBySku(sku)
                 .map(ProductStockMapper::toEntity);
     }
@@ -31,22 +77,171 @@ public class StockGatewayImpl implements StockGateway {
                 .map(ProductStockMapper::toEntity);
     }
 
+    @Override
+    public Optional<StockAvailabilityDTO> findAvailability(String sku) {
+        // Mongo trails a hot sku by up to one flush, the coalescer has the live figure
+        if (hotSkuCoalescer.handles(sku))
+            return hotSkuCoalescer.current(sku).map(StockAvailabilityDTO::new);
+        if (shardedStockCounters.handles(sku))
+            return shardedStockCounters.current(sku).map(StockAvailabilityDTO::new);
+        return stockRepository.findAvailability(sku);
+    }
+
     @Override
     public Set<ProductStock> findAll() {
-        return stockRepository.findAll()
+        return stockRepository.findCatalog()
                 .stream()
                 .map(ProductStockMapper::toEntity)
+                .map(shardedStockCounters::withShards)
                 .collect(Collectors.toSet());
     }
 
     @Override
-    public void save(ProductStock client) {
-        stockRepository.save(ProductStockMapper.toModel(client));
+    public List<ProductStock> findAllBySku(Collection<String> skus) {
+        return stockRepository.findAllBySkuIn(skus)
+                .stream()
+                .map(ProductStockMapper::toEntity)
+                .map(shardedStockCounters::withShards)
+                .toList();
+    }
+
+    @Override
+    public List<ProductStock> findPage(String afterSku, int limit) {
+        return stockRepository.findCatalogPage(afterSku, limit).stream()
+                .map(ProductStockMapper::toEntity)
+                .map(shardedStockCounters::withShards)
+                .toList();
+    }
+
+    // the headroom on a sharded stock document leaves out the units in its sub-counters: the summed view decides
+    @Override
+    public List<ProductStock> findLowStock(int limit) {
+        return stockRepository.findLowStock(limit).stream()
+                .map(ProductStockMapper::toEntity)
+                .map(shardedStockCounters::withShards)
+                .filter(ProductStock::isLow)
+                .toList();
+    }
+
+    @Override
+    @CacheEvict(cacheNames = STOCKS_CACHE, key = "#client.sku")
+    public boolean insert(ProductStock client) {
+        try {
+            stockRepository.insert(ProductStockMapper.toModel(client));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
     }
 
     @Override
-    public void deleteById(String id) {
-        stockRepository.deleteById(id);
+    @CachePut(cacheNames = STOCKS_CACHE, key = "#sku", unless = "#result == null")
+    public Optional<ProductStock> adjustQuantity(String sku, int delta) {
+        if (hotSkuCoalescer.handles(sku))
+            return readOnly(hotSkuCoalescer.adjust(sku, delta));
+        if (shardedStockCounters.handles(sku))
+            return readOnly(shardedStockCounters.adjust(sku, delta));
+        return readOnly(stockRepository.adjustQuantity(sku, delta)
+                .map(ProductStockMapper::toEntity));
     }
 
+    @Override
+    @CachePut(cacheNames = STOCKS_CACHE, key = "#sku", unless = "#result == null")
+    public Optional<ProductStock> reserve(String sku, int quantity) {
+        if (hotSkuCoalescer.handles(sku))
+            return readOnly(hotSkuCoalescer.throughStock(sku, -quantity, () -> stockRepository.reserve(sku, quantity)));
+        if (shardedStockCounters.handles(sku))
+            return readOnly(shardedStockCounters.throughStock(sku, () -> stockRepository.reserve(sku, quantity)));
+        return readOnly(stockRepository.reserve(sku, quantity)
+                .map(ProductStockMapper::toEntity));
+    }
+
+    @Override
+    @CachePut(cacheNames = STOCKS_CACHE, key = "#sku", unless = "#result == null")
+    public Optional<ProductStock> releaseReserved(String sku, int quantity) {
+        if (hotSkuCoalescer.handles(sku))
+            return readOnly(hotSkuCoalescer.throughStock(sku, quantity, () -> stockRepository.releaseReserved(sku, quantity)));
+        if (shardedStockCounters.handles(sku))
+            return readOnly(shardedStockCounters.throughStock(sku, () -> stockRepository.releaseReserved(sku, quantity)));
+        return readOnly(stockRepository.releaseReserved(sku, quantity)
+                .map(ProductStockMapper::toEntity));
+    }
+
+    @Override
+    @CachePut(cacheNames = STOCKS_CACHE, key = "#sku", unless = "#result == null")
+    public Optional<ProductStock> commitReserved(String sku, int quantity) {
+        if (hotSkuCoalescer.handles(sku))
+            return readOnly(hotSkuCoalescer.throughStock(sku, 0, () -> stockRepository.commitReserved(sku, quantity)));
+        if (shardedStockCounters.handles(sku))
+            return readOnly(shardedStockCounters.throughStock(sku, () -> stockRepository.commitReserved(sku, quantity)));
+        return readOnly(stockRepository.commitReserved(sku, quantity)
+                .map(ProductStockMapper::toEntity));
+    }
+
+    @Override
+    public List<ProductStock> findReservedPage(String afterSku, int limit) {
+        return stockRepository.findReservedPage(afterSku, limit).stream()
+                .map(ProductStockMapper::toEntity)
+                .toList();
+    }
+
+    @Override
+    @CachePut(cacheNames = STOCKS_CACHE, key = "#sku", unless = "#result == null")
+    public Optional<ProductStock> resetReserved(String sku, int expected, int reserved) {
+        if (hotSkuCoalescer.handles(sku))
+            return readOnly(hotSkuCoalescer.throughStock(sku, expected - reserved, () -> stockRepository.resetReserved(sku, expected, reserved)));
+        if (shardedStockCounters.handles(sku))
+            return readOnly(shardedStockCounters.throughStock(sku, () -> stockRepository.resetReserved(sku, expected, reserved)));
+        return readOnly(stockRepository.resetReserved(sku, expected, reserved)
+                .map(ProductStockMapper::toEntity));
+    }
+
+    @Override
+    @CacheEvict(cacheNames = STOCKS_CACHE, allEntries = true)
+    public List<AdjustmentStatus> adjustQuantities(List<StockAdjustmentDTO> adjustments) {
+        // the bulk path only sees the stock document: bring the units of sharded skus back to it first
+        adjustments.stream()
+                .map(StockAdjustmentDTO::sku)
+                .distinct()
+                .filter(shardedStockCounters::handles)
+                .forEach(shardedStockCounters::gather);
+        if (adjustments.stream().noneMatch(adjustment -> hotSkuCoalescer.handles(adjustment.sku())))
+            return stockRepository.adjustQuantities(adjustments);
+
+        // hot lines go through the coalescer one by one, in list order, the others keep the single bulk write
+        var statuses = new AdjustmentStatus[adjustments.size()];
+        var coldLines = new ArrayList<Integer>();
+        for (int line = 0; line < adjustments.size(); line++) {
+            var adjustment = adjustments.get(line);
+            if (hotSkuCoalescer.handles(adjustment.sku()))
+                statuses[line] = hotSkuCoalescer.adjust(adjustment.sku(), adjustment.toUpdate().delta()).isPresent()
+                        ? AdjustmentStatus.APPLIED
+                        : AdjustmentStatus.INSUFFICIENT_STOCK;
+            else
+                coldLines.add(line);
+        }
+        if (!coldLines.isEmpty()) {
+            var coldStatuses = stockRepository.adjustQuantities(coldLines.stream().map(adjustments::get).toList());
+            for (int i = 0; i < coldLines.size(); i++)
+                statuses[coldLines.get(i)] = coldStatuses.get(i);
+        }
+        return Arrays.asList(statuses);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = STOCKS_CACHE, allEntries = true)
+    public Optional<ProductStock> deleteById(String id) {
+        var deleted = stockRepository.removeById(id)
+                .map(ProductStockMapper::toEntity);
+        deleted.filter(stock -> hotSkuCoalescer.handles(stock.getSku()))
+                .ifPresent(stock -> hotSkuCoalescer.forget(stock.getSku()));
+        deleted.filter(stock -> shardedStockCounters.handles(stock.getSku()))
+                .ifPresent(stock -> shardedStockCounters.forget(stock.getSku()));
+        return deleted;
+    }
+
+    // cached entries are handed to every later caller, none of them may change the others' copy
+    private static Optional<ProductStock> readOnly(Optional<ProductStock> stock) {
+        return stock.map(ProductStock::readOnlyCopy);
+    }
 }
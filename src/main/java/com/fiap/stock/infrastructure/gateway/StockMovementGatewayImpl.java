@@ -0,0 +1,53 @@
+package com.fiap.stock.infrastructure.gateway;
+
+import com.fiap.stock.core.entity.StockMovement;
+import com.fiap.stock.core.gateway.StockMovementGateway;
+import com.fiap.stock.infrastructure.mapper.StockMovementMapper;
+import com.fiap.stock.infrastructure.repository.StockMovementRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+@Slf4j
+@Component
+public class StockMovementGatewayImpl implements StockMovementGateway {
+
+    private final StockMovementRepository stockMovementRepository;
+
+    public StockMovementGatewayImpl(StockMovementRepository stockMovementRepository) {
+        this.stockMovementRepository = stockMovementRepository;
+    }
+
+    // the stock change is already committed when its movements are recorded: failing the request now would only
+    // invite a retry that applies the change twice
+    @Override
+    public void record(List<StockMovement> movements) {
+        try {
+            stockMovementRepository.append(movements.stream().map(StockMovementMapper::toModel).toList());
+        } catch (DataAccessException e) {
+            log.error("Could not record {} stock movements: {}", movements.size(), movements, e);
+        }
+    }
+
+    @Override
+    public List<StockMovement> findRecent(String sku, int limit) {
+        return stockMovementRepository.findBySkuOrderByOccurredAtDesc(sku, Limit.of(limit))
+                .stream()
+                .map(StockMovementMapper::toEntity)
+                .toList();
+    }
+
+    @Override
+    public int ledgerQuantity(String sku) {
+        return stockMovementRepository.ledgerQuantity(sku);
+    }
+
+    @Override
+    public int snapshot(Duration settle) {
+        return stockMovementRepository.snapshot(settle);
+    }
+}
@@ -0,0 +1,54 @@
+package com.fiap.stock.infrastructure.gateway;
+
+import com.fiap.stock.core.entity.ReservationStatus;
+import com.fiap.stock.core.entity.StockReservation;
+import com.fiap.stock.core.gateway.StockReservationGateway;
+import com.fiap.stock.infrastructure.mapper.StockReservationMapper;
+import com.fiap.stock.infrastructure.repository.StockReservationRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+public class StockReservationGatewayImpl implements StockReservationGateway {
+
+    private final StockReservationRepository stockReservationRepository;
+
+    public StockReservationGatewayImpl(StockReservationRepository stockReservationRepository) {
+        this.stockReservationRepository = stockReservationRepository;
+    }
+
+    @Override
+    public void save(StockReservation reservation) {
+        stockReservationRepository.insert(StockReservationMapper.toModel(reservation));
+    }
+
+    @Override
+    public Optional<StockReservation> findById(String id) {
+        return stockReservationRepository.findById(id)
+                .map(StockReservationMapper::toEntity);
+    }
+
+    @Override
+    public Optional<StockReservation> close(String id, ReservationStatus status, Instant now) {
+        return stockReservationRepository.close(id, status, now)
+                .map(StockReservationMapper::toEntity);
+    }
+
+    @Override
+    public List<StockReservation> expire(Instant now, int limit) {
+        return stockReservationRepository.expire(now, limit)
+                .stream()
+                .map(StockReservationMapper::toEntity)
+                .toList();
+    }
+
+    @Override
+    public Map<String, Integer> activeQuantities(Collection<String> skus) {
+        return stockReservationRepository.activeQuantities(skus);
+    }
+}
@@ -0,0 +1,384 @@
+package com.fiap.stock.infrastructure.hotsku;
+
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.exception.StockUnavailableException;
+import com.fiap.stock.infrastructure.config.HotSkuProperties;
+import com.fiap.stock.infrastructure.config.LiquibaseMigration;
+import com.fiap.stock.infrastructure.repository.StockRepository;
+import com.fiap.stock.infrastructure.repository.model.ProductStockModel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Absorbs the write storm on a few hot skus: each adjustment is checked against an in-memory striped counter,
+ * journaled with group commit and acknowledged once durable, and a single flusher sends the net delta of every
+ * sku to Mongo once per flush interval. Only the instance holding the lease coalesces, the others leave the hot skus
+ * to the stock document path.
+ */
+@Slf4j
+@Component
+public class HotSkuCoalescer {
+
+    private static final int STRIPES = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    private final StockRepository stockRepository;
+    private final HotSkuLease lease;
+    private final HotSkuDeadLetters deadLetters;
+    private final LiquibaseMigration migration;
+    private final HotSkuProperties properties;
+    private final Timer flushLag;
+    private final Counter flushConflicts;
+    private final Map<String, HotStock> stocks = new ConcurrentHashMap<>();
+    private final Deque<HotSkuJournal.Batch> unflushed = new ArrayDeque<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private HotSkuJournal journal;
+    private volatile ScheduledExecutorService flusher;
+    private volatile long leaseRenewedNanos;
+
+    public HotSkuCoalescer(StockRepository stockRepository, HotSkuLease lease, HotSkuDeadLetters deadLetters,
+                           LiquibaseMigration migration, HotSkuProperties properties, MeterRegistry meterRegistry) {
+        this.stockRepository = stockRepository;
+        this.lease = lease;
+        this.deadLetters = deadLetters;
+        this.migration = migration;
+        this.properties = properties;
+        this.flushLag = Timer.builder("stock.hotsku.flush.lag")
+                .description("Time from the first coalesced adjustment of a batch until Mongo has it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.flushConflicts = Counter.builder("stock.hotsku.flush.conflicts")
+                .description("Hot sku deltas that Mongo refused, set aside as dead letters")
+                .register(meterRegistry);
+    }
+
+    // the journal replays into stocks and the flusher writes to it: not before the schema they expect is in place
+    @PostConstruct
+    public void start() {
+        if (properties.enabled())
+            migration.whenComplete(this::open);
+    }
+
+    private void open() {
+        try {
+            replayAndStartFlusher();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void replayAndStartFlusher() throws IOException {
+        // before anything reaches Mongo: the replay below is only safe from the instance that owns the sequences.
+        // Without the lease nothing is handled here, and the hot skus take the same path as every other sku
+        if (!lease.acquire()) {
+            log.warn("Hot skus {} are coalesced by {}, writing them through the stock document here",
+                    properties.skus(), lease.holder());
+            return;
+        }
+        leaseRenewedNanos = System.nanoTime();
+
+        journal = new HotSkuJournal(properties.journalDirectory(), properties.segmentSize().toBytes());
+        long lastSequence = recover();
+        journal.open(lastSequence);
+
+        stockRepository.findAllBySkuIn(properties.skus())
+                .forEach(model -> stocks.put(model.getSku(), new HotStock(model)));
+        log.info("Coalescing writes for hot skus: {}", stocks.keySet());
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "hot-sku-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.flushInterval().toNanos();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (flusher == null)
+            return;
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(properties.durabilityTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // whatever Mongo does not take now stays in the journal and is replayed on the next start
+        flushQuietly();
+        journal.close();
+        if (unflushed.isEmpty())
+            lease.release();
+    }
+
+    public boolean handles(String sku) {
+        return stocks.containsKey(sku);
+    }
+
+    public Optional<ProductStock> current(String sku) {
+        return Optional.ofNullable(stocks.get(sku))
+                .map(HotStock::postImage);
+    }
+
+    /**
+     * Stops coalescing a deleted stock: its adjustments answer like any missing sku from now on, and the deltas still
+     * journaled for it are dropped at the next flush.
+     */
+    public void forget(String sku) {
+        stocks.remove(sku);
+    }
+
+    /**
+     * Same contract as the single findAndModify: empty when the sku is gone or the available quantity does not
+     * cover a decrement. The returned post-image is the coalescer view, Mongo catches up within one flush interval.
+     */
+    public Optional<ProductStock> adjust(String sku, int delta) {
+        ensureLeaseHeld();
+        var stock = stocks.get(sku);
+        if (stock == null)
+            return Optional.empty();
+        if (delta < 0 && !stock.available.tryTake(-delta))
+            return Optional.empty();
+
+        if (!journal.awaitDurable(journal.append(sku, delta), properties.durabilityTimeout())) {
+            // the entry may still turn durable: the opposite one behind it cancels it out in whichever batch it
+            // lands, only a crash between the two syncs leaves it applied
+            journal.append(sku, -delta);
+            if (delta < 0)
+                stock.available.add(-delta);
+            throw new StockUnavailableException("Hot sku adjustment not journaled in "
+                    + properties.durabilityTimeout().toMillis() + "ms, not applied, retry");
+        }
+        // units come into the counter only once journaled: a fenced write never counts on units Mongo may not get
+        if (delta > 0)
+            stock.available.add(delta);
+        return Optional.of(stock.postImage());
+    }
+
+    /**
+     * Runs a write that goes straight to the stock document, reservations for instance, fenced against the counter:
+     * the units it takes leave the counter first, every journaled adjustment reaches Mongo before it, and the counter
+     * takes in whatever it changed. Without the fence the write would run against a quantity that trails the
+     * counter, and a later flush could take the stock below its reserved units.
+     *
+     * @param availableDelta change of the available units the write makes when it goes through
+     */
+    public Optional<ProductStock> throughStock(String sku, int availableDelta, Supplier<Optional<ProductStockModel>> write) {
+        ensureLeaseHeld();
+        var stock = stocks.get(sku);
+        if (stock == null)
+            return Optional.empty();
+        if (availableDelta < 0 && !stock.available.tryTake(-availableDelta))
+            return Optional.empty();
+
+        Optional<ProductStockModel> written = Optional.empty();
+        flushLock.lock();
+        try {
+            flush();
+            written = write.get();
+            written.ifPresent(model -> stock.resync(model, Math.min(availableDelta, 0)));
+        } catch (IOException e) {
+            throw new StockUnavailableException("Hot sku journal unavailable, retry: " + e.getMessage());
+        } finally {
+            flushLock.unlock();
+            if (written.isEmpty() && availableDelta < 0)
+                stock.available.add(-availableDelta);
+        }
+        return written.map(model -> stock.postImage());
+    }
+
+    void flush() throws IOException {
+        flushLock.lock();
+        try {
+            flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushLocked() throws IOException {
+        var batch = journal.sync();
+        if (!batch.isEmpty())
+            unflushed.add(batch);
+
+        while (!unflushed.isEmpty()) {
+            var pending = unflushed.peekFirst();
+            var applied = pending.deltas().entrySet().iterator();
+            while (applied.hasNext()) {
+                var delta = applied.next();
+                // an adjustment and the entry cancelling it net to nothing in the same batch
+                if (delta.getValue() == 0) {
+                    applied.remove();
+                    continue;
+                }
+                // a failure leaves the rest of the batch queued, to be retried under the same sequence; a refusal
+                // does not, the delta is dead-lettered
+                apply(delta.getKey(), Math.toIntExact(delta.getValue()), pending.sequence());
+                applied.remove();
+            }
+            unflushed.pollFirst();
+            flushLag.record(System.nanoTime() - pending.firstAppendNanos(), TimeUnit.NANOSECONDS);
+            journal.flushedUpTo(pending.sequence());
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            if (!renewLeaseIfDue()) {
+                log.error("Hot sku lease lost, {} batches held back until it is back", unflushed.size());
+                return;
+            }
+            flush();
+        } catch (IOException | RuntimeException e) {
+            log.error("Hot sku flush failed, {} batches pending: {}", unflushed.size(), e.getMessage());
+        }
+    }
+
+    private void apply(String sku, int delta, long sequence) {
+        var model = stockRepository.applyHotDelta(sku, delta, sequence);
+        if (model.isEmpty()) {
+            refused(sku, delta, sequence);
+            return;
+        }
+        var stock = stocks.get(sku);
+        if (stock != null)
+            stock.resync(model.get(), delta);
+    }
+
+    // an acknowledged delta is let go silently only when there is no stock left to apply it to, or when Mongo already
+    // has it. Otherwise it would take the stock below its reserved units, which no retry changes: it is set aside as
+    // a dead letter so the batches behind it keep flowing, and the counter goes back to what Mongo holds
+    private void refused(String sku, int delta, long sequence) {
+        var current = stockRepository.findBySku(sku);
+        if (current.isEmpty()) {
+            log.warn("Hot sku {} deleted, dropping delta {} at sequence {}", sku, delta, sequence);
+            stocks.remove(sku);
+            return;
+        }
+        if (stockRepository.hotSequences(List.of(sku)).getOrDefault(sku, 0L) >= sequence) {
+            log.info("Hot sku {} already has sequence {}", sku, sequence);
+            return;
+        }
+        flushConflicts.increment();
+        deadLetters.add(sku, delta, sequence);
+        log.error("Hot sku {} refused delta {} at sequence {}: it would take the stock below its reserved units, dead-lettered",
+                sku, delta, sequence);
+        var stock = stocks.get(sku);
+        if (stock != null)
+            stock.refused(current.get(), delta);
+    }
+
+    private void ensureLeaseHeld() {
+        if (System.nanoTime() - leaseRenewedNanos >= properties.leaseTtl().toNanos())
+            throw new StockUnavailableException("Hot sku lease not held by this instance, retry");
+    }
+
+    // a failed renewal keeps trying to get the lease back: the journal holds adjustments only this instance can flush
+    private boolean renewLeaseIfDue() {
+        long now = System.nanoTime();
+        if (now - leaseRenewedNanos < properties.leaseTtl().toNanos() / 3)
+            return true;
+        try {
+            if (lease.renew()) {
+                leaseRenewedNanos = now;
+                return true;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Hot sku lease renewal failed: {}", e.getMessage());
+        }
+        return now - leaseRenewedNanos < properties.leaseTtl().toNanos();
+    }
+
+    private long recover() throws IOException {
+        var entries = journal.recover();
+        var stored = stockRepository.hotSequences(properties.skus());
+        long lastSequence = stored.values().stream().mapToLong(Long::longValue).max().orElse(0);
+        if (entries.isEmpty())
+            return lastSequence;
+
+        var replay = entries.stream()
+                .filter(entry -> entry.sequence() > stored.getOrDefault(entry.sku(), 0L))
+                .collect(Collectors.groupingBy(HotSkuJournal.Entry::sku));
+        // a refused replay is dead-lettered like a refused flush
+        replay.forEach((sku, skuEntries) -> {
+            long sum = skuEntries.stream().mapToLong(HotSkuJournal.Entry::delta).sum();
+            long sequence = skuEntries.get(skuEntries.size() - 1).sequence();
+            if (stockRepository.applyHotDelta(sku, Math.toIntExact(sum), sequence).isEmpty())
+                refused(sku, Math.toIntExact(sum), sequence);
+        });
+        log.info("Replayed {} journaled adjustments for hot skus {}", entries.size(), replay.keySet());
+
+        journal.discardRecovered();
+        return Math.max(lastSequence, entries.get(entries.size() - 1).sequence());
+    }
+
+    private static final class HotStock {
+        private final String id;
+        private final String sku;
+        private final String name;
+        private final int reorderThreshold;
+        private final StripedCounter available;
+        private volatile int reserved;
+        private volatile long version;
+        private int lastKnownAvailable;
+
+        private HotStock(ProductStockModel model) {
+            this.id = model.getId();
+            this.sku = model.getSku();
+            this.name = model.getName();
+            this.reorderThreshold = model.getReorderThreshold();
+            this.reserved = model.getReserved();
+            this.version = versionOf(model);
+            this.lastKnownAvailable = model.getQuantity() - model.getReserved();
+            this.available = new StripedCounter(STRIPES, Math.max(0, lastKnownAvailable));
+        }
+
+        // the version is the one of the last write Mongo took: adjustments coalesced since then do not move it
+        private ProductStock postImage() {
+            int held = reserved;
+            return new ProductStock(id, sku, name, Math.toIntExact(available.sum()) + held, held, version, reorderThreshold);
+        }
+
+        // fold whatever the write changed beyond what the counter already holds, reservations included
+        private void resync(ProductStockModel model, int appliedDelta) {
+            int dbAvailable = model.getQuantity() - model.getReserved();
+            int drift = dbAvailable - (lastKnownAvailable + appliedDelta);
+            if (drift > 0)
+                available.add(drift);
+            else if (drift < 0)
+                available.takeUpTo(-drift);
+            lastKnownAvailable = dbAvailable;
+            reserved = model.getReserved();
+            version = versionOf(model);
+        }
+
+        // the counter already holds the refused delta: take it back out before folding in what Mongo has
+        private void refused(ProductStockModel model, int delta) {
+            if (delta < 0)
+                available.add(-delta);
+            else
+                available.takeUpTo(delta);
+            resync(model, 0);
+        }
+
+        private static long versionOf(ProductStockModel model) {
+            return model.getVersion() == null ? 0 : model.getVersion();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.fiap.stock.infrastructure.hotsku;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+
+/**
+ * Acknowledged hot sku deltas that Mongo refused for good, because they would take a stock below its reserved units.
+ * They are set aside so the batches behind them keep flowing, and left for an operator to settle by hand.
+ */
+@Component
+public class HotSkuDeadLetters {
+
+    static final String DEAD_LETTERS = "hot_sku_dead_letters";
+
+    private final MongoTemplate mongoTemplate;
+
+    public HotSkuDeadLetters(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public void add(String sku, int delta, long sequence) {
+        mongoTemplate.insert(new Document("sku", sku)
+                .append("delta", delta)
+                .append("sequence", sequence)
+                .append("refusedAt", new Date()), DEAD_LETTERS);
+    }
+}
@@ -0,0 +1,232 @@
+package com.fiap.stock.infrastructure.hotsku;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of hot sku adjustments with group commit: appends only touch memory, {@link #sync()} writes and
+ * fsyncs everything appended since the previous sync in one go and then wakes the requests waiting on it.
+ * Segments are deleted once Mongo holds every adjustment they contain.
+ */
+@Slf4j
+final class HotSkuJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    record Entry(long sequence, String sku, long delta) {
+    }
+
+    record Batch(Map<String, Long> deltas, long sequence, long firstAppendNanos) {
+        boolean isEmpty() {
+            return deltas.isEmpty();
+        }
+    }
+
+    private record Segment(Path path, long lastSequence) {
+    }
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition durable = lock.newCondition();
+    private final Deque<Segment> sealed = new ArrayDeque<>();
+    private final List<Path> recovered = new ArrayList<>();
+
+    private StringBuilder buffer = new StringBuilder();
+    private Map<String, Long> pending = new HashMap<>();
+    private long firstAppendNanos;
+    private long sequence;
+    private long durableSequence;
+    private FileChannel channel;
+    private Path currentPath;
+
+    HotSkuJournal(Path directory, long segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * Reads every segment left by a previous run, oldest first.
+     */
+    List<Entry> recover() throws IOException {
+        Files.createDirectories(directory);
+        var entries = new ArrayList<Entry>();
+        var seen = new HashSet<Long>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path segment : files.filter(HotSkuJournal::isSegment).sorted().toList()) {
+                recovered.add(segment);
+                for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+                    var fields = line.split("\t");
+                    // a torn last line means the process died mid-write, before that adjustment was acknowledged
+                    if (fields.length != 3)
+                        continue;
+                    var entry = new Entry(Long.parseLong(fields[0]), fields[1], Long.parseLong(fields[2]));
+                    // a write retried after a failure that could not be cut off may have left its lines twice
+                    if (!seen.add(entry.sequence()))
+                        continue;
+                    entries.add(entry);
+                    sequence = Math.max(sequence, entry.sequence());
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Drops the recovered segments, to be called once their content is in Mongo.
+     */
+    void discardRecovered() throws IOException {
+        for (Path segment : recovered)
+            Files.deleteIfExists(segment);
+        recovered.clear();
+    }
+
+    void open(long startSequence) throws IOException {
+        sequence = Math.max(sequence, startSequence);
+        durableSequence = sequence;
+        openSegment();
+    }
+
+    long append(String sku, long delta) {
+        lock.lock();
+        try {
+            long next = ++sequence;
+            if (pending.isEmpty())
+                firstAppendNanos = System.nanoTime();
+            buffer.append(next).append('\t').append(sku).append('\t').append(delta).append('\n');
+            pending.merge(sku, delta, Long::sum);
+            return next;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return false when the entry is not durable within the timeout, or the wait was interrupted
+     */
+    boolean awaitDurable(long target, Duration timeout) {
+        lock.lock();
+        try {
+            long nanos = timeout.toNanos();
+            while (durableSequence < target) {
+                if (nanos <= 0)
+                    return false;
+                nanos = durable.awaitNanos(nanos);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Makes everything appended so far durable. Calls must not overlap: the coalescer makes them under its flush lock,
+     * from the flusher thread and from request threads fenced through the stock alike. When the write fails, whatever
+     * it managed to write is cut off and the entries go back in front of the buffer for the next sync.
+     */
+    Batch sync() throws IOException {
+        StringBuilder toWrite;
+        Batch batch;
+        lock.lock();
+        try {
+            toWrite = buffer;
+            batch = new Batch(pending, sequence, firstAppendNanos);
+            buffer = new StringBuilder();
+            pending = new HashMap<>();
+        } finally {
+            lock.unlock();
+        }
+        if (batch.isEmpty())
+            return batch;
+
+        long start = -1;
+        try {
+            start = channel.size();
+            var bytes = ByteBuffer.wrap(toWrite.toString().getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining())
+                channel.write(bytes);
+            channel.force(false);
+        } catch (IOException e) {
+            putBack(toWrite, batch);
+            try {
+                if (start >= 0)
+                    channel.truncate(start);
+            } catch (IOException truncateFailure) {
+                log.warn("Could not cut off failed hot sku journal write: {}", truncateFailure.getMessage());
+            }
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            durableSequence = batch.sequence();
+            durable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        if (channel.size() >= segmentBytes) {
+            channel.close();
+            sealed.add(new Segment(currentPath, batch.sequence()));
+            openSegment();
+        }
+        return batch;
+    }
+
+    private void putBack(StringBuilder failed, Batch batch) {
+        lock.lock();
+        try {
+            buffer = failed.append(buffer);
+            var merged = new HashMap<>(batch.deltas());
+            pending.forEach((sku, delta) -> merged.merge(sku, delta, Long::sum));
+            pending = merged;
+            firstAppendNanos = batch.firstAppendNanos();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void flushedUpTo(long flushedSequence) throws IOException {
+        while (!sealed.isEmpty() && sealed.peekFirst().lastSequence() <= flushedSequence)
+            Files.deleteIfExists(sealed.pollFirst().path());
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null)
+            channel.close();
+    }
+
+    private void openSegment() throws IOException {
+        currentPath = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence + 1, SEGMENT_SUFFIX));
+        channel = FileChannel.open(currentPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        // the new file name must survive a crash too, not only its content
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            log.warn("Could not fsync hot sku journal directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static boolean isSegment(Path path) {
+        var name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+}
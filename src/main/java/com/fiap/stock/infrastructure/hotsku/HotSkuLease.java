@@ -0,0 +1,94 @@
+package com.fiap.stock.infrastructure.hotsku;
+
+import com.fiap.stock.infrastructure.config.HotSkuProperties;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * The coalescer is the floor authority for the hot skus and counts journal sequences per process, so a single
+ * instance may hold them. The holder is named by an id kept in the journal directory: a restart on the same volume
+ * takes its lease straight back and replays its own journal, any other instance writes the hot skus through the
+ * stock document like any other sku.
+ * Expiry is judged on the instances' clocks, their skew has to stay well below the ttl.
+ */
+@Component
+public class HotSkuLease {
+
+    static final String LEASES = "hot_sku_leases";
+    static final String LEASE_ID = "hot-skus";
+    private static final String OWNER_FILE = "owner";
+
+    private final MongoTemplate mongoTemplate;
+    private final HotSkuProperties properties;
+
+    private String owner;
+
+    public HotSkuLease(MongoTemplate mongoTemplate, HotSkuProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * @return false when another instance holds the lease: this one must not coalesce anything
+     */
+    public boolean acquire() throws IOException {
+        owner = readOrCreateOwner();
+        return renew();
+    }
+
+    /**
+     * Who holds the lease and until when, for the logs.
+     */
+    public String holder() {
+        var holder = mongoTemplate.findById(LEASE_ID, Document.class, LEASES);
+        return holder == null ? "another instance" : holder.get("owner") + " until " + holder.get("expiresAt");
+    }
+
+    /**
+     * Extends the lease by one ttl.
+     *
+     * @return false when another instance holds it
+     */
+    public boolean renew() {
+        var now = Instant.now();
+        try {
+            mongoTemplate.upsert(
+                    query(where("_id").is(LEASE_ID)
+                            .orOperator(where("owner").is(owner), where("expiresAt").lt(Date.from(now)))),
+                    new Update().set("owner", owner).set("expiresAt", Date.from(now.plus(properties.leaseTtl()))),
+                    LEASES);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // the lease document exists and matched neither condition
+            return false;
+        }
+    }
+
+    public void release() {
+        mongoTemplate.remove(query(where("_id").is(LEASE_ID).and("owner").is(owner)), LEASES);
+    }
+
+    private String readOrCreateOwner() throws IOException {
+        var directory = properties.journalDirectory();
+        Files.createDirectories(directory);
+        var file = directory.resolve(OWNER_FILE);
+        if (Files.exists(file))
+            return Files.readString(file, StandardCharsets.UTF_8).trim();
+        var id = UUID.randomUUID().toString();
+        Files.writeString(file, id, StandardCharsets.UTF_8);
+        return id;
+    }
+}
@@ -0,0 +1,67 @@
+package com.fiap.stock.infrastructure.hotsku;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Non-negative counter split across stripes so concurrent takers rarely hit the same cache line.
+ * Every stripe stays at or above zero, so the total never goes below zero either.
+ */
+final class StripedCounter {
+    private final AtomicLongArray stripes;
+    private final ReentrantLock gatherLock = new ReentrantLock();
+
+    StripedCounter(int stripeCount, long initial) {
+        this.stripes = new AtomicLongArray(stripeCount);
+        add(initial);
+    }
+
+    long sum() {
+        long sum = 0;
+        for (int i = 0; i < stripes.length(); i++)
+            sum += stripes.get(i);
+        return sum;
+    }
+
+    void add(long amount) {
+        stripes.getAndAdd(ThreadLocalRandom.current().nextInt(stripes.length()), amount);
+    }
+
+    boolean tryTake(long amount) {
+        return takeUpTo(amount, false) == amount;
+    }
+
+    /**
+     * Takes as much of {@code amount} as there is, used when an external writer drained the stock under us.
+     */
+    long takeUpTo(long amount) {
+        return takeUpTo(amount, true);
+    }
+
+    private long takeUpTo(long amount, boolean partial) {
+        int start = ThreadLocalRandom.current().nextInt(stripes.length());
+        for (int i = 0; i < stripes.length(); i++) {
+            int stripe = (start + i) % stripes.length();
+            long current = stripes.get(stripe);
+            while (current >= amount) {
+                if (stripes.compareAndSet(stripe, current, current - amount))
+                    return amount;
+                current = stripes.get(stripe);
+            }
+        }
+
+        // no single stripe covers it: gather every stripe in one place and decide once
+        gatherLock.lock();
+        try {
+            long total = 0;
+            for (int i = 0; i < stripes.length(); i++)
+                total += stripes.getAndSet(i, 0);
+            long taken = total >= amount ? amount : partial ? total : 0;
+            stripes.getAndAdd(start, total - taken);
+            return taken;
+        } finally {
+            gatherLock.unlock();
+        }
+    }
+}
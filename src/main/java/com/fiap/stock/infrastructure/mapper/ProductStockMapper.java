@@ -12,7 +12,10 @@ public abstract class ProductStockMapper {
                 productStockModel.getId(),
                 productStockModel.getSku(),
                 productStockModel.getName(),
-                productStockModel.getQuantity()
+                productStockModel.getQuantity(),
+                productStockModel.getReserved(),
+                productStockModel.getVersion() == null ? 0 : productStockModel.getVersion(),
+                productStockModel.getReorderThreshold()
         );
     }
 
@@ -22,6 +25,10 @@ public abstract class ProductStockMapper {
                 .name(productStock.getName())
                 .sku(productStock.getSku())
                 .quantity(productStock.getQuantity())
+                .reserved(productStock.getReserved())
+                .version(productStock.getVersion())
+                .reorderThreshold(productStock.getReorderThreshold())
+                .headroom(productStock.getAvailable() - productStock.getReorderThreshold())
                 .build();
     }
 }
@@ -0,0 +1,31 @@
+package com.fiap.stock.infrastructure.mapper;
+
+import com.fiap.stock.core.entity.StockMovement;
+import com.fiap.stock.infrastructure.repository.model.StockMovementModel;
+
+public abstract class StockMovementMapper {
+    private StockMovementMapper() {
+    }
+
+    public static StockMovement toEntity(StockMovementModel stockMovementModel) {
+        return new StockMovement(
+                stockMovementModel.getId(),
+                stockMovementModel.getSku(),
+                stockMovementModel.getOperation(),
+                stockMovementModel.getQuantity(),
+                stockMovementModel.getSource(),
+                stockMovementModel.getOccurredAt()
+        );
+    }
+
+    public static StockMovementModel toModel(StockMovement stockMovement) {
+        return StockMovementModel.builder()
+                .id(stockMovement.getId())
+                .sku(stockMovement.getSku())
+                .operation(stockMovement.getOperation())
+                .quantity(stockMovement.getQuantity())
+                .source(stockMovement.getSource())
+                .occurredAt(stockMovement.getOccurredAt())
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.fiap.stock.infrastructure.mapper;
+
+import com.fiap.stock.core.entity.StockReservation;
+import com.fiap.stock.infrastructure.repository.model.StockReservationModel;
+
+public abstract class StockReservationMapper {
+    private StockReservationMapper() {
+    }
+
+    public static StockReservation toEntity(StockReservationModel stockReservationModel) {
+        return new StockReservation(
+                stockReservationModel.getId(),
+                stockReservationModel.getSku(),
+                stockReservationModel.getQuantity(),
+                stockReservationModel.getStatus(),
+                stockReservationModel.getExpiresAt()
+        );
+    }
+
+    public static StockReservationModel toModel(StockReservation stockReservation) {
+        return StockReservationModel.builder()
+                .id(stockReservation.getId())
+                .sku(stockReservation.getSku())
+                .quantity(stockReservation.getQuantity())
+                .status(stockReservation.getStatus())
+                .expiresAt(stockReservation.getExpiresAt())
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.fiap.stock.infrastructure.metrics;
+
+import com.fiap.stock.core.dto.LowStockAlertDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the stocks crossing their reorder threshold in either direction and logs the ones that need restocking.
+ */
+@Slf4j
+@Component
+public class LowStockAlerts {
+
+    static final String ALERT_COUNTER = "stock.low.alerts";
+
+    private final MeterRegistry meterRegistry;
+
+    public LowStockAlerts(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener
+    public void onAlert(LowStockAlertDTO alert) {
+        meterRegistry.counter(ALERT_COUNTER, "state", alert.low() ? "low" : "recovered").increment();
+        if (alert.low())
+            log.warn("Stock for sku: {} is low, {} available for a reorder threshold of {}",
+                    alert.sku(), alert.available(), alert.reorderThreshold());
+    }
+}
@@ -0,0 +1,49 @@
+package com.fiap.stock.infrastructure.metrics;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time spent waiting for a pooled connection, which Spring Boot's pool gauges (size, checked out, wait queue) only
+ * hint at. A rising p99 here with a full pool means the pool, not Mongo, is what requests queue on.
+ */
+@Component
+public class MongoPoolWaitMetrics implements ConnectionPoolListener {
+
+    static final String CHECKOUT_TIMER = "mongodb.driver.pool.checkout";
+
+    private final Timer checkedOut;
+    private final Timer timedOut;
+    private final Timer failed;
+
+    public MongoPoolWaitMetrics(MeterRegistry meterRegistry) {
+        this.checkedOut = checkoutTimer(meterRegistry, "success");
+        this.timedOut = checkoutTimer(meterRegistry, "timeout");
+        this.failed = checkoutTimer(meterRegistry, "failed");
+    }
+
+    private static Timer checkoutTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(CHECKOUT_TIMER)
+                .description("Time waited to check a connection out of the Mongo pool")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        checkedOut.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        var timer = event.getReason() == ConnectionCheckOutFailedEvent.Reason.TIMEOUT ? timedOut : failed;
+        timer.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,26 @@
+package com.fiap.stock.infrastructure.metrics;
+
+import com.fiap.stock.core.dto.StockConflictDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the races lost by guarded stock updates, split between the ones that were retried and the ones that gave up.
+ */
+@Component
+public class StockConflictMetrics {
+
+    static final String CONFLICT_COUNTER = "stock.conflicts";
+
+    private final MeterRegistry meterRegistry;
+
+    public StockConflictMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener
+    public void onConflict(StockConflictDTO conflict) {
+        meterRegistry.counter(CONFLICT_COUNTER, "resolution", conflict.retrying() ? "retried" : "exhausted").increment();
+    }
+}
@@ -0,0 +1,104 @@
+package com.fiap.stock.infrastructure.metrics;
+
+import com.fiap.stock.core.dto.StockAdjustmentResultDTO;
+import com.fiap.stock.core.exception.InsufficientStockException;
+import com.fiap.stock.core.exception.StockConflictException;
+import com.fiap.stock.core.exception.StockNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.fiap.stock.core.entity.AdjustmentStatus.INSUFFICIENT_STOCK;
+import static com.fiap.stock.core.entity.AdjustmentStatus.UNKNOWN_SKU;
+
+/**
+ * Times every use case execution by outcome and counts the stock rejections, keeping Micrometer out of the core.
+ * Reactive use cases are timed from subscription to termination rather than while their pipeline is assembled.
+ */
+@Aspect
+@Component
+public class UseCaseMetricsAspect {
+
+    static final String USE_CASE_TIMER = "stock.usecase";
+    static final String INSUFFICIENT_COUNTER = "stock.insufficient";
+    static final String NOT_FOUND_COUNTER = "stock.not.found";
+
+    private final MeterRegistry meterRegistry;
+
+    public UseCaseMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(com.fiap.stock.core.usecase..*) && execution(public * execute(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        var useCase = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        var sample = Timer.start(meterRegistry);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            stop(sample, useCase, outcome(useCase, e));
+            throw e;
+        }
+
+        if (result instanceof Mono<?> mono)
+            return Mono.defer(() -> {
+                var subscribed = Timer.start(meterRegistry);
+                return mono.doOnSuccess(value -> stop(subscribed, useCase, "success"))
+                        .doOnError(e -> stop(subscribed, useCase, outcome(useCase, e)));
+            });
+        if (result instanceof Flux<?> flux)
+            return Flux.defer(() -> {
+                var subscribed = Timer.start(meterRegistry);
+                return flux.doOnComplete(() -> stop(subscribed, useCase, "success"))
+                        .doOnError(e -> stop(subscribed, useCase, outcome(useCase, e)));
+            });
+
+        countRejectedLines(useCase, result);
+        stop(sample, useCase, "success");
+        return result;
+    }
+
+    private void stop(Timer.Sample sample, String useCase, String outcome) {
+        sample.stop(meterRegistry.timer(USE_CASE_TIMER, "usecase", useCase, "outcome", outcome));
+    }
+
+    private String outcome(String useCase, Throwable e) {
+        if (e instanceof StockNotFoundException) {
+            meterRegistry.counter(NOT_FOUND_COUNTER, "usecase", useCase).increment();
+            return "not_found";
+        }
+        if (e instanceof InsufficientStockException) {
+            meterRegistry.counter(INSUFFICIENT_COUNTER, "usecase", useCase).increment();
+            return "insufficient_stock";
+        }
+        if (e instanceof StockConflictException)
+            return "conflict";
+        if (e instanceof IllegalArgumentException)
+            return "invalid";
+        if (e instanceof IllegalStateException)
+            return "rejected";
+        return "error";
+    }
+
+    // bulk adjustments report rejections per line instead of throwing
+    private void countRejectedLines(String useCase, Object result) {
+        if (!(result instanceof List<?> lines))
+            return;
+        for (Object line : lines) {
+            if (!(line instanceof StockAdjustmentResultDTO adjustment))
+                return;
+            if (adjustment.status() == INSUFFICIENT_STOCK)
+                meterRegistry.counter(INSUFFICIENT_COUNTER, "usecase", useCase).increment();
+            else if (adjustment.status() == UNKNOWN_SKU)
+                meterRegistry.counter(NOT_FOUND_COUNTER, "usecase", useCase).increment();
+        }
+    }
+}
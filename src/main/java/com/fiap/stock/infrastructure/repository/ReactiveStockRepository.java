@@ -0,0 +1,11 @@
+package com.fiap.stock.infrastructure.repository;
+
+import com.fiap.stock.infrastructure.repository.model.ProductStockModel;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Profile("reactive")
+@Repository
+public interface ReactiveStockRepository extends ReactiveMongoRepository<ProductStockModel, String>, ReactiveStockRepositoryCustom {
+}
@@ -0,0 +1,12 @@
+package com.fiap.stock.infrastructure.repository;
+
+import com.fiap.stock.infrastructure.repository.model.ProductStockModel;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveStockRepositoryCustom {
+
+    /**
+     * Reactive twin of {@link StockRepositoryCustom#findBySku}.
+     */
+    Mono<ProductStockModel> findBySku(String sku);
+}
@@ -0,0 +1,25 @@
+package com.fiap.stock.infrastructure.repository;
+
+import com.fiap.stock.infrastructure.config.StockMongoProperties;
+import com.fiap.stock.infrastructure.config.StockMongoProperties.KeyLayout;
+import com.fiap.stock.infrastructure.repository.model.ProductStockModel;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+public class ReactiveStockRepositoryCustomImpl implements ReactiveStockRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final KeyLayout keyLayout;
+
+    public ReactiveStockRepositoryCustomImpl(ReactiveMongoTemplate reactiveMongoTemplate, StockMongoProperties properties) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.keyLayout = properties.keyLayout();
+    }
+
+    @Override
+    public Mono<ProductStockModel> findBySku(String sku) {
+        return reactiveMongoTemplate.findOne(query(StockRepositoryCustomImpl.bySku(keyLayout, sku)), ProductStockModel.class);
+    }
+}
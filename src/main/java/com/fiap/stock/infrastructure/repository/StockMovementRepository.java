@@ -0,0 +1,14 @@
+package com.fiap.stock.infrastructure.repository;
+
+import com.fiap.stock.infrastructure.repository.model.StockMovementModel;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockMovementRepository extends MongoRepository<StockMovementModel, String>, StockMovementRepositoryCustom {
+
+    List<StockMovementModel> findBySkuOrderByOccurredAtDesc(String sku, Limit limit);
+}
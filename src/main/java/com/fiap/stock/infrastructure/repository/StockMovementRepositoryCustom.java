@@ -0,0 +1,14 @@
+package com.fiap.stock.infrastructure.repository;
+
+import com.fiap.stock.infrastructure.repository.model.StockMovementModel;
+
+import java.time.Duration;
+import java.util.List;
+
+public interface StockMovementRepositoryCustom {
+    void append(List<StockMovementModel> movements);
+
+    int ledgerQuantity(String sku);
+
+    int snapshot(Duration settle);
+}
@@ -0,0 +1,150 @@
+package com.fiap.stock.infrastructure.repository;
+
+import com.fiap.stock.core.entity.StockOperation;
+import com.fiap.stock.infrastructure.repository.model.StockMovementModel;
+import com.fiap.stock.infrastructure.repository.model.StockSnapshotModel;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+public class StockMovementRepositoryCustomImpl implements StockMovementRepositoryCustom {
+
+    static final String SNAPSHOT_RUNS = "stock_snapshot_runs";
+    static final String LEDGER_RUN = "ledger";
+    private static final String RECORDED_AT = "recordedAt";
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    public StockMovementRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    // the database stamps recordedAt as it writes each movement: instances with skewed clocks cannot slip a movement
+    // into a window that was already folded. A retried append matches the movement it already wrote and keeps every
+    // field, recordedAt included, so the movement is never counted twice
+    @Override
+    public void append(List<StockMovementModel> movements) {
+        var bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StockMovementModel.class);
+        for (var movement : movements)
+            bulk.upsert(query(where("id").is(movement.getId())), recordOnce(movement));
+        bulk.execute();
+    }
+
+    // $setOnInsert has no pipeline form and $currentDate has no update-document form that skips existing values,
+    // so every field is written through $ifNull against the stored document
+    static AggregationUpdate recordOnce(StockMovementModel movement) {
+        var fields = new Document()
+                .append("sku", keep("sku", movement.getSku()))
+                .append("operation", keep("operation", movement.getOperation().name()))
+                .append("quantity", keep("quantity", movement.getQuantity()))
+                .append("source", keep("source", movement.getSource() == null ? null : movement.getSource().name()))
+                .append("occurredAt", keep("occurredAt", movement.getOccurredAt() == null ? null : Date.from(movement.getOccurredAt())))
+                .append(RECORDED_AT, new Document("$ifNull", List.of("$" + RECORDED_AT, "$$NOW")));
+        return AggregationUpdate.from(List.of(context -> new Document("$set", fields)));
+    }
+
+    private static Document keep(String field, Object value) {
+        return new Document("$ifNull", Arrays.asList("$" + field, new Document("$literal", value)));
+    }
+
+    // movements are never removed when folded, so the snapshot and the tail after it always add up whichever
+    // side of a concurrent snapshot run they are read on
+    @Override
+    public int ledgerQuantity(String sku) {
+        var snapshot = mongoTemplate.findById(sku, StockSnapshotModel.class);
+        var after = snapshot == null ? Instant.EPOCH : snapshot.getUpTo();
+        var tail = netDeltas(where("sku").is(sku).and(RECORDED_AT).gt(after)).getOrDefault(sku, 0);
+        return (snapshot == null ? 0 : snapshot.getQuantity()) + tail;
+    }
+
+    // a run first claims its window in a single run document; one that dies halfway leaves the window pending and
+    // the next run finishes it instead of opening a new one, while the per-sku upTo guard keeps each fold single.
+    // The window ends settle before the database clock, the same clock that stamps recordedAt
+    @Override
+    public int snapshot(Duration settle) {
+        var run = claimRun(serverTime().minus(settle));
+        var pending = run == null ? null : run.getDate("pending");
+        if (pending == null)
+            return 0;
+        var from = run.getDate("upTo");
+        var to = pending.toInstant();
+
+        var deltas = netDeltas(where(RECORDED_AT).gt(from == null ? Instant.EPOCH : from.toInstant()).lte(to));
+        if (!deltas.isEmpty())
+            fold(deltas, to);
+
+        mongoTemplate.updateFirst(
+                query(where("_id").is(LEDGER_RUN).and("pending").is(pending)),
+                new Update().set("upTo", pending).unset("pending"),
+                SNAPSHOT_RUNS);
+        return deltas.size();
+    }
+
+    private Instant serverTime() {
+        return mongoTemplate.executeCommand(new Document("hello", 1)).getDate("localTime").toInstant();
+    }
+
+    private Document claimRun(Instant upTo) {
+        try {
+            mongoTemplate.upsert(
+                    query(where("_id").is(LEDGER_RUN).and("pending").exists(false)),
+                    new Update().set("pending", Date.from(upTo)),
+                    SNAPSHOT_RUNS);
+        } catch (DuplicateKeyException e) {
+            // a window is already pending: resume it
+        }
+        return mongoTemplate.findById(LEDGER_RUN, Document.class, SNAPSHOT_RUNS);
+    }
+
+    private void fold(Map<String, Integer> deltas, Instant upTo) {
+        var bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StockSnapshotModel.class);
+        deltas.forEach((sku, delta) -> bulk.upsert(
+                query(where("sku").is(sku).and("upTo").lt(upTo)),
+                new Update().inc("quantity", delta).set("upTo", upTo)));
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // the upsert of a sku already folded up to this window collides with its own snapshot
+            if (!e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY))
+                throw e;
+        }
+    }
+
+    private Map<String, Integer> netDeltas(Criteria criteria) {
+        var aggregation = newAggregation(match(criteria), group("sku").sum(signedQuantity()).as("delta"));
+        return mongoTemplate.aggregate(aggregation, StockMovementModel.class, Document.class).getMappedResults().stream()
+                .collect(Collectors.toMap(document -> document.getString("_id"),
+                        document -> ((Number) document.get("delta")).intValue()));
+    }
+
+    private static AggregationExpression signedQuantity() {
+        return ConditionalOperators
+                .when(ComparisonOperators.Eq.valueOf("operation").equalToValue(StockOperation.DECREASE.name()))
+                .thenValueOf(ArithmeticOperators.Multiply.valueOf("quantity").multiplyBy(-1))
+                .otherwiseValueOf("quantity");
+    }
+}
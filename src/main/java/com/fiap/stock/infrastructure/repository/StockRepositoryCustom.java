@@ -0,0 +1,123 @@
+package com.fiap.stock.infrastructure.repository;
+
+import com.fiap.stock.core.dto.StockAdjustmentDTO;
+import com.fiap.stock.core.dto.StockAvailabilityDTO;
+import com.fiap.stock.core.entity.AdjustmentStatus;
+import com.fiap.stock.infrastructure.repository.model.ProductStockModel;
+import org.bson.types.ObjectId;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface StockRepositoryCustom {
+
+    /**
+     * Id for a stock about to be inserted: a random uuid, or the sku itself when the sku is the key.
+     */
+    String newStockId(String sku);
+
+    /**
+     * Point read on the sku key: an _id lookup in the sku key layout.
+     */
+    Optional<ProductStockModel> findBySku(String sku);
+
+    List<ProductStockModel> findAllBySkuIn(Collection<String> skus);
+
+    /**
+     * Applies {@code delta} to the stock quantity in a single findAndModify. Negative deltas only match
+     * when the available (unreserved) quantity covers them, so concurrent decrements can never oversell.
+     *
+     * @return the document after the update, or empty when the sku does not exist or the stock is insufficient
+     */
+    Optional<ProductStockModel> adjustQuantity(String sku, int delta);
+
+    /**
+     * Every stock, read with the catalog read preference: possibly from a secondary, as stale as it allows.
+     */
+    List<ProductStockModel> findCatalog();
+
+    /**
+     * Keyset page over the sku index, read like {@link #findCatalog()}.
+     *
+     * @param afterSku last sku of the previous page, or null for the first page
+     */
+    List<ProductStockModel> findCatalogPage(String afterSku, int limit);
+
+    /**
+     * Stocks whose available units are down to their reorder threshold, the shortest first: a range on the
+     * partial headroom index, read with the catalog read preference.
+     */
+    List<ProductStockModel> findLowStock(int limit);
+
+    /**
+     * Single findAndModify removing by id. In the sku key layout the id handed out before the migration still
+     * matches, through the legacyId index.
+     *
+     * @return the deleted document, or empty when none has the id
+     */
+    Optional<ProductStockModel> removeById(String id);
+
+    /**
+     * Looked up on the configured sku key. In the uuid layout it can be answered from the (sku, quantity, reserved)
+     * index alone, since the projection holds only indexed fields.
+     */
+    Optional<StockAvailabilityDTO> findAvailability(String sku);
+
+    Optional<ProductStockModel> reserve(String sku, int quantity);
+
+    Optional<ProductStockModel> releaseReserved(String sku, int quantity);
+
+    /**
+     * Turns reserved units into a sale: quantity and reserved drop together.
+     */
+    Optional<ProductStockModel> commitReserved(String sku, int quantity);
+
+    /**
+     * Stocks holding reserved units, ordered by sku: a scan of the sku key, since no index covers the reserved
+     * field. Only the reservation reconciler walks it, a page at a time.
+     */
+    List<ProductStockModel> findReservedPage(String afterSku, int limit);
+
+    /**
+     * Compare-and-set on the reserved units; the headroom takes the difference.
+     */
+    Optional<ProductStockModel> resetReserved(String sku, int expected, int reserved);
+
+    /**
+     * Applies a batch of adjustments with one read and one unordered bulkWrite in the common case.
+     *
+     * @return one status per adjustment, in input order
+     */
+    List<AdjustmentStatus> adjustQuantities(List<StockAdjustmentDTO> adjustments);
+
+    /**
+     * Applies a coalesced hot sku delta, at most once per journal {@code sequence}: the update only matches while
+     * the stored {@code hotSeq} is below it, so replaying the journal after a crash cannot apply a delta twice.
+     *
+     * @return the document after the update, or empty when the sku is gone or the sequence was already applied
+     */
+    Optional<ProductStockModel> applyHotDelta(String sku, int delta, long sequence);
+
+    /**
+     * Last journal sequence applied to each sku, absent for skus never written through the coalescer.
+     */
+    Map<String, Long> hotSequences(Collection<String> skus);
+
+    /**
+     * Receiving half of a move back from a sub-counter; a move already applied is ignored.
+     *
+     * @return false when the move was applied already or the stock is gone
+     */
+    boolean receiveFromShard(String sku, ObjectId moveId, int quantity);
+
+    /**
+     * First half of a move out to a sub-counter: takes free units only, never reserved ones, and records the move.
+     *
+     * @return the document after the update, or empty when the free units do not cover the quantity
+     */
+    Optional<ProductStockModel> beginSpread(String sku, int shard, ObjectId moveId, int quantity);
+
+    void endSpread(String sku, ObjectId moveId);
+}
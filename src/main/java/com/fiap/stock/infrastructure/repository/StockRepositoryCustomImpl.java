@@ -0,0 +1,342 @@
+package com.fiap.stock.infrastructure.repository;
+
+import com.fiap.stock.core.dto.StockAdjustmentDTO;
+import com.fiap.stock.core.dto.StockAvailabilityDTO;
+import com.fiap.stock.core.entity.AdjustmentStatus;
+import com.fiap.stock.infrastructure.config.StockMongoProperties;
+import com.fiap.stock.infrastructure.config.StockMongoProperties.KeyLayout;
+import com.fiap.stock.infrastructure.repository.model.ProductStockModel;
+import com.fiap.stock.infrastructure.repository.model.ShardMoveModel;
+import com.mongodb.ReadPreference;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.fiap.stock.core.entity.AdjustmentStatus.*;
+import static org.springframework.data.mongodb.core.FindAndModifyOptions.options;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+public class StockRepositoryCustomImpl implements StockRepositoryCustom, ApplicationContextAware {
+
+    private static final String ADJUSTMENT_BATCHES = "adjustmentBatches";
+    private static final int TRACKED_BATCHES = 16;
+    private static final String HOT_SEQUENCE = "hotSeq";
+    private static final String VERSION = "version";
+    static final String LEGACY_ID = "legacyId";
+    static final String HEADROOM = "headroom";
+    private static final String SHARD_MOVES = "shardMoves";
+    private static final String SHARD_OUTBOX = "shardOutbox";
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoTemplate restocks;
+    private final MongoTemplate drawdowns;
+    private final ReadPreference catalogReads;
+    private final KeyLayout keyLayout;
+
+    public StockRepositoryCustomImpl(MongoTemplate mongoTemplate, StockMongoProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.restocks = new WriteConcernMongoTemplate(mongoTemplate, properties.writeConcerns().restockConcern());
+        this.drawdowns = new WriteConcernMongoTemplate(mongoTemplate, properties.writeConcerns().drawdownConcern());
+        this.catalogReads = properties.catalogReads().toReadPreference();
+        this.keyLayout = properties.keyLayout();
+    }
+
+    // the write concern templates are not beans: without the context they would skip the entity callbacks and
+    // lifecycle events the shared template runs
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) {
+        restocks.setApplicationContext(applicationContext);
+        drawdowns.setApplicationContext(applicationContext);
+    }
+
+    @Override
+    public String newStockId(String sku) {
+        return keyLayout == KeyLayout.SKU ? sku : UUID.randomUUID().toString();
+    }
+
+    @Override
+    public Optional<ProductStockModel> findBySku(String sku) {
+        return Optional.ofNullable(mongoTemplate.findOne(query(bySku(keyLayout, sku)), ProductStockModel.class));
+    }
+
+    @Override
+    public List<ProductStockModel> findAllBySkuIn(Collection<String> skus) {
+        return mongoTemplate.find(query(where(keyLayout.skuKey()).in(skus)), ProductStockModel.class);
+    }
+
+    @Override
+    public Optional<ProductStockModel> adjustQuantity(String sku, int delta) {
+        return findAndModify(writerOf(delta), adjustable(keyLayout, sku, delta), moveQuantity(delta));
+    }
+
+    @Override
+    public List<ProductStockModel> findCatalog() {
+        return mongoTemplate.find(new Query().withReadPreference(catalogReads), ProductStockModel.class);
+    }
+
+    @Override
+    public List<ProductStockModel> findCatalogPage(String afterSku, int limit) {
+        var criteria = afterSku == null ? new Criteria() : where("sku").gt(afterSku);
+        var query = query(criteria).with(Sort.by("sku")).limit(limit).withReadPreference(catalogReads);
+        return mongoTemplate.find(query, ProductStockModel.class);
+    }
+
+    // the predicate matches the partial filter of stocks_low_headroom, so the planner picks that index on its own;
+    // no hint, which would fail every call on a database where the index was never built
+    @Override
+    public List<ProductStockModel> findLowStock(int limit) {
+        var query = query(where(HEADROOM).lte(0)).with(Sort.by(HEADROOM, "sku")).limit(limit)
+                .withReadPreference(catalogReads);
+        return mongoTemplate.find(query, ProductStockModel.class);
+    }
+
+    @Override
+    public Optional<ProductStockModel> removeById(String id) {
+        return Optional.ofNullable(mongoTemplate.findAndRemove(query(byId(keyLayout, id)), ProductStockModel.class));
+    }
+
+    // on the sku field the planner can answer from stocks_sku_quantity_reserved alone, the projection holding only its
+    // fields; on _id it is a point read. No hint, which would fail every call where that index was never built
+    @Override
+    public Optional<StockAvailabilityDTO> findAvailability(String sku) {
+        Query query = query(bySku(keyLayout, sku));
+        query.fields().include("sku", "quantity", "reserved").exclude("_id");
+        var document = mongoTemplate.findOne(query, Document.class, mongoTemplate.getCollectionName(ProductStockModel.class));
+        if (document == null)
+            return Optional.empty();
+        int quantity = document.getInteger("quantity", 0);
+        return Optional.of(new StockAvailabilityDTO(sku, quantity, quantity - document.getInteger("reserved", 0)));
+    }
+
+    @Override
+    public Optional<ProductStockModel> reserve(String sku, int quantity) {
+        return findAndModify(drawdowns,
+                bySku(keyLayout, sku).andOperator(availableAtLeast(quantity)),
+                new Update().inc("reserved", quantity).inc(HEADROOM, -quantity));
+    }
+
+    @Override
+    public Optional<ProductStockModel> releaseReserved(String sku, int quantity) {
+        return findAndModify(restocks,
+                bySku(keyLayout, sku).and("reserved").gte(quantity),
+                new Update().inc("reserved", -quantity).inc(HEADROOM, quantity));
+    }
+
+    @Override
+    public Optional<ProductStockModel> commitReserved(String sku, int quantity) {
+        return findAndModify(drawdowns,
+                bySku(keyLayout, sku).and("reserved").gte(quantity),
+                new Update().inc("quantity", -quantity).inc("reserved", -quantity));
+    }
+
+    @Override
+    public List<ProductStockModel> findReservedPage(String afterSku, int limit) {
+        var criteria = afterSku == null ? where("reserved").gt(0) : where(keyLayout.skuKey()).gt(afterSku).and("reserved").gt(0);
+        return mongoTemplate.find(query(criteria).with(Sort.by(keyLayout.skuKey())).limit(limit), ProductStockModel.class);
+    }
+
+    @Override
+    public Optional<ProductStockModel> resetReserved(String sku, int expected, int reserved) {
+        return findAndModify(restocks,
+                bySku(keyLayout, sku).and("reserved").is(expected),
+                new Update().set("reserved", reserved).inc(HEADROOM, expected - reserved));
+    }
+
+    @Override
+    public List<AdjustmentStatus> adjustQuantities(List<StockAdjustmentDTO> adjustments) {
+        var statuses = new AdjustmentStatus[adjustments.size()];
+        var quantities = availableQuantities(adjustments.stream().map(StockAdjustmentDTO::sku).collect(Collectors.toSet()));
+
+        var batches = new LinkedHashMap<String, SkuBatch>();
+        for (int line = 0; line < adjustments.size(); line++) {
+            var adjustment = adjustments.get(line);
+            var quantity = quantities.get(adjustment.sku());
+            if (quantity == null) {
+                statuses[line] = UNKNOWN_SKU;
+                continue;
+            }
+            var batch = batches.computeIfAbsent(adjustment.sku(), sku -> new SkuBatch(quantity));
+            statuses[line] = batch.add(line, adjustment.toUpdate().delta()) ? APPLIED : INSUFFICIENT_STOCK;
+        }
+
+        var writes = batches.entrySet().stream()
+                .filter(entry -> entry.getValue().applied)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+        if (writes.isEmpty())
+            return Arrays.asList(statuses);
+
+        // one update per sku with the net delta, guarded so that every line it carries stays valid; unlike
+        // findAndModify, bulk writes do not bump the @Version field on their own. One bulkWrite carries a single
+        // write concern: the strict one as soon as any sku loses units
+        var batchId = new ObjectId();
+        var writer = writes.values().stream().anyMatch(batch -> batch.net < 0) ? drawdowns : restocks;
+        var bulk = writer.bulkOps(BulkOperations.BulkMode.UNORDERED, ProductStockModel.class);
+        writes.forEach((sku, batch) -> bulk.updateOne(
+                query(bySku(keyLayout, sku).andOperator(availableAtLeast(batch.required))),
+                moveQuantity(batch.net).inc(VERSION, 1)
+                        .push(ADJUSTMENT_BATCHES).slice(-TRACKED_BATCHES).each(batchId)));
+
+        if (bulk.execute().getMatchedCount() < writes.size())
+            replayUnconfirmed(writes, batchId, adjustments, statuses);
+
+        return Arrays.asList(statuses);
+    }
+
+    @Override
+    public Optional<ProductStockModel> applyHotDelta(String sku, int delta, long sequence) {
+        return findAndModify(writerOf(delta), hotDeltaApplicable(keyLayout, sku, delta, sequence),
+                moveQuantity(delta).set(HOT_SEQUENCE, sequence));
+    }
+
+    @Override
+    public Map<String, Long> hotSequences(Collection<String> skus) {
+        Query query = query(where(keyLayout.skuKey()).in(skus).and(HOT_SEQUENCE).exists(true));
+        query.fields().include("sku", HOT_SEQUENCE);
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(ProductStockModel.class)).stream()
+                .collect(Collectors.toMap(document -> document.getString("sku"),
+                        document -> ((Number) document.get(HOT_SEQUENCE)).longValue()));
+    }
+
+    @Override
+    public boolean receiveFromShard(String sku, ObjectId moveId, int quantity) {
+        return restocks.updateFirst(
+                query(bySku(keyLayout, sku).and(SHARD_MOVES).ne(moveId)),
+                moveQuantity(quantity)
+                        .push(SHARD_MOVES).slice(-StockShardRepositoryCustomImpl.TRACKED_MOVES).each(moveId),
+                ProductStockModel.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public Optional<ProductStockModel> beginSpread(String sku, int shard, ObjectId moveId, int quantity) {
+        return findAndModify(drawdowns,
+                bySku(keyLayout, sku).andOperator(availableAtLeast(quantity)),
+                moveQuantity(-quantity).push(SHARD_OUTBOX, new ShardMoveModel(moveId, shard, quantity)));
+    }
+
+    @Override
+    public void endSpread(String sku, ObjectId moveId) {
+        mongoTemplate.updateFirst(
+                query(bySku(keyLayout, sku)),
+                new Update().pull(SHARD_OUTBOX, new Document("moveId", moveId)),
+                ProductStockModel.class);
+    }
+
+    private MongoTemplate writerOf(int delta) {
+        return delta < 0 ? drawdowns : restocks;
+    }
+
+    private Optional<ProductStockModel> findAndModify(MongoTemplate writer, Criteria criteria, Update update) {
+        return Optional.ofNullable(writer.findAndModify(
+                query(criteria),
+                update,
+                options().returnNew(true),
+                ProductStockModel.class));
+    }
+
+    // the headroom follows every unit in or out of the available quantity; a commit moves quantity and reserved
+    // together and leaves it as is
+    static Update moveQuantity(int delta) {
+        return new Update().inc("quantity", delta).inc(HEADROOM, delta);
+    }
+
+    static Criteria bySku(KeyLayout keyLayout, String sku) {
+        return where(keyLayout.skuKey()).is(sku);
+    }
+
+    static Criteria byId(KeyLayout keyLayout, String id) {
+        if (keyLayout == KeyLayout.UUID)
+            return where("id").is(id);
+        return new Criteria().orOperator(where("id").is(id), where(LEGACY_ID).is(id));
+    }
+
+    static Criteria adjustable(KeyLayout keyLayout, String sku, int delta) {
+        Criteria criteria = bySku(keyLayout, sku);
+        if (delta < 0)
+            criteria = criteria.andOperator(availableAtLeast(-delta));
+        return criteria;
+    }
+
+    // a sequence is applied once, and like any decrement a flushed one never takes the stock below its reserved units
+    static Criteria hotDeltaApplicable(KeyLayout keyLayout, String sku, int delta, long sequence) {
+        Criteria criteria = bySku(keyLayout, sku).and(HOT_SEQUENCE).not().gte(sequence);
+        if (delta < 0)
+            criteria = criteria.andOperator(availableAtLeast(-delta));
+        return criteria;
+    }
+
+    // units held by reservations are not available for decrements
+    static Criteria availableAtLeast(int quantity) {
+        return Criteria.expr(ComparisonOperators.Gte
+                .valueOf(ArithmeticOperators.Subtract.valueOf("quantity")
+                        .subtract(ConditionalOperators.ifNull("reserved").then(0)))
+                .greaterThanEqualToValue(quantity));
+    }
+
+    private Map<String, Integer> availableQuantities(Set<String> skus) {
+        Query query = query(where(keyLayout.skuKey()).in(skus));
+        query.fields().include("sku", "quantity", "reserved");
+        return mongoTemplate.find(query, ProductStockModel.class).stream()
+                .collect(Collectors.toMap(ProductStockModel::getSku, model -> model.getQuantity() - model.getReserved()));
+    }
+
+    // a concurrent write drained some stocks between the read and the bulkWrite: the batch marker tells which skus
+    // took their update, the others are replayed line by line through the single-sku path
+    private void replayUnconfirmed(Map<String, SkuBatch> writes, ObjectId batchId,
+                                   List<StockAdjustmentDTO> adjustments, AdjustmentStatus[] statuses) {
+        Query query = query(where(keyLayout.skuKey()).in(writes.keySet()).and(ADJUSTMENT_BATCHES).is(batchId));
+        query.fields().include("sku");
+        var confirmed = mongoTemplate.find(query, ProductStockModel.class).stream()
+                .map(ProductStockModel::getSku)
+                .collect(Collectors.toSet());
+
+        writes.forEach((sku, batch) -> {
+            if (confirmed.contains(sku))
+                return;
+            for (int line : batch.lines) {
+                if (adjustQuantity(sku, adjustments.get(line).toUpdate().delta()).isPresent())
+                    statuses[line] = APPLIED;
+                else
+                    statuses[line] = mongoTemplate.exists(query(bySku(keyLayout, sku)), ProductStockModel.class)
+                            ? INSUFFICIENT_STOCK
+                            : UNKNOWN_SKU;
+            }
+        });
+    }
+
+    private static final class SkuBatch {
+        private final List<Integer> lines = new ArrayList<>();
+        private int running;
+        private int net;
+        private int required;
+        private boolean applied;
+
+        private SkuBatch(int quantity) {
+            this.running = quantity;
+        }
+
+        private boolean add(int line, int delta) {
+            lines.add(line);
+            if (running + delta < 0)
+                return false;
+            running += delta;
+            net += delta;
+            required = Math.max(required, -net);
+            applied = true;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.fiap.stock.infrastructure.repository;
+
+import com.fiap.stock.infrastructure.repository.model.StockReservationModel;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StockReservationRepository extends MongoRepository<StockReservationModel, String>, StockReservationRepositoryCustom {
+}
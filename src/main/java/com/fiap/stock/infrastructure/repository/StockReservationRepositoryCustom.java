@@ -0,0 +1,18 @@
+package com.fiap.stock.infrastructure.repository;
+
+import com.fiap.stock.core.entity.ReservationStatus;
+import com.fiap.stock.infrastructure.repository.model.StockReservationModel;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface StockReservationRepositoryCustom {
+    Optional<StockReservationModel> close(String id, ReservationStatus status, Instant now);
+
+    List<StockReservationModel> expire(Instant now, int limit);
+
+    Map<String, Integer> activeQuantities(Collection<String> skus);
+}
@@ -0,0 +1,76 @@
+package com.fiap.stock.infrastructure.repository;
+
+import com.fiap.stock.core.entity.ReservationStatus;
+import com.fiap.stock.infrastructure.repository.model.StockReservationModel;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static com.fiap.stock.core.entity.ReservationStatus.ACTIVE;
+import static com.fiap.stock.core.entity.ReservationStatus.EXPIRED;
+import static org.springframework.data.mongodb.core.FindAndModifyOptions.options;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+public class StockReservationRepositoryCustomImpl implements StockReservationRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public StockReservationRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<StockReservationModel> close(String id, ReservationStatus status, Instant now) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                query(where("id").is(id).and("status").is(ACTIVE).and("expiresAt").gt(now)),
+                new Update().set("status", status),
+                options().returnNew(true),
+                StockReservationModel.class));
+    }
+
+    // three round-trips per batch whatever its size: pick candidates, flip them under a batch tag, read back by _id
+    // the ones this call actually flipped (a confirm or release may have won the race for some of them)
+    @Override
+    public List<StockReservationModel> expire(Instant now, int limit) {
+        Query candidates = query(where("status").is(ACTIVE).and("expiresAt").lte(now))
+                .with(Sort.by("expiresAt"))
+                .limit(limit);
+        candidates.fields().include("id");
+        var ids = mongoTemplate.find(candidates, StockReservationModel.class).stream()
+                .map(StockReservationModel::getId)
+                .toList();
+        if (ids.isEmpty())
+            return List.of();
+
+        var batch = new ObjectId().toHexString();
+        mongoTemplate.updateMulti(
+                query(where("id").in(ids).and("status").is(ACTIVE)),
+                new Update().set("status", EXPIRED).set("expiryBatch", batch),
+                StockReservationModel.class);
+        return mongoTemplate.find(query(where("id").in(ids).and("expiryBatch").is(batch)), StockReservationModel.class);
+    }
+
+    @Override
+    public Map<String, Integer> activeQuantities(Collection<String> skus) {
+        var aggregation = newAggregation(
+                match(where("status").is(ACTIVE).and("sku").in(skus)),
+                group("sku").sum("quantity").as("quantity"));
+        return mongoTemplate.aggregate(aggregation, StockReservationModel.class, Document.class).getMappedResults().stream()
+                .collect(Collectors.toMap(document -> document.getString("_id"),
+                        document -> ((Number) document.get("quantity")).intValue()));
+    }
+}
@@ -0,0 +1,14 @@
+package com.fiap.stock.infrastructure.repository;
+
+import com.fiap.stock.infrastructure.repository.model.StockShardModel;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockShardRepository extends MongoRepository<StockShardModel, String>, StockShardRepositoryCustom {
+    List<StockShardModel> findAllBySku(String sku);
+
+    void deleteAllBySku(String sku);
+}
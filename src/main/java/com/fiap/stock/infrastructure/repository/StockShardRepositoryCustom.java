@@ -0,0 +1,46 @@
+package com.fiap.stock.infrastructure.repository;
+
+import com.fiap.stock.infrastructure.repository.model.StockShardModel;
+import org.bson.types.ObjectId;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Sub-counters of sharded skus, one document per (sku, shard) keyed {@code sku#shard}. Units only enter or leave
+ * one through a move that is recorded on the giving side and applied at most once on the receiving side, so a move
+ * cut short by a crash is finished, not lost or doubled, by the next rebalance.
+ */
+public interface StockShardRepositoryCustom {
+
+    /**
+     * Takes {@code quantity} units when the sub-counter has them, in a single findAndModify.
+     */
+    Optional<StockShardModel> take(String sku, int shard, int quantity);
+
+    /**
+     * @return false when the sub-counter does not exist yet
+     */
+    boolean give(String sku, int shard, int quantity);
+
+    /**
+     * First half of a move back to the stock: takes the units and records the move.
+     *
+     * @return false when the units are no longer there or another move back is still open
+     */
+    boolean beginGather(String sku, int shard, ObjectId moveId, int quantity);
+
+    void endGather(String sku, int shard, ObjectId moveId);
+
+    /**
+     * Receiving half of a move from the stock; a move already applied is ignored.
+     */
+    void receive(String sku, int shard, ObjectId moveId, int quantity);
+
+    Set<String> findShardedSkus();
+
+    /**
+     * Removes the sub-counters of the sku that hold nothing and have no move open.
+     */
+    void deleteDrained(String sku);
+}
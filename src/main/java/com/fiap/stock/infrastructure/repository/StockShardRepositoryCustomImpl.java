@@ -0,0 +1,95 @@
+package com.fiap.stock.infrastructure.repository;
+
+import com.fiap.stock.infrastructure.repository.model.ShardMoveModel;
+import com.fiap.stock.infrastructure.repository.model.StockShardModel;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.springframework.data.mongodb.core.FindAndModifyOptions.options;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+public class StockShardRepositoryCustomImpl implements StockShardRepositoryCustom {
+
+    static final int TRACKED_MOVES = 64;
+    private static final String PENDING_MOVE = "pendingMove";
+    private static final String APPLIED = "applied";
+
+    private final MongoTemplate mongoTemplate;
+
+    public StockShardRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    static String shardId(String sku, int shard) {
+        return sku + "#" + shard;
+    }
+
+    @Override
+    public Optional<StockShardModel> take(String sku, int shard, int quantity) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                query(where("id").is(shardId(sku, shard)).and("quantity").gte(quantity)),
+                new Update().inc("quantity", -quantity),
+                options().returnNew(true),
+                StockShardModel.class));
+    }
+
+    @Override
+    public boolean give(String sku, int shard, int quantity) {
+        return mongoTemplate.updateFirst(
+                query(where("id").is(shardId(sku, shard))),
+                new Update().inc("quantity", quantity),
+                StockShardModel.class).getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean beginGather(String sku, int shard, ObjectId moveId, int quantity) {
+        return mongoTemplate.updateFirst(
+                query(where("id").is(shardId(sku, shard)).and("quantity").gte(quantity).and(PENDING_MOVE).exists(false)),
+                new Update().inc("quantity", -quantity).set(PENDING_MOVE, new ShardMoveModel(moveId, null, quantity)),
+                StockShardModel.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public void endGather(String sku, int shard, ObjectId moveId) {
+        mongoTemplate.updateFirst(
+                query(where("id").is(shardId(sku, shard)).and(PENDING_MOVE + ".moveId").is(moveId)),
+                new Update().unset(PENDING_MOVE),
+                StockShardModel.class);
+    }
+
+    // the upsert creates the sub-counter on its first move; when the sub-counter exists and already took this move,
+    // the filter matches nothing and the insert it falls back to collides with the existing _id
+    @Override
+    public void receive(String sku, int shard, ObjectId moveId, int quantity) {
+        try {
+            mongoTemplate.upsert(
+                    query(where("id").is(shardId(sku, shard)).and(APPLIED).ne(moveId)),
+                    new Update().inc("quantity", quantity)
+                            .setOnInsert("sku", sku)
+                            .setOnInsert("shard", shard)
+                            .push(APPLIED).slice(-TRACKED_MOVES).each(moveId),
+                    StockShardModel.class);
+        } catch (DuplicateKeyException e) {
+            // applied already
+        }
+    }
+
+    @Override
+    public Set<String> findShardedSkus() {
+        return new HashSet<>(mongoTemplate.findDistinct(new Query(), "sku", StockShardModel.class, String.class));
+    }
+
+    @Override
+    public void deleteDrained(String sku) {
+        mongoTemplate.remove(query(where("sku").is(sku).and("quantity").is(0).and(PENDING_MOVE).exists(false)),
+                StockShardModel.class);
+    }
+}
@@ -0,0 +1,27 @@
+package com.fiap.stock.infrastructure.repository;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * A template sharing the client and mapping of another one, whose writes all use a given write concern.
+ * The template level write concern alone only reaches insert, update, remove and bulk writes: findAndModify,
+ * which carries every single-sku stock write, takes its collection from {@link #prepareCollection} instead.
+ */
+class WriteConcernMongoTemplate extends MongoTemplate {
+
+    private final WriteConcern writeConcern;
+
+    WriteConcernMongoTemplate(MongoTemplate template, WriteConcern writeConcern) {
+        super(template.getMongoDatabaseFactory(), template.getConverter());
+        this.writeConcern = writeConcern;
+        setWriteConcern(writeConcern);
+    }
+
+    @Override
+    protected MongoCollection<Document> prepareCollection(MongoCollection<Document> collection) {
+        return super.prepareCollection(collection).withWriteConcern(writeConcern);
+    }
+}
@@ -2,10 +2,14 @@ package com.fiap.stock.infrastructure.repository.model;
 
 import lombok.Builder;
 import lombok.Data;
+import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.List;
+
 @Data
 @Builder
 @Document("stocks")
@@ -16,4 +20,17 @@ public class ProductStockModel {
     String sku;
     String name;
     int quantity;
+    int reserved;
+    int reorderThreshold;
+    // available units minus the reorder threshold, moved by every write that moves quantity or reserved: the
+    // low-stock query is a range on it instead of a comparison between fields
+    int headroom;
+    @Version
+    Long version;
+    // sharded skus only: the last moves taken in from sub-counters, and the units handed out not yet taken in
+    List<ObjectId> shardMoves;
+    List<ShardMoveModel> shardOutbox;
+    // the last bulk adjustment batches applied to this stock: a batch that matched fewer stocks than it wrote to
+    // reads them back to tell which skus took their update
+    List<ObjectId> adjustmentBatches;
 }
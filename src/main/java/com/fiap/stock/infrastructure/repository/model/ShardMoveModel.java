@@ -0,0 +1,12 @@
+package com.fiap.stock.infrastructure.repository.model;
+
+import org.bson.types.ObjectId;
+
+/**
+ * Units on their way between a stock and one of its sub-counters, recorded on the side that gave them up until
+ * the other side has them.
+ *
+ * @param shard the receiving sub-counter when the stock gives units, null when a sub-counter gives them back
+ */
+public record ShardMoveModel(ObjectId moveId, Integer shard, int quantity) {
+}
@@ -0,0 +1,27 @@
+package com.fiap.stock.infrastructure.repository.model;
+
+import com.fiap.stock.core.entity.MovementSource;
+import com.fiap.stock.core.entity.StockOperation;
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@Document("stock_movements")
+public class StockMovementModel {
+    @Id
+    private String id;
+    String sku;
+    StockOperation operation;
+    int quantity;
+    MovementSource source;
+    Instant occurredAt;
+    /**
+     * Set by the database when the movement is written: ledger folds follow it, not the clock of the writing instance.
+     */
+    Instant recordedAt;
+}
@@ -0,0 +1,22 @@
+package com.fiap.stock.infrastructure.repository.model;
+
+import com.fiap.stock.core.entity.ReservationStatus;
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@Document("stock_reservations")
+public class StockReservationModel {
+    @Id
+    private String id;
+    String sku;
+    int quantity;
+    ReservationStatus status;
+    Instant expiresAt;
+    String expiryBatch;
+}
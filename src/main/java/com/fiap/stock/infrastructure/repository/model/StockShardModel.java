@@ -0,0 +1,22 @@
+package com.fiap.stock.infrastructure.repository.model;
+
+import lombok.Builder;
+import lombok.Data;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+
+@Data
+@Builder
+@Document("stock_shards")
+public class StockShardModel {
+    @Id
+    private String id;
+    String sku;
+    int shard;
+    int quantity;
+    ShardMoveModel pendingMove;
+    List<ObjectId> applied;
+}
@@ -0,0 +1,18 @@
+package com.fiap.stock.infrastructure.repository.model;
+
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@Document("stock_snapshots")
+public class StockSnapshotModel {
+    @Id
+    private String sku;
+    int quantity;
+    Instant upTo;
+}
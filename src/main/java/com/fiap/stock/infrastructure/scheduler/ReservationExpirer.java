@@ -0,0 +1,32 @@
+package com.fiap.stock.infrastructure.scheduler;
+
+import com.fiap.stock.core.usecase.ExpireReservationsUseCase;
+import com.fiap.stock.infrastructure.config.LiquibaseMigration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReservationExpirer {
+
+    private final ExpireReservationsUseCase expireReservationsUseCase;
+    private final LiquibaseMigration migration;
+    private final int batchSize;
+
+    public ReservationExpirer(ExpireReservationsUseCase expireReservationsUseCase, LiquibaseMigration migration,
+                              @Value("${stock.reservation.expirer.batch-size}") int batchSize) {
+        this.expireReservationsUseCase = expireReservationsUseCase;
+        this.migration = migration;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${stock.reservation.expirer.fixed-delay}")
+    public void expireAbandoned() {
+        if (!migration.isComplete())
+            return;
+        int expired;
+        do {
+            expired = expireReservationsUseCase.execute(batchSize);
+        } while (expired == batchSize);
+    }
+}
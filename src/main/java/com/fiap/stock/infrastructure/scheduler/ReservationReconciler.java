@@ -0,0 +1,30 @@
+package com.fiap.stock.infrastructure.scheduler;
+
+import com.fiap.stock.core.usecase.ReconcileReservedStockUseCase;
+import com.fiap.stock.infrastructure.config.LiquibaseMigration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReservationReconciler {
+
+    private final ReconcileReservedStockUseCase reconcileReservedStockUseCase;
+    private final LiquibaseMigration migration;
+    private final int pageSize;
+
+    public ReservationReconciler(ReconcileReservedStockUseCase reconcileReservedStockUseCase, LiquibaseMigration migration,
+                                 @Value("${stock.reservation.reconciler.page-size}") int pageSize) {
+        this.reconcileReservedStockUseCase = reconcileReservedStockUseCase;
+        this.migration = migration;
+        this.pageSize = pageSize;
+    }
+
+    // a stock is only repaired when two runs in a row find the same excess, so the delay also bounds how long
+    // leaked units stay unavailable: up to twice this long
+    @Scheduled(fixedDelayString = "${stock.reservation.reconciler.fixed-delay}")
+    public void reconcile() {
+        if (migration.isComplete())
+            reconcileReservedStockUseCase.execute(pageSize);
+    }
+}
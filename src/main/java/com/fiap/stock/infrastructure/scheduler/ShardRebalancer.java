@@ -0,0 +1,25 @@
+package com.fiap.stock.infrastructure.scheduler;
+
+import com.fiap.stock.infrastructure.config.LiquibaseMigration;
+import com.fiap.stock.infrastructure.shardedsku.ShardedStockCounters;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ShardRebalancer {
+
+    private final ShardedStockCounters shardedStockCounters;
+    private final LiquibaseMigration migration;
+
+    public ShardRebalancer(ShardedStockCounters shardedStockCounters, LiquibaseMigration migration) {
+        this.shardedStockCounters = shardedStockCounters;
+        this.migration = migration;
+    }
+
+    // every instance runs it: moves are applied at most once, so concurrent runs only repeat each other's reads
+    @Scheduled(fixedDelayString = "${stock.sharded-skus.rebalance-interval}")
+    public void rebalance() {
+        if (migration.isComplete())
+            shardedStockCounters.rebalance();
+    }
+}
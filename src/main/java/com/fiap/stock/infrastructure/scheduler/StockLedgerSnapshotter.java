@@ -0,0 +1,32 @@
+package com.fiap.stock.infrastructure.scheduler;
+
+import com.fiap.stock.core.usecase.SnapshotStockMovementsUseCase;
+import com.fiap.stock.infrastructure.config.LiquibaseMigration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class StockLedgerSnapshotter {
+
+    private final SnapshotStockMovementsUseCase snapshotStockMovementsUseCase;
+    private final LiquibaseMigration migration;
+    private final Duration settle;
+
+    public StockLedgerSnapshotter(SnapshotStockMovementsUseCase snapshotStockMovementsUseCase,
+                                  LiquibaseMigration migration,
+                                  @Value("${stock.ledger.snapshot.settle}") Duration settle) {
+        this.snapshotStockMovementsUseCase = snapshotStockMovementsUseCase;
+        this.migration = migration;
+        this.settle = settle;
+    }
+
+    // movements younger than the settle delay may still be in flight from another instance, they wait for the next run
+    @Scheduled(fixedDelayString = "${stock.ledger.snapshot.fixed-delay}")
+    public void snapshot() {
+        if (migration.isComplete())
+            snapshotStockMovementsUseCase.execute(settle);
+    }
+}
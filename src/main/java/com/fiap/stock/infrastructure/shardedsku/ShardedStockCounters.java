@@ -0,0 +1,333 @@
+package com.fiap.stock.infrastructure.shardedsku;
+
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.infrastructure.config.HotSkuProperties;
+import com.fiap.stock.infrastructure.config.ShardedSkuProperties;
+import com.fiap.stock.infrastructure.repository.StockRepository;
+import com.fiap.stock.infrastructure.repository.StockShardRepository;
+import com.fiap.stock.infrastructure.repository.model.ProductStockModel;
+import com.fiap.stock.infrastructure.repository.model.StockShardModel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Spreads the free units of a few contended skus over sub-counter documents, so that concurrent decrements land on
+ * different documents. The stocks document keeps the name, the reserved units and whatever the sub-counters do not
+ * hold; readers see its quantity plus the sum of the sub-counters, cached for total-ttl.
+ */
+@Slf4j
+@Component
+public class ShardedStockCounters {
+
+    private final StockRepository stockRepository;
+    private final StockShardRepository shardRepository;
+    private final ShardedSkuProperties properties;
+    private final Counter fromShard;
+    private final Counter fromNeighbour;
+    private final Counter fromStock;
+    private final Counter fromGathered;
+    private final Map<String, View> views = new ConcurrentHashMap<>();
+
+    public ShardedStockCounters(StockRepository stockRepository, StockShardRepository shardRepository,
+                                ShardedSkuProperties properties, HotSkuProperties hotSkuProperties,
+                                MeterRegistry meterRegistry) {
+        if (properties.enabled() && hotSkuProperties.enabled()) {
+            var both = new TreeSet<>(properties.skus());
+            both.retainAll(hotSkuProperties.skus());
+            if (!both.isEmpty())
+                throw new IllegalStateException("Skus cannot be both hot and sharded: " + both);
+        }
+        this.stockRepository = stockRepository;
+        this.shardRepository = shardRepository;
+        this.properties = properties;
+        this.fromShard = decrements(meterRegistry, "shard");
+        this.fromNeighbour = decrements(meterRegistry, "neighbour");
+        this.fromStock = decrements(meterRegistry, "stock");
+        this.fromGathered = decrements(meterRegistry, "gathered");
+    }
+
+    private static Counter decrements(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("stock.sharded.decrements")
+                .description("Decrements of sharded skus, by where the units were found")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    public boolean handles(String sku) {
+        return properties.enabled() && properties.skus().contains(sku);
+    }
+
+    public Optional<ProductStock> current(String sku) {
+        return view(sku).map(View::postImage);
+    }
+
+    /**
+     * The stock as readers should see it: with its sub-counters when the sku is sharded, as is otherwise.
+     */
+    public ProductStock withShards(ProductStock stock) {
+        return handles(stock.getSku()) ? current(stock.getSku()).orElse(stock) : stock;
+    }
+
+    /**
+     * The stock with its sub-counters read afresh rather than from the cached total.
+     */
+    public Optional<ProductStock> reload(String sku) {
+        return stockRepository.findBySku(sku).map(stock -> load(stock).postImage());
+    }
+
+    /**
+     * Same contract as the single findAndModify: empty when the sku does not exist or the free units, wherever
+     * they sit, do not cover a decrement. A decrement tries a random sub-counter, then its neighbours, then the
+     * stock document, and only then gathers every sub-counter back into the stock for one last try.
+     * The returned post-image is the cached view, other instances' writes show up within total-ttl.
+     */
+    public Optional<ProductStock> adjust(String sku, int delta) {
+        int shards = properties.shards();
+        int start = ThreadLocalRandom.current().nextInt(shards);
+        if (delta > 0) {
+            if (shardRepository.give(sku, start, delta))
+                return shifted(sku, delta);
+            // no sub-counters until the first rebalance
+            return stockRepository.adjustQuantity(sku, delta).map(this::refreshed);
+        }
+
+        for (int i = 0; i < shards; i++) {
+            if (shardRepository.take(sku, (start + i) % shards, -delta).isPresent()) {
+                (i == 0 ? fromShard : fromNeighbour).increment();
+                return shifted(sku, delta);
+            }
+        }
+        var stock = stockRepository.adjustQuantity(sku, delta);
+        if (stock.isPresent()) {
+            fromStock.increment();
+        } else if (gather(sku) > 0) {
+            stock = stockRepository.adjustQuantity(sku, delta);
+            stock.ifPresent(applied -> fromGathered.increment());
+        }
+        return stock.map(this::refreshed);
+    }
+
+    /**
+     * Runs a write that only looks at the stock document, such as a reservation. When it misses, the free units may
+     * be sitting in the sub-counters: they are gathered back and the write is tried once more.
+     */
+    public Optional<ProductStock> throughStock(String sku, Supplier<Optional<ProductStockModel>> write) {
+        var stock = write.get();
+        if (stock.isEmpty() && gather(sku) > 0)
+            stock = write.get();
+        return stock.map(this::refreshed);
+    }
+
+    /**
+     * Moves every unit of the sub-counters back into the stock document.
+     *
+     * @return the units moved
+     */
+    public int gather(String sku) {
+        int gathered = 0;
+        for (var shard : shardRepository.findAllBySku(sku))
+            if (shard.getQuantity() > 0)
+                gathered += moveToStock(sku, shard.getShard(), shard.getQuantity());
+        views.remove(sku);
+        return gathered;
+    }
+
+    /**
+     * Drops the sub-counters of a deleted stock.
+     */
+    public void forget(String sku) {
+        shardRepository.deleteAllBySku(sku);
+        views.remove(sku);
+    }
+
+    /**
+     * Evens out the free units of every sharded sku, beyond the stock-share left on the stocks document, across its
+     * sub-counters, and folds back the sub-counters of
+     * skus taken off the list or of a changed shard count.
+     */
+    public void rebalance() {
+        var skus = new TreeSet<>(shardRepository.findShardedSkus());
+        if (properties.enabled())
+            skus.addAll(properties.skus());
+        for (var sku : skus) {
+            try {
+                rebalance(sku);
+            } catch (RuntimeException e) {
+                log.error("Rebalancing sharded sku {} failed: {}", sku, e.getMessage());
+            }
+        }
+    }
+
+    void rebalance(String sku) {
+        var stock = stockRepository.findBySku(sku);
+        if (stock.isEmpty()) {
+            forget(sku);
+            return;
+        }
+        var shards = shardRepository.findAllBySku(sku);
+        if (finishOpenMoves(stock.get(), shards)) {
+            stock = stockRepository.findBySku(sku);
+            shards = shardRepository.findAllBySku(sku);
+            if (stock.isEmpty())
+                return;
+        }
+
+        if (!handles(sku)) {
+            gather(sku);
+            shardRepository.deleteDrained(sku);
+            log.info("Sku {} is no longer sharded, its sub-counters were folded back", sku);
+            return;
+        }
+
+        int count = properties.shards();
+        var quantities = shards.stream()
+                .collect(Collectors.toMap(StockShardModel::getShard, StockShardModel::getQuantity));
+        long pooled = stock.get().getQuantity() - stock.get().getReserved() + quantities.entrySet().stream()
+                .filter(shard -> shard.getKey() < count)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+        // the stock keeps its share so that reservations hit it instead of gathering what the next rebalance spreads
+        long kept = (long) Math.ceil(pooled * properties.stockShare());
+        int target = Math.toIntExact(Math.max(0, pooled - kept) / count);
+        int slack = Math.max(1, target / 4);
+
+        // excess goes back to the stock first, which then tops up the sub-counters that fell behind
+        quantities.forEach((shard, quantity) -> {
+            int excess = shard < count ? quantity - target : quantity;
+            if (excess > (shard < count ? slack : 0))
+                moveToStock(sku, shard, excess);
+        });
+        for (int shard = 0; shard < count; shard++) {
+            int missing = target - quantities.getOrDefault(shard, 0);
+            if (missing > slack)
+                moveToShard(sku, shard, missing);
+        }
+        views.remove(sku);
+    }
+
+    // moves cut short by a crash, or still running on another instance: each side applies a move at most once,
+    // as long as it is among the last tracked moves of the receiving document
+    private boolean finishOpenMoves(ProductStockModel stock, List<StockShardModel> shards) {
+        boolean finished = false;
+        for (var shard : shards) {
+            var move = shard.getPendingMove();
+            if (move != null) {
+                finishMoveToStock(stock.getSku(), shard.getShard(), move.moveId(), move.quantity());
+                finished = true;
+            }
+        }
+        if (stock.getShardOutbox() != null) {
+            for (var move : stock.getShardOutbox()) {
+                finishMoveToShard(stock.getSku(), move.shard(), move.moveId(), move.quantity());
+                finished = true;
+            }
+        }
+        return finished;
+    }
+
+    private int moveToStock(String sku, int shard, int quantity) {
+        var moveId = new ObjectId();
+        if (!shardRepository.beginGather(sku, shard, moveId, quantity))
+            return 0;
+        finishMoveToStock(sku, shard, moveId, quantity);
+        return quantity;
+    }
+
+    private void finishMoveToStock(String sku, int shard, ObjectId moveId, int quantity) {
+        stockRepository.receiveFromShard(sku, moveId, quantity);
+        shardRepository.endGather(sku, shard, moveId);
+    }
+
+    private void moveToShard(String sku, int shard, int quantity) {
+        var moveId = new ObjectId();
+        if (stockRepository.beginSpread(sku, shard, moveId, quantity).isPresent())
+            finishMoveToShard(sku, shard, moveId, quantity);
+    }
+
+    private void finishMoveToShard(String sku, int shard, ObjectId moveId, int quantity) {
+        shardRepository.receive(sku, shard, moveId, quantity);
+        stockRepository.endSpread(sku, moveId);
+    }
+
+    private Optional<ProductStock> shifted(String sku, int delta) {
+        views.computeIfPresent(sku, (key, view) -> view.shifted(delta));
+        return current(sku);
+    }
+
+    private ProductStock refreshed(ProductStockModel stock) {
+        var view = views.computeIfPresent(stock.getSku(), (sku, cached) -> cached.withStock(stock));
+        return (view != null ? view : load(stock)).postImage();
+    }
+
+    private Optional<View> view(String sku) {
+        var view = views.get(sku);
+        if (view != null && !view.expired(System.nanoTime()))
+            return Optional.of(view);
+        var stock = stockRepository.findBySku(sku);
+        if (stock.isEmpty()) {
+            views.remove(sku);
+            return Optional.empty();
+        }
+        return Optional.of(load(stock.get()));
+    }
+
+    private View load(ProductStockModel stock) {
+        var view = new View(stock, shardTotal(stock, shardRepository.findAllBySku(stock.getSku())),
+                System.nanoTime() + properties.totalTtl().toNanos());
+        views.put(stock.getSku(), view);
+        return view;
+    }
+
+    /**
+     * Units held by the sub-counters, including those halfway through a move: given up by one side and not yet
+     * applied by the other.
+     */
+    static long shardTotal(ProductStockModel stock, List<StockShardModel> shards) {
+        var takenByStock = stock.getShardMoves() == null ? Set.<ObjectId>of() : Set.copyOf(stock.getShardMoves());
+        var takenByShards = new HashSet<ObjectId>();
+        long total = 0;
+        for (var shard : shards) {
+            total += shard.getQuantity();
+            var move = shard.getPendingMove();
+            if (move != null && !takenByStock.contains(move.moveId()))
+                total += move.quantity();
+            if (shard.getApplied() != null)
+                takenByShards.addAll(shard.getApplied());
+        }
+        if (stock.getShardOutbox() != null)
+            for (var move : stock.getShardOutbox())
+                if (!takenByShards.contains(move.moveId()))
+                    total += move.quantity();
+        return total;
+    }
+
+    private record View(ProductStockModel stock, long shardTotal, long expiresAt) {
+
+        View shifted(int delta) {
+            return new View(stock, shardTotal + delta, expiresAt);
+        }
+
+        View withStock(ProductStockModel stock) {
+            return new View(stock, shardTotal, expiresAt);
+        }
+
+        boolean expired(long now) {
+            return now - expiresAt >= 0;
+        }
+
+        ProductStock postImage() {
+            return new ProductStock(stock.getId(), stock.getSku(), stock.getName(),
+                    Math.toIntExact(stock.getQuantity() + shardTotal), stock.getReserved(),
+                    stock.getVersion() == null ? 0 : stock.getVersion(), stock.getReorderThreshold());
+        }
+    }
+}
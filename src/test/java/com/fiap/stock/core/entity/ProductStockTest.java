@@ -56,6 +56,41 @@ class ProductStockTest {
         assertThrows(IllegalArgumentException.class, () -> new ProductStock(validId, validSku, validName, -1));
     }
 
+    @Test
+    void constructor_negativeReserved_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ProductStock(validId, validSku, validName, validInitialQuantity, -1));
+    }
+
+    @Test
+    void constructor_negativeVersion_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ProductStock(validId, validSku, validName, validInitialQuantity, 0, -1));
+    }
+
+    @Test
+    void constructor_negativeReorderThreshold_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ProductStock(validId, validSku, validName, validInitialQuantity, 0, 0, -1));
+    }
+
+    @Test
+    void isLow_availableDownToTheReorderThreshold_returnsTrue() {
+        assertTrue(new ProductStock(validId, validSku, validName, 8, 3, 0, 5).isLow());
+        assertFalse(new ProductStock(validId, validSku, validName, 9, 3, 0, 5).isLow());
+    }
+
+    @Test
+    void getAvailable_withReservedUnits_returnsQuantityMinusReserved() {
+        ProductStock productStock = new ProductStock(validId, validSku, validName, validInitialQuantity, 4);
+        assertEquals(4, productStock.getReserved());
+        assertEquals(validInitialQuantity - 4, productStock.getAvailable());
+    }
+
+    @Test
+    void decreaseStock_amountCoveredOnlyByReservedUnits_throwsIllegalStateException() {
+        ProductStock productStock = new ProductStock(validId, validSku, validName, validInitialQuantity, 8);
+        assertThrows(IllegalStateException.class, () -> productStock.decreaseStock(3));
+        assertEquals(validInitialQuantity, productStock.getQuantity());
+    }
+
     @Test
     void increaseStock_positiveAmount_increasesQuantity() {
         ProductStock productStock = new ProductStock(validId, validSku, validName, validInitialQuantity);
@@ -107,6 +142,22 @@ class ProductStockTest {
         assertEquals(validInitialQuantity, productStock.getQuantity()); // Ensure quantity doesn't change
     }
 
+    @Test
+    void readOnlyCopy_keepsTheFiguresAndRejectsChanges() {
+        ProductStock productStock = new ProductStock(validId, validSku, validName, validInitialQuantity, 2, 3, 1);
+        ProductStock copy = productStock.readOnlyCopy();
+
+        assertEquals(productStock, copy);
+        assertEquals(validInitialQuantity, copy.getQuantity());
+        assertEquals(2, copy.getReserved());
+        assertEquals(3, copy.getVersion());
+        assertEquals(1, copy.getReorderThreshold());
+        assertThrows(IllegalStateException.class, () -> copy.increaseStock(1));
+        assertThrows(IllegalStateException.class, () -> copy.decreaseStock(1));
+        assertEquals(validInitialQuantity, copy.getQuantity());
+        assertSame(copy, copy.readOnlyCopy());
+    }
+
     @Test
     void equals_sameSku_returnsTrue() {
         ProductStock productStock1 = new ProductStock(validId, validSku, "Product A", 5);
@@ -0,0 +1,58 @@
+package com.fiap.stock.core.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockMovementTest {
+
+    private final String validId = "some-unique-id";
+    private final String validSku = "PRODUCT-SKU-123";
+    private final Instant validOccurredAt = Instant.parse("2030-01-01T00:00:00Z");
+
+    @Test
+    void constructor_validInput_createsStockMovement() {
+        StockMovement movement = new StockMovement(validId, validSku, StockOperation.INCREASE, 3, MovementSource.ADJUSTMENT, validOccurredAt);
+        assertEquals(validId, movement.getId());
+        assertEquals(validSku, movement.getSku());
+        assertEquals(StockOperation.INCREASE, movement.getOperation());
+        assertEquals(3, movement.getQuantity());
+        assertEquals(MovementSource.ADJUSTMENT, movement.getSource());
+        assertEquals(validOccurredAt, movement.getOccurredAt());
+    }
+
+    @Test
+    void constructor_emptySku_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new StockMovement(validId, " ", StockOperation.INCREASE, 3, MovementSource.ADJUSTMENT, validOccurredAt));
+    }
+
+    @Test
+    void constructor_nullOperation_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new StockMovement(validId, validSku, null, 3, MovementSource.ADJUSTMENT, validOccurredAt));
+    }
+
+    @Test
+    void constructor_nonPositiveQuantity_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new StockMovement(validId, validSku, StockOperation.DECREASE, 0, MovementSource.ADJUSTMENT, validOccurredAt));
+    }
+
+    @Test
+    void constructor_nullSource_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new StockMovement(validId, validSku, StockOperation.DECREASE, 1, null, validOccurredAt));
+    }
+
+    @Test
+    void getDelta_decrease_returnsNegativeQuantity() {
+        assertEquals(-3, new StockMovement(validId, validSku, StockOperation.DECREASE, 3, MovementSource.RESERVATION, validOccurredAt).getDelta());
+        assertEquals(3, new StockMovement(validId, validSku, StockOperation.INCREASE, 3, MovementSource.CREATE, validOccurredAt).getDelta());
+    }
+
+    @Test
+    void now_generatesIdAndOccurrenceTime() {
+        StockMovement movement = StockMovement.now(validSku, StockOperation.INCREASE, 1, MovementSource.ADJUSTMENT);
+        assertNotNull(movement.getId());
+        assertNotNull(movement.getOccurredAt());
+    }
+}
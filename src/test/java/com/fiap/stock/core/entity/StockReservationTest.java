@@ -0,0 +1,57 @@
+package com.fiap.stock.core.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockReservationTest {
+
+    private final String validId = "some-unique-id";
+    private final String validSku = "PRODUCT-SKU-123";
+    private final Instant validExpiresAt = Instant.parse("2030-01-01T00:00:00Z");
+
+    @Test
+    void constructor_validInput_createsStockReservation() {
+        StockReservation reservation = new StockReservation(validId, validSku, 2, ReservationStatus.ACTIVE, validExpiresAt);
+        assertEquals(validId, reservation.getId());
+        assertEquals(validSku, reservation.getSku());
+        assertEquals(2, reservation.getQuantity());
+        assertEquals(ReservationStatus.ACTIVE, reservation.getStatus());
+        assertEquals(validExpiresAt, reservation.getExpiresAt());
+    }
+
+    @Test
+    void constructor_emptyId_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new StockReservation(" ", validSku, 2, ReservationStatus.ACTIVE, validExpiresAt));
+    }
+
+    @Test
+    void constructor_nullSku_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new StockReservation(validId, null, 2, ReservationStatus.ACTIVE, validExpiresAt));
+    }
+
+    @Test
+    void constructor_nonPositiveQuantity_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new StockReservation(validId, validSku, 0, ReservationStatus.ACTIVE, validExpiresAt));
+    }
+
+    @Test
+    void constructor_nullStatus_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new StockReservation(validId, validSku, 2, null, validExpiresAt));
+    }
+
+    @Test
+    void constructor_nullExpiration_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new StockReservation(validId, validSku, 2, ReservationStatus.ACTIVE, null));
+    }
+
+    @Test
+    void equals_sameId_returnsTrue() {
+        StockReservation active = new StockReservation(validId, validSku, 2, ReservationStatus.ACTIVE, validExpiresAt);
+        StockReservation confirmed = new StockReservation(validId, validSku, 2, ReservationStatus.CONFIRMED, validExpiresAt);
+        assertEquals(active, confirmed);
+        assertEquals(active.hashCode(), confirmed.hashCode());
+    }
+}
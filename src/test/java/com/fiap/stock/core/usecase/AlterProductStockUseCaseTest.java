@@ -1,28 +1,50 @@
 package com.fiap.stock.core.usecase;
 
+import com.fiap.stock.core.dto.LowStockAlertDTO;
+import com.fiap.stock.core.dto.StockChangeDTO;
+import com.fiap.stock.core.dto.StockConflictDTO;
 import com.fiap.stock.core.dto.UpdateProductStockDTO;
+import com.fiap.stock.core.entity.MovementSource;
 import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.entity.StockChangeType;
+import com.fiap.stock.core.entity.StockMovement;
 import com.fiap.stock.core.entity.StockOperation;
+import com.fiap.stock.core.exception.StockConflictException;
 import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.core.gateway.StockMovementGateway;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 class AlterProductStockUseCaseTest {
 
     private StockGateway stockGateway;
+    private StockMovementGateway stockMovementGateway;
+    private ApplicationEventPublisher eventPublisher;
     private AlterProductStockUseCase alterProductStockUseCase;
 
     @BeforeEach
     void setUp() {
         stockGateway = mock(StockGateway.class);
-        alterProductStockUseCase = new AlterProductStockUseCase(stockGateway);
+        stockMovementGateway = mock(StockMovementGateway.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        when(stockGateway.isPostImageExact(anyString())).thenReturn(true);
+        alterProductStockUseCase = new AlterProductStockUseCase(stockGateway, stockMovementGateway, eventPublisher);
     }
 
 
@@ -35,51 +57,117 @@ class AlterProductStockUseCaseTest {
         return new ProductStock(validId, validSku, validName, initialQuantity);
     }
 
+    private ProductStock createTestProductStock(int quantity) {
+        return new ProductStock(validId, validSku, validName, quantity);
+    }
+
     private UpdateProductStockDTO createUpdateDTO(int quantity, StockOperation operation) {
         return new UpdateProductStockDTO(operation, quantity);
     }
 
     @Test
-    void execute_increaseOperation_stockFound_increasesStockAndSaves() {
-        ProductStock existingStock = createTestProductStock();
+    void execute_increaseOperation_stockFound_increasesStockInOneRoundTrip() {
         UpdateProductStockDTO inputDTO = createUpdateDTO(5, StockOperation.INCREASE);
 
-        when(stockGateway.findBySku(validSku)).thenReturn(Optional.of(existingStock));
+        when(stockGateway.adjustQuantity(validSku, 5)).thenReturn(Optional.of(createTestProductStock(initialQuantity + 5)));
 
         ProductStock result = alterProductStockUseCase.execute(validSku, inputDTO);
 
         assertEquals(initialQuantity + 5, result.getQuantity());
-        verify(stockGateway, times(1)).findBySku(validSku);
-        verify(stockGateway, times(1)).save(existingStock);
+        verify(stockGateway, times(1)).adjustQuantity(validSku, 5);
+        verifyNoMoreInteractions(stockGateway);
     }
 
     @Test
-    void execute_decreaseOperation_stockFound_decreasesStockAndSaves() {
-        ProductStock existingStock = createTestProductStock();
+    void execute_decreaseOperation_stockFound_decreasesStockInOneRoundTrip() {
         UpdateProductStockDTO inputDTO = createUpdateDTO(3, StockOperation.DECREASE);
 
-        when(stockGateway.findBySku(validSku)).thenReturn(Optional.of(existingStock));
+        when(stockGateway.adjustQuantity(validSku, -3)).thenReturn(Optional.of(createTestProductStock(initialQuantity - 3)));
 
         ProductStock result = alterProductStockUseCase.execute(validSku, inputDTO);
 
         assertEquals(initialQuantity - 3, result.getQuantity());
-        verify(stockGateway, times(1)).findBySku(validSku);
-        verify(stockGateway, times(1)).save(existingStock);
+        verify(stockGateway, times(1)).adjustQuantity(validSku, -3);
+        verifyNoMoreInteractions(stockGateway);
+    }
+
+    @Test
+    void execute_applied_recordsAdjustmentMovement() {
+        when(stockGateway.adjustQuantity(validSku, -3)).thenReturn(Optional.of(createTestProductStock(initialQuantity - 3)));
+
+        alterProductStockUseCase.execute(validSku, createUpdateDTO(3, StockOperation.DECREASE));
+
+        verify(stockMovementGateway, times(1)).record(argThat((List<StockMovement> movements) -> movements.size() == 1
+                && movements.get(0).getSku().equals(validSku)
+                && movements.get(0).getDelta() == -3
+                && movements.get(0).getSource() == MovementSource.ADJUSTMENT));
+    }
+
+    @Test
+    void execute_applied_publishesAlteredChangeWithTheNewState() {
+        ProductStock altered = createTestProductStock(initialQuantity - 3);
+        when(stockGateway.adjustQuantity(validSku, -3)).thenReturn(Optional.of(altered));
+
+        alterProductStockUseCase.execute(validSku, createUpdateDTO(3, StockOperation.DECREASE));
+
+        verify(eventPublisher, times(1)).publishEvent(new StockChangeDTO(StockChangeType.ALTERED, validSku, altered));
+    }
+
+    @Test
+    void execute_decreaseDownToTheReorderThreshold_publishesLowAlert() {
+        when(stockGateway.adjustQuantity(validSku, -3))
+                .thenReturn(Optional.of(new ProductStock(validId, validSku, validName, 6, 1, 1, 5)));
+
+        alterProductStockUseCase.execute(validSku, createUpdateDTO(3, StockOperation.DECREASE));
+
+        verify(eventPublisher).publishEvent(new LowStockAlertDTO(validSku, 5, 5, true));
+    }
+
+    @Test
+    void execute_restockAboveTheReorderThreshold_publishesRecoveredAlert() {
+        when(stockGateway.adjustQuantity(validSku, 10))
+                .thenReturn(Optional.of(new ProductStock(validId, validSku, validName, 12, 0, 1, 5)));
+
+        alterProductStockUseCase.execute(validSku, createUpdateDTO(10, StockOperation.INCREASE));
+
+        verify(eventPublisher).publishEvent(new LowStockAlertDTO(validSku, 12, 5, false));
+    }
+
+    @Test
+    void execute_staysOnTheSameSideOfTheReorderThreshold_publishesNoAlert() {
+        when(stockGateway.adjustQuantity(validSku, -3))
+                .thenReturn(Optional.of(new ProductStock(validId, validSku, validName, 2, 0, 1, 5)));
+
+        alterProductStockUseCase.execute(validSku, createUpdateDTO(3, StockOperation.DECREASE));
+
+        verify(eventPublisher, never()).publishEvent(any(LowStockAlertDTO.class));
+    }
+
+    @Test
+    void execute_postImageNotExact_publishesNoAlert() {
+        when(stockGateway.isPostImageExact(validSku)).thenReturn(false);
+        when(stockGateway.adjustQuantity(validSku, -3))
+                .thenReturn(Optional.of(new ProductStock(validId, validSku, validName, 6, 1, 1, 5)));
+
+        alterProductStockUseCase.execute(validSku, createUpdateDTO(3, StockOperation.DECREASE));
+
+        verify(eventPublisher, never()).publishEvent(any(LowStockAlertDTO.class));
     }
 
     @Test
     void execute_decreaseOperation_stockFound_insufficientStock_throwsIllegalArgumentException() {
-        ProductStock existingStock = createTestProductStock();
         UpdateProductStockDTO inputDTO = createUpdateDTO(15, StockOperation.DECREASE);
 
-        when(stockGateway.findBySku(validSku)).thenReturn(Optional.of(existingStock));
+        when(stockGateway.adjustQuantity(validSku, -15)).thenReturn(Optional.empty());
+        when(stockGateway.findCurrent(validSku)).thenReturn(Optional.of(createTestProductStock()));
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> alterProductStockUseCase.execute(validSku, inputDTO));
 
         assertEquals("Stock for sku:" + validSku + " is less than required: 15", exception.getMessage());
-        verify(stockGateway, times(1)).findBySku(validSku);
-        verify(stockGateway, never()).save(any());
+        verify(stockGateway, times(1)).adjustQuantity(validSku, -15);
+        verify(stockGateway, never()).insert(any());
+        verifyNoInteractions(stockMovementGateway);
 
     }
 
@@ -87,39 +175,129 @@ class AlterProductStockUseCaseTest {
     void execute_stockNotFound_throwsIllegalStateException() {
         UpdateProductStockDTO inputDTO = createUpdateDTO(5, StockOperation.INCREASE);
 
-        when(stockGateway.findBySku(validSku)).thenReturn(Optional.empty());
+        when(stockGateway.adjustQuantity(validSku, 5)).thenReturn(Optional.empty());
+        when(stockGateway.findCurrent(validSku)).thenReturn(Optional.empty());
 
         IllegalStateException exception = assertThrows(IllegalStateException.class,
                 () -> alterProductStockUseCase.execute(validSku, inputDTO));
 
         assertEquals("Stock not found for sku: " + validSku, exception.getMessage());
-        verify(stockGateway, times(1)).findBySku(validSku);
-        verify(stockGateway, never()).save(any());
+        verify(stockGateway, times(1)).findCurrent(validSku);
+        verify(stockGateway, never()).insert(any());
+    }
+
+    @Test
+    void execute_lostRaceToConcurrentWriter_retriesAndPublishesConflict() {
+        UpdateProductStockDTO inputDTO = createUpdateDTO(5, StockOperation.DECREASE);
+
+        when(stockGateway.adjustQuantity(validSku, -5))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(createTestProductStock(initialQuantity - 5)));
+        when(stockGateway.findCurrent(validSku)).thenReturn(Optional.of(new ProductStock(validId, validSku, validName, initialQuantity, 0, 7)));
+
+        ProductStock result = alterProductStockUseCase.execute(validSku, inputDTO);
+
+        assertEquals(initialQuantity - 5, result.getQuantity());
+        verify(stockGateway, times(2)).adjustQuantity(validSku, -5);
+        verify(eventPublisher).publishEvent(new StockConflictDTO(validSku, 1, true));
+        verify(eventPublisher).publishEvent(any(StockChangeDTO.class));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void execute_conflictOnEveryAttempt_throwsStockConflictException() {
+        UpdateProductStockDTO inputDTO = createUpdateDTO(5, StockOperation.DECREASE);
+
+        when(stockGateway.adjustQuantity(validSku, -5)).thenReturn(Optional.empty());
+        when(stockGateway.findCurrent(validSku)).thenReturn(Optional.of(createTestProductStock()));
+
+        StockConflictException exception = assertThrows(StockConflictException.class,
+                () -> alterProductStockUseCase.execute(validSku, inputDTO));
+
+        assertEquals("Stock for sku:" + validSku + " kept changing concurrently after 4 attempts", exception.getMessage());
+        verify(stockGateway, times(AlterProductStockUseCase.MAX_ATTEMPTS)).adjustQuantity(validSku, -5);
+        verify(eventPublisher, times(AlterProductStockUseCase.MAX_ATTEMPTS - 1)).publishEvent(argThat((Object event) ->
+                event instanceof StockConflictDTO conflict && conflict.retrying()));
+        verify(eventPublisher).publishEvent(new StockConflictDTO(validSku, AlterProductStockUseCase.MAX_ATTEMPTS, false));
+    }
+
+    @Test
+    void execute_insufficientStock_doesNotRetry() {
+        when(stockGateway.adjustQuantity(validSku, -15)).thenReturn(Optional.empty());
+        when(stockGateway.findCurrent(validSku)).thenReturn(Optional.of(createTestProductStock()));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> alterProductStockUseCase.execute(validSku, createUpdateDTO(15, StockOperation.DECREASE)));
+
+        verify(stockGateway, times(1)).adjustQuantity(validSku, -15);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void execute_nullStockOperation_throwsIllegalArgumentException() {
-        ProductStock existingStock = createTestProductStock();
         UpdateProductStockDTO inputDTO = new UpdateProductStockDTO(null, 5);
 
-        when(stockGateway.findBySku(validSku)).thenReturn(Optional.of(existingStock));
-
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> alterProductStockUseCase.execute(validSku, inputDTO));
 
         assertEquals("No operation informed", exception.getMessage());
-        verify(stockGateway, times(1)).findBySku(validSku);
-        verify(stockGateway, never()).save(any());
+        verifyNoInteractions(stockGateway);
     }
 
     @Test
-    void decrease_sufficientStock_decreasesQuantity() throws Exception {
-        java.lang.reflect.Method method = AlterProductStockUseCase.class.getDeclaredMethod("decrease", ProductStock.class, int.class);
-        method.setAccessible(true);
-
-        ProductStock productStock = createTestProductStock();
-        method.invoke(alterProductStockUseCase, productStock, 3);
+    void execute_nonPositiveQuantity_throwsIllegalArgumentException() {
+        IllegalArgumentException increase = assertThrows(IllegalArgumentException.class,
+                () -> alterProductStockUseCase.execute(validSku, createUpdateDTO(0, StockOperation.INCREASE)));
+        IllegalArgumentException decrease = assertThrows(IllegalArgumentException.class,
+                () -> alterProductStockUseCase.execute(validSku, createUpdateDTO(-1, StockOperation.DECREASE)));
+
+        assertEquals("Amount to increase stock must be positive.", increase.getMessage());
+        assertEquals("Amount to decrease stock must be positive.", decrease.getMessage());
+        verifyNoInteractions(stockGateway);
+    }
 
-        assertEquals(initialQuantity - 3, productStock.getQuantity());
+    @Test
+    void execute_concurrentDecreasesOnSameSku_neverOversellsAndCostOneRoundTripEach() throws Exception {
+        int stock = 100;
+        int requests = 400;
+        AtomicInteger quantity = new AtomicInteger(stock);
+
+        // stands in for the guarded findAndModify: check and decrement happen as one step on the "server"
+        when(stockGateway.adjustQuantity(eq(validSku), anyInt())).thenAnswer(invocation -> {
+            int delta = invocation.getArgument(1);
+            int current;
+            do {
+                current = quantity.get();
+                if (current + delta < 0)
+                    return Optional.empty();
+            } while (!quantity.compareAndSet(current, current + delta));
+            return Optional.of(createTestProductStock(current + delta));
+        });
+        when(stockGateway.findCurrent(validSku)).thenAnswer(invocation -> Optional.of(createTestProductStock(quantity.get())));
+
+        List<Callable<ProductStock>> calls = new ArrayList<>();
+        for (int i = 0; i < requests; i++)
+            calls.add(() -> alterProductStockUseCase.execute(validSku, createUpdateDTO(1, StockOperation.DECREASE)));
+
+        int applied = 0;
+        int rejected = 0;
+        try (var executor = Executors.newFixedThreadPool(32)) {
+            for (Future<ProductStock> future : executor.invokeAll(calls)) {
+                try {
+                    future.get();
+                    applied++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(IllegalArgumentException.class, e.getCause());
+                    rejected++;
+                }
+            }
+        }
+
+        assertEquals(stock, applied);
+        assertEquals(requests - stock, rejected);
+        assertEquals(0, quantity.get());
+        verify(stockGateway, times(requests)).adjustQuantity(eq(validSku), anyInt());
+        verify(stockGateway, times(requests - stock)).findCurrent(validSku);
+        verify(stockGateway, never()).insert(any());
     }
 }
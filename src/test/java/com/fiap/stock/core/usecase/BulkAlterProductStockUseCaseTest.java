@@ -0,0 +1,144 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.dto.LowStockAlertDTO;
+import com.fiap.stock.core.dto.StockAdjustmentDTO;
+import com.fiap.stock.core.dto.StockAdjustmentResultDTO;
+import com.fiap.stock.core.entity.AdjustmentStatus;
+import com.fiap.stock.core.entity.MovementSource;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.entity.StockMovement;
+import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.core.gateway.StockMovementGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static com.fiap.stock.core.entity.AdjustmentStatus.*;
+import static com.fiap.stock.core.entity.StockOperation.DECREASE;
+import static com.fiap.stock.core.entity.StockOperation.INCREASE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class BulkAlterProductStockUseCaseTest {
+
+    private StockGateway stockGateway;
+    private StockMovementGateway stockMovementGateway;
+    private ApplicationEventPublisher eventPublisher;
+    private BulkAlterProductStockUseCase bulkAlterProductStockUseCase;
+
+    @BeforeEach
+    void setUp() {
+        stockGateway = mock(StockGateway.class);
+        stockMovementGateway = mock(StockMovementGateway.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        bulkAlterProductStockUseCase = new BulkAlterProductStockUseCase(stockGateway, stockMovementGateway, eventPublisher);
+    }
+
+    @Test
+    void execute_mixedLines_returnsOneResultPerLineInInputOrder() {
+        var applied = new StockAdjustmentDTO("SKU1", INCREASE, 5);
+        var insufficient = new StockAdjustmentDTO("SKU2", DECREASE, 50);
+        var unknown = new StockAdjustmentDTO("UNKNOWN", DECREASE, 1);
+        when(stockGateway.adjustQuantities(List.of(applied, insufficient, unknown)))
+                .thenReturn(List.of(APPLIED, INSUFFICIENT_STOCK, UNKNOWN_SKU));
+
+        List<StockAdjustmentResultDTO> results = bulkAlterProductStockUseCase.execute(List.of(applied, insufficient, unknown));
+
+        assertEquals(List.of(
+                new StockAdjustmentResultDTO("SKU1", INCREASE, 5, APPLIED),
+                new StockAdjustmentResultDTO("SKU2", DECREASE, 50, INSUFFICIENT_STOCK),
+                new StockAdjustmentResultDTO("UNKNOWN", DECREASE, 1, UNKNOWN_SKU)), results);
+    }
+
+    @Test
+    void execute_mixedLines_recordsMovementsOfAppliedLinesOnly() {
+        var increase = new StockAdjustmentDTO("SKU1", INCREASE, 5);
+        var insufficient = new StockAdjustmentDTO("SKU2", DECREASE, 50);
+        var decrease = new StockAdjustmentDTO("SKU3", DECREASE, 2);
+        when(stockGateway.adjustQuantities(List.of(increase, insufficient, decrease)))
+                .thenReturn(List.of(APPLIED, INSUFFICIENT_STOCK, APPLIED));
+
+        bulkAlterProductStockUseCase.execute(List.of(increase, insufficient, decrease));
+
+        verify(stockMovementGateway, times(1)).record(argThat((List<StockMovement> movements) ->
+                movements.stream().map(StockMovement::getSku).toList().equals(List.of("SKU1", "SKU3"))
+                        && movements.stream().map(StockMovement::getDelta).toList().equals(List.of(5, -2))
+                        && movements.stream().allMatch(movement -> movement.getSource() == MovementSource.BULK_ADJUSTMENT)));
+    }
+
+    @Test
+    void execute_noLineApplied_recordsNoMovement() {
+        var insufficient = new StockAdjustmentDTO("SKU2", DECREASE, 50);
+        when(stockGateway.adjustQuantities(List.of(insufficient))).thenReturn(List.of(INSUFFICIENT_STOCK));
+
+        bulkAlterProductStockUseCase.execute(List.of(insufficient));
+
+        verifyNoInteractions(stockMovementGateway);
+    }
+
+    @Test
+    void execute_invalidLines_areRejectedWithoutReachingTheGateway() {
+        var valid = new StockAdjustmentDTO("SKU1", INCREASE, 5);
+        var noOperation = new StockAdjustmentDTO("SKU1", null, 5);
+        var noQuantity = new StockAdjustmentDTO("SKU1", DECREASE, 0);
+        var noSku = new StockAdjustmentDTO(" ", DECREASE, 1);
+        when(stockGateway.adjustQuantities(List.of(valid))).thenReturn(List.of(APPLIED));
+
+        List<StockAdjustmentResultDTO> results = bulkAlterProductStockUseCase.execute(List.of(noOperation, valid, noQuantity, noSku));
+
+        assertEquals(List.of(INVALID, APPLIED, INVALID, INVALID), results.stream().map(StockAdjustmentResultDTO::status).toList());
+        verify(stockGateway, times(1)).adjustQuantities(List.of(valid));
+    }
+
+    @Test
+    void execute_moreLinesThanChunkSize_sendsOneGatewayCallPerChunk() {
+        var input = new ArrayList<StockAdjustmentDTO>();
+        for (int i = 0; i < BulkAlterProductStockUseCase.CHUNK_SIZE * 2 + 1; i++)
+            input.add(new StockAdjustmentDTO("SKU" + i, INCREASE, 1));
+        when(stockGateway.adjustQuantities(anyList()))
+                .thenAnswer(invocation -> Collections.nCopies(invocation.<List<?>>getArgument(0).size(), APPLIED));
+
+        List<StockAdjustmentResultDTO> results = bulkAlterProductStockUseCase.execute(input);
+
+        assertEquals(input.size(), results.size());
+        assertEquals(input.get(input.size() - 1).sku(), results.get(results.size() - 1).sku());
+        verify(stockGateway, times(3)).adjustQuantities(anyList());
+    }
+
+    @Test
+    void execute_emptyInput_returnsEmptyListWithoutReachingTheGateway() {
+        List<StockAdjustmentResultDTO> results = bulkAlterProductStockUseCase.execute(List.of());
+
+        assertEquals(List.<AdjustmentStatus>of(), results.stream().map(StockAdjustmentResultDTO::status).toList());
+        verifyNoInteractions(stockGateway);
+    }
+
+    @Test
+    void execute_appliedLinesCrossTheThreshold_publishesLowStockAlertFromTheReadBack() {
+        var first = new StockAdjustmentDTO("SKU1", DECREASE, 2);
+        var second = new StockAdjustmentDTO("SKU1", DECREASE, 3);
+        when(stockGateway.adjustQuantities(List.of(first, second))).thenReturn(List.of(APPLIED, APPLIED));
+        when(stockGateway.findAllBySku(Set.of("SKU1"))).thenReturn(List.of(new ProductStock("id-1", "SKU1", "Product 1", 4, 0, 2, 5)));
+        when(stockGateway.isPostImageExact("SKU1")).thenReturn(true);
+
+        bulkAlterProductStockUseCase.execute(List.of(first, second));
+
+        verify(eventPublisher).publishEvent(new LowStockAlertDTO("SKU1", 4, 5, true));
+    }
+
+    @Test
+    void execute_nothingApplied_readsNothingBack() {
+        var insufficient = new StockAdjustmentDTO("SKU1", DECREASE, 50);
+        when(stockGateway.adjustQuantities(List.of(insufficient))).thenReturn(List.of(INSUFFICIENT_STOCK));
+
+        bulkAlterProductStockUseCase.execute(List.of(insufficient));
+
+        verify(stockGateway, never()).findAllBySku(any());
+    }
+}
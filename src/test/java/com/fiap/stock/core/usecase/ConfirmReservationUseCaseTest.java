@@ -0,0 +1,97 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.entity.MovementSource;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.entity.ReservationStatus;
+import com.fiap.stock.core.entity.StockMovement;
+import com.fiap.stock.core.entity.StockOperation;
+import com.fiap.stock.core.entity.StockReservation;
+import com.fiap.stock.core.exception.StockNotFoundException;
+import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.core.gateway.StockMovementGateway;
+import com.fiap.stock.core.gateway.StockReservationGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ConfirmReservationUseCaseTest {
+
+    private StockGateway stockGateway;
+    private StockReservationGateway stockReservationGateway;
+    private StockMovementGateway stockMovementGateway;
+    private ApplicationEventPublisher eventPublisher;
+    private ConfirmReservationUseCase confirmReservationUseCase;
+
+    private final String validId = "reservation-id";
+    private final String validSku = "TEST-SKU";
+
+    @BeforeEach
+    void setUp() {
+        stockGateway = mock(StockGateway.class);
+        stockReservationGateway = mock(StockReservationGateway.class);
+        stockMovementGateway = mock(StockMovementGateway.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        confirmReservationUseCase = new ConfirmReservationUseCase(stockGateway, stockReservationGateway, stockMovementGateway, eventPublisher);
+    }
+
+    @Test
+    void execute_activeReservation_commitsReservedUnits() {
+        StockReservation confirmed = new StockReservation(validId, validSku, 2, ReservationStatus.CONFIRMED, Instant.now().plusSeconds(60));
+        when(stockReservationGateway.close(eq(validId), eq(ReservationStatus.CONFIRMED), any())).thenReturn(Optional.of(confirmed));
+        when(stockGateway.commitReserved(validSku, 2)).thenReturn(Optional.of(new ProductStock("some-id", validSku, "Test Product", 8)));
+
+        StockReservation result = confirmReservationUseCase.execute(validId);
+
+        assertEquals(ReservationStatus.CONFIRMED, result.getStatus());
+        verify(stockGateway, times(1)).commitReserved(validSku, 2);
+        verify(stockMovementGateway, times(1)).record(argThat((List<StockMovement> movements) -> movements.size() == 1
+                && movements.get(0).getOperation() == StockOperation.DECREASE
+                && movements.get(0).getQuantity() == 2
+                && movements.get(0).getSource() == MovementSource.RESERVATION));
+    }
+
+    @Test
+    void execute_reservedUnitsMissing_failsWithoutRecordingAMovement() {
+        StockReservation confirmed = new StockReservation(validId, validSku, 2, ReservationStatus.CONFIRMED, Instant.now().plusSeconds(60));
+        when(stockReservationGateway.close(eq(validId), eq(ReservationStatus.CONFIRMED), any())).thenReturn(Optional.of(confirmed));
+        when(stockGateway.commitReserved(validSku, 2)).thenReturn(Optional.empty());
+        when(stockGateway.findBySku(validSku)).thenReturn(Optional.of(new ProductStock("some-id", validSku, "Test Product", 8)));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> confirmReservationUseCase.execute(validId));
+
+        assertEquals("Reserved units not found for sku: " + validSku + " while confirming reservation " + validId, exception.getMessage());
+        verifyNoInteractions(stockMovementGateway, eventPublisher);
+    }
+
+    @Test
+    void execute_stockDeletedMeanwhile_throwsStockNotFoundException() {
+        StockReservation confirmed = new StockReservation(validId, validSku, 2, ReservationStatus.CONFIRMED, Instant.now().plusSeconds(60));
+        when(stockReservationGateway.close(eq(validId), eq(ReservationStatus.CONFIRMED), any())).thenReturn(Optional.of(confirmed));
+        when(stockGateway.commitReserved(validSku, 2)).thenReturn(Optional.empty());
+        when(stockGateway.findBySku(validSku)).thenReturn(Optional.empty());
+
+        assertThrows(StockNotFoundException.class, () -> confirmReservationUseCase.execute(validId));
+        verifyNoInteractions(stockMovementGateway);
+    }
+
+    @Test
+    void execute_reservationNotActive_throwsIllegalStateException() {
+        when(stockReservationGateway.close(eq(validId), eq(ReservationStatus.CONFIRMED), any())).thenReturn(Optional.empty());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> confirmReservationUseCase.execute(validId));
+
+        assertEquals("Active reservation not found with id: " + validId, exception.getMessage());
+        verifyNoInteractions(stockGateway);
+    }
+}
@@ -1,13 +1,26 @@
 package com.fiap.stock.core.usecase;
 
 import com.fiap.stock.core.dto.CreateProductStockDTO;
+import com.fiap.stock.core.dto.StockChangeDTO;
+import com.fiap.stock.core.entity.MovementSource;
 import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.entity.StockChangeType;
+import com.fiap.stock.core.entity.StockMovement;
+import com.fiap.stock.core.entity.StockOperation;
 import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.core.gateway.StockMovementGateway;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 
-import java.util.Optional;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -15,16 +28,22 @@ import static org.mockito.Mockito.*;
 class CreateProductStockUseCaseTest {
 
     private StockGateway stockGateway;
+    private StockMovementGateway stockMovementGateway;
+    private ApplicationEventPublisher eventPublisher;
     private CreateProductStockUseCase createProductStockUseCase;
 
     private final String validSku = "TEST-SKU";
     private final String validName = "Test Product";
     private final int validQuantity = 10;
+    private final String generatedId = "generated-id";
 
     @BeforeEach
     void setUp() {
         stockGateway = mock(StockGateway.class);
-        createProductStockUseCase = new CreateProductStockUseCase(stockGateway);
+        stockMovementGateway = mock(StockMovementGateway.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        createProductStockUseCase = new CreateProductStockUseCase(stockGateway, stockMovementGateway, eventPublisher);
+        when(stockGateway.newId(any())).thenReturn(generatedId);
     }
 
     private CreateProductStockDTO createValidCreateProductStockDTO() {
@@ -32,21 +51,111 @@ class CreateProductStockUseCaseTest {
     }
 
 
+    @Test
+    void execute_validInput_newSku_insertsInOneRoundTrip() {
+        when(stockGateway.insert(any())).thenReturn(true);
+
+        ProductStock created = createProductStockUseCase.execute(createValidCreateProductStockDTO());
+
+        assertEquals(validSku, created.getSku());
+        assertEquals(validQuantity, created.getQuantity());
+        verify(stockGateway, times(1)).insert(created);
+        verify(stockGateway, never()).findBySku(any());
+    }
+
+    @Test
+    void execute_validInput_newSku_takesTheIdFromTheGateway() {
+        when(stockGateway.insert(any())).thenReturn(true);
+
+        ProductStock created = createProductStockUseCase.execute(createValidCreateProductStockDTO());
+
+        assertEquals(generatedId, created.getId());
+        verify(stockGateway, times(1)).newId(validSku);
+    }
+
+    @Test
+    void execute_validInput_newSku_opensLedgerWithInitialQuantity() {
+        when(stockGateway.insert(any())).thenReturn(true);
+
+        createProductStockUseCase.execute(createValidCreateProductStockDTO());
+
+        verify(stockMovementGateway, times(1)).record(argThat((List<StockMovement> movements) -> movements.size() == 1
+                && movements.get(0).getSku().equals(validSku)
+                && movements.get(0).getOperation() == StockOperation.INCREASE
+                && movements.get(0).getQuantity() == validQuantity
+                && movements.get(0).getSource() == MovementSource.CREATE));
+    }
+
+    @Test
+    void execute_validInput_newSku_publishesCreatedChange() {
+        when(stockGateway.insert(any())).thenReturn(true);
+
+        ProductStock created = createProductStockUseCase.execute(createValidCreateProductStockDTO());
+
+        verify(eventPublisher, times(1)).publishEvent(new StockChangeDTO(StockChangeType.CREATED, validSku, created));
+    }
+
+    @Test
+    void execute_zeroInitialQuantity_recordsNoMovement() {
+        when(stockGateway.insert(any())).thenReturn(true);
+
+        createProductStockUseCase.execute(new CreateProductStockDTO(validSku, validName, 0));
+
+        verifyNoInteractions(stockMovementGateway);
+    }
+
     @Test
     void execute_validInput_stockAlreadyExists_throwsIllegalStateException() {
         CreateProductStockDTO inputDTO = createValidCreateProductStockDTO();
-        ProductStock existingStock = new ProductStock(UUID.randomUUID().toString(), validSku, validName, 5);
-        when(stockGateway.findBySku(validSku)).thenReturn(Optional.of(existingStock));
+        when(stockGateway.insert(any())).thenReturn(false);
 
         IllegalStateException exception = assertThrows(IllegalStateException.class,
                 () -> createProductStockUseCase.execute(inputDTO));
 
         assertEquals("Stock for sku already exists", exception.getMessage());
-        verify(stockGateway, times(1)).findBySku(validSku);
-        verify(stockGateway, never()).save(any());
+        verify(stockGateway, times(1)).insert(any());
+        verify(stockGateway, never()).findBySku(any());
+        verifyNoInteractions(stockMovementGateway);
+        verifyNoInteractions(eventPublisher);
 
     }
 
+    @Test
+    void execute_concurrentCreatesOfTheSameSku_exactlyOneSucceeds() throws Exception {
+        // stands in for the unique sku index: the first insert wins, every other one is a duplicate key
+        Set<String> index = ConcurrentHashMap.newKeySet();
+        when(stockGateway.insert(any())).thenAnswer(invocation -> index.add(invocation.<ProductStock>getArgument(0).getSku()));
+
+        int threads = 16;
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(threads);
+        List<Future<ProductStock>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++)
+            results.add(executor.submit(() -> {
+                start.await();
+                return createProductStockUseCase.execute(createValidCreateProductStockDTO());
+            }));
+        start.countDown();
+
+        int created = 0;
+        int duplicates = 0;
+        for (var result : results) {
+            try {
+                result.get();
+                created++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+                assertEquals("Stock for sku already exists", e.getCause().getMessage());
+                duplicates++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, created);
+        assertEquals(threads - 1, duplicates);
+        verify(stockGateway, never()).findBySku(any());
+    }
+
     @Test
     void execute_nullInputSku_throwsIllegalArgumentExceptionFromProductStockConstructor() {
         CreateProductStockDTO inputDTO = new CreateProductStockDTO(null, validName, validQuantity);
@@ -56,7 +165,7 @@ class CreateProductStockUseCaseTest {
 
         assertEquals("SKU cannot be null or empty.", exception.getMessage());
         verify(stockGateway, never()).findBySku(any());
-        verify(stockGateway, never()).save(any());
+        verify(stockGateway, never()).insert(any());
 
     }
 
@@ -69,7 +178,7 @@ class CreateProductStockUseCaseTest {
 
         assertEquals("SKU cannot be null or empty.", exception.getMessage());
         verify(stockGateway, never()).findBySku(any());
-        verify(stockGateway, never()).save(any());
+        verify(stockGateway, never()).insert(any());
 
     }
 
@@ -82,7 +191,7 @@ class CreateProductStockUseCaseTest {
 
         assertEquals("Name cannot be null or empty.", exception.getMessage());
         verify(stockGateway, never()).findBySku(any());
-        verify(stockGateway, never()).save(any());
+        verify(stockGateway, never()).insert(any());
 
     }
 
@@ -95,7 +204,7 @@ class CreateProductStockUseCaseTest {
 
         assertEquals("Name cannot be null or empty.", exception.getMessage());
         verify(stockGateway, never()).findBySku(any());
-        verify(stockGateway, never()).save(any());
+        verify(stockGateway, never()).insert(any());
 
     }
 
@@ -108,7 +217,7 @@ class CreateProductStockUseCaseTest {
 
         assertEquals("Initial quantity cannot be negative.", exception.getMessage());
         verify(stockGateway, never()).findBySku(any());
-        verify(stockGateway, never()).save(any());
+        verify(stockGateway, never()).insert(any());
 
     }
 }
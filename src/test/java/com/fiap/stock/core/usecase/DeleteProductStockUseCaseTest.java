@@ -1,9 +1,14 @@
 package com.fiap.stock.core.usecase;
 
+import com.fiap.stock.core.dto.StockChangeDTO;
+import com.fiap.stock.core.entity.MovementSource;
 import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.entity.StockChangeType;
 import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.core.gateway.StockMovementGateway;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -15,6 +20,8 @@ import static org.mockito.Mockito.*;
 class DeleteProductStockUseCaseTest {
 
     private StockGateway stockGateway;
+    private StockMovementGateway stockMovementGateway;
+    private ApplicationEventPublisher eventPublisher;
 
     private DeleteProductStockUseCase deleteProductStockUseCase;
 
@@ -24,53 +31,75 @@ class DeleteProductStockUseCaseTest {
     @BeforeEach
     void setUp() {
         stockGateway = mock(StockGateway.class);
-        deleteProductStockUseCase = new DeleteProductStockUseCase(stockGateway);
+        stockMovementGateway = mock(StockMovementGateway.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        deleteProductStockUseCase = new DeleteProductStockUseCase(stockGateway, stockMovementGateway, eventPublisher);
     }
 
     @Test
-    void execute_existingId_deletesStockSuccessfully() {
-        when(stockGateway.findById(validId)).thenReturn(Optional.of(new ProductStock(validId, "sku", "name", 1)));
-        doNothing().when(stockGateway).deleteById(validId);
+    void execute_existingId_deletesStockInOneRoundTrip() {
+        ProductStock stock = new ProductStock(validId, "SKU-1", "Product", 10, 0, 0);
+        when(stockGateway.deleteById(validId)).thenReturn(Optional.of(stock));
 
         deleteProductStockUseCase.execute(validId);
 
-        verify(stockGateway, times(1)).findById(validId);
         verify(stockGateway, times(1)).deleteById(validId);
+        verify(stockGateway, never()).findById(anyString());
+        verify(eventPublisher, times(1)).publishEvent(new StockChangeDTO(StockChangeType.DELETED, "SKU-1", stock));
+    }
+
+    @Test
+    void execute_stockWithUnits_recordsThemLeavingTheLedger() {
+        ProductStock stock = new ProductStock(validId, "SKU-1", "Product", 10, 0, 0);
+        when(stockGateway.deleteById(validId)).thenReturn(Optional.of(stock));
+
+        deleteProductStockUseCase.execute(validId);
+
+        verify(stockMovementGateway).record(argThat(movements -> movements.size() == 1
+                && movements.get(0).getDelta() == -10
+                && movements.get(0).getSource() == MovementSource.DELETE));
+    }
+
+    @Test
+    void execute_emptyStock_recordsNoMovement() {
+        when(stockGateway.deleteById(validId)).thenReturn(Optional.of(new ProductStock(validId, "SKU-1", "Product", 0)));
+
+        deleteProductStockUseCase.execute(validId);
+
+        verifyNoInteractions(stockMovementGateway);
     }
 
     @Test
     void execute_nonExistingId_throwsIllegalStateException() {
-        when(stockGateway.findById(invalidId)).thenReturn(Optional.empty());
+        when(stockGateway.deleteById(invalidId)).thenReturn(Optional.empty());
 
         IllegalStateException exception = assertThrows(IllegalStateException.class,
                 () -> deleteProductStockUseCase.execute(invalidId));
 
         assertEquals("Stock not found with id: " + invalidId, exception.getMessage());
-        verify(stockGateway, times(1)).findById(invalidId);
-        verify(stockGateway, never()).deleteById(anyString());
+        verify(stockGateway, times(1)).deleteById(invalidId);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void execute_nullId_throwsIllegalArgumentExceptionFromGateway() {
-        when(stockGateway.findById(null)).thenThrow(new IllegalArgumentException("ID cannot be null"));
+        when(stockGateway.deleteById(null)).thenThrow(new IllegalArgumentException("ID cannot be null"));
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> deleteProductStockUseCase.execute(null));
 
         assertEquals("ID cannot be null", exception.getMessage());
-        verify(stockGateway, times(1)).findById(null);
-        verify(stockGateway, never()).deleteById(anyString());
+        verify(stockGateway, times(1)).deleteById(null);
     }
 
     @Test
     void execute_emptyId_throwsIllegalArgumentExceptionFromGateway() {
-        when(stockGateway.findById("")).thenThrow(new IllegalArgumentException("ID cannot be empty"));
+        when(stockGateway.deleteById("")).thenThrow(new IllegalArgumentException("ID cannot be empty"));
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> deleteProductStockUseCase.execute(""));
 
         assertEquals("ID cannot be empty", exception.getMessage());
-        verify(stockGateway, times(1)).findById("");
-        verify(stockGateway, never()).deleteById(anyString());
+        verify(stockGateway, times(1)).deleteById("");
     }
 }
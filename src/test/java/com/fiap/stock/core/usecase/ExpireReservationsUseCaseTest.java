@@ -0,0 +1,89 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.dto.LowStockAlertDTO;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.entity.ReservationStatus;
+import com.fiap.stock.core.entity.StockReservation;
+import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.core.gateway.StockReservationGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ExpireReservationsUseCaseTest {
+
+    private StockGateway stockGateway;
+    private StockReservationGateway stockReservationGateway;
+    private ApplicationEventPublisher eventPublisher;
+    private ExpireReservationsUseCase expireReservationsUseCase;
+
+    @BeforeEach
+    void setUp() {
+        stockGateway = mock(StockGateway.class);
+        stockReservationGateway = mock(StockReservationGateway.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        expireReservationsUseCase = new ExpireReservationsUseCase(stockGateway, stockReservationGateway, eventPublisher);
+    }
+
+    private StockReservation createExpiredReservation(String id, String sku, int quantity) {
+        return new StockReservation(id, sku, quantity, ReservationStatus.EXPIRED, Instant.now().minusSeconds(1));
+    }
+
+    @Test
+    void execute_expiredHolds_releasesUnitsOncePerSku() {
+        when(stockReservationGateway.expire(any(), eq(100))).thenReturn(List.of(
+                createExpiredReservation("r1", "SKU1", 2),
+                createExpiredReservation("r2", "SKU1", 3),
+                createExpiredReservation("r3", "SKU2", 1)));
+        when(stockGateway.releaseReserved(any(), anyInt())).thenReturn(Optional.of(new ProductStock("id", "SKU1", "name", 10)));
+
+        int expired = expireReservationsUseCase.execute(100);
+
+        assertEquals(3, expired);
+        verify(stockGateway, times(1)).releaseReserved("SKU1", 5);
+        verify(stockGateway, times(1)).releaseReserved("SKU2", 1);
+    }
+
+    @Test
+    void execute_nothingExpired_returnsZeroWithoutTouchingStocks() {
+        when(stockReservationGateway.expire(any(), eq(100))).thenReturn(List.of());
+
+        assertEquals(0, expireReservationsUseCase.execute(100));
+        verifyNoInteractions(stockGateway);
+    }
+
+    @Test
+    void execute_releaseLiftsAvailableAboveTheThreshold_publishesRecoveryAlert() {
+        when(stockReservationGateway.expire(any(), eq(100))).thenReturn(List.of(createExpiredReservation("r1", "SKU1", 4)));
+        when(stockGateway.releaseReserved("SKU1", 4)).thenReturn(Optional.of(new ProductStock("id-1", "SKU1", "Product 1", 10, 2, 1, 5)));
+        when(stockGateway.isPostImageExact("SKU1")).thenReturn(true);
+
+        expireReservationsUseCase.execute(100);
+
+        verify(eventPublisher).publishEvent(new LowStockAlertDTO("SKU1", 8, 5, false));
+    }
+
+    @Test
+    void execute_reservedUnitsMissingForASku_releasesTheOthersThenFails() {
+        when(stockReservationGateway.expire(any(), eq(100))).thenReturn(List.of(
+                createExpiredReservation("r1", "SKU1", 2),
+                createExpiredReservation("r2", "SKU2", 3)));
+        when(stockGateway.releaseReserved("SKU1", 2)).thenReturn(Optional.empty());
+        when(stockGateway.releaseReserved("SKU2", 3)).thenReturn(Optional.of(new ProductStock("id-2", "SKU2", "Product 2", 10)));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> expireReservationsUseCase.execute(100));
+
+        assertEquals("Reserved units not found while expiring reservations for skus: [SKU1]", exception.getMessage());
+        verify(stockGateway).releaseReserved("SKU2", 3);
+    }
+}
@@ -0,0 +1,47 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.gateway.StockGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class FindLowStockUseCaseTest {
+
+    private StockGateway stockGateway;
+    private FindLowStockUseCase findLowStockUseCase;
+
+    @BeforeEach
+    void setUp() {
+        stockGateway = mock(StockGateway.class);
+        findLowStockUseCase = new FindLowStockUseCase(stockGateway);
+    }
+
+    private ProductStock createLowProductStock(String sku) {
+        return new ProductStock(UUID.randomUUID().toString(), sku, "Product " + sku, 2, 0, 0, 5);
+    }
+
+    @Test
+    void execute_validLimit_returnsTheLowStocksFromTheGateway() {
+        var low = List.of(createLowProductStock("SKU1"), createLowProductStock("SKU2"));
+        when(stockGateway.findLowStock(10)).thenReturn(low);
+
+        List<ProductStock> result = findLowStockUseCase.execute(10);
+
+        assertEquals(low, result);
+        verify(stockGateway, times(1)).findLowStock(10);
+    }
+
+    @Test
+    void execute_limitOutOfRange_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> findLowStockUseCase.execute(0));
+        assertThrows(IllegalArgumentException.class, () -> findLowStockUseCase.execute(FindLowStockUseCase.MAX_LIMIT + 1));
+        verify(stockGateway, never()).findLowStock(anyInt());
+    }
+}
@@ -0,0 +1,45 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.dto.StockAvailabilityDTO;
+import com.fiap.stock.core.gateway.StockGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FindStockAvailabilityUseCaseTest {
+    private StockGateway stockGateway;
+    private FindStockAvailabilityUseCase findStockAvailabilityUseCase;
+
+    private final String validSku = "TEST-SKU";
+
+    @BeforeEach
+    void setUp() {
+        stockGateway = mock(StockGateway.class);
+        findStockAvailabilityUseCase = new FindStockAvailabilityUseCase(stockGateway);
+    }
+
+    @Test
+    void execute_existingSku_returnsAvailabilityWithoutLoadingTheStock() {
+        when(stockGateway.findAvailability(validSku)).thenReturn(Optional.of(new StockAvailabilityDTO(validSku, 10, 7)));
+
+        StockAvailabilityDTO availability = findStockAvailabilityUseCase.execute(validSku);
+
+        assertEquals(10, availability.quantity());
+        assertEquals(7, availability.available());
+        verify(stockGateway, never()).findBySku(any());
+    }
+
+    @Test
+    void execute_nonExistingSku_throwsIllegalStateException() {
+        when(stockGateway.findAvailability(validSku)).thenReturn(Optional.empty());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> findStockAvailabilityUseCase.execute(validSku));
+
+        assertEquals("Stock not found with sku: " + validSku, exception.getMessage());
+    }
+}
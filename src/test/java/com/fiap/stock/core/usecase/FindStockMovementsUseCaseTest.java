@@ -0,0 +1,82 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.dto.StockLedgerDTO;
+import com.fiap.stock.core.entity.MovementSource;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.entity.StockMovement;
+import com.fiap.stock.core.entity.StockOperation;
+import com.fiap.stock.core.exception.StockNotFoundException;
+import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.core.gateway.StockMovementGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class FindStockMovementsUseCaseTest {
+
+    private StockGateway stockGateway;
+    private StockMovementGateway stockMovementGateway;
+    private FindStockMovementsUseCase findStockMovementsUseCase;
+
+    private final String validSku = "TEST-SKU";
+
+    @BeforeEach
+    void setUp() {
+        stockGateway = mock(StockGateway.class);
+        stockMovementGateway = mock(StockMovementGateway.class);
+        findStockMovementsUseCase = new FindStockMovementsUseCase(stockGateway, stockMovementGateway);
+    }
+
+    @Test
+    void execute_skuWithMovements_returnsMovementsAndLedgerQuantity() {
+        var movements = List.of(
+                StockMovement.now(validSku, StockOperation.DECREASE, 2, MovementSource.ADJUSTMENT),
+                StockMovement.now(validSku, StockOperation.INCREASE, 10, MovementSource.CREATE));
+        when(stockMovementGateway.findRecent(validSku, 50)).thenReturn(movements);
+        when(stockMovementGateway.ledgerQuantity(validSku)).thenReturn(8);
+
+        StockLedgerDTO result = findStockMovementsUseCase.execute(validSku, 50);
+
+        assertEquals(new StockLedgerDTO(validSku, 8, movements), result);
+        verifyNoInteractions(stockGateway);
+    }
+
+    @Test
+    void execute_existingSkuWithoutMovements_returnsEmptyLedger() {
+        when(stockMovementGateway.findRecent(validSku, 50)).thenReturn(List.of());
+        when(stockGateway.findBySku(validSku)).thenReturn(Optional.of(new ProductStock("id", validSku, "Product", 0)));
+
+        StockLedgerDTO result = findStockMovementsUseCase.execute(validSku, 50);
+
+        assertEquals(new StockLedgerDTO(validSku, 0, List.of()), result);
+    }
+
+    @Test
+    void execute_unknownSku_throwsStockNotFoundException() {
+        when(stockMovementGateway.findRecent(validSku, 50)).thenReturn(List.of());
+        when(stockGateway.findBySku(validSku)).thenReturn(Optional.empty());
+
+        StockNotFoundException exception = assertThrows(StockNotFoundException.class,
+                () -> findStockMovementsUseCase.execute(validSku, 50));
+
+        assertEquals("Stock not found with sku: " + validSku, exception.getMessage());
+        verify(stockMovementGateway, never()).ledgerQuantity(any());
+    }
+
+    @Test
+    void execute_limitOutOfRange_throwsIllegalArgumentException() {
+        IllegalArgumentException zero = assertThrows(IllegalArgumentException.class,
+                () -> findStockMovementsUseCase.execute(validSku, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> findStockMovementsUseCase.execute(validSku, FindStockMovementsUseCase.MAX_LIMIT + 1));
+
+        assertEquals("Limit must be between 1 and 500", zero.getMessage());
+        verifyNoInteractions(stockMovementGateway, stockGateway);
+    }
+}
@@ -1,6 +1,7 @@
 package com.fiap.stock.core.usecase;
 
 import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.exception.StockNotFoundException;
 import com.fiap.stock.core.gateway.StockGateway;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -54,6 +55,16 @@ class FindStockUseCaseTest {
         verify(stockGateway, times(1)).findBySku(invalidSku);
     }
 
+    @Test
+    void execute_nonExistingSku_throwsWithoutStackTrace() {
+        when(stockGateway.findBySku(invalidSku)).thenReturn(Optional.empty());
+
+        StockNotFoundException exception = assertThrows(StockNotFoundException.class,
+                () -> findStockUseCase.execute(invalidSku));
+
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
     @Test
     void execute_nullSku_throwsIllegalArgumentExceptionFromGateway() {
         when(stockGateway.findBySku(null)).thenThrow(new IllegalArgumentException("SKU cannot be null"));
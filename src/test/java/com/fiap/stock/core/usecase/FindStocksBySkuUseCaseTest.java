@@ -0,0 +1,78 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.dto.StockLookupDTO;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.gateway.StockGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FindStocksBySkuUseCaseTest {
+    private StockGateway stockGateway;
+    private FindStocksBySkuUseCase findStocksBySkuUseCase;
+
+    @BeforeEach
+    void setUp() {
+        stockGateway = mock(StockGateway.class);
+        findStocksBySkuUseCase = new FindStocksBySkuUseCase(stockGateway);
+    }
+
+    private ProductStock createTestProductStock(String sku) {
+        return new ProductStock("id-" + sku, sku, "Test Product", 10);
+    }
+
+    @Test
+    void execute_someSkusMissing_returnsFoundInRequestOrderAndMissingSeparately() {
+        when(stockGateway.findAllBySku(Set.of("SKU-A", "SKU-B", "SKU-C")))
+                .thenReturn(List.of(createTestProductStock("SKU-C"), createTestProductStock("SKU-A")));
+
+        StockLookupDTO result = findStocksBySkuUseCase.execute(List.of("SKU-A", "SKU-B", "SKU-C"));
+
+        assertEquals(List.of("SKU-A", "SKU-C"), result.found().stream().map(ProductStock::getSku).toList());
+        assertEquals(List.of("SKU-B"), result.missing());
+        verify(stockGateway, times(1)).findAllBySku(any());
+        verify(stockGateway, never()).findBySku(any());
+    }
+
+    @Test
+    void execute_duplicatedSkus_looksEachUpOnce() {
+        when(stockGateway.findAllBySku(Set.of("SKU-A"))).thenReturn(List.of(createTestProductStock("SKU-A")));
+
+        StockLookupDTO result = findStocksBySkuUseCase.execute(List.of("SKU-A", "SKU-A"));
+
+        assertEquals(1, result.found().size());
+        assertTrue(result.missing().isEmpty());
+    }
+
+    @Test
+    void execute_emptyList_throwsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> findStocksBySkuUseCase.execute(List.of()));
+
+        assertEquals("Skus must be between 1 and " + FindStocksBySkuUseCase.MAX_SKUS, exception.getMessage());
+        verify(stockGateway, never()).findAllBySku(any());
+    }
+
+    @Test
+    void execute_tooManySkus_throwsIllegalArgumentException() {
+        var skus = Collections.nCopies(FindStocksBySkuUseCase.MAX_SKUS + 1, "SKU-A");
+
+        assertThrows(IllegalArgumentException.class, () -> findStocksBySkuUseCase.execute(skus));
+        verify(stockGateway, never()).findAllBySku(any());
+    }
+
+    @Test
+    void execute_blankSku_throwsIllegalArgumentException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> findStocksBySkuUseCase.execute(List.of("SKU-A", " ")));
+
+        assertEquals("SKU cannot be null or empty.", exception.getMessage());
+    }
+}
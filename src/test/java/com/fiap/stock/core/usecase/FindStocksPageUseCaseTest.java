@@ -0,0 +1,73 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.dto.StockPageDTO;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.gateway.StockGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class FindStocksPageUseCaseTest {
+
+    private StockGateway stockGateway;
+    private FindStocksPageUseCase findStocksPageUseCase;
+
+    @BeforeEach
+    void setUp() {
+        stockGateway = mock(StockGateway.class);
+        findStocksPageUseCase = new FindStocksPageUseCase(stockGateway);
+    }
+
+    private ProductStock createTestProductStock(String sku) {
+        return new ProductStock(UUID.randomUUID().toString(), sku, "Product " + sku, 10);
+    }
+
+    @Test
+    void execute_moreStocksThanLimit_returnsPageAndCursorOfLastItem() {
+        when(stockGateway.findPage(null, 3)).thenReturn(List.of(
+                createTestProductStock("SKU1"), createTestProductStock("SKU2"), createTestProductStock("SKU3")));
+
+        StockPageDTO page = findStocksPageUseCase.execute(null, 2);
+
+        assertEquals(List.of("SKU1", "SKU2"), page.items().stream().map(ProductStock::getSku).toList());
+        assertEquals("SKU2", page.nextCursor());
+        verify(stockGateway, times(1)).findPage(null, 3);
+    }
+
+    @Test
+    void execute_lastPage_returnsItemsWithoutCursor() {
+        when(stockGateway.findPage("SKU2", 3)).thenReturn(List.of(createTestProductStock("SKU3")));
+
+        StockPageDTO page = findStocksPageUseCase.execute("SKU2", 2);
+
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void execute_emptyCollection_returnsEmptyPageWithoutCursor() {
+        when(stockGateway.findPage(null, 11)).thenReturn(List.of());
+
+        StockPageDTO page = findStocksPageUseCase.execute(null, 10);
+
+        assertTrue(page.items().isEmpty());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void execute_limitOutOfRange_throwsIllegalArgumentException() {
+        IllegalArgumentException zero = assertThrows(IllegalArgumentException.class,
+                () -> findStocksPageUseCase.execute(null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> findStocksPageUseCase.execute(null, FindStocksPageUseCase.MAX_LIMIT + 1));
+
+        assertEquals("Limit must be between 1 and " + FindStocksPageUseCase.MAX_LIMIT, zero.getMessage());
+        verify(stockGateway, never()).findPage(any(), anyInt());
+    }
+}
@@ -0,0 +1,45 @@
+package com.fiap.stock.core.usecase;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.*;
+
+class RateLimitedLogTest {
+
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        logger = mock(Logger.class);
+    }
+
+    @Test
+    void warn_burstWithinInterval_logsOnlyTheFirst() {
+        RateLimitedLog log = new RateLimitedLog(logger, Duration.ofHours(1));
+
+        for (int i = 0; i < 100; i++)
+            log.warn("Stock not found for sku: {}", "SKU-" + i);
+
+        verify(logger, times(1)).warn("Stock not found for sku: {}", (Object) "SKU-0");
+        verifyNoMoreInteractions(logger);
+    }
+
+    @Test
+    void warn_afterInterval_reportsHowManyWereSuppressed() throws InterruptedException {
+        RateLimitedLog log = new RateLimitedLog(logger, Duration.ofMillis(20));
+
+        log.warn("Stock not found for sku: {}", "SKU-0");
+        log.warn("Stock not found for sku: {}", "SKU-1");
+        log.warn("Stock not found for sku: {}", "SKU-2");
+        Thread.sleep(40);
+        log.warn("Stock not found for sku: {}", "SKU-3");
+
+        verify(logger).warn("Stock not found for sku: {}", (Object) "SKU-0");
+        verify(logger).warn("Stock not found for sku: {} ({} similar suppressed)", "SKU-3", 2L);
+        verifyNoMoreInteractions(logger);
+    }
+}
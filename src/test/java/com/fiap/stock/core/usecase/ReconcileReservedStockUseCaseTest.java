@@ -0,0 +1,97 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.dto.StockChangeDTO;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.entity.StockChangeType;
+import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.core.gateway.StockReservationGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class ReconcileReservedStockUseCaseTest {
+
+    private StockGateway stockGateway;
+    private StockReservationGateway stockReservationGateway;
+    private ApplicationEventPublisher eventPublisher;
+    private ReconcileReservedStockUseCase reconcileReservedStockUseCase;
+
+    @BeforeEach
+    void setUp() {
+        stockGateway = mock(StockGateway.class);
+        stockReservationGateway = mock(StockReservationGateway.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        reconcileReservedStockUseCase = new ReconcileReservedStockUseCase(stockGateway, stockReservationGateway, eventPublisher);
+    }
+
+    @Test
+    void execute_excessSeenOnce_leavesTheStockAlone() {
+        when(stockGateway.findReservedPage(null, 100)).thenReturn(List.of(stock("SKU1", 5)));
+        when(stockReservationGateway.activeQuantities(List.of("SKU1"))).thenReturn(Map.of("SKU1", 2));
+
+        assertEquals(0, reconcileReservedStockUseCase.execute(100));
+
+        verify(stockGateway, never()).resetReserved(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void execute_sameExcessOnTwoRuns_setsReservedBackToTheActiveHolds() {
+        when(stockGateway.findReservedPage(null, 100)).thenReturn(List.of(stock("SKU1", 5)));
+        when(stockReservationGateway.activeQuantities(List.of("SKU1"))).thenReturn(Map.of("SKU1", 2));
+        var repaired = stock("SKU1", 2);
+        when(stockGateway.resetReserved("SKU1", 5, 2)).thenReturn(Optional.of(repaired));
+
+        reconcileReservedStockUseCase.execute(100);
+        assertEquals(1, reconcileReservedStockUseCase.execute(100));
+
+        verify(stockGateway).resetReserved("SKU1", 5, 2);
+        verify(eventPublisher).publishEvent(new StockChangeDTO(StockChangeType.ALTERED, repaired));
+    }
+
+    @Test
+    void execute_holdStoredBetweenRuns_leavesTheStockAlone() {
+        when(stockGateway.findReservedPage(null, 100)).thenReturn(List.of(stock("SKU1", 5)));
+        when(stockReservationGateway.activeQuantities(List.of("SKU1")))
+                .thenReturn(Map.of("SKU1", 2))
+                .thenReturn(Map.of("SKU1", 5));
+
+        reconcileReservedStockUseCase.execute(100);
+        assertEquals(0, reconcileReservedStockUseCase.execute(100));
+
+        verify(stockGateway, never()).resetReserved(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void execute_noActiveHoldLeft_releasesEveryReservedUnit() {
+        when(stockGateway.findReservedPage(null, 100)).thenReturn(List.of(stock("SKU1", 3)));
+        when(stockReservationGateway.activeQuantities(List.of("SKU1"))).thenReturn(Map.of());
+
+        reconcileReservedStockUseCase.execute(100);
+        reconcileReservedStockUseCase.execute(100);
+
+        verify(stockGateway).resetReserved("SKU1", 3, 0);
+    }
+
+    @Test
+    void execute_fullPage_readsTheNextPageAfterItsLastSku() {
+        when(stockGateway.findReservedPage(null, 1)).thenReturn(List.of(stock("SKU1", 2)));
+        when(stockGateway.findReservedPage("SKU1", 1)).thenReturn(List.of());
+        when(stockReservationGateway.activeQuantities(List.of("SKU1"))).thenReturn(Map.of("SKU1", 2));
+
+        reconcileReservedStockUseCase.execute(1);
+
+        verify(stockGateway).findReservedPage("SKU1", 1);
+    }
+
+    private static ProductStock stock(String sku, int reserved) {
+        return new ProductStock("id-" + sku, sku, "Product", 10, reserved, 1);
+    }
+}
@@ -0,0 +1,74 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.entity.ReservationStatus;
+import com.fiap.stock.core.entity.StockReservation;
+import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.core.gateway.StockReservationGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReleaseReservationUseCaseTest {
+
+    private StockGateway stockGateway;
+    private StockReservationGateway stockReservationGateway;
+    private ApplicationEventPublisher eventPublisher;
+    private ReleaseReservationUseCase releaseReservationUseCase;
+
+    private final String validId = "reservation-id";
+    private final String validSku = "TEST-SKU";
+
+    @BeforeEach
+    void setUp() {
+        stockGateway = mock(StockGateway.class);
+        stockReservationGateway = mock(StockReservationGateway.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        releaseReservationUseCase = new ReleaseReservationUseCase(stockGateway, stockReservationGateway, eventPublisher);
+    }
+
+    @Test
+    void execute_activeReservation_returnsHeldUnits() {
+        StockReservation released = new StockReservation(validId, validSku, 2, ReservationStatus.RELEASED, Instant.now().plusSeconds(60));
+        when(stockReservationGateway.close(eq(validId), eq(ReservationStatus.RELEASED), any())).thenReturn(Optional.of(released));
+        when(stockGateway.releaseReserved(validSku, 2)).thenReturn(Optional.of(new ProductStock("some-id", validSku, "Test Product", 10)));
+
+        StockReservation result = releaseReservationUseCase.execute(validId);
+
+        assertEquals(ReservationStatus.RELEASED, result.getStatus());
+        verify(stockGateway, times(1)).releaseReserved(validSku, 2);
+    }
+
+    @Test
+    void execute_reservationNotActive_throwsIllegalStateException() {
+        when(stockReservationGateway.close(eq(validId), eq(ReservationStatus.RELEASED), any())).thenReturn(Optional.empty());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> releaseReservationUseCase.execute(validId));
+
+        assertEquals("Active reservation not found with id: " + validId, exception.getMessage());
+        verifyNoInteractions(stockGateway);
+    }
+
+    @Test
+    void execute_reservedUnitsMissing_failsWithoutPublishing() {
+        StockReservation released = new StockReservation(validId, validSku, 2, ReservationStatus.RELEASED, Instant.now().plusSeconds(60));
+        when(stockReservationGateway.close(eq(validId), eq(ReservationStatus.RELEASED), any())).thenReturn(Optional.of(released));
+        when(stockGateway.releaseReserved(validSku, 2)).thenReturn(Optional.empty());
+        when(stockGateway.findBySku(validSku)).thenReturn(Optional.of(new ProductStock("some-id", validSku, "Test Product", 8)));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> releaseReservationUseCase.execute(validId));
+
+        assertEquals("Reserved units not found for sku: " + validSku + " while releasing reservation " + validId, exception.getMessage());
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,130 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.dto.LowStockAlertDTO;
+import com.fiap.stock.core.dto.ReserveStockDTO;
+import com.fiap.stock.core.dto.StockChangeDTO;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.entity.ReservationStatus;
+import com.fiap.stock.core.entity.StockChangeType;
+import com.fiap.stock.core.entity.StockReservation;
+import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.core.gateway.StockReservationGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class ReserveStockUseCaseTest {
+
+    private StockGateway stockGateway;
+    private StockReservationGateway stockReservationGateway;
+    private ApplicationEventPublisher eventPublisher;
+    private ReserveStockUseCase reserveStockUseCase;
+
+    private final String validSku = "TEST-SKU";
+
+    @BeforeEach
+    void setUp() {
+        stockGateway = mock(StockGateway.class);
+        stockReservationGateway = mock(StockReservationGateway.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        reserveStockUseCase = new ReserveStockUseCase(stockGateway, stockReservationGateway, eventPublisher);
+    }
+
+    private ProductStock createTestProductStock(int reserved) {
+        return new ProductStock("some-id", validSku, "Test Product", 10, reserved);
+    }
+
+    @Test
+    void execute_enoughAvailable_holdsUnitsAndStoresActiveReservation() {
+        when(stockGateway.reserve(validSku, 3)).thenReturn(Optional.of(createTestProductStock(3)));
+
+        Instant before = Instant.now();
+        StockReservation reservation = reserveStockUseCase.execute(validSku, new ReserveStockDTO(3, 60L));
+
+        assertEquals(validSku, reservation.getSku());
+        assertEquals(3, reservation.getQuantity());
+        assertEquals(ReservationStatus.ACTIVE, reservation.getStatus());
+        assertFalse(reservation.getExpiresAt().isBefore(before.plusSeconds(60)));
+        verify(stockReservationGateway, times(1)).save(reservation);
+    }
+
+    @Test
+    void execute_enoughAvailable_publishesAlteredChange() {
+        ProductStock held = createTestProductStock(3);
+        when(stockGateway.reserve(validSku, 3)).thenReturn(Optional.of(held));
+
+        reserveStockUseCase.execute(validSku, new ReserveStockDTO(3, 60L));
+
+        verify(eventPublisher, times(1)).publishEvent(new StockChangeDTO(StockChangeType.ALTERED, validSku, held));
+    }
+
+    @Test
+    void execute_noTtl_usesDefaultTtl() {
+        when(stockGateway.reserve(validSku, 1)).thenReturn(Optional.of(createTestProductStock(1)));
+
+        Instant before = Instant.now();
+        StockReservation reservation = reserveStockUseCase.execute(validSku, new ReserveStockDTO(1, null));
+
+        assertFalse(reservation.getExpiresAt().isBefore(before.plusSeconds(ReserveStockUseCase.DEFAULT_TTL_SECONDS)));
+    }
+
+    @Test
+    void execute_notEnoughAvailable_throwsIllegalArgumentException() {
+        when(stockGateway.reserve(validSku, 30)).thenReturn(Optional.empty());
+        when(stockGateway.findBySku(validSku)).thenReturn(Optional.of(createTestProductStock(0)));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> reserveStockUseCase.execute(validSku, new ReserveStockDTO(30, null)));
+
+        assertEquals("Stock for sku:" + validSku + " is less than required: 30", exception.getMessage());
+        verifyNoInteractions(stockReservationGateway);
+    }
+
+    @Test
+    void execute_unknownSku_throwsIllegalStateException() {
+        when(stockGateway.reserve(validSku, 1)).thenReturn(Optional.empty());
+        when(stockGateway.findBySku(validSku)).thenReturn(Optional.empty());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> reserveStockUseCase.execute(validSku, new ReserveStockDTO(1, null)));
+
+        assertEquals("Stock not found for sku: " + validSku, exception.getMessage());
+        verifyNoInteractions(stockReservationGateway);
+    }
+
+    @Test
+    void execute_invalidInput_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> reserveStockUseCase.execute(validSku, new ReserveStockDTO(0, null)));
+        assertThrows(IllegalArgumentException.class, () -> reserveStockUseCase.execute(validSku, new ReserveStockDTO(1, 0L)));
+        assertThrows(IllegalArgumentException.class,
+                () -> reserveStockUseCase.execute(validSku, new ReserveStockDTO(1, ReserveStockUseCase.MAX_TTL_SECONDS + 1)));
+        verify(stockGateway, never()).reserve(any(), anyInt());
+    }
+
+    @Test
+    void execute_reservationNotStored_releasesHeldUnits() {
+        when(stockGateway.reserve(validSku, 2)).thenReturn(Optional.of(createTestProductStock(2)));
+        doThrow(new IllegalStateException("write failed")).when(stockReservationGateway).save(any());
+
+        assertThrows(IllegalStateException.class, () -> reserveStockUseCase.execute(validSku, new ReserveStockDTO(2, null)));
+
+        verify(stockGateway, times(1)).releaseReserved(validSku, 2);
+    }
+
+    @Test
+    void execute_holdTakesAvailableDownToTheThreshold_publishesLowStockAlert() {
+        when(stockGateway.reserve(validSku, 3)).thenReturn(Optional.of(new ProductStock("some-id", validSku, "Test Product", 10, 5, 1, 5)));
+        when(stockGateway.isPostImageExact(validSku)).thenReturn(true);
+
+        reserveStockUseCase.execute(validSku, new ReserveStockDTO(3, 60L));
+
+        verify(eventPublisher).publishEvent(new LowStockAlertDTO(validSku, 5, 5, true));
+    }
+}
@@ -0,0 +1,31 @@
+package com.fiap.stock.core.usecase;
+
+import com.fiap.stock.core.gateway.StockMovementGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class SnapshotStockMovementsUseCaseTest {
+
+    private StockMovementGateway stockMovementGateway;
+    private SnapshotStockMovementsUseCase snapshotStockMovementsUseCase;
+
+    @BeforeEach
+    void setUp() {
+        stockMovementGateway = mock(StockMovementGateway.class);
+        snapshotStockMovementsUseCase = new SnapshotStockMovementsUseCase(stockMovementGateway);
+    }
+
+    @Test
+    void execute_foldsMovementsOlderThanTheSettleDelay() {
+        Duration settle = Duration.ofSeconds(10);
+        when(stockMovementGateway.snapshot(settle)).thenReturn(3);
+
+        assertEquals(3, snapshotStockMovementsUseCase.execute(settle));
+        verify(stockMovementGateway, times(1)).snapshot(settle);
+    }
+}
@@ -0,0 +1,71 @@
+package com.fiap.stock.core.usecase.reactive;
+
+import com.fiap.stock.core.dto.UpdateProductStockDTO;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.entity.StockOperation;
+import com.fiap.stock.core.exception.InsufficientStockException;
+import com.fiap.stock.core.usecase.AlterProductStockUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+class ReactiveAlterProductStockUseCaseTest {
+
+    private AlterProductStockUseCase blockingUseCase;
+    private ReactiveAlterProductStockUseCase alterProductStockUseCase;
+
+    private final String validSku = "TEST-SKU";
+    private final String validId = UUID.randomUUID().toString();
+
+    @BeforeEach
+    void setUp() {
+        blockingUseCase = mock(AlterProductStockUseCase.class);
+        alterProductStockUseCase = new ReactiveAlterProductStockUseCase(blockingUseCase);
+    }
+
+    @Test
+    void execute_enoughStock_emitsThePostImageOfTheBlockingWrite() {
+        var input = new UpdateProductStockDTO(StockOperation.DECREASE, 3);
+        when(blockingUseCase.execute(validSku, input)).thenReturn(new ProductStock(validId, validSku, "Test Product", 7));
+
+        StepVerifier.create(alterProductStockUseCase.execute(validSku, input))
+                .expectNextMatches(stock -> stock.getQuantity() == 7)
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_blockingWriteRejects_errorsWithItsException() {
+        var input = new UpdateProductStockDTO(StockOperation.DECREASE, 30);
+        when(blockingUseCase.execute(validSku, input)).thenThrow(new InsufficientStockException(validSku, 30));
+
+        StepVerifier.create(alterProductStockUseCase.execute(validSku, input))
+                .expectError(InsufficientStockException.class)
+                .verify();
+    }
+
+    @Test
+    void execute_notSubscribed_writesNothing() {
+        alterProductStockUseCase.execute(validSku, new UpdateProductStockDTO(StockOperation.INCREASE, 1));
+
+        verifyNoInteractions(blockingUseCase);
+    }
+
+    @Test
+    void execute_blockingWrite_runsOffTheCallingThread() {
+        var caller = Thread.currentThread();
+        var input = new UpdateProductStockDTO(StockOperation.INCREASE, 1);
+        when(blockingUseCase.execute(validSku, input)).thenAnswer(invocation -> {
+            if (Thread.currentThread() == caller)
+                throw new IllegalStateException("blocking write on the subscribing thread");
+            return new ProductStock(validId, validSku, "Test Product", 11);
+        });
+
+        StepVerifier.create(alterProductStockUseCase.execute(validSku, input))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+}
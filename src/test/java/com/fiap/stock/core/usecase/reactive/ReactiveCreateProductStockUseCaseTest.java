@@ -0,0 +1,51 @@
+package com.fiap.stock.core.usecase.reactive;
+
+import com.fiap.stock.core.dto.CreateProductStockDTO;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.usecase.CreateProductStockUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class ReactiveCreateProductStockUseCaseTest {
+
+    private CreateProductStockUseCase blockingUseCase;
+    private ReactiveCreateProductStockUseCase createProductStockUseCase;
+
+    private final String validSku = "TEST-SKU";
+    private final String validName = "Test Product";
+
+    @BeforeEach
+    void setUp() {
+        blockingUseCase = mock(CreateProductStockUseCase.class);
+        createProductStockUseCase = new ReactiveCreateProductStockUseCase(blockingUseCase);
+    }
+
+    @Test
+    void execute_newSku_emitsTheStockTheBlockingUseCaseCreated() {
+        var input = new CreateProductStockDTO(validSku, validName, 10);
+        when(blockingUseCase.execute(input)).thenReturn(new ProductStock("generated-id", validSku, validName, 10));
+
+        StepVerifier.create(createProductStockUseCase.execute(input))
+                .assertNext(stock -> {
+                    assertEquals("generated-id", stock.getId());
+                    assertEquals(validSku, stock.getSku());
+                    assertEquals(10, stock.getQuantity());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_duplicateSku_errorsWithIllegalState() {
+        var input = new CreateProductStockDTO(validSku, validName, 10);
+        when(blockingUseCase.execute(input)).thenThrow(new IllegalStateException("Stock for sku already exists"));
+
+        StepVerifier.create(createProductStockUseCase.execute(input))
+                .expectErrorMatches(error -> error instanceof IllegalStateException
+                        && error.getMessage().equals("Stock for sku already exists"))
+                .verify();
+    }
+}
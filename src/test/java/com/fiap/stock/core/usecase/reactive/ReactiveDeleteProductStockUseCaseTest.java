@@ -0,0 +1,42 @@
+package com.fiap.stock.core.usecase.reactive;
+
+import com.fiap.stock.core.exception.StockNotFoundException;
+import com.fiap.stock.core.usecase.DeleteProductStockUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+class ReactiveDeleteProductStockUseCaseTest {
+
+    private DeleteProductStockUseCase blockingUseCase;
+    private ReactiveDeleteProductStockUseCase deleteProductStockUseCase;
+
+    private final String validId = UUID.randomUUID().toString();
+
+    @BeforeEach
+    void setUp() {
+        blockingUseCase = mock(DeleteProductStockUseCase.class);
+        deleteProductStockUseCase = new ReactiveDeleteProductStockUseCase(blockingUseCase);
+    }
+
+    @Test
+    void execute_existingId_deletesThroughTheBlockingUseCase() {
+        StepVerifier.create(deleteProductStockUseCase.execute(validId))
+                .verifyComplete();
+        verify(blockingUseCase, times(1)).execute(validId);
+    }
+
+    @Test
+    void execute_unknownId_errorsWithStockNotFound() {
+        doThrow(new StockNotFoundException("Stock not found with id: " + validId)).when(blockingUseCase).execute(validId);
+
+        StepVerifier.create(deleteProductStockUseCase.execute(validId))
+                .expectErrorMatches(error -> error instanceof StockNotFoundException
+                        && error.getMessage().equals("Stock not found with id: " + validId))
+                .verify();
+    }
+}
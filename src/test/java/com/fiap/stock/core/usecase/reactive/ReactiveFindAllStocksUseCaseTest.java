@@ -0,0 +1,41 @@
+package com.fiap.stock.core.usecase.reactive;
+
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.gateway.ReactiveStockGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.*;
+
+class ReactiveFindAllStocksUseCaseTest {
+
+    private ReactiveStockGateway stockGateway;
+    private ReactiveFindAllStocksUseCase findAllStocksUseCase;
+
+    @BeforeEach
+    void setUp() {
+        stockGateway = mock(ReactiveStockGateway.class);
+        findAllStocksUseCase = new ReactiveFindAllStocksUseCase(stockGateway);
+    }
+
+    @Test
+    void execute_stocksExist_streamsThemInGatewayOrder() {
+        ProductStock first = new ProductStock("id-1", "SKU-1", "Product 1", 1);
+        ProductStock second = new ProductStock("id-2", "SKU-2", "Product 2", 2);
+        when(stockGateway.findAll()).thenReturn(Flux.just(first, second));
+
+        StepVerifier.create(findAllStocksUseCase.execute())
+                .expectNext(first, second)
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_noStocks_completesEmpty() {
+        when(stockGateway.findAll()).thenReturn(Flux.empty());
+
+        StepVerifier.create(findAllStocksUseCase.execute())
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,47 @@
+package com.fiap.stock.core.usecase.reactive;
+
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.exception.StockNotFoundException;
+import com.fiap.stock.core.gateway.ReactiveStockGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+class ReactiveFindStockUseCaseTest {
+
+    private ReactiveStockGateway stockGateway;
+    private ReactiveFindStockUseCase findStockUseCase;
+
+    private final String validSku = "TEST-SKU";
+
+    @BeforeEach
+    void setUp() {
+        stockGateway = mock(ReactiveStockGateway.class);
+        findStockUseCase = new ReactiveFindStockUseCase(stockGateway);
+    }
+
+    @Test
+    void execute_existingSku_emitsStock() {
+        ProductStock stock = new ProductStock(UUID.randomUUID().toString(), validSku, "Test Product", 10);
+        when(stockGateway.findBySku(validSku)).thenReturn(Mono.just(stock));
+
+        StepVerifier.create(findStockUseCase.execute(validSku))
+                .expectNext(stock)
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_unknownSku_errorsWithStockNotFound() {
+        when(stockGateway.findBySku(validSku)).thenReturn(Mono.empty());
+
+        StepVerifier.create(findStockUseCase.execute(validSku))
+                .expectErrorMatches(error -> error instanceof StockNotFoundException
+                        && error.getMessage().equals("Stock not found with sku: " + validSku))
+                .verify();
+    }
+}
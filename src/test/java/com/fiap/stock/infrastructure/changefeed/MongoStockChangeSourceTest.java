@@ -0,0 +1,38 @@
+package com.fiap.stock.infrastructure.changefeed;
+
+import com.mongodb.client.model.changestream.UpdateDescription;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoStockChangeSourceTest {
+
+    private static final Set<String> MOVE_FIELDS = Set.of("pendingMove", "applied");
+
+    @Test
+    void isMove_quantityOnly_returnsFalse() {
+        var update = new UpdateDescription(List.of(), new BsonDocument("quantity", new BsonInt32(7)));
+
+        assertFalse(MongoStockChangeSource.isMove(update, MOVE_FIELDS));
+    }
+
+    @Test
+    void isMove_quantityWithAMoveField_returnsTrue() {
+        var update = new UpdateDescription(List.of(),
+                new BsonDocument("quantity", new BsonInt32(7)).append("applied.3", new BsonInt32(1)));
+
+        assertTrue(MongoStockChangeSource.isMove(update, MOVE_FIELDS));
+    }
+
+    @Test
+    void isMove_moveFieldRemoved_returnsTrue() {
+        var update = new UpdateDescription(List.of("pendingMove"), new BsonDocument());
+
+        assertTrue(MongoStockChangeSource.isMove(update, MOVE_FIELDS));
+    }
+}
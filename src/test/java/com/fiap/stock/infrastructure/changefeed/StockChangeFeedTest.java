@@ -0,0 +1,191 @@
+package com.fiap.stock.infrastructure.changefeed;
+
+import com.fiap.stock.core.dto.StockChangeDTO;
+import com.fiap.stock.core.entity.StockChangeType;
+import com.fiap.stock.infrastructure.config.StockChangeProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockChangeFeedTest {
+
+    private static final int BUFFER_SIZE = 4;
+    private static final long FLOOR = 100;
+
+    private StockChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new StockChangeFeed(new StockChangeProperties(
+                StockChangeProperties.Source.LOCAL, BUFFER_SIZE, Duration.ofSeconds(15), Duration.ofMinutes(30)));
+        feed.open(FLOOR, "test");
+    }
+
+    private StockChangeDTO change(String sku) {
+        return new StockChangeDTO(StockChangeType.ALTERED, sku, null);
+    }
+
+    private List<Long> sequences(StockChangeFeed.Batch batch) {
+        return batch.changes().stream().map(SequencedStockChange::sequence).toList();
+    }
+
+    @Test
+    void append_sequencesChangesAfterTheFloor() {
+        assertEquals(FLOOR + 1, feed.append(change("A")));
+        assertEquals(FLOOR + 2, feed.append(change("B")));
+        assertEquals(FLOOR + 2, feed.last());
+    }
+
+    @Test
+    void read_changesAfterCursor_returnsThemInOrder() throws InterruptedException {
+        feed.append(change("A"));
+        feed.append(change("B"));
+        feed.append(change("C"));
+
+        StockChangeFeed.Batch batch = feed.read(FLOOR + 1, 10, Duration.ZERO);
+
+        assertFalse(batch.reset());
+        assertEquals(List.of(FLOOR + 2, FLOOR + 3), sequences(batch));
+        assertEquals("B", batch.changes().get(0).change().sku());
+        assertEquals(FLOOR + 3, batch.cursor());
+    }
+
+    @Test
+    void read_moreChangesThanMax_returnsMaxAndCursorOnTheLastReturned() throws InterruptedException {
+        feed.append(change("A"));
+        feed.append(change("B"));
+        feed.append(change("C"));
+
+        StockChangeFeed.Batch batch = feed.read(FLOOR, 2, Duration.ZERO);
+
+        assertEquals(List.of(FLOOR + 1, FLOOR + 2), sequences(batch));
+        assertEquals(FLOOR + 2, batch.cursor());
+    }
+
+    @Test
+    void read_nothingNew_timesOutWithEmptyBatchAtTheSameCursor() throws InterruptedException {
+        feed.append(change("A"));
+
+        StockChangeFeed.Batch batch = feed.read(FLOOR + 1, 10, Duration.ofMillis(20));
+
+        assertFalse(batch.reset());
+        assertTrue(batch.changes().isEmpty());
+        assertEquals(FLOOR + 1, batch.cursor());
+    }
+
+    @Test
+    void read_waitingReader_wakesUpOnAppend() throws Exception {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Future<StockChangeFeed.Batch> pending = executor.submit(() -> feed.read(FLOOR, 10, Duration.ofSeconds(10)));
+            Thread.sleep(50);
+            feed.append(change("A"));
+
+            StockChangeFeed.Batch batch = pending.get(5, TimeUnit.SECONDS);
+
+            assertEquals(List.of(FLOOR + 1), sequences(batch));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void read_cursorEvictedFromBuffer_returnsResetAtTheLatestSequence() throws InterruptedException {
+        for (int i = 0; i < BUFFER_SIZE + 2; i++)
+            feed.append(change("S" + i));
+
+        StockChangeFeed.Batch batch = feed.read(FLOOR + 1, 10, Duration.ZERO);
+
+        assertTrue(batch.reset());
+        assertTrue(batch.changes().isEmpty());
+        assertEquals(FLOOR + BUFFER_SIZE + 2, batch.cursor());
+    }
+
+    @Test
+    void read_oldestCursorStillHeld_returnsTheWholeBuffer() throws InterruptedException {
+        for (int i = 0; i < BUFFER_SIZE + 2; i++)
+            feed.append(change("S" + i));
+
+        StockChangeFeed.Batch batch = feed.read(FLOOR + 2, 10, Duration.ZERO);
+
+        assertFalse(batch.reset());
+        assertEquals(List.of(FLOOR + 3, FLOOR + 4, FLOOR + 5, FLOOR + 6), sequences(batch));
+    }
+
+    @Test
+    void read_cursorAheadOfTheFeed_returnsReset() throws InterruptedException {
+        feed.append(change("A"));
+
+        StockChangeFeed.Batch batch = feed.read(FLOOR + 50, 10, Duration.ZERO);
+
+        assertTrue(batch.reset());
+        assertEquals(FLOOR + 1, batch.cursor());
+    }
+
+    @Test
+    void read_cursorFromBeforeTheFeedOpened_returnsReset() throws InterruptedException {
+        StockChangeFeed.Batch batch = feed.read(FLOOR - 1, 10, Duration.ZERO);
+
+        assertTrue(batch.reset());
+        assertEquals(FLOOR, batch.cursor());
+    }
+
+    @Test
+    void appendSequenced_replayedSequence_isIgnored() throws InterruptedException {
+        feed.append(FLOOR + 10, change("A"));
+        feed.append(FLOOR + 10, change("A"));
+        feed.append(FLOOR + 20, change("B"));
+
+        StockChangeFeed.Batch batch = feed.read(FLOOR, 10, Duration.ZERO);
+
+        assertEquals(List.of(FLOOR + 10, FLOOR + 20), sequences(batch));
+    }
+
+    @Test
+    void localSource_publishedChange_isAppendedToTheFeed() throws InterruptedException {
+        LocalStockChangeSource source = new LocalStockChangeSource(feed);
+        long opened = feed.last();
+
+        source.onChange(change("A"));
+
+        StockChangeFeed.Batch batch = feed.read(opened, 10, Duration.ZERO);
+        assertEquals(List.of(opened + 1), sequences(batch));
+        assertTrue(opened > FLOOR);
+    }
+
+    @Test
+    void version_movesWithEveryChange() {
+        String opened = feed.version();
+
+        feed.append(change("A"));
+
+        assertEquals("test-" + FLOOR, opened);
+        assertEquals("test-" + (FLOOR + 1), feed.version());
+    }
+
+    @Test
+    void version_beforeOpen_isNull() {
+        var unopened = new StockChangeFeed(new StockChangeProperties(
+                StockChangeProperties.Source.MONGO, BUFFER_SIZE, Duration.ofSeconds(15), Duration.ofMinutes(30)));
+
+        assertNull(unopened.version());
+    }
+
+    @Test
+    void localSource_twoRuns_haveDifferentOrigins() {
+        var other = new StockChangeFeed(new StockChangeProperties(
+                StockChangeProperties.Source.LOCAL, BUFFER_SIZE, Duration.ofSeconds(15), Duration.ofMinutes(30)));
+        new LocalStockChangeSource(feed);
+        new LocalStockChangeSource(other);
+
+        assertNotEquals(feed.version().split("-")[0], other.version().split("-")[0]);
+    }
+}
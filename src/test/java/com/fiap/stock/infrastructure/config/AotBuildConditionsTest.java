@@ -0,0 +1,65 @@
+package com.fiap.stock.infrastructure.config;
+
+import com.fiap.stock.infrastructure.changefeed.MongoStockChangeSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import static com.fiap.stock.infrastructure.config.AotBuildConditions.TASK_EXECUTOR;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AotBuildConditionsTest {
+
+    private MockEnvironment environment;
+    private DefaultListableBeanFactory beanFactory;
+    private AotBuildConditions conditions;
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment();
+        beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("cacheManager", new RootBeanDefinition(NoOpCacheManager.class));
+        beanFactory.registerBeanDefinition(TASK_EXECUTOR, new RootBeanDefinition(ThreadPoolTaskExecutor.class));
+        conditions = new AotBuildConditions(environment, beanFactory);
+    }
+
+    @Test
+    void check_runtimeMatchesTheBuild_passes() {
+        environment.setProperty("spring.cache.type", "none");
+        environment.setProperty("stock.changes.source", "local");
+
+        assertDoesNotThrow(conditions::check);
+    }
+
+    @Test
+    void check_cacheAndVirtualThreadsEnabledOnlyAtRuntime_throwsNamingBoth() {
+        environment.setProperty("spring.cache.type", "caffeine");
+        environment.setProperty("spring.threads.virtual.enabled", "true");
+
+        var e = assertThrows(IllegalStateException.class, conditions::check);
+        assertTrue(e.getMessage().contains("spring.cache.type=caffeine"));
+        assertTrue(e.getMessage().contains("spring.threads.virtual.enabled"));
+    }
+
+    @Test
+    void check_builtWithMongoSourceAndVirtualThreads_throwsWhenRuntimeTurnsThemOff() {
+        beanFactory.registerBeanDefinition("mongoStockChangeSource", new RootBeanDefinition(MongoStockChangeSource.class));
+        beanFactory.registerBeanDefinition(TASK_EXECUTOR, new RootBeanDefinition(SimpleAsyncTaskExecutor.class));
+
+        var e = assertThrows(IllegalStateException.class, conditions::check);
+        assertTrue(e.getMessage().contains("stock.changes.source=mongo is off at runtime but on in the build"));
+        assertTrue(e.getMessage().contains("spring.threads.virtual.enabled is off at runtime but on in the build"));
+    }
+
+    @Test
+    void check_reactiveProfileActiveOnlyAtRuntime_throws() {
+        environment.setActiveProfiles("reactive");
+
+        assertThrows(IllegalStateException.class, conditions::check);
+    }
+}
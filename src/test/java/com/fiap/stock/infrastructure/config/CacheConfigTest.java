@@ -0,0 +1,140 @@
+package com.fiap.stock.infrastructure.config;
+
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.infrastructure.gateway.StockGatewayImpl;
+import com.fiap.stock.infrastructure.hotsku.HotSkuCoalescer;
+import com.fiap.stock.infrastructure.repository.StockRepository;
+import com.fiap.stock.infrastructure.repository.model.ProductStockModel;
+import com.fiap.stock.infrastructure.shardedsku.ShardedStockCounters;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.fiap.stock.infrastructure.config.CacheConfig.STOCKS_CACHE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+class CacheConfigTest {
+
+    @Configuration
+    @Import(CacheConfig.class)
+    static class TestConfig {
+        @Bean
+        StockRepository stockRepository() {
+            return mock(StockRepository.class);
+        }
+
+        @Bean
+        StockGateway stockGateway(StockRepository stockRepository) {
+            return new StockGatewayImpl(stockRepository, mock(HotSkuCoalescer.class), passThroughShards());
+        }
+
+        private static ShardedStockCounters passThroughShards() {
+            var shardedStockCounters = mock(ShardedStockCounters.class);
+            when(shardedStockCounters.withShards(any())).thenAnswer(invocation -> invocation.getArgument(0));
+            return shardedStockCounters;
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            var cacheManager = new CaffeineCacheManager(STOCKS_CACHE);
+            cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100).recordStats());
+            return cacheManager;
+        }
+    }
+
+    @Autowired
+    private StockGateway stockGateway;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final String validSku = "TEST-SKU";
+
+    private ProductStockModel createTestProductStockModel(int quantity) {
+        return ProductStockModel.builder()
+                .id("some-id")
+                .sku(validSku)
+                .name("Test Product")
+                .quantity(quantity)
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        reset(stockRepository);
+        cacheManager.getCache(STOCKS_CACHE).clear();
+    }
+
+    @Test
+    void findBySku_repeatedLookups_hitMongoOnce() {
+        when(stockRepository.findBySku(validSku)).thenReturn(Optional.of(createTestProductStockModel(10)));
+
+        stockGateway.findBySku(validSku);
+        Optional<ProductStock> cached = stockGateway.findBySku(validSku);
+
+        assertEquals(10, cached.orElseThrow().getQuantity());
+        verify(stockRepository, times(1)).findBySku(validSku);
+    }
+
+    @Test
+    void findBySku_cachedEntry_isReadOnly() {
+        when(stockRepository.findBySku(validSku)).thenReturn(Optional.of(createTestProductStockModel(10)));
+
+        var first = stockGateway.findBySku(validSku).orElseThrow();
+
+        assertThrows(IllegalStateException.class, () -> first.decreaseStock(4));
+        assertEquals(10, stockGateway.findBySku(validSku).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void adjustQuantity_updatesCachedEntryWithPostImage() {
+        when(stockRepository.findBySku(validSku)).thenReturn(Optional.of(createTestProductStockModel(10)));
+        when(stockRepository.adjustQuantity(validSku, -3)).thenReturn(Optional.of(createTestProductStockModel(7)));
+
+        stockGateway.findBySku(validSku);
+        stockGateway.adjustQuantity(validSku, -3);
+
+        assertEquals(7, stockGateway.findBySku(validSku).orElseThrow().getQuantity());
+        verify(stockRepository, times(1)).findBySku(validSku);
+    }
+
+    @Test
+    void findBySku_miss_isNotCached() {
+        when(stockRepository.findBySku(validSku)).thenReturn(Optional.empty());
+
+        stockGateway.findBySku(validSku);
+        stockGateway.findBySku(validSku);
+
+        assertNull(cacheManager.getCache(STOCKS_CACHE).get(validSku));
+        verify(stockRepository, times(2)).findBySku(validSku);
+    }
+
+    @Test
+    void deleteAndBulkAdjustments_clearTheCache() {
+        when(stockRepository.findBySku(validSku)).thenReturn(Optional.of(createTestProductStockModel(10)));
+
+        stockGateway.findBySku(validSku);
+        stockGateway.deleteById("some-id");
+        stockGateway.findBySku(validSku);
+        stockGateway.adjustQuantities(List.of());
+        stockGateway.findBySku(validSku);
+
+        verify(stockRepository, times(3)).findBySku(validSku);
+    }
+}
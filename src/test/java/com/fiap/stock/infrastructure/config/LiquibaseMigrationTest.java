@@ -0,0 +1,143 @@
+package com.fiap.stock.infrastructure.config;
+
+import com.fiap.stock.infrastructure.config.LiquibaseMigrationProperties.Mode;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.RanChangeSet;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiquibaseMigrationTest {
+
+    // no database answers this url, every mode that reaches the database fails straight away
+    private final LiquibaseMigration migration = new LiquibaseMigration("unknown://nowhere", "db-json/master.json", "uuid-key");
+
+    @Test
+    void run_skip_isReadyWithoutTouchingTheDatabase() {
+        migration.run(Mode.SKIP);
+
+        assertEquals(Status.UP, migration.health().getStatus());
+        assertEquals(Mode.SKIP, migration.health().getDetails().get("mode"));
+    }
+
+    @Test
+    void run_updateFailing_failsStartupAndReportsDown() {
+        assertThrows(IllegalStateException.class, () -> migration.run(Mode.UPDATE));
+
+        assertEquals(Status.DOWN, migration.health().getStatus());
+    }
+
+    @Test
+    void run_validateOnlyFailing_failsStartupAndReportsDown() {
+        assertThrows(IllegalStateException.class, () -> migration.run(Mode.VALIDATE_ONLY));
+
+        assertEquals(Status.DOWN, migration.health().getStatus());
+    }
+
+    @Test
+    void run_validateOnlyOnAMigratedDatabase_isReady() {
+        var ranOnce = changeSet("ran-once", false);
+        var ranAlways = changeSet("ran-always", true);
+        var migrated = validating(new LiquibaseMigration.ChangeLogState(
+                List.of(ranAlways), List.of(new RanChangeSet(ranOnce), new RanChangeSet(ranAlways))));
+
+        migrated.run(Mode.VALIDATE_ONLY);
+
+        assertEquals(Status.UP, migrated.health().getStatus());
+        assertTrue(migrated.isComplete());
+    }
+
+    @Test
+    void run_validateOnlyWithPendingChangeSets_failsStartupNamingThem() {
+        var neverRanAlways = changeSet("never-ran-always", true);
+        var pending = validating(new LiquibaseMigration.ChangeLogState(
+                List.of(changeSet("pending", false), neverRanAlways), List.of()));
+
+        var e = assertThrows(IllegalStateException.class, () -> pending.run(Mode.VALIDATE_ONLY));
+
+        assertEquals("Liquibase change sets pending: pending, never-ran-always", e.getMessage());
+        assertEquals(Status.DOWN, pending.health().getStatus());
+    }
+
+    private static ChangeSet changeSet(String id, boolean alwaysRun) {
+        return new ChangeSet(id, "ms-stock", alwaysRun, false, "db-json/master.json", null, null, null);
+    }
+
+    private static LiquibaseMigration validating(LiquibaseMigration.ChangeLogState state) {
+        return new LiquibaseMigration("unknown://nowhere", "db-json/master.json", "uuid-key") {
+            @Override
+            ChangeLogState changeLogState() {
+                return state;
+            }
+        };
+    }
+
+    @Test
+    void run_async_returnsAtOnceAndStaysOutOfRotationWhenTheUpdateFails() throws InterruptedException {
+        migration.run(Mode.ASYNC);
+
+        assertNotEquals(Status.UP, migration.health().getStatus());
+        for (int i = 0; i < 100 && migration.health().getStatus() != Status.DOWN; i++)
+            Thread.sleep(50);
+        assertEquals(Status.DOWN, migration.health().getStatus());
+    }
+
+    @Test
+    void run_asyncSucceeding_startsTheWaitingWorkOnlyOnceTheSchemaIsMigrated() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        var migrating = new LiquibaseMigration("unknown://nowhere", "db-json/master.json", "uuid-key") {
+            @Override
+            void update() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        var started = new CountDownLatch(1);
+        migrating.run(Mode.ASYNC);
+        migrating.whenComplete(started::countDown);
+
+        assertFalse(migrating.isComplete());
+        assertEquals(1, started.getCount());
+        release.countDown();
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(migrating.isComplete());
+        assertEquals(Status.UP, migrating.health().getStatus());
+    }
+
+    @Test
+    void whenComplete_alreadyMigrated_runsAtOnce() {
+        migration.run(Mode.SKIP);
+        var ran = new AtomicBoolean();
+
+        migration.whenComplete(() -> ran.set(true));
+
+        assertTrue(ran.get());
+    }
+
+    @Test
+    void whenComplete_waitingWorkFails_takesThePodOutOfRotation() {
+        var failing = new LiquibaseMigration("unknown://nowhere", "db-json/master.json", "uuid-key");
+        failing.whenComplete(() -> {
+            throw new IllegalStateException("lease held elsewhere");
+        });
+
+        failing.run(Mode.SKIP);
+
+        assertEquals(Status.DOWN, failing.health().getStatus());
+    }
+
+    @Test
+    void properties_noMode_defaultsToUpdate() {
+        assertEquals(Mode.UPDATE, new LiquibaseMigrationProperties(null, null).mode());
+    }
+}
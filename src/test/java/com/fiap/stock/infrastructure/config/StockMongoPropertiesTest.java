@@ -0,0 +1,62 @@
+package com.fiap.stock.infrastructure.config;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.TaggableReadPreference;
+import com.mongodb.WriteConcern;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StockMongoPropertiesTest {
+
+    @Test
+    void toReadPreference_secondaryWithMaxStaleness_boundsTheStaleness() {
+        var readPreference = new StockMongoProperties.CatalogReads("secondaryPreferred", Duration.ofSeconds(120))
+                .toReadPreference();
+
+        assertEquals("secondaryPreferred", readPreference.getName());
+        assertEquals(120, ((TaggableReadPreference) readPreference).getMaxStaleness(TimeUnit.SECONDS));
+    }
+
+    @Test
+    void toReadPreference_withoutMaxStaleness_leavesItUnbounded() {
+        var readPreference = new StockMongoProperties.CatalogReads("secondary", null).toReadPreference();
+
+        assertNull(((TaggableReadPreference) readPreference).getMaxStaleness(TimeUnit.SECONDS));
+    }
+
+    @Test
+    void toReadPreference_primary_ignoresMaxStaleness() {
+        var readPreference = new StockMongoProperties.CatalogReads("primary", Duration.ofSeconds(90)).toReadPreference();
+
+        assertEquals(ReadPreference.primary(), readPreference);
+    }
+
+    @Test
+    void writeConcerns_knownNames_resolveToTheirWriteConcern() {
+        var writeConcerns = new StockMongoProperties.WriteConcerns("w1", "majority");
+
+        assertEquals(WriteConcern.W1, writeConcerns.restockConcern());
+        assertEquals(WriteConcern.MAJORITY, writeConcerns.drawdownConcern());
+    }
+
+    @Test
+    void writeConcerns_unknownName_throwsIllegalArgumentException() {
+        var writeConcerns = new StockMongoProperties.WriteConcerns("w1", "everyone");
+
+        assertThrows(IllegalArgumentException.class, writeConcerns::drawdownConcern);
+    }
+
+    @Test
+    void new_withoutKeyLayout_keepsTheUuidKey() {
+        var properties = new StockMongoProperties(null, null, null, null, null, null, null);
+
+        assertEquals(StockMongoProperties.KeyLayout.UUID, properties.keyLayout());
+        assertEquals("sku", properties.keyLayout().skuKey());
+    }
+}
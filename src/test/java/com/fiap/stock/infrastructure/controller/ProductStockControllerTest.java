@@ -1,30 +1,57 @@
 package com.fiap.stock.infrastructure.controller;
 
 import com.fiap.stock.core.dto.CreateProductStockDTO;
+import com.fiap.stock.core.dto.StockAdjustmentResultDTO;
+import com.fiap.stock.core.dto.StockAvailabilityDTO;
+import com.fiap.stock.core.dto.StockLedgerDTO;
+import com.fiap.stock.core.dto.StockLookupDTO;
+import com.fiap.stock.core.dto.StockPageDTO;
 import com.fiap.stock.core.dto.UpdateProductStockDTO;
+import com.fiap.stock.core.entity.MovementSource;
 import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.entity.StockMovement;
+import com.fiap.stock.core.exception.InsufficientStockException;
+import com.fiap.stock.core.exception.StockConflictException;
+import com.fiap.stock.core.exception.StockNotFoundException;
 import com.fiap.stock.core.usecase.*;
+import com.fiap.stock.infrastructure.changefeed.StockChangeFeed;
+import com.fiap.stock.infrastructure.config.BinaryContentConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.json.JsonCompareMode;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.time.Instant;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
+import static com.fiap.stock.core.entity.AdjustmentStatus.APPLIED;
+import static com.fiap.stock.core.entity.AdjustmentStatus.INSUFFICIENT_STOCK;
+import static com.fiap.stock.core.entity.StockOperation.DECREASE;
 import static com.fiap.stock.core.entity.StockOperation.INCREASE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ProductStockController.class)
+@Import(BinaryContentConfig.class)
 class ProductStockControllerTest {
 
     @Autowired
@@ -45,11 +72,33 @@ class ProductStockControllerTest {
     @MockitoBean
     private AlterProductStockUseCase alterProductStockUseCase;
 
+    @MockitoBean
+    private BulkAlterProductStockUseCase bulkAlterProductStockUseCase;
+
+    @MockitoBean
+    private FindStocksPageUseCase findStocksPageUseCase;
+
+    @MockitoBean
+    private FindStockAvailabilityUseCase findStockAvailabilityUseCase;
+
+    @MockitoBean
+    private FindStocksBySkuUseCase findStocksBySkuUseCase;
+
+    @MockitoBean
+    private FindStockMovementsUseCase findStockMovementsUseCase;
+
+    @MockitoBean
+    private FindLowStockUseCase findLowStockUseCase;
+
+    @MockitoBean
+    private StockChangeFeed stockChangeFeed;
+
     private final String baseUrl = "/api/v1/stocks";
     private final String validId = UUID.randomUUID().toString();
     private final String validSku = "TEST-SKU";
     private final String validName = "Test Product";
     private final int validQuantity = 10;
+    private final String jsonHash = Integer.toHexString(MediaType.APPLICATION_JSON_VALUE.hashCode());
 
     private ProductStock createTestProductStock() {
         return new ProductStock(validId, validSku, validName, validQuantity);
@@ -67,7 +116,98 @@ class ProductStockControllerTest {
         mockMvc.perform(MockMvcRequestBuilders.get(baseUrl + "/" + validSku))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(content().json("{\"id\":\"" + validId + "\",\"sku\":\"" + validSku + "\",\"name\":\"" + validName + "\",\"quantity\":" + validQuantity + "}"));
+                .andExpect(content().json("{\"id\":\"" + validId + "\",\"sku\":\"" + validSku + "\",\"name\":\"" + validName + "\",\"quantity\":" + validQuantity + "}"))
+                .andExpect(header().string("ETag", "\"" + validId + "-0-" + validQuantity + "-0-0\""))
+                .andExpect(header().string("Vary", "Accept"));
+    }
+
+    @Test
+    void findStock_acceptCbor_returnsCborBody() throws Exception {
+        when(findStockUseCase.execute(validSku)).thenReturn(createTestProductStock());
+
+        byte[] body = mockMvc.perform(MockMvcRequestBuilders.get(baseUrl + "/" + validSku)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode stock = new CBORMapper().readTree(body);
+        assertEquals(validSku, stock.get("sku").asText());
+        assertEquals(validQuantity, stock.get("quantity").asInt());
+    }
+
+    @Test
+    void findAllStocks_acceptSmile_returnsSmileBody() throws Exception {
+        when(findAllStocksUseCase.execute()).thenReturn(Set.of(createTestProductStock()));
+
+        byte[] body = mockMvc.perform(MockMvcRequestBuilders.get(baseUrl)
+                        .accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode stocks = new SmileMapper().readTree(body);
+        assertEquals(validSku, stocks.get(0).get("sku").asText());
+    }
+
+    @Test
+    void findStock_noAccept_staysJson() throws Exception {
+        when(findStockUseCase.execute(validSku)).thenReturn(createTestProductStock());
+
+        mockMvc.perform(MockMvcRequestBuilders.get(baseUrl + "/" + validSku))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void findStock_matchingIfNoneMatch_returnsNotModifiedWithoutBody() throws Exception {
+        when(findStockUseCase.execute(validSku)).thenReturn(new ProductStock(validId, validSku, validName, validQuantity, 2, 7));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(baseUrl + "/" + validSku).accept(MediaType.APPLICATION_JSON)
+                        .header("If-None-Match", "\"" + validId + "-7-" + validQuantity + "-2-" + jsonHash + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+                .andExpect(header().string("Vary", "Accept"));
+    }
+
+    @Test
+    void findStock_tagOfAnotherRepresentation_returnsOk() throws Exception {
+        when(findStockUseCase.execute(validSku)).thenReturn(new ProductStock(validId, validSku, validName, validQuantity, 2, 7));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(baseUrl + "/" + validSku).accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", "\"" + validId + "-7-" + validQuantity + "-2-" + jsonHash + "\""))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    void findStock_staleIfNoneMatch_returnsOkWithNewETag() throws Exception {
+        when(findStockUseCase.execute(validSku)).thenReturn(new ProductStock(validId, validSku, validName, validQuantity, 2, 8));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(baseUrl + "/" + validSku).accept(MediaType.APPLICATION_JSON)
+                        .header("If-None-Match", "\"" + validId + "-7-" + validQuantity + "-2-" + jsonHash + "\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + validId + "-8-" + validQuantity + "-2-" + jsonHash + "\""));
+    }
+
+    @Test
+    void findStockAvailability_existingSku_returnsOkAndQuantitiesOnly() throws Exception {
+        when(findStockAvailabilityUseCase.execute(validSku)).thenReturn(new StockAvailabilityDTO(validSku, validQuantity, 8));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(baseUrl + "/" + validSku + "/availability"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{\"sku\":\"" + validSku + "\",\"quantity\":" + validQuantity + ",\"available\":8}", JsonCompareMode.STRICT));
+    }
+
+    @Test
+    void findStockMovements_defaultLimit_returnsOkAndLedger() throws Exception {
+        var movement = new StockMovement("movement-id", validSku, DECREASE, 2, MovementSource.ADJUSTMENT, Instant.parse("2030-01-01T00:00:00Z"));
+        when(findStockMovementsUseCase.execute(validSku, 50)).thenReturn(new StockLedgerDTO(validSku, 8, List.of(movement)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(baseUrl + "/" + validSku + "/movements"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"sku\":\"" + validSku + "\",\"quantity\":8,\"movements\":[{\"operation\":\"DECREASE\",\"quantity\":2,\"source\":\"ADJUSTMENT\",\"occurredAt\":\"2030-01-01T00:00:00Z\"}]}"));
     }
 
     @Test
@@ -83,6 +223,48 @@ class ProductStockControllerTest {
                 .andExpect(content().json("[{\"id\":\"" + validId + "\",\"sku\":\"" + validSku + "\",\"name\":\"" + validName + "\",\"quantity\":" + validQuantity + "},{\"id\":\"" + productStocks.stream().skip(1).findFirst().orElseThrow().getId() + "\",\"sku\":\"ANOTHER-SKU\",\"name\":\"Another Product\",\"quantity\":5}]"));
     }
 
+    @Test
+    void findAllStocks_taggedWithTheFeedVersionAndAccept() throws Exception {
+        when(stockChangeFeed.version()).thenReturn("cluster-42");
+        when(findAllStocksUseCase.execute()).thenReturn(Set.of());
+
+        mockMvc.perform(MockMvcRequestBuilders.get(baseUrl).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"ccluster-42-" + Integer.toHexString("application/json".hashCode()) + "\""))
+                .andExpect(header().string("Vary", "Accept"));
+    }
+
+    @Test
+    void findAllStocks_noChangeSinceIfNoneMatch_returnsNotModifiedWithoutReading() throws Exception {
+        when(stockChangeFeed.version()).thenReturn("cluster-42");
+        var eTag = "\"ccluster-42-" + Integer.toHexString("application/json".hashCode()) + "\"";
+
+        mockMvc.perform(MockMvcRequestBuilders.get(baseUrl).accept(MediaType.APPLICATION_JSON).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Vary", "Accept"));
+
+        verifyNoInteractions(findAllStocksUseCase);
+    }
+
+    @Test
+    void findAllStocks_tagOfAnotherRepresentation_returnsOk() throws Exception {
+        when(stockChangeFeed.version()).thenReturn("cluster-42");
+        when(findAllStocksUseCase.execute()).thenReturn(Set.of());
+        var jsonTag = "\"ccluster-42-" + Integer.toHexString("application/json".hashCode()) + "\"";
+
+        mockMvc.perform(MockMvcRequestBuilders.get(baseUrl).accept("application/cbor").header("If-None-Match", jsonTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void findAllStocks_feedNotOpenYet_returnsOkWithoutETag() throws Exception {
+        when(findAllStocksUseCase.execute()).thenReturn(Set.of());
+
+        mockMvc.perform(MockMvcRequestBuilders.get(baseUrl))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
     @Test
     void findAllStocks_emptySet_returnsOkAndEmptyArray() throws Exception {
         when(findAllStocksUseCase.execute()).thenReturn(Set.of());
@@ -93,6 +275,50 @@ class ProductStockControllerTest {
                 .andExpect(content().json("[]"));
     }
 
+    @Test
+    void findStocksPage_withLimit_returnsOkAndPageWithCursor() throws Exception {
+        when(findStocksPageUseCase.execute("PREVIOUS-SKU", 1)).thenReturn(new StockPageDTO(List.of(createTestProductStock()), validSku));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(baseUrl).param("after", "PREVIOUS-SKU").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{\"items\":[{\"id\":\"" + validId + "\",\"sku\":\"" + validSku + "\",\"name\":\"" + validName + "\",\"quantity\":" + validQuantity + "}],\"nextCursor\":\"" + validSku + "\"}"));
+    }
+
+    @Test
+    void findLowStock_withLimit_returnsOkAndTheLowStocks() throws Exception {
+        var low = new ProductStock(validId, validSku, validName, 3, 0, 0, 5);
+        when(findLowStockUseCase.execute(20)).thenReturn(List.of(low));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(baseUrl + "/low").param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("[{\"sku\":\"" + validSku + "\",\"quantity\":3,\"reorderThreshold\":5,\"low\":true}]"));
+    }
+
+    @Test
+    void findStocksBySku_commaSeparatedSkus_returnsFoundAndMissing() throws Exception {
+        when(findStocksBySkuUseCase.execute(List.of(validSku, "UNKNOWN-SKU")))
+                .thenReturn(new StockLookupDTO(List.of(createTestProductStock()), List.of("UNKNOWN-SKU")));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(baseUrl).param("skus", validSku + ",UNKNOWN-SKU"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{\"found\":[{\"sku\":\"" + validSku + "\"}],\"missing\":[\"UNKNOWN-SKU\"]}"));
+    }
+
+    @Test
+    void lookupStocks_skusInBody_returnsFoundAndMissing() throws Exception {
+        when(findStocksBySkuUseCase.execute(List.of(validSku)))
+                .thenReturn(new StockLookupDTO(List.of(createTestProductStock()), List.of()));
+
+        mockMvc.perform(MockMvcRequestBuilders.post(baseUrl + "/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"" + validSku + "\"]"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"found\":[{\"sku\":\"" + validSku + "\",\"quantity\":" + validQuantity + "}],\"missing\":[]}"));
+    }
+
     @Test
     void createProductStock_validInput_returnsOkAndCreatedProductStock() throws Exception {
         ProductStock createdStock = createTestProductStock();
@@ -120,6 +346,55 @@ class ProductStockControllerTest {
                 .andExpect(content().json("{\"id\":\"" + validId + "\",\"sku\":\"" + validSku + "\",\"name\":\"" + validName + "\",\"quantity\":" + updateDTO.quantity() + "}"));
     }
 
+    @Test
+    void updateStock_conflictingWriters_returnsConflict() throws Exception {
+        when(alterProductStockUseCase.execute(eq(validSku), any(UpdateProductStockDTO.class)))
+                .thenThrow(new StockConflictException(validSku, 4));
+
+        mockMvc.perform(MockMvcRequestBuilders.put(baseUrl + "/" + validSku)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\":1}"))
+                .andExpect(status().isConflict())
+                .andExpect(content().json("{\"code\":-3}"));
+    }
+
+    @Test
+    void updateStock_insufficientStock_returnsBadRequest() throws Exception {
+        when(alterProductStockUseCase.execute(eq(validSku), any(UpdateProductStockDTO.class)))
+                .thenThrow(new InsufficientStockException(validSku, 30));
+
+        mockMvc.perform(MockMvcRequestBuilders.put(baseUrl + "/" + validSku)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\":30}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().json("{\"message\":\"Stock for sku:" + validSku + " is less than required: 30\",\"code\":-1}"));
+    }
+
+    @Test
+    void findStock_unknownSku_returnsNotFound() throws Exception {
+        when(findStockUseCase.execute(validSku)).thenThrow(new StockNotFoundException("Stock not found with sku: " + validSku));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(baseUrl + "/" + validSku))
+                .andExpect(status().isNotFound())
+                .andExpect(content().json("{\"message\":\"Stock not found with sku: " + validSku + "\",\"code\":-4}"));
+    }
+
+    @Test
+    void adjustStocks_validInput_returnsOkAndOneResultPerLine() throws Exception {
+        when(bulkAlterProductStockUseCase.execute(anyList())).thenReturn(List.of(
+                new StockAdjustmentResultDTO(validSku, INCREASE, 5, APPLIED),
+                new StockAdjustmentResultDTO(validSku, DECREASE, 500, INSUFFICIENT_STOCK)));
+
+        mockMvc.perform(MockMvcRequestBuilders.post(baseUrl + "/adjustments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"sku\":\"" + validSku + "\",\"stockOperation\":\"INCREASE\",\"quantity\":5},"
+                                + "{\"sku\":\"" + validSku + "\",\"stockOperation\":\"DECREASE\",\"quantity\":500}]"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("[{\"sku\":\"" + validSku + "\",\"stockOperation\":\"INCREASE\",\"quantity\":5,\"status\":\"APPLIED\"},"
+                        + "{\"sku\":\"" + validSku + "\",\"stockOperation\":\"DECREASE\",\"quantity\":500,\"status\":\"INSUFFICIENT_STOCK\"}]"));
+    }
+
     @Test
     void deleteProductStock_existingId_returnsOk() throws Exception {
         doNothing().when(deleteProductStockUseCase).execute(validId);
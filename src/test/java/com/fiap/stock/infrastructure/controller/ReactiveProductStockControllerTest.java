@@ -0,0 +1,128 @@
+package com.fiap.stock.infrastructure.controller;
+
+import com.fiap.stock.core.dto.CreateProductStockDTO;
+import com.fiap.stock.core.dto.UpdateProductStockDTO;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.exception.InsufficientStockException;
+import com.fiap.stock.core.exception.StockNotFoundException;
+import com.fiap.stock.core.usecase.reactive.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.fiap.stock.core.entity.StockOperation.DECREASE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ActiveProfiles("reactive")
+@WebFluxTest(ReactiveProductStockController.class)
+class ReactiveProductStockControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ReactiveCreateProductStockUseCase createProductStockUseCase;
+
+    @MockitoBean
+    private ReactiveFindAllStocksUseCase findAllStocksUseCase;
+
+    @MockitoBean
+    private ReactiveFindStockUseCase findStockUseCase;
+
+    @MockitoBean
+    private ReactiveDeleteProductStockUseCase deleteProductStockUseCase;
+
+    @MockitoBean
+    private ReactiveAlterProductStockUseCase alterProductStockUseCase;
+
+    private final String validSku = "TEST-SKU";
+
+    private ProductStock createTestProductStock(int quantity) {
+        return new ProductStock("some-id", validSku, "Test Product", quantity);
+    }
+
+    @Test
+    void findStock_existingSku_returnsStock() {
+        when(findStockUseCase.execute(validSku)).thenReturn(Mono.just(createTestProductStock(10)));
+
+        webTestClient.get().uri("/api/v1/stocks/{sku}", validSku)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("""
+                        {"id":"some-id","sku":"TEST-SKU","name":"Test Product","quantity":10}
+                        """);
+    }
+
+    @Test
+    void findStock_unknownSku_returnsNotFound() {
+        when(findStockUseCase.execute(validSku))
+                .thenReturn(Mono.error(new StockNotFoundException("Stock not found with sku: " + validSku)));
+
+        webTestClient.get().uri("/api/v1/stocks/{sku}", validSku)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().json("""
+                        {"message":"Stock not found with sku: TEST-SKU","code":-4}
+                        """);
+    }
+
+    @Test
+    void findAllStocks_streamsJsonArray() {
+        when(findAllStocksUseCase.execute()).thenReturn(Flux.just(createTestProductStock(1), createTestProductStock(2)));
+
+        webTestClient.get().uri("/api/v1/stocks")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("""
+                        [{"quantity":1},{"quantity":2}]
+                        """);
+    }
+
+    @Test
+    void createProductStock_validInput_returnsCreatedStock() {
+        when(createProductStockUseCase.execute(any(CreateProductStockDTO.class))).thenReturn(Mono.just(createTestProductStock(5)));
+
+        webTestClient.post().uri("/api/v1/stocks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {"sku":"TEST-SKU","name":"Test Product","quantity":5}
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("""
+                        {"sku":"TEST-SKU","quantity":5}
+                        """);
+    }
+
+    @Test
+    void updateStock_insufficientStock_returnsBadRequest() {
+        when(alterProductStockUseCase.execute(eq(validSku), any(UpdateProductStockDTO.class)))
+                .thenReturn(Mono.error(new InsufficientStockException(validSku, 30)));
+
+        webTestClient.put().uri("/api/v1/stocks/{sku}", validSku)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UpdateProductStockDTO(DECREASE, 30))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().json("""
+                        {"message":"Stock for sku:TEST-SKU is less than required: 30","code":-1}
+                        """);
+    }
+
+    @Test
+    void deleteProductStock_existingId_returnsOk() {
+        when(deleteProductStockUseCase.execute("some-id")).thenReturn(Mono.empty());
+
+        webTestClient.delete().uri("/api/v1/stocks/{id}", "some-id")
+                .exchange()
+                .expectStatus().isOk();
+    }
+}
@@ -0,0 +1,51 @@
+package com.fiap.stock.infrastructure.controller;
+
+import com.fiap.stock.infrastructure.changefeed.StockChangeStreamer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(StockChangeController.class)
+class StockChangeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private StockChangeStreamer stockChangeStreamer;
+
+    @Test
+    void streamChanges_withoutLastEventId_followsFromNow() throws Exception {
+        when(stockChangeStreamer.stream(null)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/stocks/changes")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+
+        verify(stockChangeStreamer).stream(null);
+    }
+
+    @Test
+    void streamChanges_withLastEventId_resumesAfterIt() throws Exception {
+        when(stockChangeStreamer.stream(42L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/stocks/changes")
+                        .header("Last-Event-ID", "42")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+
+        verify(stockChangeStreamer).stream(42L);
+    }
+}
@@ -0,0 +1,86 @@
+package com.fiap.stock.infrastructure.controller;
+
+import com.fiap.stock.core.dto.ReserveStockDTO;
+import com.fiap.stock.core.entity.ReservationStatus;
+import com.fiap.stock.core.entity.StockReservation;
+import com.fiap.stock.core.usecase.ConfirmReservationUseCase;
+import com.fiap.stock.core.usecase.ReleaseReservationUseCase;
+import com.fiap.stock.core.usecase.ReserveStockUseCase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(StockReservationController.class)
+class StockReservationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ReserveStockUseCase reserveStockUseCase;
+
+    @MockitoBean
+    private ConfirmReservationUseCase confirmReservationUseCase;
+
+    @MockitoBean
+    private ReleaseReservationUseCase releaseReservationUseCase;
+
+    private final String baseUrl = "/api/v1/stocks";
+    private final String validId = "reservation-id";
+    private final String validSku = "TEST-SKU";
+    private final Instant validExpiresAt = Instant.parse("2030-01-01T00:00:00Z");
+
+    private StockReservation createTestReservation(ReservationStatus status) {
+        return new StockReservation(validId, validSku, 2, status, validExpiresAt);
+    }
+
+    @Test
+    void reserve_validInput_returnsOkAndActiveReservation() throws Exception {
+        when(reserveStockUseCase.execute(eq(validSku), eq(new ReserveStockDTO(2, 60L)))).thenReturn(createTestReservation(ReservationStatus.ACTIVE));
+
+        mockMvc.perform(MockMvcRequestBuilders.post(baseUrl + "/" + validSku + "/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\":2,\"ttlSeconds\":60}"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{\"id\":\"" + validId + "\",\"sku\":\"" + validSku + "\",\"quantity\":2,\"status\":\"ACTIVE\",\"expiresAt\":\"2030-01-01T00:00:00Z\"}"));
+    }
+
+    @Test
+    void confirm_activeReservation_returnsOkAndConfirmedReservation() throws Exception {
+        when(confirmReservationUseCase.execute(validId)).thenReturn(createTestReservation(ReservationStatus.CONFIRMED));
+
+        mockMvc.perform(MockMvcRequestBuilders.post(baseUrl + "/reservations/" + validId + "/confirm"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"id\":\"" + validId + "\",\"status\":\"CONFIRMED\"}"));
+    }
+
+    @Test
+    void release_activeReservation_returnsOkAndReleasedReservation() throws Exception {
+        when(releaseReservationUseCase.execute(validId)).thenReturn(createTestReservation(ReservationStatus.RELEASED));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete(baseUrl + "/reservations/" + validId))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"id\":\"" + validId + "\",\"status\":\"RELEASED\"}"));
+    }
+
+    @Test
+    void confirm_reservationNotActive_returnsUnprocessableEntity() throws Exception {
+        when(confirmReservationUseCase.execute(validId)).thenThrow(new IllegalStateException("Active reservation not found with id: " + validId));
+
+        mockMvc.perform(MockMvcRequestBuilders.post(baseUrl + "/reservations/" + validId + "/confirm"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(content().json("{\"message\":\"Active reservation not found with id: " + validId + "\",\"code\":-2}"));
+    }
+}
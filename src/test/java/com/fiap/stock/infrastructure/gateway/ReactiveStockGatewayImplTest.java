@@ -0,0 +1,73 @@
+package com.fiap.stock.infrastructure.gateway;
+
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.infrastructure.hotsku.HotSkuCoalescer;
+import com.fiap.stock.infrastructure.shardedsku.ShardedStockCounters;
+import com.fiap.stock.infrastructure.repository.ReactiveStockRepository;
+import com.fiap.stock.infrastructure.repository.model.ProductStockModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReactiveStockGatewayImplTest {
+
+    private ReactiveStockRepository stockRepository;
+    private HotSkuCoalescer hotSkuCoalescer;
+    private ShardedStockCounters shardedStockCounters;
+    private ReactiveStockGatewayImpl stockGateway;
+
+    private final String validSku = "TEST-SKU";
+
+    private ProductStockModel createTestProductStockModel(int quantity) {
+        return ProductStockModel.builder()
+                .id("some-id")
+                .sku(validSku)
+                .name("Test Product")
+                .quantity(quantity)
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        stockRepository = mock(ReactiveStockRepository.class);
+        hotSkuCoalescer = mock(HotSkuCoalescer.class);
+        shardedStockCounters = mock(ShardedStockCounters.class);
+        stockGateway = new ReactiveStockGatewayImpl(stockRepository, hotSkuCoalescer, shardedStockCounters);
+    }
+
+    @Test
+    void findAll_streamsMappedStocks() {
+        when(stockRepository.findAll()).thenReturn(Flux.just(createTestProductStockModel(1), createTestProductStockModel(2)));
+
+        StepVerifier.create(stockGateway.findAll())
+                .expectNextMatches(stock -> stock.getQuantity() == 1)
+                .expectNextMatches(stock -> stock.getQuantity() == 2)
+                .verifyComplete();
+    }
+
+    @Test
+    void findBySku_missingSku_completesEmpty() {
+        when(stockRepository.findBySku(validSku)).thenReturn(Mono.empty());
+
+        StepVerifier.create(stockGateway.findBySku(validSku))
+                .verifyComplete();
+    }
+
+    @Test
+    void findBySku_hotSku_readsTheCoalescerView() {
+        when(hotSkuCoalescer.handles(validSku)).thenReturn(true);
+        when(hotSkuCoalescer.current(validSku)).thenReturn(Optional.of(new ProductStock("some-id", validSku, "Test Product", 9)));
+
+        StepVerifier.create(stockGateway.findBySku(validSku))
+                .expectNextMatches(stock -> stock.getQuantity() == 9)
+                .verifyComplete();
+        verify(stockRepository, never()).findBySku(any());
+    }
+}
@@ -1,17 +1,26 @@
 package com.fiap.stock.infrastructure.gateway;
 
+import com.fiap.stock.core.dto.StockAdjustmentDTO;
+import com.fiap.stock.core.dto.StockAvailabilityDTO;
+import com.fiap.stock.core.entity.AdjustmentStatus;
 import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.entity.StockOperation;
+import com.fiap.stock.infrastructure.hotsku.HotSkuCoalescer;
+import com.fiap.stock.infrastructure.shardedsku.ShardedStockCounters;
 import com.fiap.stock.infrastructure.repository.StockRepository;
 import com.fiap.stock.infrastructure.repository.model.ProductStockModel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -20,6 +29,10 @@ class StockGatewayImplTest {
 
     private StockRepository stockRepository;
 
+    private HotSkuCoalescer hotSkuCoalescer;
+
+    private ShardedStockCounters shardedStockCounters;
+
     private StockGatewayImpl stockGateway;
 
     private final String validId = UUID.randomUUID().toString();
@@ -33,6 +46,7 @@ class StockGatewayImplTest {
                 .sku(validSku)
                 .name(validName)
                 .quantity(validQuantity)
+                .version(0L)
                 .build();
 
     }
@@ -44,7 +58,145 @@ class StockGatewayImplTest {
     @BeforeEach
     void setUp() {
         stockRepository = mock(StockRepository.class);
-        stockGateway = new StockGatewayImpl(stockRepository);
+        hotSkuCoalescer = mock(HotSkuCoalescer.class);
+        shardedStockCounters = mock(ShardedStockCounters.class);
+        when(shardedStockCounters.withShards(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        stockGateway = new StockGatewayImpl(stockRepository, hotSkuCoalescer, shardedStockCounters);
+    }
+
+    @Test
+    void findAllBySku_mapsEveryModelFromOneInQuery() {
+        when(stockRepository.findAllBySkuIn(List.of(validSku, "OTHER"))).thenReturn(List.of(createTestProductStockModel()));
+
+        List<ProductStock> result = stockGateway.findAllBySku(List.of(validSku, "OTHER"));
+
+        assertEquals(1, result.size());
+        assertEquals(validSku, result.get(0).getSku());
+    }
+
+    @Test
+    void findAvailability_regularSku_usesTheCoveredQuery() {
+        when(stockRepository.findAvailability(validSku)).thenReturn(Optional.of(new StockAvailabilityDTO(validSku, 10, 10)));
+
+        Optional<StockAvailabilityDTO> result = stockGateway.findAvailability(validSku);
+
+        assertEquals(10, result.orElseThrow().available());
+        verify(stockRepository, never()).findBySku(any());
+    }
+
+    @Test
+    void findAvailability_hotSku_readsTheCoalescerView() {
+        when(hotSkuCoalescer.handles(validSku)).thenReturn(true);
+        when(hotSkuCoalescer.current(validSku)).thenReturn(Optional.of(new ProductStock(validId, validSku, validName, 9, 2)));
+
+        Optional<StockAvailabilityDTO> result = stockGateway.findAvailability(validSku);
+
+        assertEquals(7, result.orElseThrow().available());
+        verify(stockRepository, never()).findAvailability(any());
+    }
+
+    @Test
+    void adjustQuantity_hotSku_goesThroughTheCoalescer() {
+        when(hotSkuCoalescer.handles(validSku)).thenReturn(true);
+        when(hotSkuCoalescer.adjust(validSku, -1)).thenReturn(Optional.of(createTestProductStockEntity()));
+
+        Optional<ProductStock> result = stockGateway.adjustQuantity(validSku, -1);
+
+        assertTrue(result.isPresent());
+        verify(stockRepository, never()).adjustQuantity(any(), anyInt());
+    }
+
+    @Test
+    void findBySku_shardedSku_readsTheSummedView() {
+        when(shardedStockCounters.handles(validSku)).thenReturn(true);
+        when(shardedStockCounters.current(validSku)).thenReturn(Optional.of(new ProductStock(validId, validSku, validName, 40)));
+
+        Optional<ProductStock> result = stockGateway.findBySku(validSku);
+
+        assertEquals(40, result.orElseThrow().getQuantity());
+        verify(stockRepository, never()).findBySku(any());
+    }
+
+    @Test
+    void isPostImageExact_onlyForSkusWrittenInPlace() {
+        when(hotSkuCoalescer.handles("HOT")).thenReturn(true);
+        when(shardedStockCounters.handles("SHARDED")).thenReturn(true);
+
+        assertTrue(stockGateway.isPostImageExact(validSku));
+        assertFalse(stockGateway.isPostImageExact("HOT"));
+        assertFalse(stockGateway.isPostImageExact("SHARDED"));
+    }
+
+    @Test
+    void findCurrent_hotSku_readsTheCoalescerView() {
+        when(hotSkuCoalescer.handles(validSku)).thenReturn(true);
+        when(hotSkuCoalescer.current(validSku)).thenReturn(Optional.of(new ProductStock(validId, validSku, validName, 9)));
+
+        assertEquals(9, stockGateway.findCurrent(validSku).orElseThrow().getQuantity());
+        verify(stockRepository, never()).findBySku(any());
+    }
+
+    @Test
+    void findCurrent_shardedSku_reloadsTheSubCounters() {
+        when(shardedStockCounters.handles(validSku)).thenReturn(true);
+        when(shardedStockCounters.reload(validSku)).thenReturn(Optional.of(new ProductStock(validId, validSku, validName, 40)));
+
+        assertEquals(40, stockGateway.findCurrent(validSku).orElseThrow().getQuantity());
+        verify(shardedStockCounters, never()).current(any());
+    }
+
+    @Test
+    void adjustQuantity_shardedSku_goesThroughTheSubCounters() {
+        when(shardedStockCounters.handles(validSku)).thenReturn(true);
+        when(shardedStockCounters.adjust(validSku, -1)).thenReturn(Optional.of(createTestProductStockEntity()));
+
+        Optional<ProductStock> result = stockGateway.adjustQuantity(validSku, -1);
+
+        assertTrue(result.isPresent());
+        verify(stockRepository, never()).adjustQuantity(any(), anyInt());
+    }
+
+    @Test
+    void adjustQuantities_shardedSkuInTheBatch_gathersItsUnitsFirst() {
+        var adjustments = List.of(
+                new StockAdjustmentDTO(validSku, StockOperation.DECREASE, 1),
+                new StockAdjustmentDTO(validSku, StockOperation.DECREASE, 2),
+                new StockAdjustmentDTO("OTHER", StockOperation.DECREASE, 1));
+        when(shardedStockCounters.handles(validSku)).thenReturn(true);
+        when(stockRepository.adjustQuantities(adjustments))
+                .thenReturn(List.of(AdjustmentStatus.APPLIED, AdjustmentStatus.APPLIED, AdjustmentStatus.APPLIED));
+
+        stockGateway.adjustQuantities(adjustments);
+
+        var order = inOrder(shardedStockCounters, stockRepository);
+        order.verify(shardedStockCounters).gather(validSku);
+        order.verify(stockRepository).adjustQuantities(adjustments);
+        verify(shardedStockCounters, never()).gather("OTHER");
+    }
+
+    @Test
+    void adjustQuantities_hotSkuInTheBatch_sendsItsLinesThroughTheCoalescer() {
+        var hot = new StockAdjustmentDTO(validSku, StockOperation.DECREASE, 1);
+        var cold = new StockAdjustmentDTO("OTHER", StockOperation.DECREASE, 1);
+        var tooMuch = new StockAdjustmentDTO(validSku, StockOperation.DECREASE, 50);
+        when(hotSkuCoalescer.handles(validSku)).thenReturn(true);
+        when(hotSkuCoalescer.adjust(validSku, -1)).thenReturn(Optional.of(createTestProductStockEntity()));
+        when(hotSkuCoalescer.adjust(validSku, -50)).thenReturn(Optional.empty());
+        when(stockRepository.adjustQuantities(List.of(cold))).thenReturn(List.of(AdjustmentStatus.UNKNOWN_SKU));
+
+        var result = stockGateway.adjustQuantities(List.of(hot, cold, tooMuch));
+
+        assertEquals(List.of(AdjustmentStatus.APPLIED, AdjustmentStatus.UNKNOWN_SKU, AdjustmentStatus.INSUFFICIENT_STOCK), result);
+        verify(stockRepository).adjustQuantities(List.of(cold));
+    }
+
+    @Test
+    void reserve_hotSku_goesThroughTheCoalescerFence() {
+        when(hotSkuCoalescer.handles(validSku)).thenReturn(true);
+        when(hotSkuCoalescer.throughStock(eq(validSku), eq(-2), any())).thenReturn(Optional.of(createTestProductStockEntity()));
+
+        assertTrue(stockGateway.reserve(validSku, 2).isPresent());
+        verify(stockRepository, never()).reserve(any(), anyInt());
     }
 
     @Test
@@ -92,33 +244,168 @@ class StockGatewayImplTest {
         verify(stockRepository, times(1)).findById(validId);
     }
 
+    @Test
+    void newId_delegatesToTheRepositoryKeyLayout() {
+        when(stockRepository.newStockId(validSku)).thenReturn(validSku);
+
+        assertEquals(validSku, stockGateway.newId(validSku));
+    }
+
     @Test
     void findAll_noStocksExist_returnsEmptySet() {
-        when(stockRepository.findAll()).thenReturn(Collections.emptyList());
+        when(stockRepository.findCatalog()).thenReturn(Collections.emptyList());
 
         Set<ProductStock> result = stockGateway.findAll();
 
         assertTrue(result.isEmpty());
-        verify(stockRepository, times(1)).findAll();
+        verify(stockRepository, times(1)).findCatalog();
+
+    }
 
+    @Test
+    void findPage_firstPage_readsFromTheStartOfTheSkuIndex() {
+        when(stockRepository.findCatalogPage(null, 2)).thenReturn(List.of(createTestProductStockModel()));
+
+        List<ProductStock> result = stockGateway.findPage(null, 2);
+
+        assertEquals(1, result.size());
+        assertEquals(validSku, result.get(0).getSku());
+    }
+
+    @Test
+    void findPage_withCursor_readsSkusAfterTheCursor() {
+        when(stockRepository.findCatalogPage("PREVIOUS", 2)).thenReturn(List.of(createTestProductStockModel()));
+
+        List<ProductStock> result = stockGateway.findPage("PREVIOUS", 2);
+
+        assertEquals(1, result.size());
+        verify(stockRepository).findCatalogPage("PREVIOUS", 2);
     }
 
     @Test
-    void save_validProductStock_callsStockRepositorySaveWithMappedModel() {
+    void findLowStock_shardedSkuCoveredByItsSubCounters_isLeftOut() {
+        var low = ProductStockModel.builder().id("low-id").sku("LOW").name("Low").quantity(2).reorderThreshold(5).version(0L).build();
+        var sharded = ProductStockModel.builder().id("sharded-id").sku("SHARDED").name("Sharded").quantity(0).reorderThreshold(5).version(0L).build();
+        when(stockRepository.findLowStock(10)).thenReturn(List.of(low, sharded));
+        when(shardedStockCounters.withShards(argThat(stock -> stock != null && stock.getSku().equals("SHARDED"))))
+                .thenReturn(new ProductStock("sharded-id", "SHARDED", "Sharded", 40, 0, 0, 5));
+
+        List<ProductStock> result = stockGateway.findLowStock(10);
+
+        assertEquals(List.of("LOW"), result.stream().map(ProductStock::getSku).toList());
+    }
+
+    @Test
+    void insert_newSku_insertsMappedModel() {
         ProductStock entity = createTestProductStockEntity();
         ProductStockModel model = createTestProductStockModel();
+        model.setHeadroom(validQuantity);
+
+        assertTrue(stockGateway.insert(entity));
+
+        verify(stockRepository, times(1)).insert(model);
+        verify(stockRepository, never()).save(any());
+    }
+
+    @Test
+    void insert_duplicateSku_returnsFalse() {
+        when(stockRepository.insert(any(ProductStockModel.class))).thenThrow(new DuplicateKeyException("E11000 duplicate key"));
+
+        assertFalse(stockGateway.insert(createTestProductStockEntity()));
+    }
+
+    @Test
+    void adjustQuantity_matchingDocument_returnsPostImage() {
+        ProductStockModel model = createTestProductStockModel();
+        model.setQuantity(validQuantity - 4);
+        when(stockRepository.adjustQuantity(validSku, -4)).thenReturn(Optional.of(model));
+
+        Optional<ProductStock> result = stockGateway.adjustQuantity(validSku, -4);
 
-        stockGateway.save(entity);
+        assertTrue(result.isPresent());
+        assertEquals(validQuantity - 4, result.get().getQuantity());
+        verify(stockRepository, times(1)).adjustQuantity(validSku, -4);
+        verify(stockRepository, never()).save(any());
+    }
+
+    @Test
+    void adjustQuantity_noMatchingDocument_returnsEmptyOptional() {
+        when(stockRepository.adjustQuantity(validSku, -40)).thenReturn(Optional.empty());
+
+        Optional<ProductStock> result = stockGateway.adjustQuantity(validSku, -40);
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void reserve_enoughAvailable_returnsStockWithHeldUnits() {
+        ProductStockModel model = createTestProductStockModel();
+        model.setReserved(3);
+        when(stockRepository.reserve(validSku, 3)).thenReturn(Optional.of(model));
+
+        Optional<ProductStock> result = stockGateway.reserve(validSku, 3);
+
+        assertEquals(3, result.orElseThrow().getReserved());
+        assertEquals(validQuantity - 3, result.get().getAvailable());
+    }
+
+    @Test
+    void commitReserved_returnsStockWithUnitsSold() {
+        ProductStockModel model = createTestProductStockModel();
+        model.setQuantity(validQuantity - 2);
+        when(stockRepository.commitReserved(validSku, 2)).thenReturn(Optional.of(model));
+
+        Optional<ProductStock> result = stockGateway.commitReserved(validSku, 2);
+
+        assertEquals(validQuantity - 2, result.orElseThrow().getQuantity());
+        assertEquals(0, result.get().getReserved());
+    }
+
+    @Test
+    void releaseReserved_delegatesToRepository() {
+        when(stockRepository.releaseReserved(validSku, 2)).thenReturn(Optional.empty());
+
+        assertTrue(stockGateway.releaseReserved(validSku, 2).isEmpty());
+        verify(stockRepository, times(1)).releaseReserved(validSku, 2);
+    }
+
+    @Test
+    void adjustQuantities_delegatesBatchToRepository() {
+        List<StockAdjustmentDTO> adjustments = List.of(new StockAdjustmentDTO(validSku, StockOperation.DECREASE, 2));
+        when(stockRepository.adjustQuantities(adjustments)).thenReturn(List.of(AdjustmentStatus.APPLIED));
+
+        List<AdjustmentStatus> result = stockGateway.adjustQuantities(adjustments);
+
+        assertEquals(List.of(AdjustmentStatus.APPLIED), result);
+        verify(stockRepository, times(1)).adjustQuantities(adjustments);
+    }
+
+    @Test
+    void deleteById_existingId_returnsTheRemovedStock() {
+        when(stockRepository.removeById(validId)).thenReturn(Optional.of(createTestProductStockModel()));
+
+        Optional<ProductStock> result = stockGateway.deleteById(validId);
+
+        assertTrue(result.isPresent());
+        assertEquals(validSku, result.get().getSku());
+
+        verify(stockRepository, times(1)).removeById(validId);
+    }
+
+    @Test
+    void deleteById_unknownId_returnsEmpty() {
+        when(stockRepository.removeById(validId)).thenReturn(Optional.empty());
 
-        verify(stockRepository, times(1)).save(model);
+        assertTrue(stockGateway.deleteById(validId).isEmpty());
     }
 
     @Test
-    void deleteById_existingId_callsStockRepositoryDeleteById() {
-        doNothing().when(stockRepository).deleteById(validId);
+    void deleteById_hotSku_stopsCoalescingIt() {
+        when(stockRepository.removeById(validId)).thenReturn(Optional.of(createTestProductStockModel()));
+        when(hotSkuCoalescer.handles(validSku)).thenReturn(true);
 
         stockGateway.deleteById(validId);
 
-        verify(stockRepository, times(1)).deleteById(validId);
+        verify(hotSkuCoalescer).forget(validSku);
     }
 }
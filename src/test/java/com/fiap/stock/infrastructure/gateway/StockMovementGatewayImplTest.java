@@ -0,0 +1,91 @@
+package com.fiap.stock.infrastructure.gateway;
+
+import com.fiap.stock.core.entity.MovementSource;
+import com.fiap.stock.core.entity.StockMovement;
+import com.fiap.stock.core.entity.StockOperation;
+import com.fiap.stock.infrastructure.repository.StockMovementRepository;
+import com.fiap.stock.infrastructure.repository.model.StockMovementModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class StockMovementGatewayImplTest {
+
+    private StockMovementRepository stockMovementRepository;
+
+    private StockMovementGatewayImpl stockMovementGateway;
+
+    private final String validId = "movement-id";
+    private final String validSku = "TEST-SKU";
+    private final Instant validOccurredAt = Instant.parse("2030-01-01T00:00:00Z");
+
+    private StockMovementModel createTestModel() {
+        return StockMovementModel.builder()
+                .id(validId)
+                .sku(validSku)
+                .operation(StockOperation.DECREASE)
+                .quantity(2)
+                .source(MovementSource.ADJUSTMENT)
+                .occurredAt(validOccurredAt)
+                .build();
+    }
+
+    private StockMovement createTestEntity() {
+        return new StockMovement(validId, validSku, StockOperation.DECREASE, 2, MovementSource.ADJUSTMENT, validOccurredAt);
+    }
+
+    @BeforeEach
+    void setUp() {
+        stockMovementRepository = mock(StockMovementRepository.class);
+        stockMovementGateway = new StockMovementGatewayImpl(stockMovementRepository);
+    }
+
+    @Test
+    void record_appendsMappedModelsInOneCall() {
+        stockMovementGateway.record(List.of(createTestEntity()));
+
+        verify(stockMovementRepository, times(1)).append(List.of(createTestModel()));
+    }
+
+    @Test
+    void record_appendFails_doesNotFailTheCommittedChange() {
+        doThrow(new DataAccessResourceFailureException("down")).when(stockMovementRepository).append(anyList());
+
+        assertDoesNotThrow(() -> stockMovementGateway.record(List.of(createTestEntity())));
+    }
+
+    @Test
+    void findRecent_returnsMappedMovementsNewestFirst() {
+        when(stockMovementRepository.findBySkuOrderByOccurredAtDesc(validSku, Limit.of(10))).thenReturn(List.of(createTestModel()));
+
+        List<StockMovement> result = stockMovementGateway.findRecent(validSku, 10);
+
+        assertEquals(1, result.size());
+        assertEquals(-2, result.get(0).getDelta());
+        assertEquals(validOccurredAt, result.get(0).getOccurredAt());
+    }
+
+    @Test
+    void ledgerQuantity_delegatesToRepository() {
+        when(stockMovementRepository.ledgerQuantity(validSku)).thenReturn(7);
+
+        assertEquals(7, stockMovementGateway.ledgerQuantity(validSku));
+    }
+
+    @Test
+    void snapshot_delegatesToRepository() {
+        when(stockMovementRepository.snapshot(Duration.ofSeconds(10))).thenReturn(4);
+
+        assertEquals(4, stockMovementGateway.snapshot(Duration.ofSeconds(10)));
+    }
+}
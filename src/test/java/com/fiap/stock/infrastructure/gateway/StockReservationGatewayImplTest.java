@@ -0,0 +1,81 @@
+package com.fiap.stock.infrastructure.gateway;
+
+import com.fiap.stock.core.entity.ReservationStatus;
+import com.fiap.stock.core.entity.StockReservation;
+import com.fiap.stock.infrastructure.repository.StockReservationRepository;
+import com.fiap.stock.infrastructure.repository.model.StockReservationModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class StockReservationGatewayImplTest {
+
+    private StockReservationRepository stockReservationRepository;
+
+    private StockReservationGatewayImpl stockReservationGateway;
+
+    private final String validId = "reservation-id";
+    private final String validSku = "TEST-SKU";
+    private final Instant validExpiresAt = Instant.parse("2030-01-01T00:00:00Z");
+
+    private StockReservationModel createTestModel(ReservationStatus status) {
+        return StockReservationModel.builder()
+                .id(validId)
+                .sku(validSku)
+                .quantity(2)
+                .status(status)
+                .expiresAt(validExpiresAt)
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        stockReservationRepository = mock(StockReservationRepository.class);
+        stockReservationGateway = new StockReservationGatewayImpl(stockReservationRepository);
+    }
+
+    @Test
+    void save_insertsMappedModel() {
+        stockReservationGateway.save(new StockReservation(validId, validSku, 2, ReservationStatus.ACTIVE, validExpiresAt));
+
+        verify(stockReservationRepository, times(1)).insert(createTestModel(ReservationStatus.ACTIVE));
+    }
+
+    @Test
+    void findById_existingId_returnsReservation() {
+        when(stockReservationRepository.findById(validId)).thenReturn(Optional.of(createTestModel(ReservationStatus.ACTIVE)));
+
+        Optional<StockReservation> result = stockReservationGateway.findById(validId);
+
+        assertTrue(result.isPresent());
+        assertEquals(validSku, result.get().getSku());
+    }
+
+    @Test
+    void close_activeReservation_returnsClosedReservation() {
+        Instant now = Instant.now();
+        when(stockReservationRepository.close(validId, ReservationStatus.CONFIRMED, now)).thenReturn(Optional.of(createTestModel(ReservationStatus.CONFIRMED)));
+
+        Optional<StockReservation> result = stockReservationGateway.close(validId, ReservationStatus.CONFIRMED, now);
+
+        assertEquals(ReservationStatus.CONFIRMED, result.orElseThrow().getStatus());
+    }
+
+    @Test
+    void expire_returnsExpiredReservations() {
+        Instant now = Instant.now();
+        when(stockReservationRepository.expire(now, 10)).thenReturn(List.of(createTestModel(ReservationStatus.EXPIRED)));
+
+        List<StockReservation> result = stockReservationGateway.expire(now, 10);
+
+        assertEquals(1, result.size());
+        assertEquals(ReservationStatus.EXPIRED, result.get(0).getStatus());
+    }
+}
@@ -0,0 +1,346 @@
+package com.fiap.stock.infrastructure.hotsku;
+
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.exception.StockUnavailableException;
+import com.fiap.stock.infrastructure.config.HotSkuProperties;
+import com.fiap.stock.infrastructure.config.LiquibaseMigration;
+import com.fiap.stock.infrastructure.repository.StockRepository;
+import com.fiap.stock.infrastructure.repository.model.ProductStockModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class HotSkuCoalescerTest {
+
+    private static final String HOT_SKU = "HOT-SKU";
+
+    @TempDir
+    private Path journalDirectory;
+
+    private StockRepository stockRepository;
+    private HotSkuLease lease;
+    private HotSkuDeadLetters deadLetters;
+    private LiquibaseMigration migration;
+    private SimpleMeterRegistry meterRegistry;
+
+    private ProductStockModel createModel(int quantity) {
+        return createModel(quantity, 0);
+    }
+
+    private ProductStockModel createModel(int quantity, int reserved) {
+        return ProductStockModel.builder()
+                .id("some-id")
+                .sku(HOT_SKU)
+                .name("Hot Product")
+                .quantity(quantity)
+                .reserved(reserved)
+                .build();
+    }
+
+    private HotSkuCoalescer createCoalescer() throws Exception {
+        return createCoalescer(Duration.ofMillis(1), Duration.ofSeconds(5));
+    }
+
+    private HotSkuCoalescer createCoalescer(Duration flushInterval, Duration durabilityTimeout) throws Exception {
+        var properties = new HotSkuProperties(Set.of(HOT_SKU), flushInterval, journalDirectory,
+                DataSize.ofKilobytes(1), durabilityTimeout, Duration.ofSeconds(30));
+        var coalescer = new HotSkuCoalescer(stockRepository, lease, deadLetters, migration, properties, meterRegistry);
+        coalescer.start();
+        return coalescer;
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stockRepository = mock(StockRepository.class);
+        lease = mock(HotSkuLease.class);
+        when(lease.acquire()).thenReturn(true);
+        when(lease.renew()).thenReturn(true);
+        deadLetters = mock(HotSkuDeadLetters.class);
+        migration = mock(LiquibaseMigration.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(migration).whenComplete(any());
+        meterRegistry = new SimpleMeterRegistry();
+        when(stockRepository.findAllBySkuIn(any())).thenReturn(List.of(createModel(100)));
+        when(stockRepository.hotSequences(any())).thenReturn(Map.of());
+    }
+
+    @Test
+    void adjust_concurrentDecrements_neverOversellAndReachMongoAsNetDeltas() throws Exception {
+        var stored = new AtomicInteger(100);
+        var flushes = new AtomicInteger();
+        when(stockRepository.applyHotDelta(eq(HOT_SKU), anyInt(), anyLong())).thenAnswer(invocation -> {
+            flushes.incrementAndGet();
+            return Optional.of(createModel(stored.addAndGet(invocation.getArgument(1))));
+        });
+        var coalescer = createCoalescer();
+
+        int threads = 32;
+        int requests = 400;
+        var start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Optional<ProductStock>>> results = new ArrayList<>();
+        for (int i = 0; i < requests; i++)
+            results.add(executor.submit(() -> {
+                start.await();
+                return coalescer.adjust(HOT_SKU, -1);
+            }));
+        start.countDown();
+
+        int applied = 0;
+        for (var result : results)
+            if (result.get().isPresent())
+                applied++;
+        executor.shutdown();
+        coalescer.stop();
+
+        assertEquals(100, applied);
+        assertEquals(0, stored.get());
+        assertTrue(flushes.get() < applied);
+        verify(stockRepository, never()).adjustQuantity(any(), anyInt());
+        assertTrue(meterRegistry.get("stock.hotsku.flush.lag").timer().count() > 0);
+    }
+
+    @Test
+    void adjust_onVirtualThreads_neverPinsTheCarrier() throws Exception {
+        when(stockRepository.applyHotDelta(eq(HOT_SKU), anyInt(), anyLong()))
+                .thenAnswer(invocation -> Optional.of(createModel(100 + (int) invocation.getArgument(1))));
+        var coalescer = createCoalescer();
+        var events = journalDirectory.resolve("pinning.jfr");
+
+        try (var recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < 200; i++)
+                    executor.submit(() -> coalescer.adjust(HOT_SKU, -1));
+            }
+            recording.stop();
+            recording.dump(events);
+        }
+        coalescer.stop();
+
+        var pinned = RecordingFile.readAllEvents(events);
+        assertTrue(pinned.isEmpty(), () -> "Pinned virtual threads: " + pinned);
+    }
+
+    @Test
+    void start_afterCrash_replaysJournaledAdjustments() throws Exception {
+        when(stockRepository.applyHotDelta(eq(HOT_SKU), anyInt(), anyLong())).thenThrow(new RuntimeException("Mongo down"));
+        var crashed = createCoalescer();
+        crashed.adjust(HOT_SKU, -2);
+        crashed.adjust(HOT_SKU, -2);
+        crashed.adjust(HOT_SKU, -2);
+        crashed.stop();
+
+        reset(stockRepository);
+        when(stockRepository.findAllBySkuIn(any())).thenReturn(List.of(createModel(94)));
+        when(stockRepository.hotSequences(any())).thenReturn(Map.of());
+        createCoalescer().stop();
+
+        verify(stockRepository).applyHotDelta(HOT_SKU, -6, 3);
+    }
+
+    @Test
+    void start_afterCrash_skipsAdjustmentsMongoAlreadyHas() throws Exception {
+        when(stockRepository.applyHotDelta(eq(HOT_SKU), anyInt(), anyLong())).thenThrow(new RuntimeException("Mongo down"));
+        var crashed = createCoalescer();
+        crashed.adjust(HOT_SKU, -2);
+        crashed.adjust(HOT_SKU, -2);
+        crashed.adjust(HOT_SKU, -2);
+        crashed.stop();
+
+        reset(stockRepository);
+        when(stockRepository.findAllBySkuIn(any())).thenReturn(List.of(createModel(96)));
+        when(stockRepository.hotSequences(any())).thenReturn(Map.of(HOT_SKU, 2L));
+        createCoalescer().stop();
+
+        verify(stockRepository).applyHotDelta(HOT_SKU, -2, 3);
+        verify(stockRepository, times(1)).applyHotDelta(any(), anyInt(), anyLong());
+    }
+
+    @Test
+    void adjust_decrementAboveAvailable_returnsEmptyWithoutJournaling() throws Exception {
+        when(stockRepository.applyHotDelta(HOT_SKU, 1, 1)).thenReturn(Optional.of(createModel(101)));
+        var coalescer = createCoalescer();
+
+        assertTrue(coalescer.adjust(HOT_SKU, -101).isEmpty());
+        assertEquals(101, coalescer.adjust(HOT_SKU, 1).orElseThrow().getQuantity());
+        coalescer.stop();
+
+        verify(stockRepository, times(1)).applyHotDelta(any(), anyInt(), anyLong());
+    }
+
+    @Test
+    void adjust_notJournaledInTime_throwsUnavailableAndIsNeverApplied() throws Exception {
+        var coalescer = createCoalescer(Duration.ofHours(1), Duration.ofMillis(10));
+
+        assertThrows(StockUnavailableException.class, () -> coalescer.adjust(HOT_SKU, -5));
+
+        assertEquals(100, coalescer.current(HOT_SKU).orElseThrow().getAvailable());
+        coalescer.stop();
+        verify(stockRepository, never()).applyHotDelta(any(), anyInt(), anyLong());
+    }
+
+    @Test
+    void start_migrationStillRunning_waitsForItBeforeTouchingMongo() throws Exception {
+        var waiting = ArgumentCaptor.forClass(Runnable.class);
+        doNothing().when(migration).whenComplete(waiting.capture());
+
+        var coalescer = createCoalescer();
+
+        verifyNoInteractions(lease, stockRepository);
+        waiting.getValue().run();
+        assertTrue(coalescer.handles(HOT_SKU));
+        coalescer.stop();
+    }
+
+    @Test
+    void start_leaseHeldByAnotherInstance_leavesTheHotSkusToTheStockDocument() throws Exception {
+        when(lease.acquire()).thenReturn(false);
+
+        var coalescer = createCoalescer();
+
+        assertFalse(coalescer.handles(HOT_SKU));
+        coalescer.stop();
+        verify(stockRepository, never()).findAllBySkuIn(any());
+        verify(stockRepository, never()).applyHotDelta(any(), anyInt(), anyLong());
+    }
+
+    @Test
+    void flush_refusedByTheFloorGuard_deadLettersTheDeltaAndKeepsFlushing() throws Exception {
+        var coalescer = createCoalescer(Duration.ofHours(1), Duration.ofSeconds(5));
+        when(stockRepository.applyHotDelta(HOT_SKU, -2, 1)).thenReturn(Optional.empty());
+        when(stockRepository.findBySku(HOT_SKU)).thenReturn(Optional.of(createModel(100, 99)));
+        when(stockRepository.applyHotDelta(HOT_SKU, 5, 2)).thenReturn(Optional.of(createModel(105, 99)));
+
+        var adjusting = Executors.newSingleThreadExecutor().submit(() -> coalescer.adjust(HOT_SKU, -2));
+        while (!adjusting.isDone())
+            coalescer.flush();
+        assertEquals(1, coalescer.current(HOT_SKU).orElseThrow().getAvailable());
+        var adding = Executors.newSingleThreadExecutor().submit(() -> coalescer.adjust(HOT_SKU, 5));
+        while (!adding.isDone())
+            coalescer.flush();
+        coalescer.stop();
+
+        verify(deadLetters).add(HOT_SKU, -2, 1);
+        verify(stockRepository).applyHotDelta(HOT_SKU, 5, 2);
+        assertEquals(1, meterRegistry.get("stock.hotsku.flush.conflicts").counter().count());
+        verify(lease).release();
+    }
+
+    @Test
+    void flush_stockDeleted_stopsCoalescingIt() throws Exception {
+        when(stockRepository.applyHotDelta(HOT_SKU, -2, 1)).thenReturn(Optional.empty());
+        when(stockRepository.findBySku(HOT_SKU)).thenReturn(Optional.empty());
+        var coalescer = createCoalescer();
+
+        coalescer.adjust(HOT_SKU, -2);
+        coalescer.flush();
+
+        assertFalse(coalescer.handles(HOT_SKU));
+        assertTrue(coalescer.adjust(HOT_SKU, -1).isEmpty());
+        coalescer.stop();
+        verifyNoInteractions(deadLetters);
+    }
+
+    @Test
+    void forget_deletedStock_answersItsAdjustmentsAsMissing() throws Exception {
+        var coalescer = createCoalescer();
+
+        coalescer.forget(HOT_SKU);
+
+        assertFalse(coalescer.handles(HOT_SKU));
+        assertTrue(coalescer.adjust(HOT_SKU, 1).isEmpty());
+        coalescer.stop();
+    }
+
+    @Test
+    void current_postImage_carriesTheVersionMongoLastWrote() throws Exception {
+        var model = createModel(100);
+        model.setVersion(7L);
+        when(stockRepository.findAllBySkuIn(any())).thenReturn(List.of(model));
+        var coalescer = createCoalescer();
+
+        assertEquals(7, coalescer.current(HOT_SKU).orElseThrow().getVersion());
+        coalescer.stop();
+    }
+
+    @Test
+    void flush_sequenceAlreadyInMongo_isNotAppliedTwice() throws Exception {
+        when(stockRepository.applyHotDelta(HOT_SKU, -2, 1)).thenReturn(Optional.empty());
+        when(stockRepository.findBySku(HOT_SKU)).thenReturn(Optional.of(createModel(98)));
+        var coalescer = createCoalescer();
+        when(stockRepository.hotSequences(List.of(HOT_SKU))).thenReturn(Map.of(HOT_SKU, 1L));
+
+        coalescer.adjust(HOT_SKU, -2);
+        coalescer.stop();
+
+        verify(stockRepository, times(1)).applyHotDelta(HOT_SKU, -2, 1);
+        assertEquals(0, meterRegistry.get("stock.hotsku.flush.conflicts").counter().count());
+    }
+
+    @Test
+    void throughStock_reservation_flushesFirstAndHoldsTheUnitsAgainstAdjustments() throws Exception {
+        when(stockRepository.applyHotDelta(HOT_SKU, -2, 1)).thenReturn(Optional.of(createModel(98)));
+        when(stockRepository.reserve(HOT_SKU, 97)).thenReturn(Optional.of(createModel(98, 97)));
+        var coalescer = createCoalescer();
+        coalescer.adjust(HOT_SKU, -2);
+
+        var reserved = coalescer.throughStock(HOT_SKU, -97, () -> stockRepository.reserve(HOT_SKU, 97));
+
+        assertEquals(1, reserved.orElseThrow().getAvailable());
+        assertTrue(coalescer.adjust(HOT_SKU, -2).isEmpty());
+        coalescer.stop();
+        var order = inOrder(stockRepository);
+        order.verify(stockRepository).applyHotDelta(HOT_SKU, -2, 1);
+        order.verify(stockRepository).reserve(HOT_SKU, 97);
+    }
+
+    @Test
+    void throughStock_writeRefused_givesTheUnitsBackToTheCounter() throws Exception {
+        when(stockRepository.reserve(HOT_SKU, 10)).thenReturn(Optional.empty());
+        var coalescer = createCoalescer();
+
+        assertTrue(coalescer.throughStock(HOT_SKU, -10, () -> stockRepository.reserve(HOT_SKU, 10)).isEmpty());
+
+        assertEquals(100, coalescer.current(HOT_SKU).orElseThrow().getAvailable());
+        coalescer.stop();
+    }
+
+    @Test
+    void throughStock_release_putsTheUnitsBackIntoTheCounter() throws Exception {
+        when(stockRepository.findAllBySkuIn(any())).thenReturn(List.of(createModel(100, 10)));
+        when(stockRepository.releaseReserved(HOT_SKU, 10)).thenReturn(Optional.of(createModel(100)));
+        var coalescer = createCoalescer();
+
+        var released = coalescer.throughStock(HOT_SKU, 10, () -> stockRepository.releaseReserved(HOT_SKU, 10));
+
+        assertEquals(100, released.orElseThrow().getAvailable());
+        assertEquals(0, released.get().getReserved());
+        coalescer.stop();
+    }
+}
@@ -0,0 +1,59 @@
+package com.fiap.stock.infrastructure.hotsku;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotSkuJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void sync_writeFails_keepsTheBatchForTheNextSync() throws Exception {
+        var journal = new HotSkuJournal(directory, 1024);
+        journal.recover();
+        journal.open(0);
+        journal.append("SKU-A", -2);
+        journal.append("SKU-B", 3);
+        journal.close();
+
+        assertThrows(IOException.class, journal::sync);
+        journal.open(2);
+        journal.append("SKU-A", -1);
+        var batch = journal.sync();
+
+        assertEquals(Map.of("SKU-A", -3L, "SKU-B", 3L), batch.deltas());
+        assertEquals(3, batch.sequence());
+        assertTrue(journal.awaitDurable(3, Duration.ZERO));
+        journal.close();
+    }
+
+    @Test
+    void awaitDurable_notSyncedInTime_returnsFalse() throws Exception {
+        var journal = new HotSkuJournal(directory, 1024);
+        journal.recover();
+        journal.open(0);
+
+        assertFalse(journal.awaitDurable(journal.append("SKU-A", -2), Duration.ofMillis(5)));
+        journal.close();
+    }
+
+    @Test
+    void recover_duplicatedLines_returnsEachSequenceOnce() throws Exception {
+        Files.writeString(directory.resolve("segment-00000000000000000001.log"), "1\tSKU-A\t-2\n1\tSKU-A\t-2\n2\tSKU-A\t5\n");
+        var journal = new HotSkuJournal(directory, 1024);
+
+        var entries = journal.recover();
+
+        assertEquals(List.of(new HotSkuJournal.Entry(1, "SKU-A", -2), new HotSkuJournal.Entry(2, "SKU-A", 5)), entries);
+    }
+}
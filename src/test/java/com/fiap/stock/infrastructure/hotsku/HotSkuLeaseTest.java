@@ -0,0 +1,69 @@
+package com.fiap.stock.infrastructure.hotsku;
+
+import com.fiap.stock.infrastructure.config.HotSkuProperties;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class HotSkuLeaseTest {
+
+    @TempDir
+    private Path journalDirectory;
+
+    private MongoTemplate mongoTemplate;
+    private HotSkuProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        properties = new HotSkuProperties(Set.of("HOT-SKU"), Duration.ofMillis(5), journalDirectory, null,
+                Duration.ofSeconds(2), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void acquire_leaseFree_holdsItUnderAnOwnerKeptInTheJournalDirectory() throws Exception {
+        new HotSkuLease(mongoTemplate, properties).acquire();
+
+        var owner = Files.readString(journalDirectory.resolve("owner"));
+        verify(mongoTemplate).upsert(any(Query.class),
+                argThat((Update update) -> owner.equals(update.getUpdateObject().get("$set", Document.class).get("owner"))),
+                eq(HotSkuLease.LEASES));
+    }
+
+    @Test
+    void acquire_restartOnTheSameVolume_reusesTheOwner() throws Exception {
+        new HotSkuLease(mongoTemplate, properties).acquire();
+        var owner = Files.readString(journalDirectory.resolve("owner"));
+
+        new HotSkuLease(mongoTemplate, properties).acquire();
+
+        assertEquals(owner, Files.readString(journalDirectory.resolve("owner")));
+    }
+
+    @Test
+    void acquire_heldByAnotherInstance_returnsFalseAndNamesTheHolder() throws Exception {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(HotSkuLease.LEASES)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key"));
+        when(mongoTemplate.findById(HotSkuLease.LEASE_ID, Document.class, HotSkuLease.LEASES))
+                .thenReturn(new Document("owner", "other-instance"));
+        var lease = new HotSkuLease(mongoTemplate, properties);
+
+        assertFalse(lease.acquire());
+        assertTrue(lease.holder().contains("other-instance"));
+    }
+}
@@ -0,0 +1,30 @@
+package com.fiap.stock.infrastructure.metrics;
+
+import com.fiap.stock.core.dto.LowStockAlertDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LowStockAlertsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LowStockAlerts lowStockAlerts;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lowStockAlerts = new LowStockAlerts(meterRegistry);
+    }
+
+    @Test
+    void onAlert_lowAndRecovered_countsEachState() {
+        lowStockAlerts.onAlert(new LowStockAlertDTO("SKU", 4, 5, true));
+        lowStockAlerts.onAlert(new LowStockAlertDTO("OTHER", 0, 0, true));
+        lowStockAlerts.onAlert(new LowStockAlertDTO("SKU", 9, 5, false));
+
+        assertEquals(2, meterRegistry.get(LowStockAlerts.ALERT_COUNTER).tag("state", "low").counter().count());
+        assertEquals(1, meterRegistry.get(LowStockAlerts.ALERT_COUNTER).tag("state", "recovered").counter().count());
+    }
+}
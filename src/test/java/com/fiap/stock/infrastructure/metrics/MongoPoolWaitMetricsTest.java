@@ -0,0 +1,61 @@
+package com.fiap.stock.infrastructure.metrics;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MongoPoolWaitMetricsTest {
+
+    private final ServerId serverId = new ServerId(new ClusterId(), new ServerAddress());
+
+    private SimpleMeterRegistry meterRegistry;
+    private MongoPoolWaitMetrics mongoPoolWaitMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        mongoPoolWaitMetrics = new MongoPoolWaitMetrics(meterRegistry);
+    }
+
+    private double totalMillis(String outcome) {
+        return meterRegistry.get(MongoPoolWaitMetrics.CHECKOUT_TIMER).tag("outcome", outcome).timer()
+                .totalTime(TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void connectionCheckedOut_recordsTheWaitAsSuccess() {
+        mongoPoolWaitMetrics.connectionCheckedOut(
+                new ConnectionCheckedOutEvent(new ConnectionId(serverId), 1, TimeUnit.MILLISECONDS.toNanos(7)));
+
+        assertEquals(7, totalMillis("success"));
+        assertEquals(0, totalMillis("timeout"));
+    }
+
+    @Test
+    void connectionCheckOutFailed_timeout_recordsTheWaitAsTimeout() {
+        mongoPoolWaitMetrics.connectionCheckOutFailed(new ConnectionCheckOutFailedEvent(
+                serverId, 1, ConnectionCheckOutFailedEvent.Reason.TIMEOUT, TimeUnit.MILLISECONDS.toNanos(2000)));
+
+        assertEquals(2000, totalMillis("timeout"));
+        assertEquals(0, totalMillis("failed"));
+    }
+
+    @Test
+    void connectionCheckOutFailed_otherReason_recordsTheWaitAsFailed() {
+        mongoPoolWaitMetrics.connectionCheckOutFailed(new ConnectionCheckOutFailedEvent(
+                serverId, 1, ConnectionCheckOutFailedEvent.Reason.CONNECTION_ERROR, TimeUnit.MILLISECONDS.toNanos(3)));
+
+        assertEquals(3, totalMillis("failed"));
+        assertEquals(0, totalMillis("success"));
+    }
+}
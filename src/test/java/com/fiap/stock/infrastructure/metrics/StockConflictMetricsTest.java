@@ -0,0 +1,30 @@
+package com.fiap.stock.infrastructure.metrics;
+
+import com.fiap.stock.core.dto.StockConflictDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StockConflictMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StockConflictMetrics stockConflictMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stockConflictMetrics = new StockConflictMetrics(meterRegistry);
+    }
+
+    @Test
+    void onConflict_retriedAndExhausted_countsEachResolution() {
+        stockConflictMetrics.onConflict(new StockConflictDTO("SKU", 1, true));
+        stockConflictMetrics.onConflict(new StockConflictDTO("SKU", 2, true));
+        stockConflictMetrics.onConflict(new StockConflictDTO("SKU", 3, false));
+
+        assertEquals(2, meterRegistry.get(StockConflictMetrics.CONFLICT_COUNTER).tag("resolution", "retried").counter().count());
+        assertEquals(1, meterRegistry.get(StockConflictMetrics.CONFLICT_COUNTER).tag("resolution", "exhausted").counter().count());
+    }
+}
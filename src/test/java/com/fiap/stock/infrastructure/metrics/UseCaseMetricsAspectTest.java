@@ -0,0 +1,124 @@
+package com.fiap.stock.infrastructure.metrics;
+
+import com.fiap.stock.core.dto.StockAdjustmentDTO;
+import com.fiap.stock.core.dto.UpdateProductStockDTO;
+import com.fiap.stock.core.entity.AdjustmentStatus;
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.core.entity.StockOperation;
+import com.fiap.stock.core.exception.StockNotFoundException;
+import com.fiap.stock.core.gateway.ReactiveStockGateway;
+import com.fiap.stock.core.gateway.StockGateway;
+import com.fiap.stock.core.gateway.StockMovementGateway;
+import com.fiap.stock.core.usecase.AlterProductStockUseCase;
+import com.fiap.stock.core.usecase.BulkAlterProductStockUseCase;
+import com.fiap.stock.core.usecase.FindStockUseCase;
+import com.fiap.stock.core.usecase.reactive.ReactiveFindStockUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UseCaseMetricsAspectTest {
+
+    private final String validSku = "TEST-SKU";
+
+    private StockGateway stockGateway;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        stockGateway = mock(StockGateway.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private <T> T instrumented(T useCase) {
+        var factory = new AspectJProxyFactory(useCase);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new UseCaseMetricsAspect(meterRegistry));
+        return factory.getProxy();
+    }
+
+    private double count(String name, String useCase) {
+        var counter = meterRegistry.find(name).tag("usecase", useCase).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    void execute_success_recordsTimerWithSuccessOutcome() {
+        when(stockGateway.findBySku(validSku)).thenReturn(Optional.of(new ProductStock("id", validSku, "Product", 1)));
+
+        instrumented(new FindStockUseCase(stockGateway)).execute(validSku);
+
+        var timer = meterRegistry.get(UseCaseMetricsAspect.USE_CASE_TIMER)
+                .tags("usecase", "FindStockUseCase", "outcome", "success")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void execute_unknownSku_countsNotFound() {
+        when(stockGateway.findBySku(validSku)).thenReturn(Optional.empty());
+        var useCase = instrumented(new FindStockUseCase(stockGateway));
+
+        assertThrows(StockNotFoundException.class, () -> useCase.execute(validSku));
+
+        assertEquals(1, count(UseCaseMetricsAspect.NOT_FOUND_COUNTER, "FindStockUseCase"));
+        assertEquals(1, meterRegistry.get(UseCaseMetricsAspect.USE_CASE_TIMER)
+                .tags("usecase", "FindStockUseCase", "outcome", "not_found")
+                .timer().count());
+    }
+
+    @Test
+    void execute_shortStock_countsInsufficient() {
+        when(stockGateway.adjustQuantity(validSku, -5)).thenReturn(Optional.empty());
+        when(stockGateway.findCurrent(validSku)).thenReturn(Optional.of(new ProductStock("id", validSku, "Product", 1)));
+        var useCase = instrumented(new AlterProductStockUseCase(stockGateway, mock(StockMovementGateway.class), event -> {}));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> useCase.execute(validSku, new UpdateProductStockDTO(StockOperation.DECREASE, 5)));
+
+        assertEquals(1, count(UseCaseMetricsAspect.INSUFFICIENT_COUNTER, "AlterProductStockUseCase"));
+        assertEquals(0, count(UseCaseMetricsAspect.NOT_FOUND_COUNTER, "AlterProductStockUseCase"));
+    }
+
+    @Test
+    void execute_bulkRejectedLines_countedPerLine() {
+        when(stockGateway.adjustQuantities(anyList()))
+                .thenReturn(List.of(AdjustmentStatus.INSUFFICIENT_STOCK, AdjustmentStatus.UNKNOWN_SKU, AdjustmentStatus.APPLIED));
+
+        instrumented(new BulkAlterProductStockUseCase(stockGateway, mock(StockMovementGateway.class), event -> {})).execute(List.of(
+                new StockAdjustmentDTO(validSku, StockOperation.DECREASE, 10),
+                new StockAdjustmentDTO("OTHER", StockOperation.DECREASE, 1),
+                new StockAdjustmentDTO(validSku, StockOperation.INCREASE, 1)));
+
+        assertEquals(1, count(UseCaseMetricsAspect.INSUFFICIENT_COUNTER, "BulkAlterProductStockUseCase"));
+        assertEquals(1, count(UseCaseMetricsAspect.NOT_FOUND_COUNTER, "BulkAlterProductStockUseCase"));
+    }
+
+    @Test
+    void execute_reactiveUseCase_timedWhenSubscribed() {
+        var reactiveGateway = mock(ReactiveStockGateway.class);
+        when(reactiveGateway.findBySku(validSku)).thenReturn(Mono.empty());
+        var useCase = instrumented(new ReactiveFindStockUseCase(reactiveGateway));
+
+        var pipeline = useCase.execute(validSku);
+        assertEquals(0, count(UseCaseMetricsAspect.NOT_FOUND_COUNTER, "ReactiveFindStockUseCase"));
+
+        StepVerifier.create(pipeline).expectError(StockNotFoundException.class).verify();
+        assertEquals(1, count(UseCaseMetricsAspect.NOT_FOUND_COUNTER, "ReactiveFindStockUseCase"));
+        assertEquals(1, meterRegistry.get(UseCaseMetricsAspect.USE_CASE_TIMER)
+                .tags("usecase", "ReactiveFindStockUseCase", "outcome", "not_found")
+                .timer().count());
+    }
+}
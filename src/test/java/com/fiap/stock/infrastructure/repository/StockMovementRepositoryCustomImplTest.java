@@ -0,0 +1,64 @@
+package com.fiap.stock.infrastructure.repository;
+
+import com.fiap.stock.core.entity.MovementSource;
+import com.fiap.stock.core.entity.StockOperation;
+import com.fiap.stock.infrastructure.repository.model.StockMovementModel;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StockMovementRepositoryCustomImplTest {
+
+    private static final Instant OCCURRED_AT = Instant.parse("2026-01-01T10:00:00Z");
+
+    private Document set(StockMovementModel movement) {
+        var pipeline = StockMovementRepositoryCustomImpl.recordOnce(movement).toPipeline(Aggregation.DEFAULT_CONTEXT);
+        assertEquals(1, pipeline.size());
+        return pipeline.get(0).get("$set", Document.class);
+    }
+
+    @Test
+    void recordOnce_recordedAt_isOnlyStampedWhenTheMovementIsNew() {
+        var fields = set(movement(MovementSource.ADJUSTMENT));
+
+        assertEquals(new Document("$ifNull", List.of("$recordedAt", "$$NOW")), fields.get("recordedAt"));
+    }
+
+    @Test
+    void recordOnce_movementFields_keepTheStoredValuesAndAreWrittenAsLiterals() {
+        var fields = set(movement(MovementSource.ADJUSTMENT));
+
+        assertEquals(keep("sku", "$SKU-1"), fields.get("sku"));
+        assertEquals(keep("operation", "DECREASE"), fields.get("operation"));
+        assertEquals(keep("quantity", 3), fields.get("quantity"));
+        assertEquals(keep("source", "ADJUSTMENT"), fields.get("source"));
+        assertEquals(keep("occurredAt", Date.from(OCCURRED_AT)), fields.get("occurredAt"));
+    }
+
+    @Test
+    void recordOnce_withoutSource_keepsItNull() {
+        assertEquals(keep("source", null), set(movement(null)).get("source"));
+    }
+
+    private static Document keep(String field, Object value) {
+        return new Document("$ifNull", Arrays.asList("$" + field, new Document("$literal", value)));
+    }
+
+    private static StockMovementModel movement(MovementSource source) {
+        return StockMovementModel.builder()
+                .id("m-1")
+                .sku("$SKU-1")
+                .operation(StockOperation.DECREASE)
+                .quantity(3)
+                .source(source)
+                .occurredAt(OCCURRED_AT)
+                .build();
+    }
+}
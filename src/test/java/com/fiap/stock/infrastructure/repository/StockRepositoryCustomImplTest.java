@@ -0,0 +1,158 @@
+package com.fiap.stock.infrastructure.repository;
+
+import com.fiap.stock.infrastructure.config.StockMongoProperties;
+import com.fiap.stock.infrastructure.config.StockMongoProperties.KeyLayout;
+import com.fiap.stock.infrastructure.repository.model.ProductStockModel;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+class StockRepositoryCustomImplTest {
+
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+
+    // the client connects lazily, nothing here reaches a server
+    @BeforeEach
+    void setUp() {
+        mongoClient = MongoClients.create();
+        mongoTemplate = new MongoTemplate(mongoClient, "ms-stock");
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoClient.close();
+    }
+
+    private StockRepositoryCustomImpl repository(KeyLayout keyLayout) {
+        return new StockRepositoryCustomImpl(mongoTemplate, new StockMongoProperties(null, null, null, null,
+                new StockMongoProperties.CatalogReads("primary", null),
+                new StockMongoProperties.WriteConcerns("w1", "majority"),
+                keyLayout));
+    }
+
+    @Test
+    void newStockId_uuidLayout_isARandomUuid() {
+        var repository = repository(KeyLayout.UUID);
+
+        var id = repository.newStockId("SKU-1");
+
+        assertDoesNotThrow(() -> UUID.fromString(id));
+        assertNotEquals(id, repository.newStockId("SKU-1"));
+    }
+
+    @Test
+    void newStockId_skuLayout_isTheSku() {
+        assertEquals("SKU-1", repository(KeyLayout.SKU).newStockId("SKU-1"));
+    }
+
+    @Test
+    void setApplicationContext_writeConcernTemplates_publishToTheContext() {
+        var repository = repository(KeyLayout.UUID);
+        var context = new StaticApplicationContext();
+
+        repository.setApplicationContext(context);
+
+        for (String template : List.of("restocks", "drawdowns"))
+            assertSame(context, ReflectionTestUtils.getField(ReflectionTestUtils.getField(repository, template), "eventPublisher"));
+    }
+
+    @Test
+    void bySku_uuidLayout_matchesTheSkuField() {
+        assertEquals(new Document("sku", "SKU-1"),
+                StockRepositoryCustomImpl.bySku(KeyLayout.UUID, "SKU-1").getCriteriaObject());
+    }
+
+    @Test
+    void bySku_skuLayout_matchesTheId() {
+        assertEquals(new Document("_id", "SKU-1"),
+                StockRepositoryCustomImpl.bySku(KeyLayout.SKU, "SKU-1").getCriteriaObject());
+    }
+
+    @Test
+    void byId_uuidLayout_matchesTheIdOnly() {
+        assertEquals(new Document("id", "0b5b4c1f"),
+                StockRepositoryCustomImpl.byId(KeyLayout.UUID, "0b5b4c1f").getCriteriaObject());
+    }
+
+    @Test
+    void byId_skuLayout_alsoMatchesTheIdHandedOutBeforeTheMigration() {
+        assertEquals(new Document("$or", List.of(new Document("id", "0b5b4c1f"),
+                        new Document(StockRepositoryCustomImpl.LEGACY_ID, "0b5b4c1f"))),
+                StockRepositoryCustomImpl.byId(KeyLayout.SKU, "0b5b4c1f").getCriteriaObject());
+    }
+
+    @Test
+    void moveQuantity_movesTheHeadroomByTheSameDelta() {
+        assertEquals(new Document("$inc", new Document("quantity", -3).append(StockRepositoryCustomImpl.HEADROOM, -3)),
+                StockRepositoryCustomImpl.moveQuantity(-3).getUpdateObject());
+    }
+
+    @Test
+    void hotDeltaApplicable_decrement_alsoKeepsTheReservedUnits() {
+        var criteria = StockRepositoryCustomImpl.hotDeltaApplicable(KeyLayout.UUID, "SKU-1", -3, 7).getCriteriaObject();
+
+        assertEquals(new Document("$not", new Document("$gte", 7L)), criteria.get("hotSeq"));
+        assertEquals(1, criteria.getList("$and", Document.class).size());
+        assertTrue(criteria.getList("$and", Document.class).get(0).containsKey("$expr"));
+    }
+
+    @Test
+    void hotDeltaApplicable_increment_onlyGuardsTheSequence() {
+        var criteria = StockRepositoryCustomImpl.hotDeltaApplicable(KeyLayout.UUID, "SKU-1", 3, 7).getCriteriaObject();
+
+        assertEquals(new Document("sku", "SKU-1").append("hotSeq", new Document("$not", new Document("$gte", 7L))), criteria);
+    }
+
+    @Test
+    void findAvailability_skuLayout_readsTheIdWithoutAHint() {
+        mongoTemplate = spy(mongoTemplate);
+        var query = ArgumentCaptor.forClass(Query.class);
+        doReturn(new Document("quantity", 10).append("reserved", 3))
+                .when(mongoTemplate).findOne(query.capture(), eq(Document.class), anyString());
+
+        var availability = repository(KeyLayout.SKU).findAvailability("SKU-1").orElseThrow();
+
+        assertEquals(7, availability.available());
+        assertEquals(new Document("_id", "SKU-1"), query.getValue().getQueryObject());
+        assertNull(query.getValue().getHint());
+    }
+
+    @Test
+    void adjustmentBatches_readAndWrittenBack_keepTheBatchMarkers() {
+        var batchId = new ObjectId();
+        var converter = mongoTemplate.getConverter();
+
+        var model = converter.read(ProductStockModel.class,
+                new Document("_id", "SKU-1").append("sku", "SKU-1").append("quantity", 10).append("reserved", 3)
+                        .append("reorderThreshold", 2).append("headroom", 5).append("adjustmentBatches", List.of(batchId)));
+        var written = new Document();
+        converter.write(model, written);
+
+        assertEquals(List.of(batchId), model.getAdjustmentBatches());
+        assertEquals(List.of(batchId), written.get("adjustmentBatches"));
+    }
+}
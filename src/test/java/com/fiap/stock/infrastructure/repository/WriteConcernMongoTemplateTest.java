@@ -0,0 +1,52 @@
+package com.fiap.stock.infrastructure.repository;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WriteConcernMongoTemplateTest {
+
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+
+    // the client connects lazily, nothing here reaches a server
+    @BeforeEach
+    void setUp() {
+        mongoClient = MongoClients.create();
+        mongoTemplate = new MongoTemplate(mongoClient, "ms-stock");
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoClient.close();
+    }
+
+    @Test
+    void new_sharesTheDatabaseAndTheMapping() {
+        var template = new WriteConcernMongoTemplate(mongoTemplate, WriteConcern.MAJORITY);
+
+        assertSame(mongoTemplate.getMongoDatabaseFactory(), template.getMongoDatabaseFactory());
+        assertSame(mongoTemplate.getConverter(), template.getConverter());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void prepareCollection_appliesTheWriteConcernToFindAndModifyCollections() {
+        var template = new WriteConcernMongoTemplate(mongoTemplate, WriteConcern.W1);
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        MongoCollection<Document> acknowledgedByOne = mock(MongoCollection.class);
+        when(collection.withWriteConcern(WriteConcern.W1)).thenReturn(acknowledgedByOne);
+
+        assertSame(acknowledgedByOne, template.prepareCollection(collection));
+    }
+}
@@ -0,0 +1,303 @@
+package com.fiap.stock.infrastructure.shardedsku;
+
+import com.fiap.stock.core.entity.ProductStock;
+import com.fiap.stock.infrastructure.config.HotSkuProperties;
+import com.fiap.stock.infrastructure.config.ShardedSkuProperties;
+import com.fiap.stock.infrastructure.repository.StockRepository;
+import com.fiap.stock.infrastructure.repository.StockShardRepository;
+import com.fiap.stock.infrastructure.repository.model.ProductStockModel;
+import com.fiap.stock.infrastructure.repository.model.ShardMoveModel;
+import com.fiap.stock.infrastructure.repository.model.StockShardModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ShardedStockCountersTest {
+
+    private static final String SKU = "BEST-SELLER";
+    private static final int SHARDS = 4;
+
+    private StockRepository stockRepository;
+    private StockShardRepository shardRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private ShardedStockCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        stockRepository = mock(StockRepository.class);
+        shardRepository = mock(StockShardRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        counters = counters(Set.of(SKU));
+    }
+
+    private ShardedStockCounters counters(Set<String> skus) {
+        return counters(skus, 0);
+    }
+
+    private ShardedStockCounters counters(Set<String> skus, double stockShare) {
+        return new ShardedStockCounters(stockRepository, shardRepository,
+                new ShardedSkuProperties(skus, SHARDS, Duration.ofMinutes(1), Duration.ofSeconds(1), stockShare),
+                new HotSkuProperties(Set.of(), null, null, null, null, null), meterRegistry);
+    }
+
+    private ProductStockModel stock(int quantity, int reserved) {
+        return ProductStockModel.builder()
+                .id("stock-id")
+                .sku(SKU)
+                .name("Best Seller")
+                .quantity(quantity)
+                .reserved(reserved)
+                .version(3L)
+                .build();
+    }
+
+    private StockShardModel shard(int shard, int quantity) {
+        return StockShardModel.builder()
+                .id(SKU + "#" + shard)
+                .sku(SKU)
+                .shard(shard)
+                .quantity(quantity)
+                .build();
+    }
+
+    private double decrements(String source) {
+        return meterRegistry.get("stock.sharded.decrements").tag("source", source).counter().count();
+    }
+
+    @Test
+    void new_skuBothHotAndSharded_throwsIllegalStateException() {
+        var hotSkus = new HotSkuProperties(Set.of(SKU), null, null, null, null, null);
+        var shardedSkus = new ShardedSkuProperties(Set.of(SKU), SHARDS, Duration.ofMinutes(1), Duration.ofSeconds(1), 0);
+
+        assertThrows(IllegalStateException.class, () ->
+                new ShardedStockCounters(stockRepository, shardRepository, shardedSkus, hotSkus, meterRegistry));
+    }
+
+    @Test
+    void handles_onlyListedSkus() {
+        assertTrue(counters.handles(SKU));
+        assertFalse(counters.handles("OTHER"));
+        assertFalse(counters(Set.of()).handles(SKU));
+    }
+
+    @Test
+    void current_sumsTheStockAndItsSubCounters() {
+        when(stockRepository.findBySku(SKU)).thenReturn(Optional.of(stock(5, 2)));
+        when(shardRepository.findAllBySku(SKU)).thenReturn(List.of(shard(0, 10), shard(1, 20)));
+
+        ProductStock stock = counters.current(SKU).orElseThrow();
+
+        assertEquals("stock-id", stock.getId());
+        assertEquals(35, stock.getQuantity());
+        assertEquals(33, stock.getAvailable());
+        assertEquals(3, stock.getVersion());
+    }
+
+    @Test
+    void adjust_decrementASubCounterCovers_takesItThereAndShiftsTheCachedTotal() {
+        when(stockRepository.findBySku(SKU)).thenReturn(Optional.of(stock(0, 0)));
+        when(shardRepository.findAllBySku(SKU)).thenReturn(List.of(shard(0, 10), shard(1, 10)));
+        counters.current(SKU);
+        when(shardRepository.take(eq(SKU), anyInt(), eq(3))).thenReturn(Optional.of(shard(0, 7)));
+
+        Optional<ProductStock> result = counters.adjust(SKU, -3);
+
+        assertEquals(17, result.orElseThrow().getQuantity());
+        verify(stockRepository, never()).adjustQuantity(any(), anyInt());
+        assertEquals(1, decrements("shard"));
+    }
+
+    @Test
+    void adjust_decrementNoSubCounterCovers_fallsBackToTheStock() {
+        when(stockRepository.adjustQuantity(SKU, -3)).thenReturn(Optional.of(stock(7, 0)));
+        when(shardRepository.findAllBySku(SKU)).thenReturn(List.of(shard(0, 1)));
+
+        Optional<ProductStock> result = counters.adjust(SKU, -3);
+
+        assertEquals(8, result.orElseThrow().getQuantity());
+        verify(shardRepository, times(SHARDS)).take(eq(SKU), anyInt(), eq(3));
+        assertEquals(1, decrements("stock"));
+    }
+
+    @Test
+    void adjust_decrementSpreadThinnerThanTheUnits_gathersThemAndRetries() {
+        when(stockRepository.adjustQuantity(SKU, -5))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(stock(1, 0)));
+        when(shardRepository.findAllBySku(SKU))
+                .thenReturn(List.of(shard(0, 2), shard(1, 2), shard(2, 2)))
+                .thenReturn(List.of());
+        when(shardRepository.beginGather(eq(SKU), anyInt(), any(), eq(2))).thenReturn(true);
+
+        Optional<ProductStock> result = counters.adjust(SKU, -5);
+
+        assertEquals(1, result.orElseThrow().getQuantity());
+        verify(stockRepository, times(3)).receiveFromShard(eq(SKU), any(), eq(2));
+        verify(shardRepository, times(3)).endGather(eq(SKU), anyInt(), any());
+        assertEquals(1, decrements("gathered"));
+    }
+
+    @Test
+    void adjust_decrementNotCoveredAnywhere_returnsEmpty() {
+        when(shardRepository.findAllBySku(SKU)).thenReturn(List.of(shard(0, 0)));
+
+        assertTrue(counters.adjust(SKU, -5).isEmpty());
+        verify(stockRepository, times(1)).adjustQuantity(SKU, -5);
+    }
+
+    @Test
+    void adjust_increment_givesItToASubCounter() {
+        when(shardRepository.give(eq(SKU), anyInt(), eq(4))).thenReturn(true);
+        when(stockRepository.findBySku(SKU)).thenReturn(Optional.of(stock(0, 0)));
+        when(shardRepository.findAllBySku(SKU)).thenReturn(List.of(shard(0, 4)));
+
+        assertEquals(4, counters.adjust(SKU, 4).orElseThrow().getQuantity());
+        verify(stockRepository, never()).adjustQuantity(any(), anyInt());
+    }
+
+    @Test
+    void adjust_incrementBeforeTheFirstRebalance_goesToTheStock() {
+        when(stockRepository.adjustQuantity(SKU, 4)).thenReturn(Optional.of(stock(4, 0)));
+
+        assertEquals(4, counters.adjust(SKU, 4).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void throughStock_missWhileUnitsSitInSubCounters_gathersThemAndRetries() {
+        when(shardRepository.findAllBySku(SKU)).thenReturn(List.of(shard(0, 6))).thenReturn(List.of());
+        when(shardRepository.beginGather(eq(SKU), eq(0), any(), eq(6))).thenReturn(true);
+        when(stockRepository.reserve(SKU, 5))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(stock(6, 5)));
+
+        Optional<ProductStock> result = counters.throughStock(SKU, () -> stockRepository.reserve(SKU, 5));
+
+        assertEquals(5, result.orElseThrow().getReserved());
+        verify(stockRepository, times(2)).reserve(SKU, 5);
+    }
+
+    @Test
+    void shardTotal_movesHalfwayThrough_countedOnceWhicheverSideHasThem() {
+        var receivedByStock = new ObjectId();
+        var notYetReceivedByStock = new ObjectId();
+        var receivedByShard = new ObjectId();
+        var notYetReceivedByShard = new ObjectId();
+        var stock = stock(0, 0);
+        stock.setShardMoves(List.of(receivedByStock));
+        stock.setShardOutbox(List.of(new ShardMoveModel(receivedByShard, 0, 100), new ShardMoveModel(notYetReceivedByShard, 1, 1000)));
+        var gathering = shard(0, 1);
+        gathering.setPendingMove(new ShardMoveModel(receivedByStock, null, 10));
+        gathering.setApplied(List.of(receivedByShard));
+        var stalled = shard(1, 2);
+        stalled.setPendingMove(new ShardMoveModel(notYetReceivedByStock, null, 20));
+
+        assertEquals(1 + 2 + 20 + 1000, ShardedStockCounters.shardTotal(stock, List.of(gathering, stalled)));
+    }
+
+    @Test
+    void rebalance_freeUnitsInTheStock_spreadsThemEvenly() {
+        when(stockRepository.findBySku(SKU)).thenReturn(Optional.of(stock(100, 20)));
+        when(stockRepository.beginSpread(eq(SKU), anyInt(), any(), eq(20))).thenReturn(Optional.of(stock(80, 20)));
+
+        counters.rebalance(SKU);
+
+        for (int shard = 0; shard < SHARDS; shard++) {
+            verify(shardRepository).receive(eq(SKU), eq(shard), any(), eq(20));
+        }
+        verify(stockRepository, times(SHARDS)).endSpread(eq(SKU), any());
+    }
+
+    @Test
+    void rebalance_withStockShare_leavesItOnTheStock() {
+        counters = counters(Set.of(SKU), 0.2);
+        when(stockRepository.findBySku(SKU)).thenReturn(Optional.of(stock(100, 20)));
+        when(stockRepository.beginSpread(eq(SKU), anyInt(), any(), eq(16))).thenReturn(Optional.of(stock(84, 20)));
+
+        counters.rebalance(SKU);
+
+        for (int shard = 0; shard < SHARDS; shard++) {
+            verify(shardRepository).receive(eq(SKU), eq(shard), any(), eq(16));
+        }
+        verify(stockRepository, never()).beginSpread(any(), anyInt(), any(), intThat(quantity -> quantity != 16));
+    }
+
+    @Test
+    void rebalance_withinSlack_movesNothing() {
+        when(stockRepository.findBySku(SKU)).thenReturn(Optional.of(stock(0, 0)));
+        when(shardRepository.findAllBySku(SKU)).thenReturn(List.of(shard(0, 22), shard(1, 18), shard(2, 20), shard(3, 20)));
+
+        counters.rebalance(SKU);
+
+        verify(shardRepository, never()).beginGather(any(), anyInt(), any(), anyInt());
+        verify(stockRepository, never()).beginSpread(any(), anyInt(), any(), anyInt());
+    }
+
+    @Test
+    void rebalance_oneSubCounterDrained_refillsItThroughTheStock() {
+        when(stockRepository.findBySku(SKU)).thenReturn(Optional.of(stock(0, 0)));
+        when(shardRepository.findAllBySku(SKU)).thenReturn(List.of(shard(0, 40), shard(1, 40), shard(2, 0), shard(3, 0)));
+        when(shardRepository.beginGather(eq(SKU), anyInt(), any(), eq(20))).thenReturn(true);
+        when(stockRepository.beginSpread(eq(SKU), anyInt(), any(), eq(20))).thenReturn(Optional.of(stock(20, 0)));
+
+        counters.rebalance(SKU);
+
+        verify(shardRepository).beginGather(eq(SKU), eq(0), any(), eq(20));
+        verify(shardRepository).beginGather(eq(SKU), eq(1), any(), eq(20));
+        verify(shardRepository).receive(eq(SKU), eq(2), any(), eq(20));
+        verify(shardRepository).receive(eq(SKU), eq(3), any(), eq(20));
+    }
+
+    @Test
+    void rebalance_openMoves_areFinishedFirst() {
+        var gather = new ObjectId();
+        var spread = new ObjectId();
+        var stock = stock(0, 0);
+        stock.setShardOutbox(List.of(new ShardMoveModel(spread, 1, 5)));
+        var gathering = shard(0, 0);
+        gathering.setPendingMove(new ShardMoveModel(gather, null, 7));
+        when(stockRepository.findBySku(SKU)).thenReturn(Optional.of(stock)).thenReturn(Optional.of(stock(7, 0)));
+        when(shardRepository.findAllBySku(SKU)).thenReturn(List.of(gathering)).thenReturn(List.of(shard(0, 0), shard(1, 5)));
+
+        counters.rebalance(SKU);
+
+        verify(stockRepository).receiveFromShard(SKU, gather, 7);
+        verify(shardRepository).endGather(SKU, 0, gather);
+        verify(shardRepository).receive(SKU, 1, spread, 5);
+        verify(stockRepository).endSpread(SKU, spread);
+    }
+
+    @Test
+    void rebalance_skuTakenOffTheList_foldsItsSubCountersBack() {
+        counters = counters(Set.of());
+        when(shardRepository.findShardedSkus()).thenReturn(Set.of(SKU));
+        when(stockRepository.findBySku(SKU)).thenReturn(Optional.of(stock(0, 0)));
+        when(shardRepository.findAllBySku(SKU)).thenReturn(List.of(shard(0, 5)));
+        when(shardRepository.beginGather(eq(SKU), eq(0), any(), eq(5))).thenReturn(true);
+
+        counters.rebalance();
+
+        verify(stockRepository).receiveFromShard(eq(SKU), any(), eq(5));
+        verify(shardRepository).deleteDrained(SKU);
+        verify(stockRepository, never()).beginSpread(any(), anyInt(), any(), anyInt());
+    }
+
+    @Test
+    void rebalance_stockDeleted_dropsItsSubCounters() {
+        when(shardRepository.findShardedSkus()).thenReturn(Set.of("GONE"));
+
+        counters.rebalance();
+
+        verify(shardRepository).deleteAllBySku("GONE");
+        verify(shardRepository, never()).beginGather(eq("GONE"), anyInt(), any(), anyInt());
+    }
+}